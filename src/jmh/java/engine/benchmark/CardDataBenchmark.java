@@ -0,0 +1,88 @@
+package engine.benchmark;
+
+import engine.cards.CardData;
+import engine.cards.abilities.Parser;
+import engine.data.CardDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cost of loading the card pool and of parsing its card text.
+ *
+ * Reads the scraped JSON under dataDir; when that directory has no card data
+ * (the JSON is not checked in), a synthetic pool of the same shape and
+ * roughly the same size is generated instead, so the numbers stay comparable
+ * between runs on the same machine but not with the real pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CardDataBenchmark {
+
+    @Param("src/main/resources/raw/data/")
+    public String dataDir;
+
+    private Path loadDir;
+    private Path syntheticDir;
+    private String[] texts;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Fixtures.silenceOutput();
+        loadDir = Path.of(dataDir);
+        if (!Fixtures.hasCardData(loadDir)) {
+            syntheticDir = Files.createTempDirectory("optcg-bench");
+            Fixtures.writeSyntheticPool(syntheticDir, 40, 120);
+            loadDir = syntheticDir;
+        }
+        texts = new CardDatabase(loadDir.toString()).getAllCards().stream()
+                .map(CardData::description)
+                .toArray(String[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (syntheticDir != null) {
+            try (Stream<Path> paths = Files.walk(syntheticDir)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int loadDatabase() {
+        return new CardDatabase(loadDir.toString()).size();
+    }
+
+    @Benchmark
+    public int parseCardPool() {
+        int abilities = 0;
+        for (String text : texts) {
+            abilities += Parser.parse(text).size();
+        }
+        return abilities;
+    }
+}
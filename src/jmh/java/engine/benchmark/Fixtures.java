@@ -0,0 +1,119 @@
+package engine.benchmark;
+
+import engine.core.GameState;
+import engine.core.Phase;
+import engine.core.TurnManager;
+import engine.setup.GameSetup;
+import engine.simulation.RandomController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Shared setup for the benchmarks: realistic positions and a card pool.
+ */
+final class Fixtures {
+    private static final String[] DIRECTORIES = { "sets", "decks", "promos" };
+
+    // Representative card text, covering every block shape the Parser handles
+    private static final String[] TEXTS = {
+            "",
+            "[On Play] Draw 2 cards and trash 1 card from your hand.",
+            "[On Play] Rest up to 1 of your opponent's Characters with a cost of 4 or less.",
+            "[DON!! x1] [When Attacking] [Once Per Turn] K.O. up to 1 of your opponent's Characters with 3000 power or less.",
+            "[Blocker] (After your opponent declares an attack, you may rest this card to make it the new target of the attack.)",
+            "[Rush] (This card can attack on the turn in which it is played.) [On K.O.] Draw 1 card.",
+            "[Activate: Main] [Once Per Turn] ➀ (You may rest the specified number of DON!! cards in your cost area.): "
+                    + "Give up to 1 of your Leader or Character cards +1000 power during this turn.",
+            "[Your Turn] If you have 3 or more Characters, this Character gains +2000 power.",
+            "[Counter] Up to 1 of your Leader or Character cards gains +4000 power during this battle.",
+            "[Main] Look at 5 cards from the top of your deck; reveal up to 1 {Straw Hat Crew} type card other than "
+                    + "[Monkey.D.Luffy] and add it to your hand. Then, place the rest at the bottom of your deck in any order.",
+            "[End of Your Turn] Set up to 1 of your DON!! cards as active. [Trigger] Play this card.",
+            "[On Your Opponent's Attack] [Once Per Turn] DON!! −1: Return up to 1 Character with a cost of 2 or less to the owner's hand.",
+    };
+
+    private Fixtures() {
+    }
+
+    /**
+     * Discards everything written to System.out, so the engine's diagnostics
+     * do not flood the benchmark output or get measured as I/O.
+     */
+    static void silenceOutput() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /**
+     * Plays a test game with random moves until the given turn and stops at
+     * the start of the active player's MAIN phase.
+     */
+    static void midGame(GameState gameState, TurnManager turnManager, int turn) {
+        GameSetup gameSetup = new GameSetup(gameState);
+        gameSetup.initializeGame();
+        gameSetup.setUpLife(gameState.getPlayer1());
+        gameSetup.setUpLife(gameState.getPlayer2());
+        RandomController controller = new RandomController(gameState, turnManager, new Random(7));
+        while (turnManager.getTurnCount() < turn && !gameState.isGameOver()) {
+            if (turnManager.getCurrentPhase().isInteractive()) {
+                controller.runMainPhases(turnManager.getActivePlayer());
+            } else {
+                turnManager.advancePhase();
+            }
+        }
+        while (turnManager.getCurrentPhase() != Phase.MAIN) {
+            turnManager.advancePhase();
+        }
+    }
+
+    /**
+     * Returns true if any category directory under dataDir contains JSON.
+     */
+    static boolean hasCardData(Path dataDir) throws IOException {
+        for (String dir : DIRECTORIES) {
+            Path path = dataDir.resolve(dir);
+            if (Files.isDirectory(path)) {
+                try (var files = Files.list(path)) {
+                    if (files.anyMatch(file -> file.toString().endsWith(".json"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes a synthetic card pool in the scraped JSON layout, for trees that
+     * do not ship the real data.
+     *
+     * @param dataDir      Root directory to create the category directories in.
+     * @param files        Number of set files to write.
+     * @param cardsPerFile Cards in each file.
+     */
+    static void writeSyntheticPool(Path dataDir, int files, int cardsPerFile) throws IOException {
+        Path sets = Files.createDirectories(dataDir.resolve("sets"));
+        String[] colors = { "Red", "Green", "Blue", "Purple", "Black", "Yellow" };
+        for (int f = 0; f < files; f++) {
+            StringBuilder json = new StringBuilder("[\n");
+            for (int c = 0; c < cardsPerFile; c++) {
+                int n = f * cardsPerFile + c;
+                String type = (c == 0) ? "Leader" : (c % 10 == 0) ? "Event" : (c % 17 == 0) ? "Stage" : "Character";
+                json.append(String.format(
+                        "  {\"card_set_id\": \"OP%02d-%03d\", \"set_id\": \"OP-%02d\", \"card_name\": \"Card %d\", "
+                                + "\"card_text\": \"%s\", \"set_name\": \"Synthetic\", \"rarity\": \"C\", "
+                                + "\"card_type\": \"%s\", \"card_color\": \"%s\", \"card_cost\": \"%d\", "
+                                + "\"card_power\": \"%d\", \"life\": \"NULL\", \"counter_amount\": %d, "
+                                + "\"market_price\": 0.25}%s\n",
+                        f + 1, c + 1, f + 1, n, TEXTS[n % TEXTS.length], type, colors[n % colors.length],
+                        n % 10, (n % 9) * 1000, (n % 3) * 1000, (c + 1 < cardsPerFile) ? "," : ""));
+            }
+            json.append("]\n");
+            Files.writeString(sets.resolve(String.format("OP-%02d.json", f + 1)), json);
+        }
+    }
+}
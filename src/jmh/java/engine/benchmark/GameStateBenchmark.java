@@ -0,0 +1,162 @@
+package engine.benchmark;
+
+import engine.battle.BattleSystem;
+import engine.cards.Card;
+import engine.cards.abilities.Cost;
+import engine.core.GameSnapshot;
+import engine.core.GameState;
+import engine.core.MoveGenerator;
+import engine.core.TurnManager;
+import engine.player.Player;
+import engine.setup.GameFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the engine's per-action hot paths on a mid-game position
+ * (turn 6 of a random test game, at the start of MAIN).
+ *
+ * Every operation is paired with the cheapest call that undoes it, so the
+ * position stays the same across invocations. Where the undo is a
+ * GameState.restore(), compare against the restore benchmark to see the
+ * cost of the operation itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStateBenchmark {
+    private static final Cost TWO_DON = new Cost(Cost.CostType.DON, 2);
+
+    private GameState gameState;
+    private TurnManager turnManager;
+    private BattleSystem battleSystem;
+    private MoveGenerator moveGenerator;
+    private Player player;
+    private Player opponent;
+    private GameSnapshot base;
+    private TurnManager.State baseTurn;
+    private Card handCard;
+    private Card attacker;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Fixtures.silenceOutput();
+        gameState = GameFactory.createTestGame();
+        turnManager = new TurnManager(gameState);
+        Fixtures.midGame(gameState, turnManager, 6);
+        battleSystem = new BattleSystem(gameState, turnManager);
+        moveGenerator = new MoveGenerator(gameState, turnManager, battleSystem);
+        player = turnManager.getActivePlayer();
+        opponent = (player == gameState.getPlayer1()) ? gameState.getPlayer2() : gameState.getPlayer1();
+        if (player.getHand().isEmpty()) {
+            gameState.draw(player);
+        }
+        handCard = player.getHand().getCards().get(0);
+        attacker = player.getLeader();
+        base = gameState.snapshot();
+        baseTurn = turnManager.saveState();
+    }
+
+    @Benchmark
+    public int moveCard() {
+        gameState.moveCard(handCard, player.getTrash());
+        gameState.moveCard(handCard, player.getHand());
+        return player.getHand().size();
+    }
+
+    @Benchmark
+    public boolean payCost() {
+        boolean paid = gameState.payCost(player, TWO_DON);
+        gameState.refreshDon(player);
+        return paid;
+    }
+
+    @Benchmark
+    public int draw() {
+        gameState.draw(player);
+        // Zone.add places on top, so this puts the drawn card back where it was
+        gameState.moveCard(player.getHand().getCards().get(0), player.getDeck());
+        return player.getDeck().size();
+    }
+
+    @Benchmark
+    public int shuffleDeck() {
+        gameState.shuffle(player);
+        return player.getDeck().size();
+    }
+
+    @Benchmark
+    public int totalPower() {
+        int total = player.getLeader().getTotalPower();
+        for (Card card : player.getField().getCards()) {
+            total += card.getTotalPower();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int generateMoves() {
+        // Should report no allocation once the move buffer has grown
+        return moveGenerator.generate(player);
+    }
+
+    @Benchmark
+    public GameSnapshot snapshot() {
+        // Nothing moved since the last restore, so every zone is shared
+        return gameState.snapshot();
+    }
+
+    @Benchmark
+    public void restore() {
+        gameState.restore(base);
+    }
+
+    @Benchmark
+    public GameSnapshot drawSnapshotRestore() {
+        gameState.draw(player);
+        GameSnapshot snapshot = gameState.snapshot();
+        gameState.restore(base);
+        return snapshot;
+    }
+
+    @Benchmark
+    public GameState copy() {
+        return gameState.copy();
+    }
+
+    @Benchmark
+    public void resolveAttack(Blackhole blackhole) {
+        battleSystem.resolve(attacker, opponent.getLeader(), 0);
+        blackhole.consume(opponent.getLife().size());
+        gameState.restore(base);
+    }
+
+    /**
+     * One full turn: MAIN through END, REFRESH, DRAW and DON to the next
+     * player's MAIN, then back to the base position.
+     */
+    @Benchmark
+    public void fullTurn(Blackhole blackhole) {
+        for (int i = 0; i < 5; i++) {
+            turnManager.advancePhase();
+        }
+        blackhole.consume(turnManager.getActivePlayer());
+        gameState.restore(base);
+        turnManager.restoreState(baseTurn);
+    }
+}
@@ -0,0 +1,66 @@
+package engine.benchmark;
+
+import engine.core.GameState;
+import engine.core.TurnManager;
+import engine.setup.GameFactory;
+import engine.simulation.MainPhaseAction;
+import engine.simulation.MctsController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rollouts per second of MctsController.search() from a mid-game position
+ * (turn 5 of a random test game, at the start of MAIN) at increasing thread
+ * counts. Every search runs the same total number of rollouts, split evenly
+ * over the threads, so the scores compare directly across thread counts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MctsBenchmark {
+    private static final int ROLLOUTS = 960;
+
+    @Param({ "1", "2", "4", "8" })
+    public int threads;
+
+    private TurnManager turnManager;
+    private MctsController controller;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Fixtures.silenceOutput();
+        GameState gameState = GameFactory.createTestGame();
+        turnManager = new TurnManager(gameState);
+        Fixtures.midGame(gameState, turnManager, 5);
+        controller = new MctsController(gameState, turnManager,
+                new MctsController.Config(threads, 0, ROLLOUTS / threads, Math.sqrt(2), 20), 42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        controller.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROLLOUTS)
+    public MainPhaseAction search() {
+        return controller.search(turnManager.getActivePlayer());
+    }
+}
@@ -2,8 +2,12 @@ package engine.battle;
 
 import engine.cards.Card;
 import engine.cards.Leader;
+import engine.cards.abilities.Trigger;
+import engine.core.EventBus;
+import engine.core.GameMetrics;
 import engine.core.GameState;
 import engine.core.TurnManager;
+import engine.history.ActionLog;
 import engine.player.Player;
 
 import java.util.ArrayList;
@@ -96,6 +100,12 @@ public class BattleSystem {
      * @return The power boost granted to the defending card.
      */
     public int applyCounter(Player defender, Card counterCard, Card target) {
+        if (gameState.getActionLog() != null) {
+            gameState.getActionLog().recordCounter(gameState, defender, counterCard, target);
+        }
+        if (gameState.getMetrics() != null) {
+            gameState.getMetrics().action(ActionLog.Type.COUNTER);
+        }
         gameState.playCounter(defender, counterCard, target);
         return 0; // Placeholder — counter value resolution pending card effects implementation
     }
@@ -106,14 +116,31 @@ public class BattleSystem {
      * If the
      * attacker wins, the appropriate consequence is applied: the target loses a
      * life card if it is the opponent's leader, or is sent to trash if it is a
-     * character. Rests the attacker regardless of outcome.
+     * character. Rests the attacker regardless of outcome. Fires When Attacking
+     * for the attacker and On Your Opponent's Attack for the defending player
+     * before powers are compared.
      *
      * @param attacker     The attacking card.
      * @param target       The defending card.
      * @param counterBoost Additional power added to the defender by counters.
      */
     public void resolve(Card attacker, Card target, int counterBoost) {
-        attacker.rest();
+        if (gameState.getActionLog() != null) {
+            gameState.getActionLog().recordAttack(gameState, attacker, target, counterBoost);
+        }
+        GameMetrics metrics = gameState.getMetrics();
+        if (metrics != null) {
+            metrics.action(ActionLog.Type.ATTACK);
+            metrics.count(GameMetrics.Counter.BATTLES);
+            if (counterBoost > 0) {
+                metrics.count(GameMetrics.Counter.COUNTER_BOOSTS);
+                metrics.count(GameMetrics.Counter.COUNTER_POWER, counterBoost);
+            }
+        }
+        gameState.restToAttack(attacker);
+        EventBus events = gameState.getEventBus();
+        events.fire(Trigger.WHEN_ATTACKING, attacker.getOwner(), attacker, target);
+        events.fire(Trigger.OPPONENTS_ATTACK, target.getOwner(), attacker, target);
 
         int attackerPower = getEffectivePower(attacker);
         int defenderPower = getEffectivePower(target) + counterBoost;
@@ -123,9 +150,10 @@ public class BattleSystem {
             if (target instanceof Leader) {
                 gameState.removeLife(targetOwner);
             } else {
-                gameState.trash(targetOwner, target);
-                // Detach any Dons from the target as it leaves the field
-                target.detachDonCards();
+                // Moved directly: trash() would log a second, player-chosen action
+                gameState.moveCard(target, targetOwner.getTrash());
+                // Its DON!! go back to the cost area rested, as usable DON!!
+                gameState.detachDonCards(target);
             }
         }
         // If attacker power < defender power, attack fails — no consequence
@@ -7,9 +7,17 @@ import java.util.List;
 import java.util.ArrayList;
 import java.util.Collections;
 
-import engine.cards.abilities.Ability;
+import engine.cards.abilities.AbilityData;
+import engine.cards.abilities.AbilityFactory;
+import engine.core.MessageSink;
+import engine.core.ZobristHash;
 
 public class Card {
+    // Bits used by getStateFlags()/restoreState() to pack mutable flags
+    protected static final int FLAG_RESTED = 1;
+    protected static final int FLAG_SUMMON_SICK = 1 << 1;
+    protected static final int FLAG_ATTACHED = 1 << 2;
+
     protected String card_id;
     protected CardData data;
     protected Player owner;
@@ -18,7 +26,13 @@ public class Card {
     protected boolean rested;
     protected boolean summonSick;
     protected List<DonCard> attachedDons;
-    protected List<Ability> abilities;
+    // getTotalPower() result, valid until invalidatePower() is called
+    private int totalPower;
+    private boolean powerValid;
+    // Compiled once per card text and shared by every copy of the card
+    protected final List<AbilityData> abilities;
+    // Zobrist key; equal for a card and its copies (see ZobristHash)
+    protected final long hashKey;
 
     public Card(String card_id, CardData data, Player owner) {
         this(card_id, data, owner, null);
@@ -33,7 +47,8 @@ public class Card {
         this.rested = false;
         this.summonSick = false;
         this.attachedDons = new ArrayList<DonCard>();
-        this.abilities = new ArrayList<Ability>();
+        this.abilities = (data != null) ? AbilityFactory.abilitiesOf(data) : Collections.emptyList();
+        this.hashKey = ZobristHash.cardKey(card_id, owner);
     }
 
     // Accessor methods
@@ -71,15 +86,45 @@ public class Card {
     }
 
     public void setSummonSick(boolean summonSick) {
-        this.summonSick = summonSick;
+        if (this.summonSick != summonSick) {
+            this.summonSick = summonSick;
+            ZobristHash hash = zobrist();
+            if (hash != null) {
+                hash.toggleSummonSick(this);
+            }
+        }
+    }
+
+    public long getHashKey() {
+        return hashKey;
+    }
+
+    /**
+     * Returns the position hash this card reports its changes to, or null.
+     */
+    protected ZobristHash zobrist() {
+        return (owner != null) ? owner.getZobrist() : null;
+    }
+
+    // Sends text followed by this card's id to the owner's sink. Detaching is
+    // on the REFRESH path, so the text is only built when someone listens.
+    private void message(String text) {
+        MessageSink messages = (owner != null) ? owner.getMessageSink() : MessageSink.NONE;
+        if (messages.isEnabled()) {
+            messages.message(text + card_id);
+        }
     }
 
     public List<DonCard> getAttachedDons() {
         return Collections.unmodifiableList(attachedDons);
     }
 
-    public List<Ability> getAbilities() {
-        return Collections.unmodifiableList(abilities);
+    /**
+     * Returns this card's compiled abilities. The list is immutable and shared
+     * with every other card that has the same text.
+     */
+    public List<AbilityData> getAbilities() {
+        return abilities;
     }
 
     // Mutator methods
@@ -117,7 +162,13 @@ public class Card {
      * Resting a card typically means it cannot be used until it is activated again.
      */
     public void rest() {
-        this.rested = true;
+        if (!rested) {
+            this.rested = true;
+            ZobristHash hash = zobrist();
+            if (hash != null) {
+                hash.toggleRested(this);
+            }
+        }
     }
 
     /**
@@ -126,7 +177,13 @@ public class Card {
      * again.
      */
     public void activate() {
-        this.rested = false;
+        if (rested) {
+            this.rested = false;
+            ZobristHash hash = zobrist();
+            if (hash != null) {
+                hash.toggleRested(this);
+            }
+        }
     }
 
     /**
@@ -137,6 +194,11 @@ public class Card {
      */
     public void attachDonCard(DonCard don) {
         attachedDons.add(don);
+        invalidatePower();
+        ZobristHash hash = zobrist();
+        if (hash != null) {
+            hash.toggleAttached(this, don);
+        }
     }
 
     /**
@@ -144,10 +206,15 @@ public class Card {
      */
     public DonCard detachDonCard() {
         if (attachedDons.isEmpty()) {
-            System.out.println("No Don cards to detach from " + card_id);
+            message("No Don cards to detach from ");
             return null;
         }
         DonCard don = attachedDons.remove(attachedDons.size() - 1);
+        invalidatePower();
+        ZobristHash hash = zobrist();
+        if (hash != null) {
+            hash.toggleAttached(this, don);
+        }
         don.rest(); // Rest the Don card as it is detached
         return don;
     }
@@ -157,16 +224,20 @@ public class Card {
      */
     public void detachDonCards() {
         if (attachedDons.isEmpty()) {
-            System.out.println("No Don cards to detach from " + card_id);
+            message("No Don cards to detach from ");
             return;
         }
+        ZobristHash hash = zobrist();
         for (DonCard don : attachedDons) {
+            if (hash != null) {
+                hash.toggleAttached(this, don);
+            }
             don.rest(); // Rest the Don card as it is detached
         }
         attachedDons.clear();
+        invalidatePower();
     }
 
-
     /**
      * Get the base power of this card, which is defined in its CardData. This does
      * not include any power boosts from attached Don cards. For the total power
@@ -181,18 +252,31 @@ public class Card {
     /**
      * Calculate the total power of this card, including any attached Don cards.
      * This is used for cards that can have Don cards attached to them, such as
-     * monsters.
+     * monsters. The result is cached until invalidatePower().
      * 
      * @return The total power of this card, including any attached Don cards.
      */
     public int getTotalPower() {
-        int totalPower = data.power();
-        for (DonCard don : attachedDons) {
-            totalPower += don.getBoost();
+        if (!powerValid) {
+            int power = data.power();
+            for (int i = 0; i < attachedDons.size(); i++) {
+                power += attachedDons.get(i).getBoost();
+            }
+            totalPower = power;
+            powerValid = true;
         }
         return totalPower;
     }
 
+    /**
+     * Discards the cached getTotalPower() result. Called whenever attached Don
+     * cards change; anything else that alters a card's power (e.g. power
+     * modifying effects) must call it too.
+     */
+    public void invalidatePower() {
+        powerValid = false;
+    }
+
     /**
      * Count the number of rested Don cards attached to this card. This is used for
      * cards that can have Don cards attached to them, such as monsters.
@@ -219,6 +303,69 @@ public class Card {
         return attachedDons.size();
     }
 
+    // -------------------------------------------------------------------------
+    // Snapshot support
+    // -------------------------------------------------------------------------
+
+    /**
+     * Packs this card's boolean state (rested, summoning sickness) into an int.
+     * Used by GameSnapshot together with restoreState().
+     *
+     * @return The packed state flags.
+     */
+    public int getStateFlags() {
+        int flags = 0;
+        if (rested) flags |= FLAG_RESTED;
+        if (summonSick) flags |= FLAG_SUMMON_SICK;
+        return flags;
+    }
+
+    /**
+     * Returns the attached Don cards as a new array, or null when none are
+     * attached so snapshots of bare cards allocate nothing.
+     */
+    public DonCard[] getAttachedDonArray() {
+        return attachedDons.isEmpty() ? null : attachedDons.toArray(new DonCard[0]);
+    }
+
+    /**
+     * Restores state previously captured with getStateFlags() and
+     * getAttachedDonArray(). Does not update the position hash; the caller
+     * recomputes it (see GameState.restore()).
+     *
+     * @param flags    The packed state flags.
+     * @param attached The attached Don cards, or null for none.
+     */
+    public void restoreState(int flags, DonCard[] attached) {
+        this.rested = (flags & FLAG_RESTED) != 0;
+        this.summonSick = (flags & FLAG_SUMMON_SICK) != 0;
+        attachedDons.clear();
+        if (attached != null) {
+            Collections.addAll(attachedDons, attached);
+        }
+        invalidatePower();
+    }
+
+    /**
+     * Creates a copy of this card owned by the given player. The immutable
+     * CardData is shared; rested and summoning-sickness state are copied. The
+     * copy has no zone and no attached Don cards — GameState.copy() re-links
+     * those once every card has been copied.
+     *
+     * @param newOwner The owner (and controller) of the copy.
+     * @return The copied card.
+     */
+    public Card copy(Player newOwner) {
+        Card copy = new Card(card_id, data, newOwner);
+        copy.copyStateFrom(this);
+        return copy;
+    }
+
+    protected void copyStateFrom(Card other) {
+        this.rested = other.rested;
+        this.summonSick = other.summonSick;
+    }
+
     @Override
     public String toString() {
         String card = "Card: [Name=" + data.name() + "\n" + "Power=" + getTotalPower() + "\n" + "Cost=" + data.cost()
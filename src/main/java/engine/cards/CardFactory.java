@@ -16,9 +16,18 @@ public class CardFactory {
      * Returns a Leader when cardType is Leader, a plain Card otherwise.
      */
     public static Card createCard(CardData data, Player owner) {
+        return createCard(data.id(), data, owner);
+    }
+
+    /**
+     * As createCard(CardData, Player), with an explicit card id. Copies of the
+     * same card in one game need distinct ids (e.g. "p1-OP01-006-2"), since
+     * the id feeds the card's position-hash key.
+     */
+    public static Card createCard(String cardId, CardData data, Player owner) {
         if (data.cardType() == CardType.Leader) {
-            return new Leader(data.id(), data, owner);
+            return new Leader(cardId, data, owner);
         }
-        return new Card(data.id(), data, owner);
+        return new Card(cardId, data, owner);
     }
 }
@@ -2,6 +2,8 @@ package engine.cards;
 
 import engine.cards.types.CardType;
 import engine.player.Player;
+import engine.zones.Zone;
+import engine.zones.ZoneType;
 
 public class DonCard extends Card {
     private CardType type;
@@ -33,7 +35,55 @@ public class DonCard extends Card {
         return isAttached;
     }
     public void setAttached(boolean attached) {
-        this.isAttached = attached;
+        if (isAttached != attached) {
+            count(-1);
+            this.isAttached = attached;
+            count(1);
+        }
+    }
+    @Override
+    public void rest() {
+        if (!rested) {
+            count(-1);
+            super.rest();
+            count(1);
+        }
+    }
+    @Override
+    public void activate() {
+        if (rested) {
+            count(-1);
+            super.activate();
+            count(1);
+        }
+    }
+    @Override
+    public void setZone(Zone zone) {
+        count(-1);
+        super.setZone(zone);
+        count(1);
+    }
+    // Adds (1) or removes (-1) this DON from its cost area owner's counters
+    private void count(int delta) {
+        if (!isAttached && zone != null && zone.getType() == ZoneType.COST && zone.getOwner() != null) {
+            zone.getOwner().countDon(rested, delta);
+        }
+    }
+    @Override
+    public int getStateFlags() {
+        return isAttached ? super.getStateFlags() | FLAG_ATTACHED : super.getStateFlags();
+    }
+    @Override
+    public void restoreState(int flags, DonCard[] attached) {
+        super.restoreState(flags, attached);
+        this.isAttached = (flags & FLAG_ATTACHED) != 0;
+    }
+    @Override
+    public Card copy(Player newOwner) {
+        DonCard copy = new DonCard(card_id, data, newOwner);
+        copy.copyStateFrom(this);
+        copy.isAttached = isAttached;
+        return copy;
     }
     public int getBoost() {
         return 1000; // Placeholder for boost value, can be modified as needed
@@ -1,4 +1,5 @@
 package engine.cards;
+import engine.core.ZobristHash;
 import engine.player.Player;
 import engine.zones.ZoneType;
 public class Leader extends Card {
@@ -11,16 +12,30 @@ public class Leader extends Card {
         return lifePoints;
     }
     public void takeLife(){
-        lifePoints = Math.max(0, lifePoints - 1);
+        setLifePoints(Math.max(0, lifePoints - 1));
     }
     public void takeLife(int amount){
-        lifePoints = Math.max(0, lifePoints - amount);
+        setLifePoints(Math.max(0, lifePoints - amount));
     }
     public void gainLife(){
-        lifePoints++;
+        setLifePoints(lifePoints + 1);
     }
     public void gainLife(int amount){
-        lifePoints += amount;
+        setLifePoints(lifePoints + amount);
+    }
+    public void setLifePoints(int lifePoints){
+        ZobristHash hash = zobrist();
+        if (hash != null && lifePoints != this.lifePoints) {
+            hash.changeLife(owner, this.lifePoints, lifePoints);
+        }
+        this.lifePoints = lifePoints;
+    }
+    @Override
+    public Card copy(Player newOwner) {
+        Leader copy = new Leader(card_id, data, newOwner);
+        copy.copyStateFrom(this);
+        copy.lifePoints = lifePoints;
+        return copy;
     }
     @Override
     public String toString() {
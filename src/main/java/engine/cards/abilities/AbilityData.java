@@ -1,13 +1,30 @@
 package engine.cards.abilities;
 import java.util.List;
+import java.util.Set;
 import engine.cards.effects.EffectData;
+import engine.cards.keywords.Keyword;
+
+/**
+ * Compiled form of one card ability, produced once per card text by
+ * AbilityFactory and shared by every Card printed with that text. Instances
+ * (including the Cost) must be treated as read-only.
+ *
+ * @param triggerType   When the ability fires.
+ * @param donRequired   DON!! that must be attached ([DON!! xN]), or 0.
+ * @param cost          Activation cost, or null if the ability is free.
+ * @param isOncePerTurn True for [Once Per Turn] abilities.
+ * @param condition     Timing or state restriction, or null if none.
+ * @param effects       Effects in text order; unrecognised text is skipped.
+ * @param keywords      Keywords granted by this ability (Rush, Blocker, ...).
+ */
 public record AbilityData(
     Trigger triggerType,
     int donRequired,
     Cost cost,
     boolean isOncePerTurn,
     Condition condition,
-    List<EffectData> effects
+    List<EffectData> effects,
+    Set<Keyword> keywords
 ) {
     
 }
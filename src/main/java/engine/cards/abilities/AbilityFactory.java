@@ -1,5 +1,225 @@
 package engine.cards.abilities;
 
+import engine.cards.CardData;
+import engine.cards.effects.EffectData;
+import engine.cards.effects.EffectFactory;
+import engine.cards.keywords.Keyword;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles card text into AbilityData.
+ *
+ * Text goes through Parser once and the resulting ParsedAbility blocks are
+ * mapped onto the typed trigger/cost/condition/effect model. Results are
+ * cached by card text, so every Card (and every reprint sharing the same
+ * text) gets the same immutable list and nothing is re-parsed during play.
+ * CardDatabase warms the cache while loading; cards created from data that
+ * was never loaded are compiled on first use.
+ */
 public class AbilityFactory {
-    
+
+    private static final Map<String, List<AbilityData>> CACHE = new ConcurrentHashMap<>();
+
+    private static final Map<String, Trigger> TRIGGERS = Map.ofEntries(
+            Map.entry("On Play", Trigger.ON_PLAY),
+            Map.entry("When Attacking", Trigger.WHEN_ATTACKING),
+            Map.entry("On K.O.", Trigger.ON_KO),
+            Map.entry("On Block", Trigger.ON_BLOCK),
+            Map.entry("Activate:Main", Trigger.ACTIVATED_MAIN),
+            Map.entry("Main", Trigger.MAIN),
+            Map.entry("Counter", Trigger.COUNTER),
+            Map.entry("Trigger", Trigger.TRIGGER),
+            Map.entry("End of Your Turn", Trigger.END_OF_YOUR_TURN),
+            Map.entry("End of Your Opponent's Turn", Trigger.END_OF_OPPONENTS_TURN),
+            Map.entry("On Your Opponent's Attack", Trigger.OPPONENTS_ATTACK),
+            Map.entry("Keyword", Trigger.KEYWORD),
+            Map.entry("Passive", Trigger.PASSIVE));
+
+    private static final Map<String, Keyword> KEYWORDS = Map.of(
+            "Rush", Keyword.RUSH,
+            "Rush: Character", Keyword.RUSH,
+            "Blocker", Keyword.BLOCKER,
+            "Double Attack", Keyword.DOUBLE_ATTACK,
+            "Banish", Keyword.BANE);
+
+    private static final Pattern DON_REQUIRED = Pattern.compile("DON!! x(\\d+)");
+    private static final Pattern DON_COST = Pattern.compile("\\((\\d+)\\) DON");
+    private static final Pattern DON_MINUS = Pattern.compile("DON!! [−-](\\d+)");
+    private static final Pattern NUMBER = Pattern.compile("(\\d+)");
+
+    private AbilityFactory() {
+    }
+
+    /**
+     * Returns the compiled abilities for a card, compiling and caching them on
+     * first request.
+     *
+     * @param data The card to compile.
+     * @return An immutable, shared list of abilities (empty for vanilla cards).
+     */
+    public static List<AbilityData> abilitiesOf(CardData data) {
+        return abilitiesOf(data.description());
+    }
+
+    /**
+     * Returns the compiled abilities for the given card text.
+     */
+    public static List<AbilityData> abilitiesOf(String cardText) {
+        if (cardText == null || cardText.isBlank()) {
+            return Collections.emptyList();
+        }
+        return CACHE.computeIfAbsent(cardText, AbilityFactory::compile);
+    }
+
+    /**
+     * Parses and compiles card text without consulting the cache.
+     */
+    public static List<AbilityData> compile(String cardText) {
+        List<AbilityData> abilities = new ArrayList<>();
+        for (ParsedAbility parsed : Parser.parse(cardText)) {
+            AbilityData ability = compile(parsed);
+            if (ability != null) {
+                abilities.add(ability);
+            }
+        }
+        return abilities.isEmpty() ? Collections.emptyList() : List.copyOf(abilities);
+    }
+
+    /**
+     * Maps one parsed ability block onto AbilityData.
+     *
+     * @return The compiled ability, or null if its trigger is unknown.
+     */
+    static AbilityData compile(ParsedAbility parsed) {
+        Trigger trigger = TRIGGERS.get(parsed.trigger());
+        if (trigger == null) {
+            return null;
+        }
+
+        String conditionText = parsed.condition() != null ? parsed.condition() : "";
+        int donRequired = 0;
+        Matcher don = DON_REQUIRED.matcher(conditionText);
+        if (don.find()) {
+            donRequired = Integer.parseInt(don.group(1));
+        }
+        boolean oncePerTurn = conditionText.contains("Once Per Turn");
+
+        Condition condition = null;
+        for (String part : conditionText.split(";\\s*")) {
+            condition = parseCondition(part);
+            if (condition != null) {
+                break;
+            }
+        }
+
+        // The parser prefixes keywords to the effect text ("Blocker. <effect>")
+        Set<Keyword> keywords = EnumSet.noneOf(Keyword.class);
+        String effectText = parsed.effect();
+        if (effectText != null) {
+            int split = effectText.indexOf(". ");
+            String prefix = split > 0 ? effectText.substring(0, split) : effectText;
+            if (collectKeywords(prefix, keywords)) {
+                effectText = split > 0 ? effectText.substring(split + 2) : null;
+            } else {
+                keywords.clear();
+            }
+        }
+
+        List<EffectData> effects = EffectFactory.compile(effectText);
+        return new AbilityData(trigger, donRequired, parseCost(parsed.cost()), oncePerTurn, condition,
+                effects, keywords.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(keywords));
+    }
+
+    /**
+     * Classifies one condition clause ("Your Turn", "if you have 2 or less
+     * Life cards", ...). Returns null for clauses that are not restrictions
+     * (DON!! requirements, Once Per Turn) or are not recognised.
+     */
+    public static Condition parseCondition(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        if (text.equals("Your Turn")) {
+            return Condition.YOUR_TURN;
+        }
+        if (text.equals("Opponent's Turn")) {
+            return Condition.OPPONENTS_TURN;
+        }
+        if (!text.startsWith("if ")) {
+            return null;
+        }
+        if (text.contains("Leader")) {
+            return Condition.IF_LEADER_TYPE;
+        }
+        if (text.contains("Life")) {
+            return Condition.IF_LIFE_COUNT;
+        }
+        if (text.contains("hand")) {
+            return Condition.IF_HAND_COUNT;
+        }
+        if (text.contains("rested")) {
+            return Condition.IF_RESTED;
+        }
+        if (text.contains("Character")) {
+            return Condition.IF_CHARACTER_COUNT;
+        }
+        return null;
+    }
+
+    /**
+     * Parses the cost string from a ParsedAbility. When an ability has several
+     * costs ("(1) DON, Optional: rest this Character") the DON!! cost wins,
+     * since it is the one the engine has to pay from the cost area.
+     */
+    static Cost parseCost(String text) {
+        if (text == null) {
+            return null;
+        }
+        Matcher m = DON_COST.matcher(text);
+        if (m.find()) {
+            return new Cost(Cost.CostType.DON, Integer.parseInt(m.group(1)));
+        }
+        m = DON_MINUS.matcher(text);
+        if (m.find()) {
+            return new Cost(Cost.CostType.DON_MINUS, Integer.parseInt(m.group(1)));
+        }
+        String lower = text.toLowerCase();
+        if (lower.contains("trash")) {
+            return new Cost(Cost.CostType.TRASH, firstNumber(text));
+        }
+        if (lower.contains("life")) {
+            return new Cost(Cost.CostType.LIFE, firstNumber(text));
+        }
+        if (lower.contains("rest this")) {
+            return new Cost(Cost.CostType.REST, 1);
+        }
+        return null;
+    }
+
+    private static int firstNumber(String text) {
+        Matcher m = NUMBER.matcher(text);
+        return m.find() ? Integer.parseInt(m.group(1)) : 1;
+    }
+
+    /** Adds the keywords in a comma-separated list; false if any is unknown. */
+    private static boolean collectKeywords(String list, Set<Keyword> into) {
+        for (String name : list.split(",\\s*")) {
+            Keyword keyword = KEYWORDS.get(name.trim());
+            if (keyword != null) {
+                into.add(keyword);
+            } else if (!name.trim().equals("Unblockable")) { // No Keyword constant yet
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -1,6 +1,10 @@
 package engine.cards.abilities;
 
-public class Cost {
+/**
+ * What an ability or card asks its controller to pay. Immutable, so compiled
+ * abilities can share one instance across every Card and every game.
+ */
+public record Cost(CostType type, int amount) {
     public enum CostType {
         DON,       // Rest N DON!! from cost area  (§8-3-1-5: symbol ①②③...)
         DON_MINUS, // Return N DON!! to DON!! deck from Leader/Character/cost areas (§8-3-1-6: DON!! −X)
@@ -8,6 +12,9 @@ public class Cost {
         REST,      // Rest this card (e.g. "You may rest this Character:")
         LIFE       // Add/remove cards from Life area
     }
-    public CostType type;
-    public int amount;
+
+    @Override
+    public String toString() {
+        return type + "(" + amount + ")";
+    }
 }
@@ -1,4 +1,4 @@
-package tools;
+package engine.cards.abilities;
 
 /**
  * Structured representation of a single card ability extracted from card text.
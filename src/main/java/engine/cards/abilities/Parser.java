@@ -1,4 +1,4 @@
-package tools;
+package engine.cards.abilities;
 
 import java.util.*;
 import java.util.regex.*;
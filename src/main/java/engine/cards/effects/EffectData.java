@@ -2,6 +2,15 @@ package engine.cards.effects;
 
 import engine.cards.abilities.Condition;
 
+/**
+ * One compiled effect of an ability.
+ *
+ * @param type      What the effect does.
+ * @param value     Amount (cards drawn, power change, DON!! given, ...), or 0.
+ * @param target    What the effect applies to, or null if it needs no target.
+ * @param condition Extra "if ..." restriction on this effect, or null.
+ * @param duration  One of PERMANENT, THIS_BATTLE, THIS_TURN, UNTIL_NEXT_TURN.
+ */
 public record EffectData(
     EffectType type,
     int value,
@@ -9,5 +18,8 @@ public record EffectData(
     Condition condition,
     int duration
 ) {
-    
+    public static final int PERMANENT = 0;
+    public static final int THIS_BATTLE = 1;
+    public static final int THIS_TURN = 2;
+    public static final int UNTIL_NEXT_TURN = 3;
 }
@@ -1,5 +1,189 @@
 package engine.cards.effects;
 
+import engine.cards.abilities.AbilityFactory;
+import engine.cards.abilities.Condition;
+import engine.cards.types.CardType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles the effect text of a parsed ability into EffectData.
+ *
+ * Effect text is split into sentences and each sentence is scanned for known
+ * action phrases ("Draw 2 cards", "K.O. up to 1 ...", "gains +2000 power").
+ * A sentence may yield several effects ("Draw 1 card and trash 1 card"); the
+ * text between one action and the next is used to resolve its target. Text
+ * that matches no action is skipped, so compiled abilities are a best-effort
+ * subset of the printed card.
+ */
 public class EffectFactory {
-    
+
+    // Sentence boundary: a period after a lowercase letter, digit, quote or
+    // bracket, followed by a capital. Keeps "K.O." and "DON!!" intact.
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[a-z0-9\"')\\]]\\.)\\s+(?=[A-Z\\[])");
+
+    /** One recognised action phrase; group(1), if present, is the value. */
+    private record Action(EffectType type, Pattern pattern) {
+    }
+
+    private static final List<Action> ACTIONS = List.of(
+            new Action(EffectType.DRAW, Pattern.compile("\\bdraw (\\d+) cards?", Pattern.CASE_INSENSITIVE)),
+            new Action(EffectType.KO, Pattern.compile("(?<![\\w'])K\\.O\\. (?=up to|all|\\d)")),
+            new Action(EffectType.REST, Pattern.compile("\\brest (?=up to|all of|\\d+ of|your opponent's)",
+                    Pattern.CASE_INSENSITIVE)),
+            new Action(EffectType.UNREST, Pattern.compile("\\bset (?:up to \\d+ of )?[^.]*?\\bas active",
+                    Pattern.CASE_INSENSITIVE)),
+            new Action(EffectType.ATTACH_DON, Pattern.compile(
+                    "\\b(?:give|attach)\\b[^.]*?(\\d+) (?:rested |active )?DON!! cards?", Pattern.CASE_INSENSITIVE)),
+            new Action(EffectType.POWER_BOOST, Pattern.compile("([+\\-−]\\d+) power")),
+            new Action(EffectType.SEARCH_DECK, Pattern.compile(
+                    "\\blook at (\\d+) cards? from the top of your deck", Pattern.CASE_INSENSITIVE)),
+            new Action(EffectType.TRASH, Pattern.compile("\\btrash (?:up to )?(\\d+)", Pattern.CASE_INSENSITIVE)),
+            new Action(EffectType.ADD_TO_HAND, Pattern.compile("\\badd\\b[^.]*? to your hand", Pattern.CASE_INSENSITIVE)),
+            new Action(EffectType.PLAY_FROM_HAND, Pattern.compile("\\bplay (?:up to (\\d+) )?[^.]*?from your hand",
+                    Pattern.CASE_INSENSITIVE)),
+            new Action(EffectType.RETURN_TO_HAND, Pattern.compile(
+                    "\\breturn\\b[^.]*? to (?:the owner's|your|their) hand", Pattern.CASE_INSENSITIVE)),
+            new Action(EffectType.MOVE_TO_BOTTOM_DECK, Pattern.compile(
+                    "\\bplace\\b[^.]*? at the bottom of [^.]*?deck", Pattern.CASE_INSENSITIVE)),
+            new Action(EffectType.MOVE_TO_TOP_DECK, Pattern.compile(
+                    "\\bplace\\b[^.]*? at the top of [^.]*?deck", Pattern.CASE_INSENSITIVE)),
+            new Action(EffectType.DAMAGE, Pattern.compile("\\bdeal (\\d+) damage", Pattern.CASE_INSENSITIVE)));
+
+    private static final Pattern UP_TO = Pattern.compile("\\bup to (\\d+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern MAX_COST = Pattern.compile("cost of (\\d+) or less");
+    private static final Pattern MAX_POWER = Pattern.compile("(\\d+) power or less");
+    private static final Pattern IF_CLAUSE = Pattern.compile("\\b[Ii]f ([^,.]+)");
+
+    private EffectFactory() {
+    }
+
+    /**
+     * Compiles effect text into effects, in the order they appear.
+     *
+     * @param effectText The effect text from a ParsedAbility (may be null).
+     * @return The recognised effects; empty if none were recognised.
+     */
+    public static List<EffectData> compile(String effectText) {
+        if (effectText == null || effectText.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<EffectData> effects = new ArrayList<>();
+        for (String sentence : SENTENCE_END.split(effectText.trim())) {
+            compileSentence(sentence, effects);
+        }
+        return effects.isEmpty() ? Collections.emptyList() : List.copyOf(effects);
+    }
+
+    private static void compileSentence(String sentence, List<EffectData> out) {
+        // Collect every action match in the sentence, ordered by position
+        List<int[]> hits = new ArrayList<>(); // {start, actionIndex, value}
+        for (int a = 0; a < ACTIONS.size(); a++) {
+            Matcher m = ACTIONS.get(a).pattern().matcher(sentence);
+            while (m.find()) {
+                hits.add(new int[] { m.start(), a, value(m) });
+            }
+        }
+        if (hits.isEmpty()) {
+            return;
+        }
+        hits.sort((x, y) -> Integer.compare(x[0], y[0]));
+
+        Condition condition = null;
+        Matcher ifMatcher = IF_CLAUSE.matcher(sentence);
+        if (ifMatcher.find()) {
+            condition = AbilityFactory.parseCondition("if " + ifMatcher.group(1));
+        }
+        int duration = duration(sentence);
+
+        for (int i = 0; i < hits.size(); i++) {
+            int[] hit = hits.get(i);
+            int end = (i + 1 < hits.size()) ? hits.get(i + 1)[0] : sentence.length();
+            // Power changes usually name their target before the value
+            // ("Up to 1 of your Characters gains +2000 power"), so look back too
+            int start = ACTIONS.get(hit[1]).type() == EffectType.POWER_BOOST
+                    ? (i > 0 ? hits.get(i - 1)[0] : 0)
+                    : hit[0];
+            EffectType type = ACTIONS.get(hit[1]).type();
+            Target target = needsTarget(type) ? parseTarget(sentence.substring(start, end)) : null;
+            out.add(new EffectData(type, hit[2], target, condition, duration));
+        }
+    }
+
+    private static int value(Matcher m) {
+        if (m.groupCount() < 1 || m.group(1) == null) {
+            return 0;
+        }
+        return Integer.parseInt(m.group(1).replace('−', '-').replace("+", ""));
+    }
+
+    private static boolean needsTarget(EffectType type) {
+        return switch (type) {
+            case DRAW, SEARCH_DECK, DAMAGE -> false;
+            default -> true;
+        };
+    }
+
+    private static int duration(String sentence) {
+        if (sentence.contains("during this battle")) {
+            return EffectData.THIS_BATTLE;
+        }
+        if (sentence.contains("during this turn")) {
+            return EffectData.THIS_TURN;
+        }
+        if (sentence.contains("until the end of your opponent's next turn")
+                || sentence.contains("until the start of your next turn")) {
+            return EffectData.UNTIL_NEXT_TURN;
+        }
+        return EffectData.PERMANENT;
+    }
+
+    /**
+     * Resolves a target selector from a clause such as "up to 1 of your
+     * opponent's Characters with a cost of 4 or less".
+     */
+    public static Target parseTarget(String clause) {
+        Target.TargetPlayer player;
+        if (clause.contains("opponent's")) {
+            player = Target.TargetPlayer.OPPONENT;
+        } else if (clause.contains("all Characters") || clause.contains("each player")) {
+            player = Target.TargetPlayer.ALL;
+        } else {
+            player = Target.TargetPlayer.SELF;
+        }
+
+        CardType cardType;
+        if (clause.contains("Leader or Character")) {
+            cardType = null;
+        } else if (clause.contains("Character")) {
+            cardType = CardType.Character;
+        } else if (clause.contains("Leader")) {
+            cardType = CardType.Leader;
+        } else if (clause.contains("Event")) {
+            cardType = CardType.Event;
+        } else if (clause.contains("Stage")) {
+            cardType = CardType.Stage;
+        } else {
+            cardType = null;
+        }
+
+        int max = 1;
+        Matcher upTo = UP_TO.matcher(clause);
+        if (upTo.find()) {
+            max = Integer.parseInt(upTo.group(1));
+        } else if (clause.contains("all of") || clause.contains("All of")) {
+            max = Integer.MAX_VALUE;
+        }
+
+        return new Target(player, null, cardType, max, limit(MAX_COST, clause), limit(MAX_POWER, clause));
+    }
+
+    private static int limit(Pattern pattern, String clause) {
+        Matcher m = pattern.matcher(clause);
+        return m.find() ? Integer.parseInt(m.group(1)) : Target.NO_LIMIT;
+    }
 }
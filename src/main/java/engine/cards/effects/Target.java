@@ -3,6 +3,10 @@ package engine.cards.effects;
 import engine.cards.types.CardType;
 import engine.zones.Zone;
 
+/**
+ * Target selector for an effect. Compiled abilities leave zone null (the zone
+ * is resolved against the live game); cardType null means any card type.
+ */
 public record Target(
     TargetPlayer player,
     Zone zone,
@@ -10,6 +14,9 @@ public record Target(
     int max,
     int maxCost,
     int maxPower){
+        /** Value of maxCost/maxPower when the text sets no limit. */
+        public static final int NO_LIMIT = -1;
+
         public enum TargetPlayer {
             SELF,OPPONENT,ALL
         }
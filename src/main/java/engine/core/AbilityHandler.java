@@ -0,0 +1,19 @@
+package engine.core;
+
+import engine.cards.Card;
+import engine.cards.abilities.AbilityData;
+
+/**
+ * Receives each ability the EventBus selects for an event. This is where
+ * effect resolution plugs in.
+ */
+@FunctionalInterface
+public interface AbilityHandler {
+    /**
+     * @param state   The game the event happened in.
+     * @param event   The event being dispatched.
+     * @param card    The card that owns the ability.
+     * @param ability The ability whose trigger matches the event.
+     */
+    void handle(GameState state, GameEvent event, Card card, AbilityData ability);
+}
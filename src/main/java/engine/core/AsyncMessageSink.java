@@ -0,0 +1,131 @@
+package engine.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands messages to a background thread through a bounded ring buffer, so
+ * game threads never wait on the target (typically the console).
+ *
+ * The ring is multi-producer, single-consumer and lock-free: a game thread
+ * claims a slot with one compare-and-set on the tail, then publishes its
+ * message into the slot; the writer thread takes slots in order and clears
+ * them. A writer that has caught up parks until a producer wakes it.
+ *
+ * message() never blocks: when the buffer is full the message is dropped
+ * and counted (see getDropped()) rather than stalling a game. close() stops
+ * accepting messages, writes out what is buffered and stops the thread; a
+ * message sent while close() is running may be lost.
+ */
+public final class AsyncMessageSink implements MessageSink, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    // Longest the writer sleeps without being woken, as a backstop
+    private static final long IDLE_NANOS = 10_000_000;
+
+    private final AtomicReferenceArray<String> ring;
+    private final int mask;
+    // Next slot to claim; advanced by producers with compareAndSet
+    private final AtomicLong tail = new AtomicLong();
+    // Next slot to write out; written by the writer thread only
+    private final AtomicLong head = new AtomicLong();
+    private final MessageSink target;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    // Set while the writer is parked with nothing to do
+    private volatile boolean idle;
+    private volatile boolean closed;
+
+    public AsyncMessageSink(MessageSink target) {
+        this(target, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param target   Receives every message, on the writer thread only.
+     * @param capacity How many messages can wait before new ones are dropped;
+     *                 rounded up to a power of two.
+     */
+    public AsyncMessageSink(MessageSink target, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1, got " + capacity);
+        }
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.target = target;
+        this.writer = Thread.ofPlatform().name("message-sink").daemon().start(this::drain);
+    }
+
+    @Override
+    public void message(String text) {
+        if (closed) {
+            dropped.increment();
+            return;
+        }
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.getAcquire() > mask) {
+                dropped.increment();
+                return;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        ring.setRelease((int) (sequence & mask), text);
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Returns how many messages were dropped because the buffer was full or
+     * the sink was closed.
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Writes out the buffered messages and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            boolean closing = closed;
+            long next = head.get();
+            if (next == tail.get()) {
+                if (closing) {
+                    return;
+                }
+                idle = true;
+                // A message claimed after the check above unparks us or is seen here
+                if (next == tail.get() && !closed) {
+                    LockSupport.parkNanos(IDLE_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+            int slot = (int) (next & mask);
+            String text = ring.getAcquire(slot);
+            if (text == null) {
+                // Claimed but not yet published
+                Thread.onSpinWait();
+                continue;
+            }
+            ring.set(slot, null);
+            head.setRelease(next + 1);
+            target.message(text);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package engine.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps messages in memory until they are read or forwarded. Not
+ * thread-safe: meant for one game on one thread, e.g. to print a game's
+ * messages only when it turns out to be interesting.
+ */
+public final class BufferedMessageSink implements MessageSink {
+    private final List<String> messages = new ArrayList<>();
+
+    @Override
+    public void message(String text) {
+        messages.add(text);
+    }
+
+    /**
+     * Returns the messages received since the last clear(), oldest first.
+     */
+    public List<String> getMessages() {
+        return List.copyOf(messages);
+    }
+
+    public int size() {
+        return messages.size();
+    }
+
+    /**
+     * Forwards every buffered message to another sink, then clears the buffer.
+     */
+    public void drainTo(MessageSink target) {
+        for (String text : messages) {
+            target.message(text);
+        }
+        messages.clear();
+    }
+
+    public void clear() {
+        messages.clear();
+    }
+}
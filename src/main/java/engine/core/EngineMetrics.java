@@ -0,0 +1,129 @@
+package engine.core;
+
+import engine.history.ActionLog;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Engine-wide totals over many games, fed by GameMetrics.endGame().
+ *
+ * Totals are LongAdders and histograms are lock-free (see Histogram), so
+ * any number of batch workers can finish games at once without contending
+ * on a lock. Games are added once they end, which keeps the per-event cost
+ * in the game loop to a plain long increment in GameMetrics.
+ *
+ * Reads taken while games are still finishing are not a consistent cut:
+ * each total is current, but the totals may disagree by the games in
+ * flight.
+ */
+public final class EngineMetrics {
+    private static final ActionLog.Type[] TYPES = ActionLog.Type.values();
+    private static final GameMetrics.Counter[] COUNTERS = GameMetrics.Counter.values();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final LongAdder games = new LongAdder();
+    private final LongAdder[] actions = adders(TYPES.length);
+    private final LongAdder[] counters = adders(COUNTERS.length);
+    private final Histogram[] phaseNanos = new Histogram[PHASES.length];
+    private final Histogram gameTurns = new Histogram();
+    private final Histogram gameActions = new Histogram();
+
+    public EngineMetrics() {
+        for (int i = 0; i < phaseNanos.length; i++) {
+            phaseNanos[i] = new Histogram();
+        }
+    }
+
+    /**
+     * Returns metrics for one game that add themselves to these totals when
+     * the game ends.
+     */
+    public GameMetrics newGame() {
+        return new GameMetrics(this);
+    }
+
+    /**
+     * Adds a finished game to the totals.
+     */
+    public void record(GameMetrics game) {
+        games.increment();
+        for (int i = 0; i < TYPES.length; i++) {
+            long n = game.get(TYPES[i]);
+            if (n != 0) {
+                actions[i].add(n);
+            }
+        }
+        for (int i = 0; i < COUNTERS.length; i++) {
+            long n = game.get(COUNTERS[i]);
+            if (n != 0) {
+                counters[i].add(n);
+            }
+        }
+        for (int i = 0; i < PHASES.length; i++) {
+            phaseNanos[i].merge(game.phaseNanos(PHASES[i]));
+        }
+        gameTurns.add(game.getTurns());
+        gameActions.add(game.totalActions());
+    }
+
+    public long games() {
+        return games.sum();
+    }
+
+    public long get(ActionLog.Type type) {
+        return actions[type.ordinal()].sum();
+    }
+
+    public long get(GameMetrics.Counter counter) {
+        return counters[counter.ordinal()].sum();
+    }
+
+    /**
+     * Returns the histogram of every occurrence of the phase across all games.
+     */
+    public Histogram phaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * Returns the histogram of game length in turns.
+     */
+    public Histogram gameTurns() {
+        return gameTurns;
+    }
+
+    /**
+     * Returns the histogram of logged actions per game.
+     */
+    public Histogram gameActions() {
+        return gameActions;
+    }
+
+    public String toJson() {
+        StringBuilder out = new StringBuilder();
+        out.append("{\"games\":").append(games());
+        GameMetrics.appendJson(out, sums(actions), sums(counters), phaseNanos);
+        out.append(",\"gameTurns\":");
+        gameTurns.appendJson(out);
+        out.append(",\"gameActions\":");
+        gameActions.appendJson(out);
+        out.append('}');
+        return out.toString();
+    }
+
+    private static LongAdder[] adders(int n) {
+        LongAdder[] adders = new LongAdder[n];
+        for (int i = 0; i < n; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static long[] sums(LongAdder[] adders) {
+        long[] sums = new long[adders.length];
+        for (int i = 0; i < adders.length; i++) {
+            sums[i] = adders[i].sum();
+        }
+        return sums;
+    }
+}
@@ -0,0 +1,224 @@
+package engine.core;
+
+import engine.cards.Card;
+import engine.cards.Leader;
+import engine.cards.abilities.AbilityData;
+import engine.cards.abilities.Trigger;
+import engine.player.Player;
+import engine.zones.Zone;
+import engine.zones.ZoneType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dispatches game events to the abilities that listen for them.
+ *
+ * Two kinds of trigger are handled differently:
+ * <ul>
+ *   <li>Card triggers (On Play, When Attacking, On K.O., ...) only ever
+ *       concern the card the event is about, so dispatch just walks that
+ *       card's own compiled abilities.</li>
+ *   <li>Turn/broadcast triggers (End of Your Turn, End of Your Opponent's
+ *       Turn, On Your Opponent's Attack) can come from any card a player has
+ *       in play. These are kept in a per-seat, per-trigger subscription table
+ *       so firing one visits only the abilities that asked for it.</li>
+ * </ul>
+ * The table covers each player's Leader, Characters and Stage. GameState
+ * keeps it current as cards move; after bulk changes (restore) it is marked
+ * stale and rebuilt on the next broadcast. The table is only allocated and
+ * filled on the first broadcast with a handler installed (or the first
+ * subscriberCount()), so headless games and search copies without effects
+ * pay only a null check per event.
+ */
+public final class EventBus {
+    private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+    private static final int TRIGGERS = Trigger.values().length;
+
+    private record Subscription(Card card, AbilityData ability) {
+    }
+
+    private final GameState state;
+    // [seat][trigger ordinal] -> abilities subscribed to a broadcast trigger;
+    // null until first needed
+    private List<Subscription>[][] subscriptions;
+    private AbilityHandler handler;
+    private boolean stale = true;
+
+    EventBus(GameState state) {
+        this.state = state;
+    }
+
+    /**
+     * Installs the handler that receives dispatched abilities, or null to stop
+     * dispatching.
+     */
+    public void setHandler(AbilityHandler handler) {
+        this.handler = handler;
+    }
+
+    public AbilityHandler getHandler() {
+        return handler;
+    }
+
+    /**
+     * Returns true for triggers that can fire from any card in play rather than
+     * only from the card the event is about.
+     */
+    public static boolean isBroadcast(Trigger trigger) {
+        return switch (trigger) {
+            case END_OF_YOUR_TURN, END_OF_OPPONENTS_TURN, OPPONENTS_ATTACK -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Fires an event and hands every matching ability to the handler.
+     *
+     * @param trigger The trigger to fire.
+     * @param player  The player whose abilities respond.
+     * @param source  The card the event is about; required for card triggers.
+     * @param other   A second card involved in the event, or null.
+     * @return The number of abilities visited.
+     */
+    public int fire(Trigger trigger, Player player, Card source, Card other) {
+        if (handler == null) {
+            return 0;
+        }
+        if (isBroadcast(trigger)) {
+            ensureIndexed();
+            List<Subscription> subscribed = subscriptions[seat(player)][trigger.ordinal()];
+            if (subscribed.isEmpty()) {
+                return 0;
+            }
+            // Handlers may move cards, which edits the list being walked
+            Subscription[] visiting = subscribed.toArray(NO_SUBSCRIPTIONS);
+            GameEvent event = new GameEvent(trigger, player, source, other);
+            for (Subscription subscription : visiting) {
+                handler.handle(state, event, subscription.card(), subscription.ability());
+            }
+            return visiting.length;
+        }
+        if (source == null) {
+            return 0;
+        }
+        int visited = 0;
+        GameEvent event = null;
+        for (AbilityData ability : source.getAbilities()) {
+            if (ability.triggerType() == trigger) {
+                if (event == null) {
+                    event = new GameEvent(trigger, player, source, other);
+                }
+                handler.handle(state, event, source, ability);
+                visited++;
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Returns the number of abilities subscribed to a broadcast trigger for the
+     * given player.
+     */
+    public int subscriberCount(Player player, Trigger trigger) {
+        ensureIndexed();
+        return subscriptions[seat(player)][trigger.ordinal()].size();
+    }
+
+    /**
+     * Marks the subscription table stale so it is rebuilt from the zones on
+     * the next broadcast. Call after changing zones without moveCard().
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    // -------------------------------------------------------------------------
+    // Subscription maintenance (called by GameState)
+    // -------------------------------------------------------------------------
+
+    /**
+     * Updates subscriptions after a card moved between zones.
+     */
+    void cardMoved(Card card, Zone origin, Zone target) {
+        if (stale) {
+            return; // Rebuilt wholesale when next needed
+        }
+        boolean wasInPlay = isInPlay(origin);
+        boolean nowInPlay = isInPlay(target);
+        if (wasInPlay && !nowInPlay) {
+            unsubscribe(card);
+        } else if (!wasInPlay && nowInPlay) {
+            subscribe(card);
+        }
+    }
+
+    private static boolean isInPlay(Zone zone) {
+        return zone != null && (zone.getType() == ZoneType.CHARACTER || zone.getType() == ZoneType.STAGE);
+    }
+
+    private void ensureIndexed() {
+        if (!stale) {
+            return;
+        }
+        if (subscriptions == null) {
+            // Java has no generic array creation; every slot is filled below
+            @SuppressWarnings({ "unchecked", "rawtypes" })
+            List<Subscription>[][] lists = new List[2][TRIGGERS];
+            subscriptions = lists;
+            for (List<Subscription>[] seat : subscriptions) {
+                for (int t = 0; t < TRIGGERS; t++) {
+                    seat[t] = new ArrayList<>(2);
+                }
+            }
+        }
+        for (List<Subscription>[] seat : subscriptions) {
+            for (List<Subscription> list : seat) {
+                list.clear();
+            }
+        }
+        for (Player player : new Player[] { state.getPlayer1(), state.getPlayer2() }) {
+            Leader leader = player.getLeader();
+            if (leader != null) {
+                subscribe(leader);
+            }
+            for (Card card : player.getField().getCards()) {
+                subscribe(card);
+            }
+            for (Card card : player.getStage().getCards()) {
+                subscribe(card);
+            }
+        }
+        stale = false;
+    }
+
+    private void subscribe(Card card) {
+        List<AbilityData> abilities = card.getAbilities();
+        if (abilities.isEmpty()) {
+            return;
+        }
+        List<Subscription>[] seat = subscriptions[seat(card.getOwner())];
+        for (AbilityData ability : abilities) {
+            if (isBroadcast(ability.triggerType())) {
+                seat[ability.triggerType().ordinal()].add(new Subscription(card, ability));
+            }
+        }
+    }
+
+    private void unsubscribe(Card card) {
+        List<AbilityData> abilities = card.getAbilities();
+        if (abilities.isEmpty()) {
+            return;
+        }
+        List<Subscription>[] seat = subscriptions[seat(card.getOwner())];
+        for (AbilityData ability : abilities) {
+            if (isBroadcast(ability.triggerType())) {
+                seat[ability.triggerType().ordinal()].removeIf(s -> s.card() == card);
+            }
+        }
+    }
+
+    private int seat(Player player) {
+        return player == state.getPlayer1() ? 0 : 1;
+    }
+}
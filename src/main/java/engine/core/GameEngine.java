@@ -1,6 +1,8 @@
 package engine.core;
 
+import engine.history.ActionLog;
 import engine.history.GameHistoryManager;
+import engine.player.Player;
 import engine.setup.GameSetup;
 import engine.ui.cli.CliController;
 
@@ -8,15 +10,68 @@ public class GameEngine {
     private final GameState gameState;
     private final TurnManager turnManager;
     private final GameSetup gameSetup;
-    private final CliController cliController;
+    private final PlayerController player1Controller;
+    private final PlayerController player2Controller;
     private final GameHistoryManager historyManager;
+    private final ActionLog actionLog;
+    private final boolean headless;
 
+    /**
+     * Creates an interactive engine where both seats are driven by a single
+     * CliController on the terminal. The game's messages go to the console.
+     */
     public GameEngine(GameState gameState) {
         this.gameState = gameState;
         this.gameSetup = new GameSetup(gameState);
         this.turnManager = new TurnManager(gameState);
-        this.cliController = new CliController(gameState, turnManager);
+        CliController cliController = new CliController(gameState, turnManager);
+        this.player1Controller = cliController;
+        this.player2Controller = cliController;
         this.historyManager = new GameHistoryManager();
+        this.actionLog = new ActionLog(gameState.getSeed());
+        gameState.setActionLog(actionLog);
+        gameState.setMessageSink(MessageSink.console());
+        this.headless = false;
+    }
+
+    /**
+     * Creates an engine whose seats are driven by the given controllers.
+     *
+     * @param gameState The game to run.
+     * @param player1   Factory for the controller seated as player 1.
+     * @param player2   Factory for the controller seated as player 2.
+     * @param headless  When true, the loop performs no console output and does
+     *                  not pause between non-interactive phases.
+     */
+    public GameEngine(GameState gameState, PlayerController.Factory player1,
+                      PlayerController.Factory player2, boolean headless) {
+        this(gameState, player1, player2, headless, GameHistoryManager.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an engine whose seats are driven by the given controllers and
+     * that keeps at most historyCapacity history nodes.
+     */
+    public GameEngine(GameState gameState, PlayerController.Factory player1,
+                      PlayerController.Factory player2, boolean headless, int historyCapacity) {
+        this.gameState = gameState;
+        this.gameSetup = new GameSetup(gameState);
+        this.turnManager = new TurnManager(gameState);
+        this.player1Controller = player1.create(gameState, turnManager);
+        this.player2Controller = player2.create(gameState, turnManager);
+        this.historyManager = new GameHistoryManager(historyCapacity);
+        this.actionLog = new ActionLog(gameState.getSeed());
+        gameState.setActionLog(actionLog);
+        this.headless = headless;
+    }
+
+    /**
+     * Creates a headless engine: no console I/O and no sleeps, suitable for
+     * batch simulation.
+     */
+    public static GameEngine headless(GameState gameState, PlayerController.Factory player1,
+                                      PlayerController.Factory player2) {
+        return new GameEngine(gameState, player1, player2, true);
     }
 
     /**
@@ -27,16 +82,45 @@ public class GameEngine {
         return historyManager;
     }
 
+    /**
+     * Returns the log of every decision taken in this game; with the seed it
+     * holds, it is enough to replay the game (see Replay).
+     */
+    public ActionLog getActionLog() {
+        return actionLog;
+    }
+
+    /**
+     * Estimates the heap held by this game's history: the history nodes plus
+     * the action log.
+     *
+     * @return The estimated size in bytes.
+     */
+    public long getHistoryBytes() {
+        return historyManager.estimatedBytes() + actionLog.retainedBytes();
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public TurnManager getTurnManager() {
+        return turnManager;
+    }
+
+    private PlayerController controllerFor(Player player) {
+        return (player == gameState.getPlayer1()) ? player1Controller : player2Controller;
+    }
+
     /**
      * Records the current game state into history.
      */
     private void recordState() {
         historyManager.record(
-                gameState.getPlayer1(),
-                gameState.getPlayer2(),
-                turnManager.getActivePlayer(),
+                turnManager.getActivePlayer().getName(),
                 turnManager.getCurrentPhase(),
-                turnManager.getTurnCount()
+                turnManager.getTurnCount(),
+                actionLog.size()
         );
     }
 
@@ -47,8 +131,8 @@ public class GameEngine {
     public void start() {
         gameSetup.initializeGame();
 
-        cliController.runStartPhase(gameState.getPlayer1(), gameSetup);
-        cliController.runStartPhase(gameState.getPlayer2(), gameSetup);
+        player1Controller.runStartPhase(gameState.getPlayer1(), gameSetup);
+        player2Controller.runStartPhase(gameState.getPlayer2(), gameSetup);
 
         gameSetup.setUpLife(gameState.getPlayer1());
         gameSetup.setUpLife(gameState.getPlayer2());
@@ -63,20 +147,33 @@ public class GameEngine {
      */
     public void run() {
         this.start();
+        GameMetrics metrics = gameState.getMetrics();
+        if (metrics != null) {
+            metrics.startPhase();
+        }
 
         while (!gameState.isGameOver()) {
             Phase currentPhase = turnManager.getCurrentPhase();
-            System.out.println("Turn " + turnManager.getTurnCount() + " - "
-                    + turnManager.getActivePlayer().getName() + "'s " + currentPhase.getName() + " Phase");
+            if (!headless) {
+                System.out.println("Turn " + turnManager.getTurnCount() + " - "
+                        + turnManager.getActivePlayer().getName() + "'s " + currentPhase.getName() + " Phase");
+            }
 
             if (currentPhase.isInteractive()) {
-                cliController.runMainPhases(turnManager.getActivePlayer());
+                int turn = turnManager.getTurnCount();
+                controllerFor(turnManager.getActivePlayer()).runMainPhases(turnManager.getActivePlayer());
+                // A controller that returns without ending its MAIN phase would stall the loop
+                if (turnManager.getCurrentPhase() == Phase.MAIN && turnManager.getTurnCount() == turn) {
+                    turnManager.advancePhase();
+                }
             } else {
                 turnManager.advancePhase();
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+                if (!headless) {
+                    try {
+                        Thread.sleep(1000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
                 }
             }
 
@@ -84,6 +181,11 @@ public class GameEngine {
             recordState();
         }
 
-        System.out.println("Game Over! Winner: " + gameState.getWinner().getName());
+        if (metrics != null) {
+            metrics.endGame(turnManager.getTurnCount());
+        }
+        if (!headless) {
+            System.out.println("Game Over! Winner: " + gameState.getWinner().getName());
+        }
     }
 }
@@ -0,0 +1,17 @@
+package engine.core;
+
+import engine.cards.Card;
+import engine.cards.abilities.Trigger;
+import engine.player.Player;
+
+/**
+ * A game event delivered through the EventBus.
+ *
+ * @param trigger The trigger being fired.
+ * @param player  The player whose abilities respond to the event.
+ * @param source  The card the event is about (the card played, attacking,
+ *                K.O.'d, ...), or null for turn events.
+ * @param other   A second card involved (e.g. the attack target), or null.
+ */
+public record GameEvent(Trigger trigger, Player player, Card source, Card other) {
+}
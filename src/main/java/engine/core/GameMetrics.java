@@ -0,0 +1,204 @@
+package engine.core;
+
+import engine.history.ActionLog;
+
+import java.util.Arrays;
+
+/**
+ * Counters and phase timings for one game.
+ *
+ * GameState, TurnManager, BattleSystem and GameEngine report to the metrics
+ * installed with GameState.setMetrics() as things happen, the same way they
+ * append to the action log, except that a PLAY is only counted once the
+ * card has moved: a play refused for its cost or a full zone is logged, for
+ * replay, but not counted. Nothing is measured when none is installed, and
+ * GameState.copy() never carries the metrics, so search copies are not
+ * counted.
+ *
+ * A GameMetrics is written by the thread playing its game only, so its
+ * counters are plain longs. When the game ends, GameEngine calls endGame(),
+ * which adds the game to the EngineMetrics it was created for, if any.
+ * reset() readies it for the next game.
+ */
+public final class GameMetrics {
+    private static final ActionLog.Type[] TYPES = ActionLog.Type.values();
+    private static final Counter[] COUNTERS = Counter.values();
+    private static final Phase[] PHASES = Phase.values();
+
+    /**
+     * The events counted besides logged actions.
+     */
+    public enum Counter {
+        /** Cards drawn from the deck. */
+        DRAWS("draws"),
+        /** DON!! moved from the DON!! deck to the cost area. */
+        DON_DRAWN("donDrawn"),
+        /** DON!! attached to a Leader or Character. */
+        DON_ATTACHED("donAttached"),
+        /** DON!! rested to pay costs. */
+        DON_PAID("donPaid"),
+        /** Battles resolved by BattleSystem.resolve(). */
+        BATTLES("battles"),
+        /** Battles in which the defender had a counter boost. */
+        COUNTER_BOOSTS("counterBoosts"),
+        /** Total power added by counter boosts. */
+        COUNTER_POWER("counterPower"),
+        /** Costs that could not be paid. */
+        COST_FAILURES("costFailures");
+
+        private final String key;
+
+        Counter(String key) {
+            this.key = key;
+        }
+
+        /** The name used in JSON output. */
+        public String key() {
+            return key;
+        }
+    }
+
+    private final EngineMetrics aggregate;
+    private final long[] actions = new long[TYPES.length];
+    private final long[] counters = new long[COUNTERS.length];
+    private final Histogram[] phaseNanos = new Histogram[PHASES.length];
+    private long phaseStart;
+    private int turns;
+
+    /**
+     * Creates metrics for a game that are not added to any aggregate.
+     */
+    public GameMetrics() {
+        this(null);
+    }
+
+    /**
+     * @param aggregate Receives this game's figures on endGame(); may be null.
+     */
+    public GameMetrics(EngineMetrics aggregate) {
+        this.aggregate = aggregate;
+        for (int i = 0; i < phaseNanos.length; i++) {
+            phaseNanos[i] = new Histogram();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Recording
+    // -------------------------------------------------------------------------
+
+    public void action(ActionLog.Type type) {
+        actions[type.ordinal()]++;
+    }
+
+    public void count(Counter counter) {
+        counters[counter.ordinal()]++;
+    }
+
+    public void count(Counter counter, long amount) {
+        counters[counter.ordinal()] += amount;
+    }
+
+    /**
+     * Starts the clock for the phase the game is in.
+     */
+    public void startPhase() {
+        phaseStart = System.nanoTime();
+    }
+
+    /**
+     * Records the time spent in the phase being left and starts the clock for
+     * the next one. Ignored until startPhase() has been called.
+     */
+    public void endPhase(Phase phase) {
+        long now = System.nanoTime();
+        if (phaseStart != 0) {
+            phaseNanos[phase.ordinal()].add(now - phaseStart);
+        }
+        phaseStart = now;
+    }
+
+    /**
+     * Records the game's length and adds the game to the aggregate.
+     */
+    public void endGame(int turnCount) {
+        turns = turnCount;
+        phaseStart = 0;
+        if (aggregate != null) {
+            aggregate.record(this);
+        }
+    }
+
+    /**
+     * Clears every figure so the object can measure another game.
+     */
+    public void reset() {
+        Arrays.fill(actions, 0);
+        Arrays.fill(counters, 0);
+        for (Histogram histogram : phaseNanos) {
+            histogram.reset();
+        }
+        phaseStart = 0;
+        turns = 0;
+    }
+
+    // -------------------------------------------------------------------------
+    // Reading
+    // -------------------------------------------------------------------------
+
+    public long get(ActionLog.Type type) {
+        return actions[type.ordinal()];
+    }
+
+    public long get(Counter counter) {
+        return counters[counter.ordinal()];
+    }
+
+    public long totalActions() {
+        long total = 0;
+        for (long n : actions) {
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the histogram of time spent in each occurrence of the phase.
+     */
+    public Histogram phaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * Returns the final turn count, or 0 before endGame().
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    public String toJson() {
+        StringBuilder out = new StringBuilder();
+        out.append("{\"turns\":").append(turns);
+        appendJson(out, actions, counters, phaseNanos);
+        out.append('}');
+        return out.toString();
+    }
+
+    // Shared with EngineMetrics: appends the "actions", "counters" and
+    // "phaseNanos" members after the ones already written
+    static void appendJson(StringBuilder out, long[] actions, long[] counters, Histogram[] phaseNanos) {
+        out.append(",\"actions\":{");
+        for (int i = 0; i < TYPES.length; i++) {
+            out.append(i == 0 ? "" : ",").append('"').append(TYPES[i].name()).append("\":").append(actions[i]);
+        }
+        out.append("},\"counters\":{");
+        for (int i = 0; i < COUNTERS.length; i++) {
+            out.append(i == 0 ? "" : ",").append('"').append(COUNTERS[i].key()).append("\":").append(counters[i]);
+        }
+        out.append("},\"phaseNanos\":{");
+        for (int i = 0; i < PHASES.length; i++) {
+            out.append(i == 0 ? "" : ",").append('"').append(PHASES[i].name()).append("\":");
+            phaseNanos[i].appendJson(out);
+        }
+        out.append('}');
+    }
+}
@@ -0,0 +1,104 @@
+package engine.core;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * The random source owned by a GameState (SplitMix64).
+ *
+ * Each game draws all of its randomness (deck shuffles, mulligans, random
+ * effects, and the controllers built with RandomController.factory()) from
+ * its own GameRandom, so a game is fully determined by its seed and games on
+ * different threads never contend on a shared generator.
+ *
+ * Unlike java.util.SplittableRandom, the whole state is one long that can be
+ * read and written, which lets GameSnapshot rewind it and GameState.copy()
+ * continue the same sequence. Not thread-safe; like the rest of a GameState
+ * it belongs to one thread at a time.
+ */
+public final class GameRandom implements RandomGenerator {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final long DERIVE_SALT = 0x632be59bd9b4e019L;
+
+    private long seed;
+    private long state;
+    private long derived;
+
+    public GameRandom(long seed) {
+        this.seed = seed;
+        this.state = seed;
+    }
+
+    /**
+     * Returns a fresh, unpredictable seed for games that do not ask for one.
+     */
+    public static long randomSeed() {
+        return mix(System.nanoTime() ^ ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Derives the seed of one game in a batch from the batch seed and the
+     * game's index, so each game can be replayed on its own.
+     */
+    public static long seedFor(long batchSeed, long index) {
+        return mix(batchSeed + (index + 1) * GOLDEN_GAMMA);
+    }
+
+    @Override
+    public long nextLong() {
+        return mix(state += GOLDEN_GAMMA);
+    }
+
+    /**
+     * Returns a new generator for a consumer outside the game rules, such as
+     * a controller. It is seeded from this generator's seed and a count of
+     * earlier derivations, and does not advance this generator, so game
+     * randomness is the same whether or not controllers draw from it (which
+     * is what lets an ActionLog replay a game without its controllers).
+     */
+    public GameRandom derive() {
+        return new GameRandom(seedFor(seed ^ DERIVE_SALT, derived++));
+    }
+
+    /**
+     * Returns the seed this generator was created (or last reseeded) with.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    long getState() {
+        return state;
+    }
+
+    void setState(long state) {
+        this.state = state;
+    }
+
+    /**
+     * Starts over as if newly created with the given seed.
+     */
+    void reseed(long seed) {
+        this.seed = seed;
+        this.state = seed;
+        this.derived = 0;
+    }
+
+    /**
+     * Returns a generator with the same seed, position and derivation count
+     * as this one, so a copied game neither replays nor skips derive() seeds.
+     */
+    GameRandom copy() {
+        GameRandom copy = new GameRandom(seed);
+        copy.state = state;
+        copy.derived = derived;
+        return copy;
+    }
+
+    // Stafford variant 13 finalizer, as used by SplittableRandom
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
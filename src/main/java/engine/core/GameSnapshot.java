@@ -0,0 +1,156 @@
+package engine.core;
+
+import engine.cards.Card;
+import engine.cards.DonCard;
+import engine.cards.Leader;
+import engine.player.Player;
+import engine.zones.Zone;
+
+import java.util.List;
+
+/**
+ * Immutable capture of every piece of mutable state in a GameState: the order
+ * of cards in each zone, each card's rested / summoning-sick / attached flags,
+ * attached Don cards, leader life, the game-over result and the position of
+ * the game's random source.
+ *
+ * Snapshots hold references to the game's own Card objects and share their
+ * immutable CardData, so they can only be restored into the GameState that
+ * produced them. Zone contents are copy-on-write: a zone that has not changed
+ * since the previous snapshot or restore contributes the same array again, so
+ * the cost of a snapshot is dominated by the zones that actually moved.
+ * GameStateBenchmark (snapshot, restore, drawSnapshotRestore, copy) reports
+ * the time and bytes allocated per call: mvn -Pbench package, then
+ * java -jar target/benchmarks.jar GameStateBenchmark.
+ *
+ * Cards that are in no zone at capture time (e.g. mid-move) are not tracked.
+ * Use GameState.copy() instead when an independent game is needed, for example
+ * to search on another thread.
+ */
+public final class GameSnapshot {
+    private static final int ZONES_PER_PLAYER = 8;
+
+    private final Zone[] zones;
+    private final Card[][] contents;
+    private final int[] flags;
+    private final DonCard[][] attached;
+    private final int leader1Life;
+    private final int leader2Life;
+    private final boolean gameOver;
+    private final Player winner;
+    private final long randomState;
+
+    private GameSnapshot(Zone[] zones, Card[][] contents, int[] flags, DonCard[][] attached,
+                         int leader1Life, int leader2Life, boolean gameOver, Player winner, long randomState) {
+        this.zones = zones;
+        this.contents = contents;
+        this.flags = flags;
+        this.attached = attached;
+        this.leader1Life = leader1Life;
+        this.leader2Life = leader2Life;
+        this.gameOver = gameOver;
+        this.winner = winner;
+        this.randomState = randomState;
+    }
+
+    /**
+     * Captures the current state of the given game.
+     */
+    static GameSnapshot capture(GameState state, boolean gameOver, Player winner, long randomState) {
+        Player p1 = state.getPlayer1();
+        Player p2 = state.getPlayer2();
+        Zone[] zones = new Zone[ZONES_PER_PLAYER * 2];
+        Card[][] contents = new Card[zones.length][];
+        int total = 2 // one slot per leader, stored after all zone cards
+                + captureZones(p1.getZones(), zones, contents, 0)
+                + captureZones(p2.getZones(), zones, contents, ZONES_PER_PLAYER);
+
+        int[] flags = new int[total];
+        DonCard[][] attached = null;
+        int i = 0;
+        for (Card[] zoneCards : contents) {
+            for (Card card : zoneCards) {
+                attached = captureCard(card, i++, flags, attached);
+            }
+        }
+        attached = captureCard(p1.getLeader(), i++, flags, attached);
+        attached = captureCard(p2.getLeader(), i, flags, attached);
+
+        int leader1Life = p1.getLeader() != null ? p1.getLeader().getLifePoints() : 0;
+        int leader2Life = p2.getLeader() != null ? p2.getLeader().getLifePoints() : 0;
+        return new GameSnapshot(zones, contents, flags, attached, leader1Life, leader2Life, gameOver, winner,
+                randomState);
+    }
+
+    private static int captureZones(List<Zone> playerZones, Zone[] zones, Card[][] contents, int offset) {
+        int cards = 0;
+        for (int z = 0; z < playerZones.size(); z++) {
+            Zone zone = playerZones.get(z);
+            zones[offset + z] = zone;
+            contents[offset + z] = zone.snapshotContents();
+            cards += contents[offset + z].length;
+        }
+        return cards;
+    }
+
+    /**
+     * Records one card's flags and attached Don cards at the given slot. The
+     * attached table is only allocated once a card with attachments is seen.
+     */
+    private static DonCard[][] captureCard(Card card, int slot, int[] flags, DonCard[][] attached) {
+        if (card == null) {
+            return attached;
+        }
+        flags[slot] = card.getStateFlags();
+        DonCard[] dons = card.getAttachedDonArray();
+        if (dons != null) {
+            if (attached == null) attached = new DonCard[flags.length][];
+            attached[slot] = dons;
+        }
+        return attached;
+    }
+
+    /**
+     * Writes the captured zone contents and card state back into the game.
+     */
+    void restoreInto(GameState state) {
+        int i = 0;
+        for (int z = 0; z < zones.length; z++) {
+            zones[z].restoreContents(contents[z]);
+            for (Card card : contents[z]) {
+                card.restoreState(flags[i], attached == null ? null : attached[i]);
+                i++;
+            }
+        }
+        Leader leader1 = state.getPlayer1().getLeader();
+        Leader leader2 = state.getPlayer2().getLeader();
+        if (leader1 != null) {
+            leader1.restoreState(flags[i], attached == null ? null : attached[i]);
+            leader1.setLifePoints(leader1Life);
+        }
+        i++;
+        if (leader2 != null) {
+            leader2.restoreState(flags[i], attached == null ? null : attached[i]);
+            leader2.setLifePoints(leader2Life);
+        }
+    }
+
+    /**
+     * Returns true if this snapshot was taken from the given game.
+     */
+    boolean belongsTo(GameState state) {
+        return zones[0] == state.getPlayer1().getZones().get(0);
+    }
+
+    boolean isGameOver() {
+        return gameOver;
+    }
+
+    Player getWinner() {
+        return winner;
+    }
+
+    long getRandomState() {
+        return randomState;
+    }
+}
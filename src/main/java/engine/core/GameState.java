@@ -2,26 +2,174 @@ package engine.core;
 
 import engine.cards.Card;
 import engine.cards.abilities.Cost;
+import engine.cards.abilities.Trigger;
 import engine.player.Player;
 import engine.cards.DonCard;
 import engine.cards.Leader;
+import engine.history.ActionLog;
+import engine.history.DiffLog;
+import engine.history.EventJournal;
 import engine.zones.Zone;
+import engine.zones.ZoneType;
 
-import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
-public class GameState {
+public final class GameState {
     private Player player1;
     private Player player2;
 
     private boolean gameOver;
     private Player winner;
 
+    private final EventBus events;
+    private final GameRandom random;
+    private final ZobristHash zobrist;
+    // Decisions are appended here when set; never carried over by copy()
+    private ActionLog actionLog;
+    // Counters for this game when set; never carried over by copy()
+    private GameMetrics metrics;
+    private MessageSink messages = MessageSink.NONE;
+    // State changes are published here when set; never carried over by copy()
+    private EventJournal journal;
+    // Board diffs for remote seats when set; never carried over by copy()
+    private DiffLog diffs;
+    // journal and diffs combined; null when neither is set
+    private StateListener changes;
+    // Unshuffled position that reset() returns to; never carried over by copy()
+    private GameSnapshot startingPosition;
+
     public GameState(Player player1, Player player2) {
+        this(player1, player2, GameRandom.randomSeed());
+    }
+
+    /**
+     * Creates a game whose randomness is fully determined by the seed: the
+     * same seed, decks and controllers replay the same game.
+     */
+    public GameState(Player player1, Player player2, long seed) {
+        this(player1, player2, new GameRandom(seed));
+    }
+
+    // Used by copy() to carry the random source over with its derivation count
+    private GameState(Player player1, Player player2, GameRandom random) {
         this.player1 = player1;
         this.player2 = player2;
         this.gameOver = false;
         this.winner = null;
+        this.events = new EventBus(this);
+        this.random = random;
+        this.zobrist = new ZobristHash(this);
+        player1.setZobrist(zobrist);
+        player2.setZobrist(zobrist);
+        player1.setMessageSink(messages);
+        player2.setMessageSink(messages);
+        zobrist.recompute();
+    }
+
+    /**
+     * Returns the bus that dispatches triggers to card abilities.
+     */
+    public EventBus getEventBus() {
+        return events;
+    }
+
+    /**
+     * Returns this game's random source. All game randomness (shuffles,
+     * mulligans, random effects) must come from here to stay reproducible.
+     */
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Returns the incrementally maintained hash of this position (see
+     * ZobristHash). Equal positions, including copies, have equal hashes.
+     */
+    public long positionHash() {
+        return zobrist.get();
+    }
+
+    public ZobristHash getZobrist() {
+        return zobrist;
+    }
+
+    /**
+     * Installs the log that records every decision taken in this game, or
+     * null to stop recording.
+     */
+    public void setActionLog(ActionLog actionLog) {
+        this.actionLog = actionLog;
+    }
+
+    public ActionLog getActionLog() {
+        return actionLog;
+    }
+
+    /**
+     * Installs the metrics this game reports to, or null to stop measuring.
+     */
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public GameMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets where this game and both players' zones and cards send their
+     * messages. Games start with MessageSink.NONE; copy() does not carry the
+     * sink over.
+     */
+    public void setMessageSink(MessageSink messages) {
+        this.messages = messages;
+        player1.setMessageSink(messages);
+        player2.setMessageSink(messages);
+    }
+
+    public MessageSink getMessageSink() {
+        return messages;
+    }
+
+    /**
+     * Installs the journal that every state change of this game is published
+     * to, or null to stop journaling. Installing a journal records the start
+     * of the game with its seed. The journal must only be published to from
+     * the thread playing this game.
+     */
+    public void setJournal(EventJournal journal) {
+        this.journal = journal;
+        this.changes = StateListener.combine(journal, diffs);
+        if (journal != null) {
+            journal.gameStarted(this, random.getSeed());
+        }
+    }
+
+    public EventJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Installs the log that board changes of this game are encoded into for
+     * remote seats, or null to stop recording.
+     */
+    public void setDiffLog(DiffLog diffs) {
+        this.diffs = diffs;
+        this.changes = StateListener.combine(journal, diffs);
+    }
+
+    public DiffLog getDiffLog() {
+        return diffs;
+    }
+
+    /**
+     * Returns the seed this game was created with; pass it to the seeded
+     * constructor (or GameFactory.createTestGame(seed)) to replay the game.
+     */
+    public long getSeed() {
+        return random.getSeed();
     }
 
     /**
@@ -38,11 +186,23 @@ public class GameState {
      */
     public void moveCard(Card card, Zone target) {
         Zone origin = card.getZone();
-        if (origin != null) {
-            origin.remove(card);
-        }
+        int index = (origin != null) ? origin.removeIndexed(card) : -1;
+        moveCard(card, origin, index, target);
+    }
+
+    // Places a card that has already left origin at index (e.g. drawn off
+    // the top of a deck, index 0) into target
+    private void moveCard(Card card, Zone origin, int index, Zone target) {
         target.add(card);
         card.setZone(target);
+        if (changes != null) {
+            changes.cardMoved(this, card, origin, index, target);
+        }
+        events.cardMoved(card, origin, target);
+        // A Character leaving the field for the trash has been K.O.'d
+        if (origin != null && origin.getType() == ZoneType.CHARACTER && target.getType() == ZoneType.TRASH) {
+            events.fire(Trigger.ON_KO, card.getOwner(), card, null);
+        }
     }
 
     /**
@@ -55,16 +215,18 @@ public class GameState {
      *               be drawn from and whose hand will receive the drawn card.
      */
     public void draw(Player player) {
-        if (player.getDeck().getCards().isEmpty()) {
-            System.out.println(player.getName() + " has no more cards to draw.");
-            System.out.println((player == player1 ? player2.getName() : player1.getName()) + " wins the game!");
-            gameOver = true;
-            winner = (player == player1) ? player2 : player1;
+        if (player.getDeck().isEmpty()) {
+            messages.message(player.getName() + " has no more cards to draw.");
+            messages.message((player == player1 ? player2.getName() : player1.getName()) + " wins the game!");
+            endGame((player == player1) ? player2 : player1);
             return;
         }
         Card drawnCard = player.getDeck().draw();
         if (drawnCard != null) {
-            moveCard(drawnCard, player.getHand());
+            moveCard(drawnCard, player.getDeck(), 0, player.getHand());
+            if (metrics != null) {
+                metrics.count(GameMetrics.Counter.DRAWS);
+            }
         }
 
     }
@@ -95,7 +257,7 @@ public class GameState {
      *               whose deck will be randomized.
      */
     public void shuffle(Player player) {
-        player.getDeck().shuffle();
+        player.getDeck().shuffle(random);
     }
 
     /**
@@ -108,13 +270,19 @@ public class GameState {
      */
     public void drawDon(Player player, int count) {
         for (int i = 0; i < count; i++) {
-            if (player.getDonDeck().getCards().isEmpty()) {
-                System.out.println(player.getName() + " has no more Don cards to draw.");
+            if (player.getDonDeck().isEmpty()) {
+                // Reached every DON phase once the DON!! deck runs out
+                if (messages.isEnabled()) {
+                    messages.message(player.getName() + " has no more Don cards to draw.");
+                }
                 break;
             }
             DonCard drawnCard = player.getDonDeck().drawDon();
             if (drawnCard != null) {
-                moveCard(drawnCard, player.getCost());
+                moveCard(drawnCard, player.getDonDeck(), 0, player.getCost());
+                if (metrics != null) {
+                    metrics.count(GameMetrics.Counter.DON_DRAWN);
+                }
             }
         }
     }
@@ -130,6 +298,12 @@ public class GameState {
      *               and added to the trash zone.
      */
     public void trash(Player player, Card card) {
+        if (actionLog != null) {
+            actionLog.recordTrash(this, player, card);
+        }
+        if (metrics != null) {
+            metrics.action(ActionLog.Type.TRASH);
+        }
         moveCard(card, player.getTrash());
     }
 
@@ -143,17 +317,18 @@ public class GameState {
      *             will be moved to the appropriate zone based on its type.
      */
     public void playCard(Player player, Card card) {
-        if (!player.getHand().getCards().contains(card)) {
-            System.out.println(player.getName() + " cannot play " + card.getData().name()
+        if (!player.getHand().contains(card)) {
+            messages.message(player.getName() + " cannot play " + card.getData().name()
                     + " because it is not in their hand.");
             return;
         }
+        if (actionLog != null) {
+            actionLog.recordPlay(this, player, card);
+        }
         // Pay the Don cost before moving the card
         int cardCost = card.getData().cost();
         if (cardCost > 0) {
-            Cost cost = new Cost();
-            cost.type = Cost.CostType.DON;
-            cost.amount = cardCost;
+            Cost cost = new Cost(Cost.CostType.DON, cardCost);
             if (!payCost(player, cost)) {
                 return;
             }
@@ -162,8 +337,8 @@ public class GameState {
         Zone targetZone;
         switch (card.getData().cardType()) {
             case Character:
-                if (player.getField().getCards().size() >= 5) {
-                    System.out.println("Field is full (5/5). " + card.getData().name() + " cannot be played.");
+                if (player.getField().size() >= 5) {
+                    messages.message("Field is full (5/5). " + card.getData().name() + " cannot be played.");
                     return;
                 }
                 targetZone = player.getField();
@@ -174,16 +349,22 @@ public class GameState {
                 break;
             case Stage:
                 if (!player.getStage().isEmpty()) {
-                    System.out.println("Stage zone is occupied. " + card.getData().name() + " cannot be played.");
+                    messages.message("Stage zone is occupied. " + card.getData().name() + " cannot be played.");
                     return;
                 }
                 targetZone = player.getStage();
                 break;
             default:
-                System.out.println("Unknown card type for " + card.getData().name());
+                messages.message("Unknown card type for " + card.getData().name());
                 return;
         }
         moveCard(card, targetZone);
+        // Counted once the card has moved; a play refused above is not a play
+        if (metrics != null) {
+            metrics.action(ActionLog.Type.PLAY);
+        }
+        Trigger trigger = (targetZone == player.getTrash()) ? Trigger.MAIN : Trigger.ON_PLAY;
+        events.fire(trigger, player, card, null);
     }
 
     /**
@@ -203,23 +384,34 @@ public class GameState {
      * @return true if the cost was successfully paid, false otherwise.
      */
     public boolean payCost(Player player, Cost cost) {
-        if (cost.type != Cost.CostType.DON) {
-            System.out.println("Unsupported cost type: " + cost.type);
+        if (cost.type() != Cost.CostType.DON) {
+            messages.message("Unsupported cost type: " + cost.type());
+            if (metrics != null) {
+                metrics.count(GameMetrics.Counter.COST_FAILURES);
+            }
             return false;
         }
-        List<DonCard> available = new ArrayList<>();
-        for (Card c : player.getCost().getCards()) {
-            if (c instanceof DonCard don && !don.isRested() && !don.isAttached()) {
-                available.add(don);
+        if (player.getActiveDon() < cost.amount()) {
+            messages.message(player.getName() + " cannot afford this card (needs " + cost.amount()
+                    + " Don, has " + player.getActiveDon() + " available).");
+            if (metrics != null) {
+                metrics.count(GameMetrics.Counter.COST_FAILURES);
             }
-        }
-        if (available.size() < cost.amount) {
-            System.out.println(player.getName() + " cannot afford this card (needs " + cost.amount
-                    + " Don, has " + available.size() + " available).");
             return false;
         }
-        for (int i = 0; i < cost.amount; i++) {
-            available.get(i).rest();
+        List<Card> costArea = player.getCost().getCards();
+        int remaining = cost.amount();
+        for (int i = 0; i < costArea.size() && remaining > 0; i++) {
+            if (costArea.get(i) instanceof DonCard don && !don.isRested() && !don.isAttached()) {
+                don.rest();
+                remaining--;
+            }
+        }
+        if (metrics != null) {
+            metrics.count(GameMetrics.Counter.DON_PAID, cost.amount());
+        }
+        if (changes != null) {
+            changes.costPaid(this, player, cost.amount());
         }
         return true;
     }
@@ -243,8 +435,18 @@ public class GameState {
      * @return true if the Don card was successfully attached, false otherwise.
      */
     public void attachDon(Card card, DonCard don) {
+        if (actionLog != null) {
+            actionLog.recordAttachDon(this, card, don);
+        }
+        if (metrics != null) {
+            metrics.action(ActionLog.Type.ATTACH_DON);
+            metrics.count(GameMetrics.Counter.DON_ATTACHED);
+        }
         card.attachDonCard(don);
         don.setAttached(true);
+        if (changes != null) {
+            changes.donAttached(this, card);
+        }
     }
 
     /**
@@ -264,6 +466,9 @@ public class GameState {
         DonCard don = card.detachDonCard();
         if (don != null) {
             don.setAttached(false);
+            if (changes != null) {
+                changes.donDetached(this, card);
+            }
         }
     }
 
@@ -311,14 +516,16 @@ public class GameState {
      */
     public void removeLife(Player player) {
         if (player.getLife().isEmpty()) {
-            System.out.println(player.getName() + " has no more life points and has been defeated.");
-            System.out.println((player == player1 ? player2.getName() : player1.getName()) + " wins the game!");
-            gameOver = true;
-            winner = (player == player1) ? player2 : player1;
+            messages.message(player.getName() + " has no more life points and has been defeated.");
+            messages.message((player == player1 ? player2.getName() : player1.getName()) + " wins the game!");
+            endGame((player == player1) ? player2 : player1);
             return;
         }
         Card cardToRemove = player.getLife().draw();
-        moveCard(cardToRemove, player.getHand());
+        moveCard(cardToRemove, player.getLife(), 0, player.getHand());
+        if (changes != null) {
+            changes.lifeLost(this, player);
+        }
         Leader leader = player.getLeader();
         if (leader != null) leader.takeLife();
     }
@@ -341,14 +548,16 @@ public class GameState {
     public void removeLife(Player player, int amount) {
         for (int i = 0; i < amount; i++) {
             if (player.getLife().isEmpty()) {
-                System.out.println(player.getName() + " has no more life points and has been defeated.");
-                System.out.println((player == player1 ? player2.getName() : player1.getName()) + " wins the game!");
-                gameOver = true;
-                winner = (player == player1) ? player2 : player1;
+                messages.message(player.getName() + " has no more life points and has been defeated.");
+                messages.message((player == player1 ? player2.getName() : player1.getName()) + " wins the game!");
+                endGame((player == player1) ? player2 : player1);
                 return;
             }
             Card cardToRemove = player.getLife().draw();
-            moveCard(cardToRemove, player.getHand());
+            moveCard(cardToRemove, player.getLife(), 0, player.getHand());
+            if (changes != null) {
+                changes.lifeLost(this, player);
+            }
         }
         Leader leader = player.getLeader();
         if (leader != null) leader.takeLife(amount);
@@ -362,6 +571,9 @@ public class GameState {
         for (Card don : player.getCost().getCards()) {
             don.activate();
         }
+        if (changes != null) {
+            changes.refreshed(this, player, StateListener.Refresh.DON);
+        }
     }
 
     /**
@@ -379,6 +591,9 @@ public class GameState {
                 detachDonCards(card);
             }
         }
+        if (changes != null) {
+            changes.refreshed(this, player, StateListener.Refresh.CHARACTERS);
+        }
     }
 
     /**
@@ -403,6 +618,28 @@ public class GameState {
             leader.activate();
         }
         detachDonCards(leader);
+        if (changes != null) {
+            changes.refreshed(this, player, StateListener.Refresh.LEADER);
+        }
+    }
+
+    // Ends the game in the winner's favour
+    private void endGame(Player winner) {
+        gameOver = true;
+        this.winner = winner;
+        if (changes != null) {
+            changes.gameOver(this, winner);
+        }
+    }
+
+    /**
+     * Rests a card to attack with it. Called by BattleSystem.
+     */
+    public void restToAttack(Card card) {
+        card.rest();
+        if (changes != null) {
+            changes.cardRested(this, card);
+        }
     }
 
     public void resolveBattle(Card attacker, Card defender) {
@@ -414,6 +651,119 @@ public class GameState {
         // effects)
     }
 
+    /**
+     * Captures all mutable state of this game (zone contents, card flags,
+     * attached Don, leader life, result, random-source position) so it can
+     * later be rewound with restore(). CardData and Card objects are shared,
+     * not copied.
+     *
+     * @return An immutable snapshot bound to this GameState.
+     */
+    public GameSnapshot snapshot() {
+        return GameSnapshot.capture(this, gameOver, winner, random.getState());
+    }
+
+    /**
+     * Rewinds this game to a snapshot previously taken from it.
+     *
+     * @param snapshot A snapshot produced by this GameState's snapshot().
+     * @throws IllegalArgumentException if the snapshot came from another game.
+     */
+    public void restore(GameSnapshot snapshot) {
+        if (!snapshot.belongsTo(this)) {
+            throw new IllegalArgumentException("Snapshot was taken from a different GameState.");
+        }
+        snapshot.restoreInto(this);
+        events.invalidate();
+        if (changes != null) {
+            changes.restored(this);
+        }
+        this.gameOver = snapshot.isGameOver();
+        this.winner = snapshot.getWinner();
+        random.setState(snapshot.getRandomState());
+        player1.recountDon();
+        player2.recountDon();
+        zobrist.recompute();
+    }
+
+    /**
+     * Records the current position, with both decks built but not yet
+     * shuffled, as the one reset() returns to, then deals the game from it
+     * with this game's seed. Called by GameFactory.
+     */
+    public void captureStartingPosition() {
+        startingPosition = snapshot();
+        reset(random.getSeed());
+    }
+
+    /**
+     * Returns this game to its starting position under a new seed, reusing
+     * every Player, Zone and Card: the result is the same game the factory
+     * would have built with that seed. Any action log is detached.
+     *
+     * @throws IllegalStateException if no starting position was captured.
+     */
+    public void reset(long seed) {
+        if (startingPosition == null) {
+            throw new IllegalStateException("No starting position to reset to; build the game with GameFactory.");
+        }
+        restore(startingPosition);
+        zobrist.clearTurn();
+        random.reseed(seed);
+        actionLog = null;
+        if (changes != null) {
+            changes.gameStarted(this, seed);
+        }
+        shuffle(player1);
+        shuffle(player2);
+    }
+
+    /**
+     * Creates a fully independent deep copy of this game: new Players, Zones and
+     * Cards with the same ordering and state, sharing only the immutable
+     * CardData. Unlike snapshot(), the copy can be mutated on another thread.
+     *
+     * @return A new GameState equal in state to this one.
+     */
+    public GameState copy() {
+        Map<Card, Card> copies = new IdentityHashMap<>();
+        Player copy1 = copyPlayer(player1, copies);
+        Player copy2 = copyPlayer(player2, copies);
+        // Re-link attached Don cards now that every card has a copy
+        for (Map.Entry<Card, Card> entry : copies.entrySet()) {
+            for (DonCard don : entry.getKey().getAttachedDons()) {
+                entry.getValue().attachDonCard((DonCard) copies.get(don));
+            }
+        }
+        GameState copy = new GameState(copy1, copy2, random.copy());
+        copy.zobrist.copyTurnFrom(zobrist);
+        copy.gameOver = gameOver;
+        copy.winner = (winner == player1) ? copy1 : (winner == player2) ? copy2 : null;
+        copy.events.setHandler(events.getHandler());
+        return copy;
+    }
+
+    private static Player copyPlayer(Player original, Map<Card, Card> copies) {
+        Player copy = new Player(original.getPlayerId(), original.getName(), null);
+        Leader leader = original.getLeader();
+        if (leader != null) {
+            Leader leaderCopy = (Leader) leader.copy(copy);
+            copies.put(leader, leaderCopy);
+            copy.setLeader(leaderCopy);
+        }
+        List<Zone> from = original.getZones();
+        List<Zone> to = copy.getZones();
+        for (int z = 0; z < from.size(); z++) {
+            Zone target = to.get(z);
+            for (Card card : from.get(z).snapshotContents()) {
+                Card cardCopy = card.copy(copy);
+                copies.put(card, cardCopy);
+                target.addBottom(cardCopy);
+            }
+        }
+        return copy;
+    }
+
     public boolean isGameOver() {
         return gameOver;
     }
@@ -0,0 +1,146 @@
+package engine.core;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative long values in power-of-two buckets:
+ * bucket 0 holds 0, and bucket i holds values in [2^(i-1), 2^i). That is
+ * coarse, but it covers both turn counts and phase times in nanoseconds
+ * with 64 fixed buckets and makes add() a handful of uncontended atomic
+ * adds.
+ *
+ * Any number of threads may add() and merge() concurrently; a reader running
+ * at the same time sees each value either counted or not, but count, sum and
+ * buckets are not updated as one unit.
+ */
+public final class Histogram {
+    private static final int BUCKETS = 65;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    /**
+     * Records one value; negative values are counted as 0.
+     */
+    public void add(long value) {
+        long v = Math.max(0, value);
+        buckets.incrementAndGet(bucketOf(v));
+        count.increment();
+        sum.add(v);
+        min.accumulate(v);
+        max.accumulate(v);
+    }
+
+    /**
+     * Adds every value recorded in another histogram to this one.
+     */
+    public void merge(Histogram other) {
+        long otherCount = other.count();
+        if (otherCount == 0) {
+            return;
+        }
+        for (int i = 0; i < BUCKETS; i++) {
+            long n = other.buckets.get(i);
+            if (n != 0) {
+                buckets.addAndGet(i, n);
+            }
+        }
+        count.add(otherCount);
+        sum.add(other.sum());
+        min.accumulate(other.min());
+        max.accumulate(other.max());
+    }
+
+    /**
+     * Clears the histogram. Not safe while other threads are adding to it.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        min.reset();
+        max.reset();
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * Returns the smallest value recorded, or 0 if there is none.
+     */
+    public long min() {
+        return count() == 0 ? 0 : min.get();
+    }
+
+    /**
+     * Returns the largest value recorded, or 0 if there is none.
+     */
+    public long max() {
+        return count() == 0 ? 0 : max.get();
+    }
+
+    public double mean() {
+        long n = count();
+        return n == 0 ? 0.0 : (double) sum() / n;
+    }
+
+    /**
+     * Returns how many values fell in the bucket whose smallest value is
+     * lowerBound(bucket).
+     */
+    public long bucketCount(int bucket) {
+        return buckets.get(bucket);
+    }
+
+    public static int bucketCount() {
+        return BUCKETS;
+    }
+
+    public static int bucketOf(long value) {
+        return 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    public static long lowerBound(int bucket) {
+        return (bucket == 0) ? 0 : 1L << (bucket - 1);
+    }
+
+    /**
+     * Appends this histogram as a JSON object. Only non-empty buckets are
+     * written, as [lower bound, count] pairs.
+     */
+    public void appendJson(StringBuilder out) {
+        out.append("{\"count\":").append(count())
+                .append(",\"sum\":").append(sum())
+                .append(",\"min\":").append(min())
+                .append(",\"max\":").append(max())
+                .append(",\"mean\":").append(mean())
+                .append(",\"buckets\":[");
+        boolean first = true;
+        for (int i = 0; i < BUCKETS; i++) {
+            long n = buckets.get(i);
+            if (n != 0) {
+                out.append(first ? "" : ",").append('[').append(lowerBound(i)).append(',').append(n).append(']');
+                first = false;
+            }
+        }
+        out.append("]}");
+    }
+
+    public String toJson() {
+        StringBuilder out = new StringBuilder();
+        appendJson(out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package engine.core;
+
+/**
+ * Receives the engine's human-readable messages ("has no more cards to
+ * draw", "cannot afford this card", ...).
+ *
+ * GameState passes its sink to both players (GameState.setMessageSink()),
+ * and their zones and cards report through their owner, the same way they
+ * reach the position hash. Games start with NONE, so headless and search
+ * games never touch a shared stream; the interactive GameEngine installs
+ * console(). Parallel runs that still want the messages can give each game a
+ * BufferedMessageSink, or share an AsyncMessageSink that writes them out on
+ * a background thread.
+ */
+@FunctionalInterface
+public interface MessageSink {
+
+    /** Discards every message. */
+    MessageSink NONE = new MessageSink() {
+        @Override
+        public void message(String text) {
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    void message(String text);
+
+    /**
+     * Returns false when messages are discarded, so callers on hot paths can
+     * skip building them.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Returns a sink that prints each message to System.out.
+     */
+    static MessageSink console() {
+        return System.out::println;
+    }
+}
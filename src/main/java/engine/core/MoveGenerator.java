@@ -0,0 +1,271 @@
+package engine.core;
+
+import engine.battle.BattleSystem;
+import engine.cards.Card;
+import engine.cards.CardData;
+import engine.cards.DonCard;
+import engine.player.Player;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Enumerates the legal MAIN phase moves of the active player into a reusable
+ * int buffer, without allocating once the buffer has grown to fit.
+ *
+ * A move packs its kind, source and target index into one int (see encode()).
+ * Indexes are board positions rather than objects, so a move generated on one
+ * GameState applies to any copy of it:
+ * <ul>
+ *   <li>PLAY: source is the hand index.</li>
+ *   <li>ATTACH_DON: source is the receiving card, 0 for the Leader and then
+ *       field order.</li>
+ *   <li>ATTACK: source is the attacker (0 Leader, then field order); target is
+ *       0 for the opponent's Leader, then the opponent's field order.</li>
+ *   <li>END: ends the MAIN phase.</li>
+ * </ul>
+ *
+ * A generator is bound to one game and is not thread-safe; give each search
+ * thread its own.
+ */
+public final class MoveGenerator {
+    public static final int END = 0;
+    public static final int PLAY = 1;
+    public static final int ATTACH_DON = 2;
+    public static final int ATTACK = 3;
+
+    public static final int FIELD_LIMIT = 5;
+    // Attacks are allowed from turn 3 onwards (neither player attacks on their first turn)
+    public static final int FIRST_ATTACK_TURN = 3;
+
+    private static final int INDEX_BITS = 12;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+
+    private final GameState gameState;
+    private final TurnManager turnManager;
+    private final BattleSystem battleSystem;
+    private int[] moves = new int[32];
+    private int count;
+
+    public MoveGenerator(GameState gameState, TurnManager turnManager) {
+        this(gameState, turnManager, new BattleSystem(gameState, turnManager));
+    }
+
+    public MoveGenerator(GameState gameState, TurnManager turnManager, BattleSystem battleSystem) {
+        this.gameState = gameState;
+        this.turnManager = turnManager;
+        this.battleSystem = battleSystem;
+    }
+
+    // -------------------------------------------------------------------------
+    // Encoding
+    // -------------------------------------------------------------------------
+
+    public static int encode(int kind, int source, int target) {
+        return (kind << (2 * INDEX_BITS)) | (source << INDEX_BITS) | target;
+    }
+
+    public static int kind(int move) {
+        return move >>> (2 * INDEX_BITS);
+    }
+
+    public static int source(int move) {
+        return (move >>> INDEX_BITS) & INDEX_MASK;
+    }
+
+    public static int target(int move) {
+        return move & INDEX_MASK;
+    }
+
+    // -------------------------------------------------------------------------
+    // Generation
+    // -------------------------------------------------------------------------
+
+    /**
+     * Fills the buffer with the player's legal moves and returns how many there
+     * are. Copies of one card in hand (same card id) yield one PLAY, to keep
+     * the branching factor down. END is always last and
+     * is the only move when the player is not in their MAIN phase.
+     */
+    public int generate(Player player) {
+        count = 0;
+        if (gameState.isGameOver() || turnManager.getCurrentPhase() != Phase.MAIN
+                || turnManager.getActivePlayer() != player) {
+            add(encode(END, 0, 0));
+            return count;
+        }
+
+        int availableDon = countAvailableDon(player);
+        List<Card> hand = player.getHand().getCards();
+        for (int i = 0; i < hand.size(); i++) {
+            Card card = hand.get(i);
+            if (canPlay(player, card, availableDon) && !playedEarlier(player, hand, i, availableDon)) {
+                add(encode(PLAY, i, 0));
+            }
+        }
+
+        if (availableDon > 0) {
+            if (player.getLeader() != null) {
+                add(encode(ATTACH_DON, 0, 0));
+            }
+            int fieldSize = player.getField().size();
+            for (int f = 0; f < fieldSize; f++) {
+                add(encode(ATTACH_DON, f + 1, 0));
+            }
+        }
+
+        if (turnManager.getTurnCount() >= FIRST_ATTACK_TURN && player.getLeader() != null) {
+            Player opponent = opponentOf(player);
+            List<Card> field = player.getField().getCards();
+            List<Card> opponentField = opponent.getField().getCards();
+            for (int a = 0; a <= field.size(); a++) {
+                Card attacker = (a == 0) ? player.getLeader() : field.get(a - 1);
+                if (!battleSystem.canAttack(attacker)) {
+                    continue;
+                }
+                add(encode(ATTACK, a, 0));
+                for (int t = 0; t < opponentField.size(); t++) {
+                    if (opponentField.get(t).isRested()) {
+                        add(encode(ATTACK, a, t + 1));
+                    }
+                }
+            }
+        }
+
+        add(encode(END, 0, 0));
+        return count;
+    }
+
+    /**
+     * Returns the number of moves from the last generate() call.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the i-th move from the last generate() call.
+     */
+    public int get(int i) {
+        if (i >= count) {
+            throw new IndexOutOfBoundsException("Move " + i + " of " + count);
+        }
+        return moves[i];
+    }
+
+    /**
+     * Returns the backing buffer; only the first size() entries are valid, and
+     * they are overwritten by the next generate() call.
+     */
+    public int[] buffer() {
+        return moves;
+    }
+
+    // -------------------------------------------------------------------------
+    // Application
+    // -------------------------------------------------------------------------
+
+    /**
+     * Applies an encoded move for the player. END advances out of MAIN.
+     *
+     * @throws IllegalStateException if the move does not fit the position.
+     */
+    public void apply(int move, Player player) {
+        switch (kind(move)) {
+            case PLAY -> gameState.playCard(player, player.getHand().getCards().get(source(move)));
+            case ATTACH_DON -> {
+                DonCard don = firstAvailableDon(player);
+                if (don == null) {
+                    throw new IllegalStateException("No active DON!! to attach.");
+                }
+                gameState.attachDon(boardCard(player, source(move)), don);
+            }
+            case ATTACK -> {
+                Card attacker = boardCard(player, source(move));
+                Card target = boardCard(opponentOf(player), target(move));
+                if (!battleSystem.canAttack(attacker)) {
+                    throw new IllegalStateException(attacker + " cannot attack.");
+                }
+                battleSystem.resolve(attacker, target, 0);
+            }
+            case END -> {
+                if (turnManager.getCurrentPhase() == Phase.MAIN) {
+                    turnManager.advancePhase();
+                }
+            }
+            default -> throw new IllegalStateException("Unknown move kind " + kind(move));
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Rules helpers
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns whether the card can be played from hand with the given number of
+     * active DON!!: its cost must be affordable, a Character needs a free field
+     * slot and a Stage an empty stage.
+     */
+    public static boolean canPlay(Player player, Card card, int availableDon) {
+        if (card instanceof DonCard || card.getData() == null || card.getData().cardType() == null) {
+            return false;
+        }
+        if (card.getData().cost() > availableDon) {
+            return false;
+        }
+        return switch (card.getData().cardType()) {
+            case Character -> player.getField().size() < FIELD_LIMIT;
+            case Stage -> player.getStage().isEmpty();
+            case Event -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Returns the number of DON!! in the player's cost area that can pay a cost
+     * or be attached: not rested and not already attached.
+     */
+    public static int countAvailableDon(Player player) {
+        return player.getActiveDon();
+    }
+
+    public static DonCard firstAvailableDon(Player player) {
+        List<Card> cost = player.getCost().getCards();
+        for (int i = 0; i < cost.size(); i++) {
+            if (cost.get(i) instanceof DonCard don && !don.isRested() && !don.isAttached()) {
+                return don;
+            }
+        }
+        return null;
+    }
+
+    private static Card boardCard(Player player, int index) {
+        return (index == 0) ? player.getLeader() : player.getField().getCards().get(index - 1);
+    }
+
+    private Player opponentOf(Player player) {
+        return (player == gameState.getPlayer1()) ? gameState.getPlayer2() : gameState.getPlayer1();
+    }
+
+    // Whether a copy of the card earlier in hand already produced a PLAY.
+    // Copies share a card id; other printings of a card may differ in effect.
+    private static boolean playedEarlier(Player player, List<Card> hand, int index, int availableDon) {
+        CardData data = hand.get(index).getData();
+        for (int j = 0; j < index; j++) {
+            CardData other = hand.get(j).getData();
+            if (other != null && (other == data || Objects.equals(other.id(), data.id()))
+                    && canPlay(player, hand.get(j), availableDon)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add(int move) {
+        if (count == moves.length) {
+            moves = Arrays.copyOf(moves, count * 2);
+        }
+        moves[count++] = move;
+    }
+}
@@ -0,0 +1,44 @@
+package engine.core;
+
+import engine.player.Player;
+import engine.setup.GameSetup;
+
+/**
+ * Decision-making seat in a game. The engine hands control to a controller for
+ * every decision a player has to make (mulligan, MAIN phase actions) and never
+ * talks to the console or any other input source directly.
+ *
+ * CliController is the human implementation; headless agents used for
+ * simulation implement the same contract without any I/O.
+ */
+public interface PlayerController {
+
+    /**
+     * Runs the start phase for a player: inspect the opening hand and optionally
+     * take a mulligan through the given GameSetup.
+     *
+     * @param player    The player whose start phase is being executed.
+     * @param gameSetup The GameSetup instance to handle mulligan logic.
+     */
+    void runStartPhase(Player player, GameSetup gameSetup);
+
+    /**
+     * Runs the MAIN phase for the active player. Implementations take any number
+     * of actions and are expected to finish by calling
+     * {@link TurnManager#advancePhase()} to leave the MAIN phase. If they return
+     * without doing so, the engine advances the phase itself.
+     *
+     * @param player The player whose MAIN phase is being executed.
+     */
+    void runMainPhases(Player player);
+
+    /**
+     * Creates a controller bound to a specific game. Used by GameEngine so that
+     * each seat gets a controller wired to the same GameState and TurnManager the
+     * engine drives.
+     */
+    @FunctionalInterface
+    interface Factory {
+        PlayerController create(GameState gameState, TurnManager turnManager);
+    }
+}
@@ -0,0 +1,146 @@
+package engine.core;
+
+import engine.cards.Card;
+import engine.player.Player;
+import engine.zones.Zone;
+
+/**
+ * Receives every change GameState (and BattleSystem) make to a game, right
+ * after the change. EventJournal and DiffLog are the listeners: GameState
+ * combines whichever of them are installed into one listener and calls it
+ * once per change, so a new mutation point only has to report to that one
+ * listener.
+ *
+ * Listeners run on the thread playing the game and are never carried over
+ * by GameState.copy(). Every method defaults to doing nothing.
+ */
+public interface StateListener {
+
+    /**
+     * The parts of a board that refreshLeader/Field/Don() refresh.
+     */
+    enum Refresh {
+        LEADER,
+        CHARACTERS,
+        DON
+    }
+
+    /** A game, or a reset() of one, started with the seed. */
+    default void gameStarted(GameState state, long seed) {
+    }
+
+    /**
+     * A card moved to target, which it entered at index 0.
+     *
+     * @param origin The zone it left, or null.
+     * @param index  Its index in origin before it left, or -1 if it had no zone.
+     */
+    default void cardMoved(GameState state, Card card, Zone origin, int index, Zone target) {
+    }
+
+    /** The player rested amount DON!! to pay a cost. */
+    default void costPaid(GameState state, Player player, int amount) {
+    }
+
+    /** A DON!! was attached to the card. */
+    default void donAttached(GameState state, Card card) {
+    }
+
+    /** A DON!! was detached from the card and rested. */
+    default void donDetached(GameState state, Card card) {
+    }
+
+    /** The player lost a life card to their hand. */
+    default void lifeLost(GameState state, Player player) {
+    }
+
+    /** Part of the player's board was refreshed at the start of their turn. */
+    default void refreshed(GameState state, Player player, Refresh what) {
+    }
+
+    /** The card was rested to attack. */
+    default void cardRested(GameState state, Card card) {
+    }
+
+    /** The game ended. */
+    default void gameOver(GameState state, Player winner) {
+    }
+
+    /** The game was rewound with restore(); earlier changes no longer apply. */
+    default void restored(GameState state) {
+    }
+
+    /**
+     * Returns a listener that reports to both, or the one that is not null,
+     * or null if both are.
+     */
+    static StateListener combine(StateListener first, StateListener second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return new StateListener() {
+            @Override
+            public void gameStarted(GameState state, long seed) {
+                first.gameStarted(state, seed);
+                second.gameStarted(state, seed);
+            }
+
+            @Override
+            public void cardMoved(GameState state, Card card, Zone origin, int index, Zone target) {
+                first.cardMoved(state, card, origin, index, target);
+                second.cardMoved(state, card, origin, index, target);
+            }
+
+            @Override
+            public void costPaid(GameState state, Player player, int amount) {
+                first.costPaid(state, player, amount);
+                second.costPaid(state, player, amount);
+            }
+
+            @Override
+            public void donAttached(GameState state, Card card) {
+                first.donAttached(state, card);
+                second.donAttached(state, card);
+            }
+
+            @Override
+            public void donDetached(GameState state, Card card) {
+                first.donDetached(state, card);
+                second.donDetached(state, card);
+            }
+
+            @Override
+            public void lifeLost(GameState state, Player player) {
+                first.lifeLost(state, player);
+                second.lifeLost(state, player);
+            }
+
+            @Override
+            public void refreshed(GameState state, Player player, Refresh what) {
+                first.refreshed(state, player, what);
+                second.refreshed(state, player, what);
+            }
+
+            @Override
+            public void cardRested(GameState state, Card card) {
+                first.cardRested(state, card);
+                second.cardRested(state, card);
+            }
+
+            @Override
+            public void gameOver(GameState state, Player winner) {
+                first.gameOver(state, winner);
+                second.gameOver(state, winner);
+            }
+
+            @Override
+            public void restored(GameState state) {
+                first.restored(state);
+                second.restored(state);
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package engine.core;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free table from position hashes (see
+ * GameState.positionHash()) to one long of search data, shareable between
+ * search threads.
+ *
+ * Each entry is two longs, the data and the hash XOR the data, written
+ * without locking. A reader recomputes hash ^ data and only accepts the
+ * entry when it matches, so an entry torn by a concurrent write is treated
+ * as a miss rather than returned with the wrong data. Collisions between
+ * positions mapping to the same slot are resolved by always replacing: the
+ * newest entry wins.
+ */
+public final class TranspositionTable {
+    private final AtomicLongArray entries;
+    private final int mask;
+
+    /**
+     * @param capacity Minimum number of entries; rounded up to a power of two.
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity < 1 || capacity > (1 << 29)) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^29, got " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.entries = new AtomicLongArray(size * 2);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Stores data for a position, replacing whatever was in its slot.
+     */
+    public void put(long hash, long data) {
+        int index = index(hash);
+        entries.setPlain(index, hash ^ data);
+        entries.setRelease(index + 1, data);
+    }
+
+    /**
+     * Returns the data stored for a position, or defaultValue when the
+     * position is not in the table.
+     */
+    public long get(long hash, long defaultValue) {
+        int index = index(hash);
+        long data = entries.getAcquire(index + 1);
+        long check = entries.getPlain(index);
+        return ((check ^ data) == hash) ? data : defaultValue;
+    }
+
+    /**
+     * Returns whether the table holds data for a position.
+     */
+    public boolean contains(long hash) {
+        int index = index(hash);
+        long data = entries.getAcquire(index + 1);
+        return (entries.getPlain(index) ^ data) == hash;
+    }
+
+    /**
+     * Returns the number of entries the table can hold.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Removes every entry. Not atomic with respect to concurrent writers.
+     */
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.setRelease(i, 0);
+        }
+    }
+
+    private int index(long hash) {
+        return ((int) (hash ^ (hash >>> 32)) & mask) << 1;
+    }
+}
@@ -1,4 +1,6 @@
 package engine.core;
+import engine.cards.abilities.Trigger;
+import engine.history.ActionLog;
 import engine.player.Player;
 public class TurnManager {
     private final GameState state;
@@ -11,6 +13,7 @@ public class TurnManager {
         this.state = state;
         this.activePlayer = state.getPlayer1(); // Player 1 starts first
         this.currentPhase = Phase.DON; // Start with the DON phase for the first player on the first turn
+        syncHash();
     }
     public Player getActivePlayer() {
         return activePlayer;
@@ -26,6 +29,13 @@ public class TurnManager {
      * including any actions that need to be taken at the start of each phase (e.g., drawing cards, refreshing characters, etc.).
      */
     public void advancePhase(){
+        if (state.getActionLog() != null) {
+            state.getActionLog().recordAdvance();
+        }
+        if (state.getMetrics() != null) {
+            state.getMetrics().action(ActionLog.Type.ADVANCE);
+            state.getMetrics().endPhase(currentPhase);
+        }
         switch (currentPhase) {
             case REFRESH:
                 // Implement REFRESH phase logic (e.g., refresh characters, reset abilities, etc.)
@@ -51,9 +61,53 @@ public class TurnManager {
                 endTurn();
                 break;
         }
+        syncHash();
+    }
+    /**
+     * Immutable capture of the turn position, used alongside GameSnapshot for
+     * search and undo.
+     */
+    public record State(Player activePlayer, Phase phase, int turnCount, boolean firstTurn) {
+    }
+
+    public State saveState() {
+        return new State(activePlayer, currentPhase, turnCount, firstTurn);
+    }
+
+    public void restoreState(State saved) {
+        this.activePlayer = saved.activePlayer();
+        this.currentPhase = saved.phase();
+        this.turnCount = saved.turnCount();
+        this.firstTurn = saved.firstTurn();
+        syncHash();
+    }
+
+    /**
+     * Creates a TurnManager for a copied game (see GameState.copy()) at the same
+     * turn position as this one, with the active player mapped by seat.
+     *
+     * @param copiedState The copy of this manager's GameState.
+     * @return A TurnManager driving the copy.
+     */
+    public TurnManager copy(GameState copiedState) {
+        TurnManager copy = new TurnManager(copiedState);
+        copy.activePlayer = (activePlayer == state.getPlayer1()) ? copiedState.getPlayer1() : copiedState.getPlayer2();
+        copy.currentPhase = currentPhase;
+        copy.turnCount = turnCount;
+        copy.firstTurn = firstTurn;
+        copy.syncHash();
+        return copy;
+    }
+
+    // Folds the active seat and phase into the game's position hash
+    private void syncHash() {
+        state.getZobrist().setTurn(activePlayer, currentPhase);
     }
+
     private void endTurn() {
-        // Implement any end-of-turn cleanup or effects here
+        Player opponent = (activePlayer == state.getPlayer1()) ? state.getPlayer2() : state.getPlayer1();
+        state.getEventBus().fire(Trigger.END_OF_YOUR_TURN, activePlayer, null, null);
+        state.getEventBus().fire(Trigger.END_OF_OPPONENTS_TURN, opponent, null, null);
         firstTurn = false; // After the first turn, set this to false
         
         activePlayer = (activePlayer == state.getPlayer1()) ? state.getPlayer2() : state.getPlayer1();
@@ -0,0 +1,180 @@
+package engine.core;
+
+import engine.cards.Card;
+import engine.cards.DonCard;
+import engine.cards.Leader;
+import engine.player.Player;
+import engine.zones.Zone;
+import engine.zones.ZoneType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Incrementally maintained 64-bit hash of a GameState position, for
+ * duplicate-position detection and transposition tables.
+ *
+ * The hash is the XOR of one key per feature of the position:
+ * <ul>
+ *   <li>each card in each zone (zone order is not hashed, so shuffles and
+ *       hand order do not change it);</li>
+ *   <li>each rested card and each summoning-sick card;</li>
+ *   <li>each DON!! attached to a card;</li>
+ *   <li>each Leader's life;</li>
+ *   <li>the active seat and phase, as set by the TurnManager.</li>
+ * </ul>
+ * Keys are derived from card ids and owner ids rather than object identity,
+ * so a GameState.copy() hashes the same as its original. Zones, Cards,
+ * Leaders and the TurnManager report every change as it happens, so reading
+ * the hash is O(1). Bulk rewrites (GameState.restore(), copy()) recompute it
+ * from scratch.
+ *
+ * The hash does not cover the random-source position or the turn count.
+ */
+public final class ZobristHash {
+    private static final long GAMMA = 0x9e3779b97f4a7c15L;
+    private static final long ZONE_SALT = 0x2545f4914f6cdd1dL;
+    private static final long RESTED_SALT = 0x5851f42d4c957f2dL;
+    private static final long SICK_SALT = 0x14057b7ef767814fL;
+    private static final long ATTACH_SALT = 0x7a646e4d8f0b0e59L;
+    private static final long LIFE_SALT = 0x3c6ef372fe94f82bL;
+    private static final long TURN_SALT = 0x1b873593cc9e2d51L;
+    private static final int ZONE_TYPES = ZoneType.values().length;
+
+    private final GameState state;
+    private long hash;
+    private long turnKey;
+
+    ZobristHash(GameState state) {
+        this.state = state;
+    }
+
+    /**
+     * Returns the hash of the current position.
+     */
+    public long get() {
+        return hash;
+    }
+
+    /**
+     * Recomputes the board part of the hash from the zones, keeping the turn
+     * part. Called after changes made without the per-mutation hooks.
+     */
+    public void recompute() {
+        long board = 0;
+        for (Player player : new Player[] { state.getPlayer1(), state.getPlayer2() }) {
+            Leader leader = player.getLeader();
+            if (leader != null) {
+                board ^= cardState(leader) ^ lifeKey(player, leader.getLifePoints());
+            }
+            for (Zone zone : player.getZones()) {
+                for (Card card : zone.getCards()) {
+                    board ^= zoneKey(zone, card) ^ cardState(card);
+                }
+            }
+        }
+        hash = board ^ turnKey;
+    }
+
+    /**
+     * Returns the key of a card, derived from its id and its owner's id.
+     */
+    public static long cardKey(String cardId, Player owner) {
+        long key = fnv(cardId);
+        if (owner != null) {
+            key ^= Long.rotateLeft(fnv(owner.getPlayerId()), 29);
+        }
+        return mix(key);
+    }
+
+    // -------------------------------------------------------------------------
+    // Hooks (called by Zone, Card, Leader and TurnManager as state changes)
+    // -------------------------------------------------------------------------
+
+    public void toggleZone(Zone zone, Card card) {
+        hash ^= zoneKey(zone, card);
+    }
+
+    public void toggleRested(Card card) {
+        hash ^= mix(card.getHashKey() ^ RESTED_SALT);
+    }
+
+    public void toggleSummonSick(Card card) {
+        hash ^= mix(card.getHashKey() ^ SICK_SALT);
+    }
+
+    public void toggleAttached(Card host, DonCard don) {
+        hash ^= attachKey(host, don);
+    }
+
+    public void changeLife(Player player, int oldLife, int newLife) {
+        hash ^= lifeKey(player, oldLife) ^ lifeKey(player, newLife);
+    }
+
+    void setTurn(Player activePlayer, Phase phase) {
+        long key = mix(TURN_SALT + seat(activePlayer) * GAMMA + ((phase == null) ? 0 : phase.ordinal() + 1));
+        hash ^= turnKey ^ key;
+        turnKey = key;
+    }
+
+    void clearTurn() {
+        hash ^= turnKey;
+        turnKey = 0;
+    }
+
+    void copyTurnFrom(ZobristHash other) {
+        hash ^= turnKey ^ other.turnKey;
+        turnKey = other.turnKey;
+    }
+
+    // -------------------------------------------------------------------------
+    // Keys
+    // -------------------------------------------------------------------------
+
+    private long cardState(Card card) {
+        long key = 0;
+        if (card.isRested()) {
+            key ^= mix(card.getHashKey() ^ RESTED_SALT);
+        }
+        if (card.isSummonSick()) {
+            key ^= mix(card.getHashKey() ^ SICK_SALT);
+        }
+        for (DonCard don : card.getAttachedDons()) {
+            key ^= attachKey(card, don);
+        }
+        return key;
+    }
+
+    private long zoneKey(Zone zone, Card card) {
+        long slot = seat(zone.getOwner()) * ZONE_TYPES + zone.getType().ordinal() + 1;
+        return mix(card.getHashKey() + ZONE_SALT * slot);
+    }
+
+    private static long attachKey(Card host, DonCard don) {
+        return mix(host.getHashKey() ^ Long.rotateLeft(don.getHashKey(), 17) ^ ATTACH_SALT);
+    }
+
+    private long lifeKey(Player player, int life) {
+        return mix(LIFE_SALT + (seat(player) * 64L + life) * GAMMA);
+    }
+
+    private int seat(Player player) {
+        return (player == state.getPlayer1()) ? 0 : 1;
+    }
+
+    private static long fnv(String text) {
+        if (text == null) {
+            return 0;
+        }
+        long h = 0xcbf29ce484222325L;
+        for (byte b : text.getBytes(StandardCharsets.UTF_8)) {
+            h = (h ^ (b & 0xFF)) * 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
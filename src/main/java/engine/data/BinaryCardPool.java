@@ -0,0 +1,222 @@
+package engine.data;
+
+import engine.cards.CardData;
+import engine.cards.types.Attribute;
+import engine.cards.types.CardType;
+import engine.cards.types.Color;
+import engine.cards.types.Rarity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only view of a binary card-pool file produced by CardPoolWriter.
+ *
+ * The file is memory-mapped and nothing is decoded up front: opening the pool
+ * only validates the header. getCardData() binary-searches the id-sorted
+ * records by comparing raw UTF-8 bytes in the mapping, then decodes that one
+ * record into a CardData and caches it. Decoded records are immutable, so the
+ * cache tolerates benign races and the pool is safe to share across threads.
+ *
+ * Record layout (RECORD_SIZE bytes, big-endian):
+ * <pre>
+ *   int   id, setId, name, description, setName   (string indices, -1 = null)
+ *   byte  rarity, cardType, attribute, color       (enum ordinals, -1 = null)
+ *   short cost, life
+ *   int   power, counter
+ *   double marketPrice
+ * </pre>
+ */
+public final class BinaryCardPool {
+    /** Default file name written next to the compiled JSON directories. */
+    public static final String DEFAULT_FILE = "cards.bin";
+
+    static final int MAGIC = 0x4F504342; // "OPCB"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 6 * Integer.BYTES;
+    static final int RECORD_SIZE = 5 * Integer.BYTES + 4 + 2 * Short.BYTES + 2 * Integer.BYTES + Double.BYTES;
+
+    private static final Rarity[] RARITIES = Rarity.values();
+    private static final CardType[] CARD_TYPES = CardType.values();
+    private static final Attribute[] ATTRIBUTES = Attribute.values();
+    private static final Color[] COLORS = Color.values();
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int stringCount;
+    private final int recordsOffset;
+    private final int stringsOffset;
+    private final CardData[] decoded;
+
+    private BinaryCardPool(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a binary card pool file.");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported card pool version " + buffer.getInt(4));
+        }
+        this.count = buffer.getInt(8);
+        this.stringCount = buffer.getInt(12);
+        this.recordsOffset = buffer.getInt(16);
+        this.stringsOffset = buffer.getInt(20);
+        if (recordsOffset + (long) count * RECORD_SIZE > stringsOffset || stringsOffset > buffer.capacity()) {
+            throw new IllegalArgumentException("Corrupt card pool header.");
+        }
+        this.decoded = new CardData[count];
+    }
+
+    /**
+     * Memory-maps the given card-pool file.
+     *
+     * @param file The file written by CardPoolWriter.
+     * @return The opened pool.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if the file is not a valid card pool.
+     */
+    public static BinaryCardPool open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new BinaryCardPool(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /** Wraps an in-memory copy of a card-pool file (mainly for tests). */
+    static BinaryCardPool wrap(ByteBuffer buffer) {
+        return new BinaryCardPool(buffer);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the card with the given id, decoding it on first access.
+     *
+     * @param cardId The card_set_id to look up.
+     * @return The card, or null if the pool has no such card.
+     */
+    public CardData getCardData(String cardId) {
+        int index = indexOf(cardId.getBytes(StandardCharsets.UTF_8));
+        return index < 0 ? null : get(index);
+    }
+
+    /**
+     * Returns the card stored at the given record index (records are in id
+     * order), decoding it on first access.
+     */
+    public CardData get(int index) {
+        CardData card = decoded[index];
+        if (card == null) {
+            card = decode(index);
+            decoded[index] = card;
+        }
+        return card;
+    }
+
+    /**
+     * Decodes and returns every card in id order.
+     */
+    public List<CardData> getAllCards() {
+        List<CardData> all = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            all.add(get(i));
+        }
+        return Collections.unmodifiableList(all);
+    }
+
+    // -------------------------------------------------------------------------
+    // Decoding
+    // -------------------------------------------------------------------------
+
+    private int indexOf(byte[] key) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareString(buffer.getInt(recordOffset(mid)), key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private CardData decode(int index) {
+        int at = recordOffset(index);
+        String id = string(buffer.getInt(at));
+        String setId = string(buffer.getInt(at + 4));
+        String name = string(buffer.getInt(at + 8));
+        String description = string(buffer.getInt(at + 12));
+        String setName = string(buffer.getInt(at + 16));
+        at += 20;
+        Rarity rarity = lookup(RARITIES, buffer.get(at));
+        CardType cardType = lookup(CARD_TYPES, buffer.get(at + 1));
+        Attribute attribute = lookup(ATTRIBUTES, buffer.get(at + 2));
+        Color color = lookup(COLORS, buffer.get(at + 3));
+        int cost = buffer.getShort(at + 4);
+        int life = buffer.getShort(at + 6);
+        int power = buffer.getInt(at + 8);
+        int counter = buffer.getInt(at + 12);
+        double marketPrice = buffer.getDouble(at + 16);
+        return new CardData(id, setId, name, description, setName, rarity, cardType, attribute, color,
+                cost, power, life, counter, marketPrice);
+    }
+
+    private int recordOffset(int index) {
+        return recordsOffset + index * RECORD_SIZE;
+    }
+
+    private int stringOffset(int stringIndex) {
+        return stringsOffset + buffer.getInt(stringsOffset + stringIndex * Integer.BYTES);
+    }
+
+    private String string(int stringIndex) {
+        if (stringIndex < 0) {
+            return null;
+        }
+        if (stringIndex >= stringCount) {
+            throw new IllegalArgumentException("Corrupt card pool string index " + stringIndex);
+        }
+        int at = stringOffset(stringIndex);
+        byte[] bytes = new byte[buffer.getInt(at)];
+        buffer.get(at + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Compares a stored string with the given UTF-8 bytes without decoding it. */
+    private int compareString(int stringIndex, byte[] key) {
+        int at = stringOffset(stringIndex);
+        int length = buffer.getInt(at);
+        at += Integer.BYTES;
+        int shared = Math.min(length, key.length);
+        for (int i = 0; i < shared; i++) {
+            int cmp = Byte.compareUnsigned(buffer.get(at + i), key[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    private static <E> E lookup(E[] values, byte ordinal) {
+        return (ordinal < 0 || ordinal >= values.length) ? null : values[ordinal];
+    }
+
+    /** Ordering used for records: unsigned lexicographic on UTF-8 bytes. */
+    static int compareIds(byte[] a, byte[] b) {
+        return Arrays.compareUnsigned(a, b);
+    }
+}
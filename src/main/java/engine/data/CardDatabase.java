@@ -2,92 +2,250 @@ package engine.data;
 
 import java.io.File;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.cfg.CoercionAction;
-import com.fasterxml.jackson.databind.cfg.CoercionInputShape;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 
 import engine.cards.CardData;
+import engine.cards.abilities.AbilityFactory;
+import engine.core.MessageSink;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CardDatabase {
 
-    private final Map<String, CardData> cardCache = new HashMap<>();
+    private final Map<String, CardData> cardCache = new ConcurrentHashMap<>();
     private final ObjectMapper mapper;
     private final String[] directories = { "sets", "decks", "promos" };
+    // Set when the database is backed by a memory-mapped binary card pool
+    private final BinaryCardPool binaryPool;
+    // Built on first query, once the card set is final
+    private CardIndex index;
+    private CardLoadReport loadReport;
+    private final MessageSink messages;
 
     public CardDatabase(String dataDir) {
-        mapper = new ObjectMapper();
+        this(dataDir, MessageSink.console());
+    }
+
+    /**
+     * Loads the database from dataDir, sending problems that do not stop the
+     * load (such as an unreadable subtype table) to messages.
+     */
+    public CardDatabase(String dataDir, MessageSink messages) {
+        this.mapper = createMapper();
+        this.binaryPool = null;
+        this.messages = messages;
+        loadAllCards(dataDir);
+    }
+
+    public CardDatabase() {
+        this("src/main/resources/raw/data/");
+    }
+
+    private CardDatabase(BinaryCardPool binaryPool) {
+        this.mapper = createMapper();
+        this.binaryPool = binaryPool;
+        this.messages = MessageSink.console();
+    }
+
+    /**
+     * Opens a database backed by a binary card-pool file written by
+     * CardCompiler. The file is memory-mapped and cards are decoded lazily on
+     * first lookup, so no JSON is parsed at startup.
+     *
+     * @param binaryFile The card-pool file (see BinaryCardPool.DEFAULT_FILE).
+     * @return A database serving lookups from the mapped file.
+     * @throws IOException if the file cannot be read.
+     */
+    public static CardDatabase fromBinary(Path binaryFile) throws IOException {
+        return new CardDatabase(BinaryCardPool.open(binaryFile));
+    }
+
+    private static ObjectMapper createMapper() {
+        ObjectMapper mapper = new ObjectMapper();
         // Handle "NULL" strings and string-encoded numbers (cost/power/life)
         SimpleModule intModule = new SimpleModule();
         intModule.addDeserializer(Integer.class, new NullableIntDeserializer());
         mapper.registerModule(intModule);
         // Return null instead of throwing for unknown enum values (dirty promo data)
         mapper.configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
-        loadAllCards(dataDir);
+        return mapper;
     }
 
-    public CardDatabase() {
-        this("src/main/resources/raw/data/");
+    /**
+     * Loads every JSON file under the sets, decks and promos directories.
+     *
+     * Files are parsed in parallel, each streamed with a JsonParser straight
+     * into CardData without building a JsonNode tree. Parsed cards are merged
+     * into the cache in category then file-name order, so when an id appears
+     * twice the later category still wins regardless of which thread finished
+     * first. Malformed entries are skipped and counted rather than aborting
+     * the file.
+     *
+     * @param compiledDir Root directory containing the category directories.
+     * @return Per-file timings and malformed-entry counts.
+     */
+    public CardLoadReport loadAllCards(String compiledDir) {
+        long start = System.nanoTime();
+        synchronized (this) {
+            index = null; // Rebuilt on the next query
+        }
+
+        List<Path> files = new ArrayList<>();
+        List<Path> missing = new ArrayList<>();
+        for (String dir : directories) {
+            Path dirPath = Path.of(compiledDir, dir);
+            File[] found = dirPath.toFile().listFiles((d, name) -> name.endsWith(".json"));
+            if (found == null) {
+                missing.add(dirPath);
+                continue;
+            }
+            Arrays.sort(found);
+            for (File file : found) {
+                files.add(file.toPath());
+            }
+        }
+
+        List<ParsedFile> parsed = files.parallelStream().map(this::parseFile).toList();
+
+        List<CardLoadReport.FileReport> reports = new ArrayList<>(parsed.size());
+        for (ParsedFile file : parsed) {
+            for (CardData card : file.cards()) {
+                cardCache.put(card.getId(), card);
+            }
+            reports.add(file.report());
+        }
+        loadReport = new CardLoadReport(reports, missing, cardCache.size(), System.nanoTime() - start);
+        return loadReport;
     }
 
-    public void loadAllCards(String compiledDir) {
-        try {
-            // Iterate through each category and load card data
-            for (String dir : directories) {
-                // Construct the path to the directory containing the JSON files for this category
-                Path dirPath = Path.of(compiledDir, dir);
-                System.out.println("Loading card data from: " + dirPath);
-                
-                // List all JSON files in the directory
-                File[] files = new File(dirPath.toString()).listFiles((d, name) -> name.endsWith(".json"));
-                if (files == null) {
-                    System.out.println("No JSON files found in directory: " + dirPath);
-                    continue;
-                }
-                System.out.println("Found " + files.length + " JSON files. Loading card data...");
-                
-                // Load each JSON file and add card data to the cache
-                for (File file : files) {
-                    System.out.println("Loading card data from file: " + file.getName());
-                    JsonNode rootNode = mapper.readTree(file);
-                    if (rootNode.isArray()) {
-                        for (JsonNode node : rootNode) {
-                            try {
-                                CardData cardData = mapper.treeToValue(node, CardData.class);
-                                if (cardData.getId() != null) {
-                                    cardCache.put(cardData.getId(), cardData);
-                                }
-                            } catch (Exception e) {
-                                System.out.println("Skipping malformed card entry: " + e.getMessage());
-                            }
-                        }
+    private record ParsedFile(List<CardData> cards, CardLoadReport.FileReport report) {
+    }
+
+    private ParsedFile parseFile(Path file) {
+        long start = System.nanoTime();
+        List<CardData> cards = new ArrayList<>();
+        int malformed = 0;
+        try (JsonParser parser = mapper.getFactory().createParser(file.toFile())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return new ParsedFile(cards, new CardLoadReport.FileReport(file, 0, 0,
+                        System.nanoTime() - start, "Top-level value is not an array"));
+            }
+            JsonStreamContext arrayContext = parser.getParsingContext();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                try {
+                    CardData cardData = mapper.readValue(parser, CardData.class);
+                    if (cardData.getId() != null) {
+                        // Compile card text now so play never re-parses it
+                        AbilityFactory.abilitiesOf(cardData);
+                        cards.add(cardData);
+                    }
+                } catch (JsonMappingException e) {
+                    malformed++;
+                    // Skip whatever is left of the bad entry
+                    while (parser.getParsingContext() != arrayContext) {
+                        parser.nextToken();
                     }
                 }
             }
-        } catch (Exception e) {
-            System.out.println("Error loading card data: " + e.getMessage());
+        } catch (IOException e) {
+            return new ParsedFile(List.of(), new CardLoadReport.FileReport(file, 0, malformed,
+                    System.nanoTime() - start, e.getMessage()));
         }
+        return new ParsedFile(cards, new CardLoadReport.FileReport(file, cards.size(), malformed,
+                System.nanoTime() - start, null));
+    }
+
+    /**
+     * Returns the report from the last JSON load, or null for a binary-backed
+     * database.
+     */
+    public CardLoadReport getLoadReport() {
+        return loadReport;
     }
 
     // Method to look up and return card information by card ID
     public CardData getCardData(String cardId) {
-        CardData data = cardCache.get(cardId);
+        CardData data = (binaryPool != null) ? binaryPool.getCardData(cardId) : cardCache.get(cardId);
         if (data == null) {
             throw new IllegalArgumentException("Card with ID " + cardId + " not found in database.");
         }
         return data;
     }
 
+    /**
+     * Returns every card in the database. In binary mode this decodes the whole
+     * pool, so prefer getCardData() for individual lookups.
+     */
+    public Collection<CardData> getAllCards() {
+        if (binaryPool != null) {
+            return binaryPool.getAllCards();
+        }
+        return Collections.unmodifiableCollection(cardCache.values());
+    }
+
+    public int size() {
+        return (binaryPool != null) ? binaryPool.size() : cardCache.size();
+    }
+
+    /**
+     * Starts an attribute query over every card, e.g.
+     * {@code db.query().color(Color.Red).costAtMost(4).list()}.
+     */
+    public CardQuery query() {
+        return getIndex().query();
+    }
+
+    /**
+     * Returns the secondary indexes over this database, building them on first
+     * use. Subtypes are read from CardSubtypes.DEFAULT_CSV when that file exists.
+     */
+    public synchronized CardIndex getIndex() {
+        if (index == null) {
+            index = new CardIndex(getAllCards(), loadDefaultSubtypes());
+        }
+        return index;
+    }
+
+    /**
+     * Rebuilds the secondary indexes with the given subtype table.
+     */
+    public synchronized void buildIndex(CardSubtypes subtypes) {
+        index = new CardIndex(getAllCards(), subtypes);
+    }
+
+    private CardSubtypes loadDefaultSubtypes() {
+        Path csv = Path.of(CardSubtypes.DEFAULT_CSV);
+        if (!Files.isRegularFile(csv)) {
+            return CardSubtypes.empty();
+        }
+        try {
+            return CardSubtypes.load(csv);
+        } catch (IOException e) {
+            messages.message("Error loading card subtypes: " + e.getMessage());
+            return CardSubtypes.empty();
+        }
+    }
+
     public static void main(String[] args) {
         System.out.println("Card Database");
         String rawPath = "src/main/resources/raw/data/";
         CardDatabase cardDatabase = new CardDatabase(rawPath);
+        System.out.println(cardDatabase.getLoadReport());
         System.out.println(cardDatabase.getCardData("OP03-008"));
     }
 
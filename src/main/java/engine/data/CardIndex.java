@@ -0,0 +1,170 @@
+package engine.data;
+
+import engine.cards.CardData;
+import engine.cards.types.CardType;
+import engine.cards.types.Color;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Secondary indexes over a fixed set of cards, built once and then read-only.
+ *
+ * Every card gets an ordinal (its position in id order), and each indexed
+ * attribute maps its values to a BitSet of ordinals. Categorical attributes
+ * (color, type, set, subtype) are hash/enum maps; numeric attributes (cost,
+ * power, counter) are sorted maps so range queries only union the bitmaps of
+ * the values inside the range. A CardQuery intersects these bitmaps, so a
+ * multi-attribute filter costs a few word-wise ANDs instead of a scan over
+ * every CardData.
+ *
+ * The index is immutable after construction and safe to share across threads.
+ */
+public final class CardIndex {
+    private static final BitSet EMPTY = new BitSet(0);
+
+    private final CardData[] cards;
+    private final BitSet all;
+    private final Map<Color, BitSet> byColor = new EnumMap<>(Color.class);
+    private final Map<CardType, BitSet> byType = new EnumMap<>(CardType.class);
+    private final Map<String, BitSet> bySet = new HashMap<>();
+    private final Map<String, BitSet> bySubtype = new HashMap<>();
+    private final NavigableMap<Integer, BitSet> byCost;
+    private final NavigableMap<Integer, BitSet> byPower;
+    private final NavigableMap<Integer, BitSet> byCounter;
+
+    /**
+     * Builds the indexes.
+     *
+     * @param source   The cards to index. Cards with a null id are skipped.
+     * @param subtypes Subtypes keyed by card name; use CardSubtypes.empty() if
+     *                 subtype queries are not needed.
+     */
+    public CardIndex(Collection<CardData> source, CardSubtypes subtypes) {
+        List<CardData> sorted = new ArrayList<>(source.size());
+        for (CardData card : source) {
+            if (card.id() != null) {
+                sorted.add(card);
+            }
+        }
+        sorted.sort(Comparator.comparing(CardData::id));
+        this.cards = sorted.toArray(new CardData[0]);
+
+        this.all = new BitSet(cards.length);
+        all.set(0, cards.length);
+
+        for (int i = 0; i < cards.length; i++) {
+            CardData card = cards[i];
+            if (card.color() != null) {
+                byColor.computeIfAbsent(card.color(), k -> new BitSet()).set(i);
+            }
+            if (card.cardType() != null) {
+                byType.computeIfAbsent(card.cardType(), k -> new BitSet()).set(i);
+            }
+            if (card.setId() != null) {
+                bySet.computeIfAbsent(card.setId(), k -> new BitSet()).set(i);
+            }
+            for (String subtype : subtypes.subtypesOf(card.name())) {
+                bySubtype.computeIfAbsent(subtype, k -> new BitSet()).set(i);
+            }
+        }
+        this.byCost = buildSorted(CardData::cost);
+        this.byPower = buildSorted(CardData::power);
+        this.byCounter = buildSorted(CardData::counter);
+    }
+
+    private NavigableMap<Integer, BitSet> buildSorted(ToIntFunction<CardData> attribute) {
+        NavigableMap<Integer, BitSet> index = new TreeMap<>();
+        for (int i = 0; i < cards.length; i++) {
+            index.computeIfAbsent(attribute.applyAsInt(cards[i]), k -> new BitSet()).set(i);
+        }
+        return index;
+    }
+
+    /**
+     * Starts a new query matching every indexed card.
+     */
+    public CardQuery query() {
+        return new CardQuery(this);
+    }
+
+    public int size() {
+        return cards.length;
+    }
+
+    /** Returns the subtypes that appear on at least one indexed card. */
+    public Set<String> getSubtypes() {
+        return Collections.unmodifiableSet(bySubtype.keySet());
+    }
+
+    // -------------------------------------------------------------------------
+    // Bitmap access for CardQuery (returned sets must not be modified)
+    // -------------------------------------------------------------------------
+
+    BitSet all() {
+        return all;
+    }
+
+    BitSet color(Color color) {
+        return orEmpty(byColor.get(color));
+    }
+
+    BitSet type(CardType type) {
+        return orEmpty(byType.get(type));
+    }
+
+    BitSet set(String setId) {
+        return orEmpty(bySet.get(setId));
+    }
+
+    BitSet subtype(String subtype) {
+        return orEmpty(bySubtype.get(subtype));
+    }
+
+    BitSet costRange(int min, int max) {
+        return range(byCost, min, max);
+    }
+
+    BitSet powerRange(int min, int max) {
+        return range(byPower, min, max);
+    }
+
+    BitSet counterRange(int min, int max) {
+        return range(byCounter, min, max);
+    }
+
+    CardData card(int ordinal) {
+        return cards[ordinal];
+    }
+
+    private static BitSet orEmpty(BitSet bits) {
+        return bits != null ? bits : EMPTY;
+    }
+
+    /** Unions the bitmaps for every value in [min, max]. */
+    private static BitSet range(NavigableMap<Integer, BitSet> index, int min, int max) {
+        if (min > max) {
+            return EMPTY;
+        }
+        NavigableMap<Integer, BitSet> values = index.subMap(min, true, max, true);
+        if (values.size() == 1) {
+            return values.firstEntry().getValue();
+        }
+        BitSet union = new BitSet();
+        for (BitSet bits : values.values()) {
+            union.or(bits);
+        }
+        return union;
+    }
+}
@@ -0,0 +1,51 @@
+package engine.data;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Outcome of CardDatabase.loadAllCards(): one entry per JSON file plus the
+ * category directories that were not found.
+ *
+ * @param files              Per-file results, in category then file-name order.
+ * @param missingDirectories Category directories that did not exist.
+ * @param cardCount          Distinct cards in the database after loading.
+ * @param elapsedNanos       Wall-clock time for the whole load.
+ */
+public record CardLoadReport(List<FileReport> files, List<Path> missingDirectories,
+        int cardCount, long elapsedNanos) {
+
+    /**
+     * Result of loading one JSON file.
+     *
+     * @param file         The file that was read.
+     * @param loaded       Entries parsed into CardData.
+     * @param malformed    Entries skipped because they could not be parsed.
+     * @param elapsedNanos Time spent parsing this file.
+     * @param error        Why the file could not be read, or null on success.
+     */
+    public record FileReport(Path file, int loaded, int malformed, long elapsedNanos, String error) {
+        public boolean failed() {
+            return error != null;
+        }
+    }
+
+    public CardLoadReport {
+        files = List.copyOf(files);
+        missingDirectories = List.copyOf(missingDirectories);
+    }
+
+    public int totalMalformed() {
+        return files.stream().mapToInt(FileReport::malformed).sum();
+    }
+
+    public int failedFiles() {
+        return (int) files.stream().filter(FileReport::failed).count();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Loaded %d cards from %d files in %.1f ms (%d malformed entries, %d failed files, %d missing directories)",
+                cardCount, files.size(), elapsedNanos / 1e6, totalMalformed(), failedFiles(), missingDirectories.size());
+    }
+}
@@ -0,0 +1,136 @@
+package engine.data;
+
+import engine.cards.CardData;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a collection of CardData into the compact binary card-pool format
+ * read by BinaryCardPool. Run by CardCompiler after the compiled JSON is
+ * produced; the engine never writes this file at runtime.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   header   magic, version, card count, string count,
+ *            records offset, string-table offset
+ *   records  one fixed-width record per card, sorted by id bytes
+ *   strings  int offset per string, then (int length, UTF-8 bytes) each
+ * </pre>
+ * Strings are deduplicated, so repeated set names and empty card text are
+ * stored once. See BinaryCardPool for the record layout.
+ */
+public final class CardPoolWriter {
+
+    private CardPoolWriter() {
+    }
+
+    /**
+     * Writes the given cards to a binary card-pool file, replacing it if present.
+     *
+     * @param cards  The cards to write. Cards with a null id are skipped.
+     * @param target The file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Collection<CardData> cards, Path target) throws IOException {
+        List<CardData> sorted = new ArrayList<>();
+        for (CardData card : cards) {
+            if (card.id() != null) {
+                sorted.add(card);
+            }
+        }
+        sorted.sort((a, b) -> BinaryCardPool.compareIds(
+                a.id().getBytes(StandardCharsets.UTF_8), b.id().getBytes(StandardCharsets.UTF_8)));
+
+        StringTable strings = new StringTable();
+        int[][] stringRefs = new int[sorted.size()][];
+        for (int i = 0; i < sorted.size(); i++) {
+            CardData card = sorted.get(i);
+            stringRefs[i] = new int[] {
+                    strings.intern(card.id()),
+                    strings.intern(card.setId()),
+                    strings.intern(card.name()),
+                    strings.intern(card.description()),
+                    strings.intern(card.setName())
+            };
+        }
+
+        int recordsOffset = BinaryCardPool.HEADER_SIZE;
+        int stringsOffset = recordsOffset + sorted.size() * BinaryCardPool.RECORD_SIZE;
+
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        try (OutputStream file = Files.newOutputStream(target);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(BinaryCardPool.MAGIC);
+            out.writeInt(BinaryCardPool.VERSION);
+            out.writeInt(sorted.size());
+            out.writeInt(strings.size());
+            out.writeInt(recordsOffset);
+            out.writeInt(stringsOffset);
+
+            for (int i = 0; i < sorted.size(); i++) {
+                CardData card = sorted.get(i);
+                for (int ref : stringRefs[i]) {
+                    out.writeInt(ref);
+                }
+                out.writeByte(ordinal(card.rarity()));
+                out.writeByte(ordinal(card.cardType()));
+                out.writeByte(ordinal(card.attribute()));
+                out.writeByte(ordinal(card.color()));
+                out.writeShort(card.cost());
+                out.writeShort(card.life());
+                out.writeInt(card.power());
+                out.writeInt(card.counter());
+                out.writeDouble(card.marketPrice());
+            }
+
+            strings.writeTo(out);
+        }
+    }
+
+    private static int ordinal(Enum<?> value) {
+        return value == null ? -1 : value.ordinal();
+    }
+
+    /** Deduplicating string table; index -1 encodes null. */
+    private static final class StringTable {
+        private final Map<String, Integer> indices = new HashMap<>();
+        private final List<byte[]> encoded = new ArrayList<>();
+
+        int intern(String value) {
+            if (value == null) {
+                return -1;
+            }
+            return indices.computeIfAbsent(value, v -> {
+                encoded.add(v.getBytes(StandardCharsets.UTF_8));
+                return encoded.size() - 1;
+            });
+        }
+
+        int size() {
+            return encoded.size();
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            int offset = encoded.size() * Integer.BYTES;
+            for (byte[] bytes : encoded) {
+                out.writeInt(offset);
+                offset += Integer.BYTES + bytes.length;
+            }
+            for (byte[] bytes : encoded) {
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package engine.data;
+
+import engine.cards.CardData;
+import engine.cards.types.CardType;
+import engine.cards.types.Color;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Composable filter over a CardIndex. Each clause intersects the running
+ * result with one index bitmap, so clauses can be chained in any order:
+ * <pre>
+ *   db.query().color(Color.Red).type(CardType.Character)
+ *           .costAtMost(4).counter(2000).subtype("Straw Hat Crew").list();
+ * </pre>
+ * A query is a mutable, single-threaded builder; start a new one per lookup.
+ */
+public final class CardQuery {
+    private final CardIndex index;
+    private final BitSet result;
+
+    CardQuery(CardIndex index) {
+        this.index = index;
+        this.result = (BitSet) index.all().clone();
+    }
+
+    // -------------------------------------------------------------------------
+    // Categorical clauses
+    // -------------------------------------------------------------------------
+
+    public CardQuery color(Color color) {
+        return and(index.color(color));
+    }
+
+    public CardQuery type(CardType type) {
+        return and(index.type(type));
+    }
+
+    /** Matches cards from the given set id (e.g. "OP-01"). */
+    public CardQuery set(String setId) {
+        return and(index.set(setId));
+    }
+
+    /** Matches cards with the given subtype (e.g. "Straw Hat Crew"). */
+    public CardQuery subtype(String subtype) {
+        return and(index.subtype(subtype));
+    }
+
+    // -------------------------------------------------------------------------
+    // Numeric clauses (ranges are inclusive)
+    // -------------------------------------------------------------------------
+
+    public CardQuery cost(int cost) {
+        return costBetween(cost, cost);
+    }
+
+    public CardQuery costBetween(int min, int max) {
+        return and(index.costRange(min, max));
+    }
+
+    public CardQuery costAtMost(int max) {
+        return costBetween(Integer.MIN_VALUE, max);
+    }
+
+    public CardQuery power(int power) {
+        return powerBetween(power, power);
+    }
+
+    public CardQuery powerBetween(int min, int max) {
+        return and(index.powerRange(min, max));
+    }
+
+    public CardQuery powerAtLeast(int min) {
+        return powerBetween(min, Integer.MAX_VALUE);
+    }
+
+    public CardQuery counter(int counter) {
+        return counterBetween(counter, counter);
+    }
+
+    public CardQuery counterBetween(int min, int max) {
+        return and(index.counterRange(min, max));
+    }
+
+    public CardQuery counterAtLeast(int min) {
+        return counterBetween(min, Integer.MAX_VALUE);
+    }
+
+    // -------------------------------------------------------------------------
+    // Results
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns the matching cards in id order.
+     */
+    public List<CardData> list() {
+        List<CardData> matches = new ArrayList<>(result.cardinality());
+        for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+            matches.add(index.card(i));
+        }
+        return matches;
+    }
+
+    public int count() {
+        return result.cardinality();
+    }
+
+    public boolean isEmpty() {
+        return result.isEmpty();
+    }
+
+    private CardQuery and(BitSet bits) {
+        result.and(bits);
+        return this;
+    }
+}
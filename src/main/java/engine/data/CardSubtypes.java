@@ -0,0 +1,249 @@
+package engine.data;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Card name → subtype lookup built from card_names_subtypes.csv
+ * (columns: card_name, card_type, sub_types).
+ *
+ * The API joins multiple subtypes with plain spaces ("Former Navy East Blue"),
+ * so the raw column cannot be split on a delimiter. Instead, each value is
+ * segmented by greedy longest match against a fixed list of known subtypes,
+ * ignoring case. The API's NULL and ? placeholders are dropped. Subtypes of
+ * cards that share a name (reprints) are merged.
+ */
+public final class CardSubtypes {
+    /** Default location of the subtype CSV, relative to the project root. */
+    public static final String DEFAULT_CSV = "card_names_subtypes.csv";
+
+    private static final CardSubtypes EMPTY = new CardSubtypes(Collections.emptyMap());
+
+    // Every subtype printed on a card so far; longer ones win over their
+    // prefixes ("Former Navy" over "Navy", "Animal Kingdom Pirates" over
+    // "Animal")
+    private static final List<String> KNOWN_SUBTYPES = List.of(
+            "Accino Family", "Alabasta", "Alchemi", "Allies", "Alvida Pirates", "Amazon Lily", "Animal",
+            "Animal Kingdom Pirates", "Arlong Pirates", "Asuka Island", "Baroque Works", "Barto Club",
+            "Barto Club Pirates", "Baterilla", "Beautiful Pirates", "Bellamy Pirates", "Big Mom Pirates",
+            "Biological Weapon", "Black Cat Pirates", "Blackbeard Pirates", "Blackbeard Pirates Allies",
+            "Bluejam Pirates", "Bonney Pirates", "Botanist", "Brownbeard Pirates", "Buggy Pirates",
+            "Buggy's Delivery", "CP0", "CP6", "CP7", "CP9", "Caribou Pirates", "Celestial Dragons",
+            "Cross Guild", "Crown Island", "Donquixote Pirates", "Drake Pirates", "Dressrosa", "Drum Kingdom",
+            "East Blue", "Egghead", "Eldoraggo Crew", "Evil Black Drum Kingdom", "FILM",
+            "Fake Straw Hat Crew", "Fallen Monk Pirates", "Firetank Pirates", "Fish-Man", "Fish-Man Island",
+            "Five Elders", "Flevance", "Flying Pirates", "Foolshout Island", "Former Arlong Pirates",
+            "Former Baroque Works", "Former Big Mom Pirates", "Former CP9", "Former Navy",
+            "Former Roger Pirates", "Former Rocks Pirates", "Former Rolling Pirates", "Former Rumbar Pirates",
+            "Former Whitebeard Pirates", "Foxy Pirates", "Frost Moon Village", "GERMA 66",
+            "Galley-La Company", "Gasparde Pirates", "Giant", "Goa Kingdom", "Golden Lion Pirates",
+            "Grantesoro", "Gyro Pirates", "Happosui Army", "Hawkins Pirates", "Heart Pirates", "Homies",
+            "Impel Down", "Jailer Beast", "Jaya", "Jellyfish Pirates", "Journalist", "King of the Pirates",
+            "Kingdom of GERMA", "Kingdom of Prodence", "Kid Pirates", "Krieg Pirates", "Kouzuki Clan",
+            "Kuja Pirates", "Kurozumi Clan", "Land of Wano", "Long Ring Long Land", "Lulucia Kingdom",
+            "Lunarian", "Mary Geoise", "Mecha Island", "Merfolk", "Minks", "Monkey Mountain Alliance",
+            "Monsters", "Mountain Bandits", "Muggy Kingdom", "Mugiwara Chase", "Music", "Navy", "Neo Navy",
+            "Neptunian", "New Fish-Man Pirates", "New Giant Pirate Crew", "New Giant Pirates", "ODYSSEY",
+            "Ohara", "Omatsuri Island", "On-Air Pirates", "Peachbeard Pirates", "Plague", "Punk Hazard",
+            "Red-Haired Pirates", "Revolutionary Army", "Roger Pirates", "Rumbar Pirates", "SMILE", "SWORD",
+            "Scientist", "Seraphim", "Shandian Warrior", "Shipbuilding Town", "Sky Island", "Sniper Island",
+            "Spade Pirates", "Sprite", "Straw Hat Crew", "Strike", "Supernovas", "The Akazaya Nine",
+            "The Flying Fish Riders", "The Four Emperors", "The Franky Family", "The House of Lambs",
+            "The Moon", "The Pirates Fest", "The Seven Warlords of the Sea", "The Sun Pirates",
+            "The Tontattas", "The Vinsmoke Family", "Thriller Bark Pirates", "Treasure Pirates",
+            "Trump Pirates", "Vassals", "Wano Country", "Water Seven", "Weevil's Mother",
+            "Whitebeard Pirates", "Whitebeard Pirates Allies", "Whole Cake Island", "Windmill Village",
+            "World Government", "World Pirates", "Yonta Maria Fleet");
+    // Lower-cased subtype -> its spelling in KNOWN_SUBTYPES
+    private static final Map<String, String> KNOWN = new HashMap<>();
+    private static final int MAX_KNOWN_WORDS;
+
+    static {
+        int maxWords = 0;
+        for (String subtype : KNOWN_SUBTYPES) {
+            KNOWN.put(subtype.toLowerCase(), subtype);
+            maxWords = Math.max(maxWords, subtype.split(" ").length);
+        }
+        MAX_KNOWN_WORDS = maxWords;
+    }
+
+    // Placeholders the API returns for cards without subtypes
+    private static final Set<String> IGNORED = Set.of("NULL", "?");
+
+    private final Map<String, Set<String>> byName;
+
+    private CardSubtypes(Map<String, Set<String>> byName) {
+        this.byName = byName;
+    }
+
+    public static CardSubtypes empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Loads subtypes from a CSV file.
+     *
+     * @param csv The CSV file to read.
+     * @return The parsed subtype table.
+     * @throws IOException if the file cannot be read.
+     */
+    public static CardSubtypes load(Path csv) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * Parses subtype CSV content. The first line is treated as a header.
+     */
+    public static CardSubtypes parse(BufferedReader reader) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        String line = reader.readLine(); // header
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) continue;
+            List<String> fields = splitCsvLine(line);
+            if (fields.size() >= 3 && !fields.get(2).isBlank()) {
+                rows.add(new String[] { fields.get(0).trim(), fields.get(2).trim() });
+            }
+        }
+
+        Map<String, List<String>> segmented = segment(rows);
+        Map<String, Set<String>> byName = new HashMap<>();
+        for (String[] row : rows) {
+            List<String> parts = segmented.get(row[1]);
+            if (!parts.isEmpty()) {
+                byName.computeIfAbsent(row[0], k -> new LinkedHashSet<>()).addAll(parts);
+            }
+        }
+        for (Map.Entry<String, Set<String>> entry : byName.entrySet()) {
+            entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+        }
+        return new CardSubtypes(byName);
+    }
+
+    /**
+     * Returns the subtypes of the card with the given name, or an empty set.
+     */
+    public Set<String> subtypesOf(String cardName) {
+        return byName.getOrDefault(cardName, Collections.emptySet());
+    }
+
+    /**
+     * Returns the names of every card with subtypes.
+     */
+    public Set<String> cardNames() {
+        return Collections.unmodifiableSet(byName.keySet());
+    }
+
+    public boolean isEmpty() {
+        return byName.isEmpty();
+    }
+
+    // -------------------------------------------------------------------------
+    // Parsing helpers
+    // -------------------------------------------------------------------------
+
+    /**
+     * Splits every distinct sub_types value into subtypes. A few values
+     * already use "/" as a separator; each part is then segmented on its own.
+     */
+    private static Map<String, List<String>> segment(List<String[]> rows) {
+        Map<String, List<String>> result = new HashMap<>();
+        for (String[] row : rows) {
+            result.computeIfAbsent(row[1], value -> {
+                List<String> parts = new ArrayList<>();
+                for (String part : value.split("/")) {
+                    if (part.isBlank()) {
+                        continue;
+                    }
+                    for (String subtype : split(part.trim().split("\\s+"))) {
+                        if (!IGNORED.contains(subtype)) {
+                            parts.add(subtype);
+                        }
+                    }
+                }
+                return parts;
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Segments the words by greedy longest match against KNOWN, in KNOWN's
+     * spelling ("Film" becomes "FILM"). Runs of words no known subtype
+     * covers are kept together as one subtype, so subtypes from sets newer
+     * than the list are still indexed.
+     */
+    private static List<String> split(String[] words) {
+        List<String> parts = new ArrayList<>();
+        int unknownStart = -1;
+        int i = 0;
+        while (i < words.length) {
+            int length = Math.min(MAX_KNOWN_WORDS, words.length - i);
+            String match;
+            while ((match = KNOWN.get(String.join(" ", Arrays.copyOfRange(words, i, i + length)).toLowerCase()))
+                    == null && length > 1) {
+                length--;
+            }
+            if (match == null) {
+                if (unknownStart < 0) {
+                    unknownStart = i;
+                }
+                i++;
+                continue;
+            }
+            if (unknownStart >= 0) {
+                parts.add(String.join(" ", Arrays.copyOfRange(words, unknownStart, i)));
+                unknownStart = -1;
+            }
+            parts.add(match);
+            i += length;
+        }
+        if (unknownStart >= 0) {
+            parts.add(String.join(" ", Arrays.copyOfRange(words, unknownStart, words.length)));
+        }
+        return parts;
+    }
+
+    /** Splits one CSV line, honouring double-quoted fields with "" escapes. */
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
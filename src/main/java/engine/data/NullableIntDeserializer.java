@@ -12,6 +12,7 @@ import java.io.IOException;
  * - string "NULL"   → null  (dirty API data)
  * - string "1"/"10" → parsed integer (API returns numbers as strings)
  * - actual integer   → passed through
+ * - object / array  → null (skipped)
  */
 class NullableIntDeserializer extends StdDeserializer<Integer> {
 
@@ -21,6 +22,10 @@ class NullableIntDeserializer extends StdDeserializer<Integer> {
 
     @Override
     public Integer deserialize(JsonParser p, DeserializationContext ctx) throws IOException {
+        if (p.isExpectedStartObjectToken() || p.isExpectedStartArrayToken()) {
+            p.skipChildren(); // Not a number; don't leave the parser inside it
+            return null;
+        }
         String text = p.getText();
         if (text == null || text.isBlank() || text.equalsIgnoreCase("null")
                 || text.equalsIgnoreCase("NULL")) {
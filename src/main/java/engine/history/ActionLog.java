@@ -0,0 +1,327 @@
+package engine.history;
+
+import engine.cards.Card;
+import engine.cards.DonCard;
+import engine.core.GameState;
+import engine.player.Player;
+import engine.zones.Zone;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Compact binary record of every decision taken in a game.
+ *
+ * A game is fully determined by its seed (see GameRandom) and the decisions
+ * made in it, so the log stores exactly that: the seed, then one entry per
+ * action. An entry is a header byte (action type and seat) followed by its
+ * operands as unsigned varints; cards are referred to by position (hand
+ * index, Leader/field slot, zone index), never by object. Most actions take
+ * one to three bytes.
+ *
+ * GameState, TurnManager, BattleSystem and GameSetup append to the log
+ * installed with GameState.setActionLog() as the actions happen, and Replay
+ * re-executes it to rebuild any point of the game. Nothing is recorded when
+ * no log is installed, and GameState.copy() never carries the log, so search
+ * threads working on copies do not write to it.
+ *
+ * Serialized layout (toByteArray): magic, version, seed, action count, body
+ * length, body.
+ */
+public final class ActionLog {
+    private static final int MAGIC = 0x4F50414C; // "OPAL"
+    private static final byte VERSION = 1;
+    private static final Type[] TYPES = Type.values();
+
+    /**
+     * The kinds of logged action, with the operands each one carries.
+     */
+    public enum Type {
+        /** GameSetup.initializeGame(). */
+        SETUP(0),
+        /** GameSetup.mulligan() for the seat. */
+        MULLIGAN(0),
+        /** GameSetup.setUpLife() for the seat. */
+        LIFE(0),
+        /** GameState.playCard(): hand index. */
+        PLAY(1),
+        /** GameState.attachDon(): target slot, DON!! index in the cost area. */
+        ATTACH_DON(2),
+        /** BattleSystem.applyCounter(): hand index, defended slot. */
+        COUNTER(2),
+        /** BattleSystem.resolve(): attacker slot, target slot, counter boost. */
+        ATTACK(3),
+        /** GameState.trash(): owner seat * 8 + zone index, index in zone. */
+        TRASH(2),
+        /** TurnManager.advancePhase(). */
+        ADVANCE(0);
+
+        private final int operands;
+
+        Type(int operands) {
+            this.operands = operands;
+        }
+
+        public int operands() {
+            return operands;
+        }
+    }
+
+    /**
+     * One decoded action. Unused operands are 0. A slot is 0 for the Leader
+     * and 1 + the index in the Character area otherwise.
+     */
+    public record Action(Type type, int seat, int a, int b, int c) {
+    }
+
+    private final long seed;
+    private byte[] body;
+    private int length;
+    // Byte offset of each action in body, for O(1) seeking
+    private int[] offsets;
+    private int count;
+
+    public ActionLog(long seed) {
+        this(seed, new byte[256], 0);
+    }
+
+    private ActionLog(long seed, byte[] body, int length) {
+        this.seed = seed;
+        this.body = body;
+        this.length = length;
+        this.offsets = new int[64];
+    }
+
+    /**
+     * Returns the seed of the game this log belongs to.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the number of recorded actions.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the encoded size of the actions in bytes, excluding the header.
+     */
+    public int byteSize() {
+        return length;
+    }
+
+    /**
+     * Estimates the heap retained by this log: its buffers and the object.
+     *
+     * @return The estimated size in bytes.
+     */
+    public long retainedBytes() {
+        return 32 + 16 + body.length + 16 + 4L * offsets.length;
+    }
+
+    /**
+     * Decodes the action at the given index.
+     */
+    public Action get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Action " + index + " of " + count);
+        }
+        int[] position = { offsets[index] };
+        int header = body[position[0]++] & 0xFF;
+        Type type = TYPES[header >>> 1];
+        int[] operands = new int[3];
+        for (int i = 0; i < type.operands(); i++) {
+            operands[i] = readVarInt(position);
+        }
+        if (type == Type.ATTACK) {
+            operands[2] = (operands[2] >>> 1) ^ -(operands[2] & 1); // zigzag
+        }
+        return new Action(type, header & 1, operands[0], operands[1], operands[2]);
+    }
+
+    // -------------------------------------------------------------------------
+    // Recording (called by the engine as actions happen)
+    // -------------------------------------------------------------------------
+
+    public void recordSetup() {
+        append(Type.SETUP, 0);
+    }
+
+    public void recordMulligan(GameState state, Player player) {
+        append(Type.MULLIGAN, seat(state, player));
+    }
+
+    public void recordLife(GameState state, Player player) {
+        append(Type.LIFE, seat(state, player));
+    }
+
+    public void recordPlay(GameState state, Player player, Card card) {
+        append(Type.PLAY, seat(state, player), player.getHand().getCards().indexOf(card));
+    }
+
+    public void recordAttachDon(GameState state, Card target, DonCard don) {
+        Player owner = target.getOwner();
+        append(Type.ATTACH_DON, seat(state, owner), slot(owner, target), owner.getCost().getCards().indexOf(don));
+    }
+
+    public void recordCounter(GameState state, Player defender, Card counterCard, Card target) {
+        append(Type.COUNTER, seat(state, defender), defender.getHand().getCards().indexOf(counterCard),
+                slot(defender, target));
+    }
+
+    public void recordAttack(GameState state, Card attacker, Card target, int counterBoost) {
+        append(Type.ATTACK, seat(state, attacker.getOwner()), slot(attacker.getOwner(), attacker),
+                slot(target.getOwner(), target), (counterBoost << 1) ^ (counterBoost >> 31));
+    }
+
+    public void recordTrash(GameState state, Player player, Card card) {
+        Zone zone = card.getZone();
+        if (zone == null) {
+            throw new IllegalStateException("Cannot log trashing " + card + ": it is in no zone.");
+        }
+        int zoneIndex = zone.getOwner().getZones().indexOf(zone);
+        append(Type.TRASH, seat(state, player), seat(state, zone.getOwner()) * 8 + zoneIndex,
+                zone.getCards().indexOf(card));
+    }
+
+    public void recordAdvance() {
+        append(Type.ADVANCE, 0);
+    }
+
+    private void append(Type type, int seat, int... operands) {
+        // Check everything before writing, so a rejected action leaves no partial entry
+        for (int operand : operands) {
+            if (operand < 0) {
+                throw new IllegalStateException(type + " operand is not in the expected zone.");
+            }
+        }
+        ensureCapacity(1 + operands.length * 5);
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+        }
+        offsets[count++] = length;
+        body[length++] = (byte) (type.ordinal() << 1 | seat);
+        for (int operand : operands) {
+            writeVarInt(operand);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Positions
+    // -------------------------------------------------------------------------
+
+    static int seat(GameState state, Player player) {
+        return (player == state.getPlayer1()) ? 0 : 1;
+    }
+
+    static int slot(Player owner, Card card) {
+        if (card == owner.getLeader()) {
+            return 0;
+        }
+        int index = owner.getField().getCards().indexOf(card);
+        return (index < 0) ? -1 : index + 1;
+    }
+
+    static Card cardInSlot(Player owner, int slot) {
+        return (slot == 0) ? owner.getLeader() : owner.getField().getCards().get(slot - 1);
+    }
+
+    // -------------------------------------------------------------------------
+    // Serialization
+    // -------------------------------------------------------------------------
+
+    /**
+     * Encodes the log for storage.
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length + 24);
+        ByteBuffer header = ByteBuffer.allocate(13);
+        header.putInt(MAGIC).put(VERSION).putLong(seed);
+        out.writeBytes(header.array());
+        writeVarInt(out, count);
+        writeVarInt(out, length);
+        out.write(body, 0, length);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a log written by toByteArray().
+     *
+     * @throws IllegalArgumentException if the bytes are not an action log.
+     */
+    public static ActionLog fromByteArray(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (bytes.length < 13 || in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not an action log.");
+        }
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported action log version " + version);
+        }
+        long seed = in.getLong();
+        int[] position = { in.position() };
+        int count = readVarInt(bytes, position);
+        int length = readVarInt(bytes, position);
+        if (position[0] + length > bytes.length) {
+            throw new IllegalArgumentException("Action log is truncated.");
+        }
+        ActionLog log = new ActionLog(seed, Arrays.copyOfRange(bytes, position[0], position[0] + length), length);
+        // Rebuild the offset table
+        log.offsets = new int[Math.max(count, 1)];
+        int[] cursor = { 0 };
+        for (int i = 0; i < count; i++) {
+            log.offsets[i] = cursor[0];
+            Type type = TYPES[(log.body[cursor[0]++] & 0xFF) >>> 1];
+            for (int o = 0; o < type.operands(); o++) {
+                readVarInt(log.body, cursor);
+            }
+        }
+        log.count = count;
+        return log;
+    }
+
+    // -------------------------------------------------------------------------
+    // Varints
+    // -------------------------------------------------------------------------
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > body.length) {
+            body = Arrays.copyOf(body, Math.max(body.length * 2, length + extra));
+        }
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            body[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        body[length++] = (byte) value;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private int readVarInt(int[] position) {
+        return readVarInt(body, position);
+    }
+
+    private static int readVarInt(byte[] bytes, int[] position) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = bytes[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package engine.history;
+
+import engine.cards.Card;
+import engine.core.GameState;
+import engine.core.StateListener;
+import engine.player.Player;
+import engine.zones.Zone;
+import engine.zones.ZoneType;
+
+/**
+ * Board changes of one game, encoded as compact text ops for each seat, so
+ * a client that holds the board can follow the game without being sent the
+ * whole board after every action.
+ *
+ * The log is the StateListener installed with GameState.setDiffLog(), so
+ * it hears of each change as it happens; each seat then takes the ops
+ * since its last drain(). A seat only ever sees what it could see at
+ * the table: the ids of cards entering its own hand, but only the count of
+ * the opponent's hand, deck and life.
+ *
+ * Ops are separated by ';' and applied in order. Cards are referred to by
+ * position: X for the Leader, or a zone letter and index (H hand, C
+ * Character area, S stage). Cards enter a zone at index 0.
+ * <pre>
+ *   M seat from[index] to [card]   a card moved; from/to are H, D (deck),
+ *                                   L (life), C, S or T (trash); the card is
+ *                                   given when the seat can see it arrive,
+ *                                   as an id in H and T
+ *   C seat position card           a card in play changed state
+ *   N seat active/rested           the seat's DON!! in the cost area
+ *   W seat                         the game ended; seat won
+ * </pre>
+ * A card is "id:A" or "id:R" (active or rested), then ":S" when summon
+ * sick, then ":n" for n attached DON!!.
+ *
+ * A diff only makes sense on top of the board it was taken from, so
+ * drain() asks for a full keyframe instead when the seat has no board yet,
+ * every keyframeInterval drains, after a restore() or reset(), and when a
+ * seat's pending ops grow past maxPending characters (a keyframe is then
+ * smaller, and a seat that never drains costs no more than that). The
+ * caller sends the keyframe (e.g. Protocol.state()) in their place.
+ *
+ * Like ActionLog, the log is written on the thread playing the game and is
+ * never carried over by GameState.copy().
+ */
+public final class DiffLog implements StateListener {
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 32;
+    public static final int DEFAULT_MAX_PENDING = 2048;
+
+    private final int keyframeInterval;
+    private final int maxPending;
+    private final StringBuilder[] pending = { new StringBuilder(), new StringBuilder() };
+    // Drains since each seat's last keyframe
+    private final int[] sinceKeyframe = new int[2];
+    private final boolean[] keyframeDue = { true, true };
+
+    public DiffLog() {
+        this(DEFAULT_KEYFRAME_INTERVAL, DEFAULT_MAX_PENDING);
+    }
+
+    /**
+     * @param keyframeInterval Drains between keyframes.
+     * @param maxPending       Characters a seat's pending ops may reach
+     *                         before a keyframe replaces them.
+     */
+    public DiffLog(int keyframeInterval, int maxPending) {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("keyframeInterval must be at least 1, got " + keyframeInterval);
+        }
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("maxPending must be at least 1, got " + maxPending);
+        }
+        this.keyframeInterval = keyframeInterval;
+        this.maxPending = maxPending;
+    }
+
+    // -------------------------------------------------------------------------
+    // Recording (StateListener, called by GameState on the game thread)
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void gameStarted(GameState state, long seed) {
+        invalidate();
+    }
+
+    @Override
+    public void restored(GameState state) {
+        invalidate();
+    }
+
+    // DON!! moves are reported as the new DON!! counts
+    @Override
+    public void cardMoved(GameState state, Card card, Zone origin, int index, Zone target) {
+        Player owner = card.getOwner();
+        if (owner == null) {
+            return;
+        }
+        if (isDon(origin) || isDon(target)) {
+            recordDon(state, owner);
+            return;
+        }
+        int seat = ActionLog.seat(state, owner);
+        for (int viewer = 0; viewer < 2; viewer++) {
+            StringBuilder out = begin(viewer);
+            if (out == null) {
+                continue;
+            }
+            out.append("M ").append(seat).append(' ').append(zoneLetter(origin));
+            if (origin != null && index >= 0 && isOrdered(origin.getType(), seat == viewer)) {
+                out.append(index);
+            }
+            out.append(' ').append(zoneLetter(target));
+            if (target.getType() == ZoneType.CHARACTER || target.getType() == ZoneType.STAGE) {
+                appendCard(out.append(' '), card);
+            } else if (isVisible(target.getType(), seat == viewer)) {
+                out.append(' ').append(card.getCardId());
+            }
+            end(viewer);
+        }
+    }
+
+    @Override
+    public void costPaid(GameState state, Player player, int amount) {
+        recordDon(state, player);
+    }
+
+    @Override
+    public void donAttached(GameState state, Card card) {
+        recordCard(state, card);
+        recordDon(state, card.getOwner());
+    }
+
+    @Override
+    public void donDetached(GameState state, Card card) {
+        recordCard(state, card);
+        recordDon(state, card.getOwner());
+    }
+
+    @Override
+    public void refreshed(GameState state, Player player, Refresh what) {
+        switch (what) {
+            case LEADER -> {
+                if (player.getLeader() != null) {
+                    recordCard(state, player.getLeader());
+                }
+            }
+            case CHARACTERS -> {
+                for (Card card : player.getField().getCards()) {
+                    recordCard(state, card);
+                }
+            }
+            case DON -> recordDon(state, player);
+        }
+    }
+
+    @Override
+    public void cardRested(GameState state, Card card) {
+        recordCard(state, card);
+    }
+
+    @Override
+    public void gameOver(GameState state, Player winner) {
+        int seat = ActionLog.seat(state, winner);
+        for (int viewer = 0; viewer < 2; viewer++) {
+            StringBuilder out = begin(viewer);
+            if (out != null) {
+                out.append("W ").append(seat);
+                end(viewer);
+            }
+        }
+    }
+
+    // A card in play changed state
+    private void recordCard(GameState state, Card card) {
+        Player owner = card.getOwner();
+        if (owner == null) {
+            return;
+        }
+        String position = position(owner, card);
+        if (position == null) {
+            return;
+        }
+        int seat = ActionLog.seat(state, owner);
+        for (int viewer = 0; viewer < 2; viewer++) {
+            StringBuilder out = begin(viewer);
+            if (out != null) {
+                appendCard(out.append("C ").append(seat).append(' ').append(position).append(' '), card);
+                end(viewer);
+            }
+        }
+    }
+
+    // The player's DON!! counts changed
+    private void recordDon(GameState state, Player player) {
+        int seat = ActionLog.seat(state, player);
+        for (int viewer = 0; viewer < 2; viewer++) {
+            StringBuilder out = begin(viewer);
+            if (out != null) {
+                out.append("N ").append(seat).append(' ')
+                        .append(player.getActiveDon()).append('/').append(player.getRestedDon());
+                end(viewer);
+            }
+        }
+    }
+
+    /**
+     * Drops every pending op and makes the next drain() of both seats ask for
+     * a keyframe, as after a restore() or reset().
+     */
+    public void invalidate() {
+        invalidate(0);
+        invalidate(1);
+    }
+
+    /**
+     * Drops the seat's pending ops and makes its next drain() ask for a
+     * keyframe, e.g. after the seat lost output it was sent.
+     */
+    public void invalidate(int seat) {
+        pending[seat].setLength(0);
+        keyframeDue[seat] = true;
+    }
+
+    // -------------------------------------------------------------------------
+    // Draining
+    // -------------------------------------------------------------------------
+
+    /**
+     * Takes the seat's ops since its last drain or keyframe.
+     *
+     * @return The ops, "" if nothing changed, or null when the seat must be
+     *         sent a keyframe instead.
+     */
+    public String drain(int seat) {
+        if (keyframeDue[seat] || ++sinceKeyframe[seat] >= keyframeInterval) {
+            keyframe(seat);
+            return null;
+        }
+        String ops = pending[seat].toString();
+        pending[seat].setLength(0);
+        return ops;
+    }
+
+    /**
+     * Records that the seat was sent a full keyframe: its pending ops are
+     * dropped and the keyframe interval starts over.
+     */
+    public void keyframe(int seat) {
+        pending[seat].setLength(0);
+        keyframeDue[seat] = false;
+        sinceKeyframe[seat] = 0;
+    }
+
+    // -------------------------------------------------------------------------
+    // Encoding
+    // -------------------------------------------------------------------------
+
+    /**
+     * Appends a card in play as "id:A|R[:S][:n]".
+     */
+    public static void appendCard(StringBuilder out, Card card) {
+        out.append(card.getCardId()).append(card.isRested() ? ":R" : ":A");
+        if (card.isSummonSick()) {
+            out.append(":S");
+        }
+        if (card.countDon() > 0) {
+            out.append(':').append(card.countDon());
+        }
+    }
+
+    // Returns the seat's buffer with a separator appended, or null if the seat
+    // is already waiting for a keyframe
+    private StringBuilder begin(int viewer) {
+        if (keyframeDue[viewer]) {
+            return null;
+        }
+        StringBuilder out = pending[viewer];
+        if (!out.isEmpty()) {
+            out.append(';');
+        }
+        return out;
+    }
+
+    private void end(int viewer) {
+        if (pending[viewer].length() > maxPending) {
+            pending[viewer].setLength(0);
+            keyframeDue[viewer] = true;
+        }
+    }
+
+    private static String position(Player owner, Card card) {
+        if (card == owner.getLeader()) {
+            return "X";
+        }
+        Zone zone = card.getZone();
+        if (zone == null || !isOrdered(zone.getType(), false)) {
+            return null;
+        }
+        return String.valueOf(zoneLetter(zone)) + zone.getCards().indexOf(card);
+    }
+
+    private static boolean isDon(Zone zone) {
+        return zone != null && (zone.getType() == ZoneType.COST || zone.getType() == ZoneType.DON_DECK);
+    }
+
+    // Zones a seat holds in order, so it needs the index of a card leaving
+    private static boolean isOrdered(ZoneType type, boolean own) {
+        return type == ZoneType.CHARACTER || type == ZoneType.STAGE || (own && type == ZoneType.HAND);
+    }
+
+    // Zones whose cards a seat sees arrive
+    private static boolean isVisible(ZoneType type, boolean own) {
+        return type == ZoneType.CHARACTER || type == ZoneType.STAGE || type == ZoneType.TRASH
+                || (own && type == ZoneType.HAND);
+    }
+
+    private static char zoneLetter(Zone zone) {
+        if (zone == null) {
+            return '-';
+        }
+        return switch (zone.getType()) {
+            case HAND -> 'H';
+            case DECK -> 'D';
+            case LIFE -> 'L';
+            case CHARACTER -> 'C';
+            case STAGE -> 'S';
+            case TRASH -> 'T';
+            case COST -> 'K';
+            case DON_DECK -> 'O';
+        };
+    }
+}
@@ -0,0 +1,434 @@
+package engine.history;
+
+import engine.cards.Card;
+import engine.core.GameState;
+import engine.core.StateListener;
+import engine.player.Player;
+import engine.zones.Zone;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Durable audit trail of every state change in the games played on one
+ * thread.
+ *
+ * Where ActionLog records the decisions needed to replay a game, the journal
+ * records what those decisions did: each card move, DON!! payment,
+ * attachment and detachment, rest, life loss, refresh and game result. The
+ * journal is the StateListener installed with GameState.setJournal(), so
+ * it hears of each change as it happens.
+ *
+ * Every event is two longs (a packed header and a value) written into a
+ * single-producer, single-consumer ring buffer. A background thread drains
+ * the ring into gzip-compressed segment files, starting a new segment every
+ * segmentEvents events, so the game thread only ever writes to memory. If
+ * the writer falls a whole ring behind, new events are dropped and counted
+ * (see getDropped()) rather than blocking the game. Each run of dropped
+ * events is marked in the stream by a DROPPED event, published as soon as
+ * the ring has room again (or written at close()), so a reader can tell
+ * where events are missing.
+ *
+ * Only one thread may publish to a journal; give each game thread its own
+ * journal and directory or prefix. A game that is reset() keeps its journal,
+ * and each game in it starts with a GAME_START event carrying the seed.
+ *
+ * Segment layout: magic, version, sequence number of the first event, then
+ * (header, value) pairs until the end of the stream.
+ */
+public final class EventJournal implements StateListener, AutoCloseable {
+    private static final int MAGIC = 0x4F504A4C; // "OPJL"
+    private static final byte VERSION = 1;
+    private static final Type[] TYPES = Type.values();
+
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+    public static final int DEFAULT_SEGMENT_EVENTS = 1 << 20;
+
+    /** REFRESH operand: the Leader was refreshed. */
+    public static final int REFRESH_LEADER = Refresh.LEADER.ordinal();
+    /** REFRESH operand: the Character area was refreshed. */
+    public static final int REFRESH_CHARACTERS = Refresh.CHARACTERS.ordinal();
+    /** REFRESH operand: the cost area DON!! were refreshed. */
+    public static final int REFRESH_DON = Refresh.DON.ordinal();
+
+    // How long the writer sleeps when it has caught up with the game
+    private static final long IDLE_NANOS = 200_000;
+
+    /**
+     * The kinds of journal event, with what their operands and value hold.
+     * Card keys are Card.getHashKey(), which is derived from the card id and
+     * its owner and is stable across games and copies.
+     */
+    public enum Type {
+        /** A game (or a reset() of one) started. value: the seed. */
+        GAME_START,
+        /** GameState.moveCard(). a: origin ZoneType + 1 (0 if none), b: target ZoneType + 1, value: card key. */
+        MOVE,
+        /** GameState.payCost(). a: DON!! rested. */
+        PAY,
+        /** GameState.attachDon(). a: DON!! attached to the card afterwards, value: card key. */
+        ATTACH_DON,
+        /** GameState.detachDon(). a: DON!! still attached, value: card key. */
+        DETACH_DON,
+        /** GameState.removeLife(). a: life cards left. */
+        LIFE,
+        /**
+         * GameState.refreshLeader/Field/Don(), after the DETACH_DON events it
+         * caused. a: REFRESH_LEADER, REFRESH_CHARACTERS or REFRESH_DON.
+         */
+        REFRESH,
+        /** The game ended. seat: the winner. */
+        GAME_OVER,
+        /** GameState.restToAttack(). value: card key. */
+        REST,
+        /** Events were dropped here because the ring was full. value: how many. */
+        DROPPED
+    }
+
+    /**
+     * One decoded event.
+     *
+     * @param sequence Position of the event in the journal, from 0.
+     */
+    public record Event(long sequence, Type type, int seat, int a, int b, long value) {
+    }
+
+    private final Path directory;
+    private final String prefix;
+    private final int segmentEvents;
+    private final long[] ring;
+    private final int mask;
+    // Next sequence to publish; written by the game thread only
+    private final AtomicLong tail = new AtomicLong();
+    // Next sequence to write out; written by the writer thread only
+    private final AtomicLong head = new AtomicLong();
+    // The game thread's last look at head, so a free slot costs no volatile read
+    private long headCache;
+    private final LongAdder dropped = new LongAdder();
+    // Drops not yet marked by a DROPPED event; game thread only
+    private long unreported;
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    public EventJournal(Path directory) throws IOException {
+        this(directory, "journal", DEFAULT_CAPACITY, DEFAULT_SEGMENT_EVENTS);
+    }
+
+    /**
+     * @param directory     Where segment files are written; created if missing.
+     * @param prefix        Segment file names are prefix-NNNNNN.gz.
+     * @param capacity      Events the ring holds; rounded up to a power of two.
+     * @param segmentEvents Events per segment file.
+     * @throws IOException if the directory cannot be created.
+     */
+    public EventJournal(Path directory, String prefix, int capacity, int segmentEvents) throws IOException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1, got " + capacity);
+        }
+        if (segmentEvents < 1) {
+            throw new IllegalArgumentException("segmentEvents must be at least 1, got " + segmentEvents);
+        }
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.prefix = prefix;
+        this.segmentEvents = segmentEvents;
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.ring = new long[2 * size];
+        this.mask = size - 1;
+        this.writer = Thread.ofPlatform().name("event-journal-" + prefix).daemon().start(this::drain);
+    }
+
+    // -------------------------------------------------------------------------
+    // Recording (StateListener, called by GameState on the game thread)
+    // -------------------------------------------------------------------------
+
+    public void recordGameStart(long seed) {
+        publish(Type.GAME_START, 0, 0, 0, seed);
+    }
+
+    @Override
+    public void gameStarted(GameState state, long seed) {
+        recordGameStart(seed);
+    }
+
+    @Override
+    public void cardMoved(GameState state, Card card, Zone origin, int index, Zone target) {
+        Player owner = card.getOwner();
+        publish(Type.MOVE, (owner == null) ? 0 : ActionLog.seat(state, owner), zoneCode(origin), zoneCode(target),
+                card.getHashKey());
+    }
+
+    @Override
+    public void costPaid(GameState state, Player player, int amount) {
+        publish(Type.PAY, ActionLog.seat(state, player), amount, 0, 0);
+    }
+
+    @Override
+    public void donAttached(GameState state, Card card) {
+        publish(Type.ATTACH_DON, ActionLog.seat(state, card.getOwner()), card.getAttachedDons().size(), 0,
+                card.getHashKey());
+    }
+
+    @Override
+    public void donDetached(GameState state, Card card) {
+        publish(Type.DETACH_DON, ActionLog.seat(state, card.getOwner()), card.getAttachedDons().size(), 0,
+                card.getHashKey());
+    }
+
+    @Override
+    public void lifeLost(GameState state, Player player) {
+        publish(Type.LIFE, ActionLog.seat(state, player), player.getLife().size(), 0, 0);
+    }
+
+    @Override
+    public void refreshed(GameState state, Player player, Refresh what) {
+        publish(Type.REFRESH, ActionLog.seat(state, player), what.ordinal(), 0, 0);
+    }
+
+    @Override
+    public void cardRested(GameState state, Card card) {
+        publish(Type.REST, ActionLog.seat(state, card.getOwner()), 0, 0, card.getHashKey());
+    }
+
+    @Override
+    public void gameOver(GameState state, Player winner) {
+        publish(Type.GAME_OVER, ActionLog.seat(state, winner), 0, 0, 0);
+    }
+
+    /**
+     * Appends one event to the ring, or drops it if the ring is full or the
+     * journal is closed. Never blocks.
+     */
+    public void publish(Type type, int seat, int a, int b, long value) {
+        if (closed) {
+            dropped.increment();
+            return;
+        }
+        if (unreported > 0 && offer(pack(Type.DROPPED, 0, 0, 0), unreported)) {
+            unreported = 0;
+        }
+        if (!offer(pack(type, seat, a, b), value)) {
+            unreported++;
+            dropped.increment();
+        }
+    }
+
+    // Writes one event into the ring if it has a free slot
+    private boolean offer(long header, long value) {
+        long sequence = tail.get();
+        if (sequence - headCache > mask) {
+            headCache = head.getAcquire();
+            if (sequence - headCache > mask) {
+                return false;
+            }
+        }
+        int slot = (int) (sequence & mask) << 1;
+        ring[slot] = header;
+        ring[slot + 1] = value;
+        tail.setRelease(sequence + 1);
+        return true;
+    }
+
+    // -------------------------------------------------------------------------
+    // State
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns the number of events published so far, DROPPED markers
+     * included and dropped events excluded.
+     */
+    public long getPublished() {
+        return tail.get();
+    }
+
+    /**
+     * Returns the number of events dropped because the ring was full.
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the segment files written so far, oldest first.
+     */
+    public List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> {
+                String name = f.getFileName().toString();
+                return name.startsWith(prefix + "-") && name.endsWith(".gz");
+            }).sorted().toList();
+        }
+    }
+
+    /**
+     * Writes out every published event, and a DROPPED event for any drops
+     * not yet marked, closes the last segment and stops the writer thread.
+     * Events published after close() are dropped.
+     *
+     * @throws IOException if the writer failed at any point.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Writer thread
+    // -------------------------------------------------------------------------
+
+    private void drain() {
+        DataOutputStream out = null;
+        long inSegment = 0;
+        int segment = 0;
+        boolean unflushed = false;
+        // Drops marked by the DROPPED events written so far
+        long reported = 0;
+        try {
+            while (true) {
+                boolean closing = closed;
+                long available = tail.getAcquire();
+                long next = head.get();
+                if (next == available) {
+                    if (closing) {
+                        break;
+                    }
+                    if (unflushed) {
+                        out.flush();
+                        unflushed = false;
+                    }
+                    LockSupport.parkNanos(IDLE_NANOS);
+                    continue;
+                }
+                for (; next < available; next++) {
+                    if (out == null || inSegment == segmentEvents) {
+                        if (out != null) {
+                            out.close();
+                        }
+                        out = openSegment(segment++, next);
+                        inSegment = 0;
+                    }
+                    int slot = (int) (next & mask) << 1;
+                    out.writeLong(ring[slot]);
+                    out.writeLong(ring[slot + 1]);
+                    if (ring[slot] >>> 56 == Type.DROPPED.ordinal()) {
+                        reported += ring[slot + 1];
+                    }
+                    inSegment++;
+                }
+                head.setRelease(next);
+                unflushed = true;
+            }
+            // Drops the game thread had no room left to mark
+            long missed = dropped.sum() - reported;
+            if (missed > 0) {
+                if (out == null || inSegment == segmentEvents) {
+                    if (out != null) {
+                        out.close();
+                    }
+                    out = openSegment(segment, head.get());
+                }
+                out.writeLong(pack(Type.DROPPED, 0, 0, 0));
+                out.writeLong(missed);
+            }
+            if (out != null) {
+                out.close();
+            }
+        } catch (IOException e) {
+            failure = e;
+            // Stop accepting events; the game thread drops them from now on
+            closed = true;
+        }
+    }
+
+    private DataOutputStream openSegment(int segment, long firstSequence) throws IOException {
+        Path file = directory.resolve(String.format("%s-%06d.gz", prefix, segment));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(file), 1 << 16, true), 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(firstSequence);
+        return out;
+    }
+
+    // -------------------------------------------------------------------------
+    // Reading
+    // -------------------------------------------------------------------------
+
+    /**
+     * Decodes one segment file. A segment cut short (e.g. by a crash) yields
+     * the events before the cut.
+     *
+     * @throws IOException if the file cannot be read or is not a journal
+     *                     segment.
+     */
+    public static List<Event> read(Path segment) throws IOException {
+        List<Event> events = new ArrayList<>();
+        try (InputStream file = Files.newInputStream(segment);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(segment + " is not a journal segment.");
+            }
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported journal version " + version + " in " + segment);
+            }
+            long sequence = in.readLong();
+            while (true) {
+                long header;
+                long value;
+                try {
+                    header = in.readLong();
+                    value = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                events.add(unpack(sequence++, header, value));
+            }
+        }
+        return events;
+    }
+
+    // -------------------------------------------------------------------------
+    // Encoding
+    // -------------------------------------------------------------------------
+
+    // type (8 bits) | seat (8) | a (24) | b (24)
+    private static long pack(Type type, int seat, int a, int b) {
+        return ((long) type.ordinal() << 56) | ((long) (seat & 0xFF) << 48)
+                | ((long) (a & 0xFFFFFF) << 24) | (b & 0xFFFFFF);
+    }
+
+    private static Event unpack(long sequence, long header, long value) {
+        return new Event(sequence, TYPES[(int) (header >>> 56)], (int) (header >>> 48) & 0xFF,
+                (int) (header >>> 24) & 0xFFFFFF, (int) header & 0xFFFFFF, value);
+    }
+
+    private static int zoneCode(Zone zone) {
+        return (zone == null) ? 0 : zone.getType().ordinal() + 1;
+    }
+}
@@ -1,52 +1,34 @@
 package engine.history;
 
 import engine.core.Phase;
-import engine.player.Player;
 
 /**
- * Represents a single node in the game history linked list. Each node stores a
- * shallow snapshot of the game state at a particular point — the two players
- * (and by extension their zones and cards via live references), whose turn it
- * is, the current phase, and the turn count.
+ * Represents a single node in the game history. Each node marks a
+ * point in the game — whose turn it is, the current phase, the turn count —
+ * and the number of actions in the game's ActionLog at that point.
  *
- * NOTE: Player references are live objects, not deep copies. This is sufficient
- * for CMU-phase replay and debugging. When AI simulation is added, this class
- * will need to store deep-copied snapshots produced by GameState.snapshot().
+ * Nodes hold no game objects. The full position at a node is rebuilt on
+ * demand with Replay.seek(node.getActionIndex()).
  */
 public class GameHistory {
-    private final Player player1;
-    private final Player player2;
-    private final Player activePlayer;
+    private final String activePlayerName;
     private final Phase phase;
     private final int turnCount;
+    private final int actionIndex;
 
-    private GameHistory nextNode;
-    private GameHistory prevNode;
-
-    public GameHistory(Player player1, Player player2, Player activePlayer, Phase phase, int turnCount) {
-        this.player1 = player1;
-        this.player2 = player2;
-        this.activePlayer = activePlayer;
+    public GameHistory(String activePlayerName, Phase phase, int turnCount, int actionIndex) {
+        this.activePlayerName = activePlayerName;
         this.phase = phase;
         this.turnCount = turnCount;
-        this.nextNode = null;
-        this.prevNode = null;
+        this.actionIndex = actionIndex;
     }
 
     // -------------------------------------------------------------------------
     // Accessors
     // -------------------------------------------------------------------------
 
-    public Player getPlayer1() {
-        return player1;
-    }
-
-    public Player getPlayer2() {
-        return player2;
-    }
-
-    public Player getActivePlayer() {
-        return activePlayer;
+    public String getActivePlayerName() {
+        return activePlayerName;
     }
 
     public Phase getPhase() {
@@ -57,28 +39,15 @@ public class GameHistory {
         return turnCount;
     }
 
-    public GameHistory getNextNode() {
-        return nextNode;
-    }
-
-    public GameHistory getPrevNode() {
-        return prevNode;
-    }
-
-    // -------------------------------------------------------------------------
-    // Package-private mutators (used only by GameHistoryManager)
-    // -------------------------------------------------------------------------
-
-    void setNextNode(GameHistory next) {
-        this.nextNode = next;
-    }
-
-    void setPrevNode(GameHistory prev) {
-        this.prevNode = prev;
+    /**
+     * Returns the number of logged actions taken before this point.
+     */
+    public int getActionIndex() {
+        return actionIndex;
     }
 
     @Override
     public String toString() {
-        return String.format("Turn %d | %s's %s phase", turnCount, activePlayer.getName(), phase.getName());
+        return String.format("Turn %d | %s's %s phase", turnCount, activePlayerName, phase.getName());
     }
 }
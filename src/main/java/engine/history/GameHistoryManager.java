@@ -1,69 +1,96 @@
 package engine.history;
 
 import engine.core.Phase;
-import engine.player.Player;
 
 /**
- * Manages the doubly-linked list of GameHistory nodes. Responsible for
- * appending new snapshots after each game action and traversing the list
- * for replay or debugging.
+ * Keeps the most recent GameHistory nodes of a game in a bounded ring buffer.
+ * Responsible for appending a node after each game action and stepping
+ * through the retained nodes for replay or debugging.
  *
  * CMU usage: call record() after each meaningful action (play card, attack,
  * end phase) to build a traversable history. Use printHistory() to dump the
- * full log, or step prev/next through nodes for replay.
+ * retained log, or step back/forward through nodes for replay.
  *
- * AI usage (future): record() will need to store deep-copied GameState
- * snapshots. A branch() method will be added to fork from any node for
- * tree search without affecting the live game state.
+ * At most getCapacity() nodes are kept; recording past that discards the
+ * oldest node, so a long-lived game holds a fixed amount of history. The
+ * buffer starts small and doubles up to the capacity. Recording after
+ * stepping back discards every node after the current one.
+ *
+ * Nodes only mark positions in the game's ActionLog; use Replay.seek() with a
+ * node's action index to rebuild (or branch from) the position it marks.
  */
 public class GameHistoryManager {
-    private GameHistory head;
-    private GameHistory current;
-    private int size;
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final int INITIAL_SLOTS = 16;
+    // Estimated shallow size of a GameHistory node (header + 4 fields, compressed oops)
+    private static final int NODE_BYTES = 32;
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private final int capacity;
+    private GameHistory[] ring;
+    private int start;    // Slot of the oldest retained node
+    private int size;     // Retained nodes
+    private int current;  // Logical index of the current node, -1 when empty
+    private long discarded;
+
+    public GameHistoryManager(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.ring = new GameHistory[Math.min(capacity, INITIAL_SLOTS)];
+        this.current = -1;
+    }
 
     public GameHistoryManager() {
-        this.head = null;
-        this.current = null;
-        this.size = 0;
+        this(DEFAULT_CAPACITY);
     }
 
     /**
-     * Records the current game state as a new node appended after the current
-     * position. If called mid-history (after stepping back), any forward nodes
-     * are discarded — the new record becomes the new tail.
+     * Records a new node after the current position. If called mid-history
+     * (after stepping back), the forward nodes are discarded and the new
+     * record becomes the tail. When the history is full the oldest node is
+     * dropped.
      *
-     * @param player1     Player 1.
-     * @param player2     Player 2.
-     * @param activePlayer The player whose turn it is.
-     * @param phase       The current game phase.
-     * @param turnCount   The current turn number.
+     * @param activePlayerName The name of the player whose turn it is.
+     * @param phase            The current game phase.
+     * @param turnCount        The current turn number.
+     * @param actionIndex      The number of actions logged so far.
      */
-    public void record(Player player1, Player player2, Player activePlayer, Phase phase, int turnCount) {
-        GameHistory node = new GameHistory(player1, player2, activePlayer, phase, turnCount);
-
-        if (head == null) {
-            head = node;
-            current = node;
-        } else {
-            // Discard any forward history from current position
-            current.setNextNode(node);
-            node.setPrevNode(current);
-            current = node;
+    public void record(String activePlayerName, Phase phase, int turnCount, int actionIndex) {
+        GameHistory node = new GameHistory(activePlayerName, phase, turnCount, actionIndex);
+
+        // Discard any forward history from current position
+        for (int i = current + 1; i < size; i++) {
+            ring[slot(i)] = null;
+        }
+        size = current + 1;
+
+        if (size == capacity) {
+            ring[start] = null;
+            start = (start + 1) % ring.length;
+            size--;
+            discarded++;
+        } else if (size == ring.length) {
+            grow();
         }
+        ring[slot(size)] = node;
         size++;
+        current = size - 1;
     }
 
     /**
      * Steps backward one node in the history.
      *
-     * @return The previous GameHistory node, or null if already at the start.
+     * @return The previous GameHistory node, or null if already at the oldest
+     *         retained node.
      */
     public GameHistory stepBack() {
-        if (current == null || current.getPrevNode() == null) {
+        if (current <= 0) {
             return null;
         }
-        current = current.getPrevNode();
-        return current;
+        current--;
+        return ring[slot(current)];
     }
 
     /**
@@ -72,51 +99,82 @@ public class GameHistoryManager {
      * @return The next GameHistory node, or null if already at the most recent state.
      */
     public GameHistory stepForward() {
-        if (current == null || current.getNextNode() == null) {
+        if (current < 0 || current == size - 1) {
             return null;
         }
-        current = current.getNextNode();
-        return current;
+        current++;
+        return ring[slot(current)];
     }
 
     /**
      * Returns the current node without moving.
      *
-     * @return The current GameHistory node.
+     * @return The current GameHistory node, or null if nothing is recorded.
      */
     public GameHistory getCurrent() {
-        return current;
+        return (current < 0) ? null : ring[slot(current)];
     }
 
     /**
-     * Returns the head (first recorded) node.
+     * Returns the oldest retained node.
      *
-     * @return The head GameHistory node.
+     * @return The head GameHistory node, or null if nothing is recorded.
      */
     public GameHistory getHead() {
-        return head;
+        return (size == 0) ? null : ring[start];
     }
 
     /**
-     * Returns the total number of recorded states.
+     * Returns the retained node at the given position, 0 being the oldest.
+     */
+    public GameHistory get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + size);
+        }
+        return ring[slot(index)];
+    }
+
+    /**
+     * Returns the number of retained nodes.
      *
-     * @return The number of nodes in the history list.
+     * @return The number of nodes in the history.
      */
     public int size() {
         return size;
     }
 
     /**
-     * Prints the full history from head to tail, one node per line.
+     * Returns the maximum number of nodes retained.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns how many of the oldest nodes have been dropped to stay within
+     * the capacity.
+     */
+    public long getDiscarded() {
+        return discarded;
+    }
+
+    /**
+     * Estimates the heap retained by this history: the ring array plus the
+     * retained nodes. Player names are shared with the game and not counted.
+     *
+     * @return The estimated size in bytes.
+     */
+    public long estimatedBytes() {
+        return ARRAY_HEADER_BYTES + 4L * ring.length + (long) NODE_BYTES * size;
+    }
+
+    /**
+     * Prints the retained history from oldest to newest, one node per line.
      */
     public void printHistory() {
-        GameHistory node = head;
-        int index = 1;
-        while (node != null) {
-            String marker = (node == current) ? " <-- current" : "";
-            System.out.printf("%d. %s%s%n", index, node.toString(), marker);
-            node = node.getNextNode();
-            index++;
+        for (int i = 0; i < size; i++) {
+            String marker = (i == current) ? " <-- current" : "";
+            System.out.printf("%d. %s%s%n", discarded + i + 1, ring[slot(i)].toString(), marker);
         }
     }
 
@@ -124,8 +182,27 @@ public class GameHistoryManager {
      * Resets the history, clearing all recorded nodes.
      */
     public void clear() {
-        head = null;
-        current = null;
+        ring = new GameHistory[Math.min(capacity, INITIAL_SLOTS)];
+        start = 0;
         size = 0;
+        current = -1;
+        discarded = 0;
+    }
+
+    // -------------------------------------------------------------------------
+    // Ring buffer helpers
+    // -------------------------------------------------------------------------
+
+    private int slot(int index) {
+        return (start + index) % ring.length;
+    }
+
+    private void grow() {
+        GameHistory[] larger = new GameHistory[Math.min(capacity, ring.length * 2)];
+        for (int i = 0; i < size; i++) {
+            larger[i] = ring[slot(i)];
+        }
+        ring = larger;
+        start = 0;
     }
 }
@@ -0,0 +1,128 @@
+package engine.history;
+
+import engine.battle.BattleSystem;
+import engine.cards.Card;
+import engine.cards.DonCard;
+import engine.core.GameState;
+import engine.core.TurnManager;
+import engine.player.Player;
+import engine.setup.GameSetup;
+import engine.zones.Zone;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Rebuilds positions of a logged game by re-executing its ActionLog.
+ *
+ * The game is recreated from the log's seed with the same factory that built
+ * the original (for example GameFactory::createTestGame), then actions are
+ * applied in order. Every keyframeInterval actions a deep copy of the
+ * position is kept as a keyframe, so seeking replays at most that many
+ * actions from the nearest keyframe instead of from the start. Keyframes are
+ * taken lazily, the first time a seek passes them.
+ */
+public final class Replay {
+
+    /**
+     * A rebuilt position: the game after the first actionIndex actions.
+     */
+    public record Position(GameState gameState, TurnManager turnManager, int actionIndex) {
+    }
+
+    private final ActionLog log;
+    private final int keyframeInterval;
+    // keyframes.get(k) is the position after k * keyframeInterval actions
+    private final List<Position> keyframes = new ArrayList<>();
+
+    /**
+     * @param log              The log to replay.
+     * @param newGame          Builds the initial game from a seed, exactly as
+     *                         the recorded game was built.
+     * @param keyframeInterval Actions between keyframes.
+     */
+    public Replay(ActionLog log, LongFunction<GameState> newGame, int keyframeInterval) {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("keyframeInterval must be at least 1, got " + keyframeInterval);
+        }
+        this.log = log;
+        this.keyframeInterval = keyframeInterval;
+        GameState initial = newGame.apply(log.getSeed());
+        keyframes.add(new Position(initial, new TurnManager(initial), 0));
+    }
+
+    public Replay(ActionLog log, LongFunction<GameState> newGame) {
+        this(log, newGame, 64);
+    }
+
+    /**
+     * Rebuilds the game as it was after the first actionIndex actions. The
+     * returned position is an independent copy the caller may mutate.
+     *
+     * @param actionIndex Number of actions to apply, from 0 to log.size().
+     * @return The rebuilt position.
+     */
+    public Position seek(int actionIndex) {
+        if (actionIndex < 0 || actionIndex > log.size()) {
+            throw new IndexOutOfBoundsException("Action " + actionIndex + " of " + log.size());
+        }
+        int keyframe = Math.min(actionIndex / keyframeInterval, keyframes.size() - 1);
+        Position start = keyframes.get(keyframe);
+        GameState gameState = start.gameState().copy();
+        TurnManager turnManager = start.turnManager().copy(gameState);
+
+        for (int i = start.actionIndex(); i < actionIndex; i++) {
+            apply(log.get(i), gameState, turnManager);
+            int done = i + 1;
+            if (done % keyframeInterval == 0 && done / keyframeInterval == keyframes.size()) {
+                GameState frame = gameState.copy();
+                keyframes.add(new Position(frame, turnManager.copy(frame), done));
+            }
+        }
+        return new Position(gameState, turnManager, actionIndex);
+    }
+
+    /**
+     * Returns the final position of the logged game.
+     */
+    public Position end() {
+        return seek(log.size());
+    }
+
+    /**
+     * Returns the number of keyframes taken so far, including the start.
+     */
+    public int keyframeCount() {
+        return keyframes.size();
+    }
+
+    /**
+     * Re-executes one logged action through the same engine calls that
+     * recorded it.
+     */
+    static void apply(ActionLog.Action action, GameState gameState, TurnManager turnManager) {
+        Player player = (action.seat() == 0) ? gameState.getPlayer1() : gameState.getPlayer2();
+        Player opponent = (action.seat() == 0) ? gameState.getPlayer2() : gameState.getPlayer1();
+        switch (action.type()) {
+            case SETUP -> new GameSetup(gameState).initializeGame();
+            case MULLIGAN -> new GameSetup(gameState).mulligan(player);
+            case LIFE -> new GameSetup(gameState).setUpLife(player);
+            case PLAY -> gameState.playCard(player, player.getHand().getCards().get(action.a()));
+            case ATTACH_DON -> gameState.attachDon(ActionLog.cardInSlot(player, action.a()),
+                    (DonCard) player.getCost().getCards().get(action.b()));
+            case COUNTER -> new BattleSystem(gameState, turnManager).applyCounter(player,
+                    player.getHand().getCards().get(action.a()), ActionLog.cardInSlot(player, action.b()));
+            case ATTACK -> new BattleSystem(gameState, turnManager).resolve(
+                    ActionLog.cardInSlot(player, action.a()), ActionLog.cardInSlot(opponent, action.b()),
+                    action.c());
+            case TRASH -> {
+                Player owner = (action.a() / 8 == 0) ? gameState.getPlayer1() : gameState.getPlayer2();
+                Zone zone = owner.getZones().get(action.a() % 8);
+                Card card = zone.getCards().get(action.b());
+                gameState.trash(player, card);
+            }
+            case ADVANCE -> turnManager.advancePhase();
+        }
+    }
+}
@@ -3,7 +3,13 @@ import engine.zones.Zone;
 import engine.zones.ZoneType;
 import engine.zones.Deck;
 import engine.zones.DonDeck;
+import engine.cards.Card;
+import engine.cards.DonCard;
 import engine.cards.Leader;
+import engine.core.MessageSink;
+import engine.core.ZobristHash;
+
+import java.util.List;
 public class Player {
     private String player_id;
     private String name;
@@ -17,12 +23,17 @@ public class Player {
     private Zone trash;
     private Zone cost_zone;
     private Zone stage;
+    private final List<Zone> zones;
 
     private int activeDon;
     private int restedDon;
     private int lifePoints;
     
     private Leader leader;
+    // Position hash of the game this player is seated in, if any
+    private ZobristHash zobrist;
+    // Where this player's zones and cards send their messages
+    private MessageSink messages = MessageSink.NONE;
     public Player(String player_id, String name, Leader leader) {
         this.player_id = player_id;
         this.name = name;
@@ -34,7 +45,8 @@ public class Player {
         this.life_zone = new Deck(ZoneType.LIFE, this);
         this.cost_zone = new Zone(ZoneType.COST, this);
         this.stage = new Zone(ZoneType.STAGE, this);
-    
+        this.zones = List.of(deck, donDeck, life_zone, hand, field, trash, cost_zone, stage);
+
         this.leader = leader;
         this.lifePoints = (leader != null) ? leader.getLifePoints() : 0;
         this.activeDon = 0;
@@ -90,10 +102,18 @@ public class Player {
         return name;
     }
 
+    /**
+     * Returns the number of DON!! in the cost area that are active and not
+     * attached, i.e. available to pay costs. Kept up to date by DonCard as it
+     * enters or leaves the cost area, rests, activates, attaches or detaches.
+     */
     public int getActiveDon() {
         return activeDon;
     }
 
+    /**
+     * Returns the number of rested, unattached DON!! in the cost area.
+     */
     public int getRestedDon() {
         return restedDon;
     }
@@ -106,9 +126,69 @@ public class Player {
         return stage;
     }
 
+    /**
+     * Returns every zone this player owns in a fixed order (deck, Don deck, life,
+     * hand, field, trash, cost, stage). The list is immutable and shared.
+     */
+    public List<Zone> getZones() {
+        return zones;
+    }
+
     // Mutator methods
     public void setLeader(Leader leader) {
         this.leader = leader;
+        if (zobrist != null) {
+            zobrist.recompute();
+        }
         this.lifePoints = leader != null ? leader.getLifePoints() : 0;
     }
-}
+
+    /**
+     * Returns the position hash of the game this player is seated in, or null
+     * outside a game. Zones and cards report their changes to it.
+     */
+    public ZobristHash getZobrist() {
+        return zobrist;
+    }
+    public void setZobrist(ZobristHash zobrist) {
+        this.zobrist = zobrist;
+    }
+
+    /**
+     * Returns the sink this player's zones and cards send their messages to;
+     * set by GameState.setMessageSink().
+     */
+    public MessageSink getMessageSink() {
+        return messages;
+    }
+    public void setMessageSink(MessageSink messages) {
+        this.messages = messages;
+    }
+
+    /**
+     * Adjusts the DON!! counters for one unattached DON!! entering (+1) or
+     * leaving (-1) the given state in the cost area. Called by DonCard.
+     */
+    public void countDon(boolean rested, int delta) {
+        if (rested) {
+            restedDon += delta;
+        } else {
+            activeDon += delta;
+        }
+    }
+
+    /**
+     * Recounts the DON!! counters from the cost area, for when DON!! state was
+     * overwritten without going through DonCard (see GameState.restore()).
+     */
+    public void recountDon() {
+        activeDon = 0;
+        restedDon = 0;
+        List<Card> costArea = cost_zone.getCards();
+        for (int i = 0; i < costArea.size(); i++) {
+            if (costArea.get(i) instanceof DonCard don && !don.isAttached()) {
+                countDon(don.isRested(), 1);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,175 @@
+package engine.server;
+
+import engine.core.GameEngine;
+import engine.core.GameRandom;
+import engine.core.GameState;
+import engine.history.DiffLog;
+import engine.setup.GameFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Hosts many concurrent matches in one JVM, each on its own virtual thread.
+ *
+ * Human seats talk to their match through a MatchChannel instead of the
+ * console, so matches share no streams or other global state. A match
+ * waiting for a player parks its virtual thread; parked matches hold no
+ * carrier thread, only their game and a few bounded buffers. Memory is kept
+ * bounded by:
+ * <ul>
+ *   <li>a cap on live matches (createMatch() refuses more);</li>
+ *   <li>a short history per match (Config.historyCapacity);</li>
+ *   <li>bounded input and output buffers per seat; and</li>
+ *   <li>an idle timeout, after which a match waiting on a silent player is
+ *       abandoned.</li>
+ * </ul>
+ * Matches leave the registry when they end; callers that still hold the
+ * MatchSession can read its result and remaining output.
+ *
+ * Match i is seeded with GameRandom.seedFor(seed, i).
+ */
+public final class GameServer implements AutoCloseable {
+
+    /**
+     * @param maxMatches      Live matches allowed at once.
+     * @param idleTimeout     How long a match waits for a player's input.
+     * @param historyCapacity History nodes kept per match.
+     * @param inputLines      Unread input lines kept per seat.
+     * @param outputChars     Undrained output kept per seat.
+     */
+    public record Config(int maxMatches, Duration idleTimeout, int historyCapacity, int inputLines,
+                         int outputChars) {
+        public Config {
+            if (maxMatches < 1 || historyCapacity < 1 || inputLines < 1 || outputChars < 1) {
+                throw new IllegalArgumentException("maxMatches, historyCapacity, inputLines and outputChars must be at least 1");
+            }
+            if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+                throw new IllegalArgumentException("idleTimeout must be positive, got " + idleTimeout);
+            }
+        }
+
+        /** 10,000 matches, ten minutes to answer, 32 history nodes, 16 KB of output per seat. */
+        public static Config defaults() {
+            return new Config(10_000, Duration.ofMinutes(10), 32, 16, 16 * 1024);
+        }
+    }
+
+    private final Config config;
+    private final LongFunction<GameState> games;
+    private final long seed;
+    private final Map<Long, MatchSession> sessions = new ConcurrentHashMap<>();
+    private final Semaphore slots;
+    private final AtomicLong nextId = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * @param config Limits for the server.
+     * @param games  Builds the game for a seed, e.g. GameFactory::createTestGame.
+     * @param seed   Seed from which every match's seed is derived.
+     */
+    public GameServer(Config config, LongFunction<GameState> games, long seed) {
+        this.config = config;
+        this.games = games;
+        this.seed = seed;
+        this.slots = new Semaphore(config.maxMatches());
+    }
+
+    /**
+     * Creates a server with the default limits playing GameFactory's test decks.
+     */
+    public GameServer() {
+        this(Config.defaults(), GameFactory::createTestGame, GameRandom.randomSeed());
+    }
+
+    /**
+     * Starts a match on a new virtual thread.
+     *
+     * @throws IllegalStateException if the server is closed or full.
+     */
+    public MatchSession createMatch(MatchSession.Seat player1, MatchSession.Seat player2) {
+        if (closed) {
+            throw new IllegalStateException("Server is closed.");
+        }
+        if (!slots.tryAcquire()) {
+            throw new IllegalStateException("Server is full (" + config.maxMatches() + " matches).");
+        }
+        long id = nextId.getAndIncrement();
+        MatchSession session;
+        GameEngine engine;
+        try {
+            GameState gameState = games.apply(GameRandom.seedFor(seed, id));
+            session = new MatchSession(id, gameState, player1, channelFor(player1), player2, channelFor(player2));
+            gameState.setMessageSink(session::message);
+            if (player1.kind() == MatchSession.Seat.Kind.REMOTE || player2.kind() == MatchSession.Seat.Kind.REMOTE) {
+                DiffLog diffs = new DiffLog();
+                gameState.setDiffLog(diffs);
+                // A remote seat that lost output to truncation gets a fresh STATE next
+                for (int seat = 0; seat < 2; seat++) {
+                    if ((seat == 0 ? player1 : player2).kind() == MatchSession.Seat.Kind.REMOTE) {
+                        int resync = seat;
+                        session.channel(seat).setTruncationListener(() -> diffs.invalidate(resync));
+                    }
+                }
+            }
+            engine = new GameEngine(gameState, session.controller(0), session.controller(1),
+                    true, config.historyCapacity());
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+        sessions.put(id, session);
+        Thread.ofVirtual().name("match-" + id).start(() -> {
+            try {
+                session.run(engine);
+            } finally {
+                sessions.remove(id);
+                slots.release();
+                session.markEnded();
+            }
+        });
+        return session;
+    }
+
+    /**
+     * Returns a live match, or null if there is none with that id.
+     */
+    public MatchSession get(long id) {
+        return sessions.get(id);
+    }
+
+    public Collection<MatchSession> activeSessions() {
+        return sessions.values();
+    }
+
+    public int activeMatches() {
+        return sessions.size();
+    }
+
+    public Config getConfig() {
+        return config;
+    }
+
+    /**
+     * Refuses new matches and abandons every live one. Matches between bots
+     * only run on to their end.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (MatchSession session : sessions.values()) {
+            session.abandon();
+        }
+    }
+
+    private MatchChannel channelFor(MatchSession.Seat seat) {
+        return seat.isHuman()
+                ? new MatchChannel(config.inputLines(), config.outputChars(), config.idleTimeout().toNanos())
+                : null;
+    }
+}
@@ -0,0 +1,170 @@
+package engine.server;
+
+import engine.ui.cli.InputChannel;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InputChannel for one human seat of a server match.
+ *
+ * The client side calls send() with each line the player types and
+ * drainOutput() to collect what the game printed; the match's virtual thread
+ * reads and prints through the InputChannel side. Both directions are
+ * bounded: send() refuses lines once inputLines are waiting, and when more
+ * than outputChars of output pile up undrained the oldest whole lines are
+ * discarded. A truncation listener, if set, is told so it can resynchronise
+ * the client (a remote seat is sent a fresh STATE); otherwise the next
+ * drainOutput() starts with a "..." line.
+ *
+ * A match waiting on readLine() parks its virtual thread, which holds no
+ * carrier thread while idle. If no line arrives within the idle timeout, the
+ * channel times out and closes, and readLine() returns null, which ends the
+ * match (see MatchSession).
+ */
+public final class MatchChannel implements InputChannel {
+    // Queued by close() to wake a reader; compared by identity
+    private static final String CLOSED = new String("");
+
+    private final BlockingQueue<String> input;
+    private final long idleNanos;
+    private final int outputChars;
+    private final StringBuilder output = new StringBuilder();
+    private boolean outputTruncated;
+    private volatile boolean closed;
+    private volatile boolean timedOut;
+    private volatile Runnable outputListener;
+    private volatile Runnable truncationListener;
+
+    /**
+     * @param inputLines  Lines that may wait unread before send() refuses more.
+     * @param outputChars Undrained output kept before the oldest is discarded.
+     * @param idleNanos   How long readLine() waits before the channel times out.
+     */
+    public MatchChannel(int inputLines, int outputChars, long idleNanos) {
+        if (inputLines < 1 || outputChars < 1 || idleNanos <= 0) {
+            throw new IllegalArgumentException("inputLines, outputChars and idleNanos must be positive");
+        }
+        this.input = new LinkedBlockingQueue<>(inputLines);
+        this.outputChars = outputChars;
+        this.idleNanos = idleNanos;
+    }
+
+    // -------------------------------------------------------------------------
+    // Client side
+    // -------------------------------------------------------------------------
+
+    /**
+     * Queues a line of player input.
+     *
+     * @return false if the channel is closed or too many lines are waiting.
+     */
+    public boolean send(String line) {
+        return !closed && input.offer(line);
+    }
+
+    /**
+     * Returns everything printed since the last call and clears it. If output
+     * was discarded in between and no truncation listener is set, the text
+     * starts with a "..." line saying so.
+     */
+    public synchronized String drainOutput() {
+        String text = (outputTruncated && truncationListener == null) ? "...\n" + output : output.toString();
+        output.setLength(0);
+        outputTruncated = false;
+        return text;
+    }
+
+    /**
+     * Sets a callback run after each print() and when the channel closes,
+     * e.g. to schedule a network write; it should only hand off, never
+     * block. May be null.
+     */
+    public void setOutputListener(Runnable listener) {
+        this.outputListener = listener;
+    }
+
+    /**
+     * Sets a callback run on the match thread whenever print() discards
+     * undrained output, instead of marking the output with "...". May be
+     * null.
+     */
+    public void setTruncationListener(Runnable listener) {
+        this.truncationListener = listener;
+    }
+
+    /**
+     * Closes the channel; a match waiting for input on it ends. The output
+     * listener is told, so the client side notices even if nothing more is
+     * printed.
+     */
+    public void close() {
+        closed = true;
+        input.clear();
+        input.offer(CLOSED);
+        Runnable listener = outputListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns whether the channel closed because the player sent nothing
+     * within the idle timeout.
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    // -------------------------------------------------------------------------
+    // Match side
+    // -------------------------------------------------------------------------
+
+    @Override
+    public String readLine() {
+        if (closed) {
+            return null;
+        }
+        try {
+            String line = input.poll(idleNanos, TimeUnit.NANOSECONDS);
+            if (line == null) {
+                timedOut = true;
+                close();
+                return null;
+            }
+            return (line == CLOSED) ? null : line;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            return null;
+        }
+    }
+
+    @Override
+    public void print(String text) {
+        boolean truncated = false;
+        synchronized (this) {
+            output.append(text);
+            if (output.length() > outputChars) {
+                // Drop every line that starts before the last outputChars
+                int end = output.indexOf("\n", output.length() - outputChars - 1);
+                output.delete(0, (end < 0) ? output.length() : end + 1);
+                outputTruncated = true;
+                truncated = true;
+            }
+        }
+        Runnable onTruncated = truncationListener;
+        if (truncated && onTruncated != null) {
+            onTruncated.run();
+        }
+        Runnable listener = outputListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+}
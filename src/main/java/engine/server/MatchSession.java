@@ -0,0 +1,191 @@
+package engine.server;
+
+import engine.core.GameEngine;
+import engine.core.GameState;
+import engine.core.PlayerController;
+import engine.ui.cli.CliController;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One match hosted by a GameServer: the game, and a MatchChannel for each
+ * human seat.
+ *
+ * The match runs on its own virtual thread from creation until it ends. It
+ * finishes normally when the game is over, and is abandoned when a human
+ * seat's channel closes or times out while the game waits for that player.
+ */
+public final class MatchSession {
+
+    public enum Status {
+        RUNNING,
+        FINISHED,
+        /** A human seat's channel closed or timed out. */
+        ABANDONED,
+        /** The game threw; see getFailure(). */
+        FAILED
+    }
+
+    /**
+     * Who sits in a seat: a human on the CliController menus or a remote
+     * client speaking the Protocol, both through a MatchChannel, or a bot.
+     */
+    public record Seat(Kind kind, PlayerController.Factory bot) {
+        public enum Kind { HUMAN, REMOTE, BOT }
+
+        public static Seat human() {
+            return new Seat(Kind.HUMAN, null);
+        }
+
+        public static Seat remote() {
+            return new Seat(Kind.REMOTE, null);
+        }
+
+        public static Seat bot(PlayerController.Factory bot) {
+            if (bot == null) {
+                throw new IllegalArgumentException("A bot seat needs a controller factory.");
+            }
+            return new Seat(Kind.BOT, bot);
+        }
+
+        /**
+         * Returns whether the seat is played through a MatchChannel.
+         */
+        public boolean isHuman() {
+            return kind != Kind.BOT;
+        }
+    }
+
+    private final long id;
+    private final GameState gameState;
+    private final MatchChannel[] channels;
+    private final Seat[] seats;
+    private volatile Status status = Status.RUNNING;
+    private volatile Throwable failure;
+    private final CountDownLatch ended = new CountDownLatch(1);
+
+    MatchSession(long id, GameState gameState, Seat player1, MatchChannel channel1, Seat player2,
+                 MatchChannel channel2) {
+        this.id = id;
+        this.gameState = gameState;
+        this.seats = new Seat[] { player1, player2 };
+        this.channels = new MatchChannel[] { channel1, channel2 };
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the exception that ended a FAILED match, or null.
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * Returns the seat (0 or 1) of the winner, or -1 until the game is over.
+     */
+    public int getWinnerSeat() {
+        if (!gameState.isGameOver() || gameState.getWinner() == null) {
+            return -1;
+        }
+        return (gameState.getWinner() == gameState.getPlayer1()) ? 0 : 1;
+    }
+
+    /**
+     * Waits for the match to end and leave the server.
+     *
+     * @return false if it was still running when the timeout elapsed.
+     */
+    public boolean awaitEnd(Duration timeout) throws InterruptedException {
+        return ended.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the channel of a human seat.
+     *
+     * @throws IllegalArgumentException if the seat is not 0 or 1 or is a bot.
+     */
+    public MatchChannel channel(int seat) {
+        if (seat < 0 || seat > 1 || channels[seat] == null) {
+            throw new IllegalArgumentException("Seat " + seat + " of match " + id + " is not a human seat.");
+        }
+        return channels[seat];
+    }
+
+    /**
+     * Ends the match: closes every human channel, so a game waiting for input
+     * stops. A match between bots only runs on to its end.
+     */
+    public void abandon() {
+        for (MatchChannel channel : channels) {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    PlayerController.Factory controller(int seat) {
+        return switch (seats[seat].kind()) {
+            case HUMAN -> CliController.factory(channels[seat]);
+            case REMOTE -> RemoteController.factory(channels[seat]);
+            case BOT -> seats[seat].bot();
+        };
+    }
+
+    // Body of the match's virtual thread
+    void run(GameEngine engine) {
+        try {
+            engine.run();
+            status = Status.FINISHED;
+            for (int seat = 0; seat < 2; seat++) {
+                if (seats[seat].kind() == Seat.Kind.REMOTE) {
+                    channels[seat].print("OVER " + getWinnerSeat() + "\n");
+                } else if (channels[seat] != null) {
+                    channels[seat].print("Game Over! Winner: " + gameState.getWinner().getName() + "\n");
+                }
+            }
+        } catch (RuntimeException e) {
+            if (anyChannelClosed()) {
+                status = Status.ABANDONED;
+            } else {
+                failure = e;
+                status = Status.FAILED;
+            }
+        } finally {
+            abandon();
+        }
+    }
+
+    // Called by the server once the match has left the registry
+    void markEnded() {
+        ended.countDown();
+    }
+
+    // Sends a game message to every seat played through a channel
+    void message(String text) {
+        for (int seat = 0; seat < 2; seat++) {
+            if (seats[seat].kind() == Seat.Kind.REMOTE) {
+                channels[seat].print("MSG " + text + "\n");
+            } else if (channels[seat] != null) {
+                channels[seat].print(text + "\n");
+            }
+        }
+    }
+
+    private boolean anyChannelClosed() {
+        for (MatchChannel channel : channels) {
+            if (channel != null && channel.isClosed()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,191 @@
+package engine.server;
+
+import engine.cards.Card;
+import engine.core.GameState;
+import engine.core.MoveGenerator;
+import engine.core.TurnManager;
+import engine.history.DiffLog;
+import engine.player.Player;
+import engine.zones.Zone;
+
+import java.util.List;
+
+/**
+ * The line protocol spoken by SocketServer and RemoteController. Every
+ * message is one UTF-8 line; the first word says what it is.
+ *
+ * Client to server:
+ * <pre>
+ *   NEW BOT | NEW HUMAN      start a match against a bot, or one a second
+ *                            client can JOIN; the sender takes seat 0
+ *   JOIN &lt;match&gt;             take seat 1 of a NEW HUMAN match
+ *   MULLIGAN y|n             answer MULLIGAN?
+ *   PLAY &lt;hand index&gt;
+ *   ATTACH &lt;slot&gt;             attach one active DON!! (slot 0 is the Leader)
+ *   ATTACK &lt;slot&gt; &lt;target&gt;    target 0 is the opponent's Leader
+ *   END                      end the MAIN phase
+ *   STATE                    send STATE and MOVES again
+ * </pre>
+ * Server to client:
+ * <pre>
+ *   MATCH &lt;match&gt; &lt;seat&gt;     the sender now plays that seat
+ *   HAND &lt;card ids&gt;          the opening hand, before MULLIGAN?
+ *   MULLIGAN?
+ *   STATE ...                the board as the seat sees it (see state())
+ *   DIFF ...                 what changed since the last STATE or DIFF
+ *                            (see diff())
+ *   MOVES &lt;move&gt;;&lt;move&gt;...   legal moves, in the client syntax above
+ *   ERR &lt;text&gt;               the last line was refused
+ *   MSG &lt;text&gt;               a game message
+ *   OVER &lt;seat&gt;              the game ended; seat won
+ * </pre>
+ * Slots and targets are board positions as in MoveGenerator: 0 for the
+ * Leader, then 1 + the index in the Character area.
+ *
+ * Before each decision the seat is sent the board, then MOVES. The board is
+ * a DIFF when the match records a DiffLog and the log has one for the seat,
+ * and a full STATE keyframe otherwise.
+ */
+public final class Protocol {
+
+    private Protocol() {
+    }
+
+    /**
+     * Formats an encoded move in the client syntax, e.g. "ATTACK 1 0".
+     */
+    public static String moveText(int move) {
+        return switch (MoveGenerator.kind(move)) {
+            case MoveGenerator.PLAY -> "PLAY " + MoveGenerator.source(move);
+            case MoveGenerator.ATTACH_DON -> "ATTACH " + MoveGenerator.source(move);
+            case MoveGenerator.ATTACK -> "ATTACK " + MoveGenerator.source(move) + " " + MoveGenerator.target(move);
+            default -> "END";
+        };
+    }
+
+    /**
+     * Parses a move in the client syntax.
+     *
+     * @return The encoded move, or -1 if the line is not a move.
+     */
+    public static int parseMove(String line) {
+        String[] words = line.trim().split("\\s+");
+        try {
+            return switch (words[0].toUpperCase()) {
+                case "END" -> (words.length == 1) ? MoveGenerator.encode(MoveGenerator.END, 0, 0) : -1;
+                case "PLAY" -> (words.length == 2)
+                        ? MoveGenerator.encode(MoveGenerator.PLAY, index(words[1]), 0) : -1;
+                case "ATTACH" -> (words.length == 2)
+                        ? MoveGenerator.encode(MoveGenerator.ATTACH_DON, index(words[1]), 0) : -1;
+                case "ATTACK" -> (words.length == 3)
+                        ? MoveGenerator.encode(MoveGenerator.ATTACK, index(words[1]), index(words[2])) : -1;
+                default -> -1;
+            };
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Formats the legal moves from the generator's last generate() call.
+     */
+    public static String moves(MoveGenerator generator) {
+        StringBuilder out = new StringBuilder("MOVES ");
+        for (int i = 0; i < generator.size(); i++) {
+            out.append(i == 0 ? "" : ";").append(moveText(generator.get(i)));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Formats the board as the given seat sees it:
+     * <pre>
+     *   STATE &lt;turn&gt; &lt;phase&gt; &lt;active seat&gt; | &lt;seat 0&gt; | &lt;seat 1&gt;
+     * </pre>
+     * where each seat is "life=L deck=D don=A/R hand=H leader=C field=C,C
+     * stage=C trash=T". The viewer's own hand is listed by card id and the
+     * opponent's only counted. A card C is "id:A" or "id:R" (active or
+     * rested), then ":S" when summon sick, then ":n" for n attached DON!!;
+     * an empty zone is "-".
+     */
+    public static String state(GameState state, TurnManager turns, int viewer) {
+        StringBuilder out = new StringBuilder("STATE ");
+        out.append(turns.getTurnCount()).append(' ').append(turns.getCurrentPhase()).append(' ')
+                .append(turns.getActivePlayer() == state.getPlayer1() ? 0 : 1);
+        seat(out, state.getPlayer1(), viewer == 0);
+        seat(out, state.getPlayer2(), viewer == 1);
+        return out.toString();
+    }
+
+    /**
+     * Formats the board changes drained from a DiffLog:
+     * <pre>
+     *   DIFF &lt;turn&gt; &lt;phase&gt; &lt;active seat&gt; | &lt;op&gt;;&lt;op&gt;...
+     * </pre>
+     * with the ops described in DiffLog. Applied in order to the last STATE
+     * and the DIFFs since, they give the board state() would show.
+     */
+    public static String diff(TurnManager turns, GameState state, String ops) {
+        StringBuilder out = new StringBuilder("DIFF ");
+        out.append(turns.getTurnCount()).append(' ').append(turns.getCurrentPhase()).append(' ')
+                .append(turns.getActivePlayer() == state.getPlayer1() ? 0 : 1).append(" |");
+        if (!ops.isEmpty()) {
+            out.append(' ').append(ops);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Formats a list of cards as their ids, or "-" when empty.
+     */
+    public static String cardIds(List<Card> cards) {
+        if (cards.isEmpty()) {
+            return "-";
+        }
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < cards.size(); i++) {
+            out.append(i == 0 ? "" : ",").append(cards.get(i).getCardId());
+        }
+        return out.toString();
+    }
+
+    private static void seat(StringBuilder out, Player player, boolean own) {
+        out.append(" | life=").append(player.getLife().size())
+                .append(" deck=").append(player.getDeck().size())
+                .append(" don=").append(player.getActiveDon()).append('/').append(player.getRestedDon())
+                .append(" hand=").append(own ? cardIds(player.getHand().getCards())
+                        : String.valueOf(player.getHand().size()))
+                .append(" leader=");
+        if (player.getLeader() == null) {
+            out.append('-');
+        } else {
+            DiffLog.appendCard(out, player.getLeader());
+        }
+        out.append(" field=");
+        zone(out, player.getField());
+        out.append(" stage=");
+        zone(out, player.getStage());
+        out.append(" trash=").append(player.getTrash().size());
+    }
+
+    private static void zone(StringBuilder out, Zone zone) {
+        List<Card> cards = zone.getCards();
+        if (cards.isEmpty()) {
+            out.append('-');
+        }
+        for (int i = 0; i < cards.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            DiffLog.appendCard(out, cards.get(i));
+        }
+    }
+
+    private static int index(String word) {
+        int value = Integer.parseInt(word);
+        if (value < 0 || value > 4095) {
+            throw new NumberFormatException(word);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,123 @@
+package engine.server;
+
+import engine.core.GameState;
+import engine.core.MoveGenerator;
+import engine.core.Phase;
+import engine.core.PlayerController;
+import engine.core.TurnManager;
+import engine.history.DiffLog;
+import engine.player.Player;
+import engine.setup.GameSetup;
+import engine.ui.cli.InputChannel;
+
+/**
+ * Seat driven by a remote client speaking the line Protocol, rather than the
+ * CliController menus.
+ *
+ * Every MAIN phase decision offers the client the board and the legal moves
+ * (MOVES) from MoveGenerator, then applies the move it sends back, so a
+ * client can only ever do what the rules allow. The board goes out as a
+ * DIFF when the game has a DiffLog, with a STATE keyframe whenever the log
+ * asks for one or the client sends STATE. Counters are not offered
+ * yet, matching the other non-interactive controllers.
+ */
+public final class RemoteController implements PlayerController {
+    private final GameState gameState;
+    private final TurnManager turnManager;
+    private final InputChannel channel;
+    private final MoveGenerator generator;
+
+    public RemoteController(GameState gameState, TurnManager turnManager, InputChannel channel) {
+        this.gameState = gameState;
+        this.turnManager = turnManager;
+        this.channel = channel;
+        this.generator = new MoveGenerator(gameState, turnManager);
+    }
+
+    public static PlayerController.Factory factory(InputChannel channel) {
+        return (gameState, turnManager) -> new RemoteController(gameState, turnManager, channel);
+    }
+
+    @Override
+    public void runStartPhase(Player player, GameSetup gameSetup) {
+        send("HAND " + Protocol.cardIds(player.getHand().getCards()));
+        while (true) {
+            send("MULLIGAN?");
+            String[] words = readLine().trim().split("\\s+");
+            if (words.length == 2 && words[0].equalsIgnoreCase("MULLIGAN")) {
+                if (words[1].equalsIgnoreCase("y")) {
+                    gameSetup.mulligan(player);
+                    return;
+                }
+                if (words[1].equalsIgnoreCase("n")) {
+                    return;
+                }
+            }
+            send("ERR expected MULLIGAN y or MULLIGAN n");
+        }
+    }
+
+    @Override
+    public void runMainPhases(Player player) {
+        int seat = (player == gameState.getPlayer1()) ? 0 : 1;
+        boolean offer = true;
+        boolean keyframe = false;
+        while (!gameState.isGameOver() && turnManager.getCurrentPhase() == Phase.MAIN
+                && turnManager.getActivePlayer() == player) {
+            int count = generator.generate(player);
+            if (offer) {
+                sendBoard(seat, keyframe);
+                send(Protocol.moves(generator));
+            }
+            offer = true;
+            keyframe = false;
+            String line = readLine();
+            if (line.trim().equalsIgnoreCase("STATE")) {
+                keyframe = true;
+                continue;
+            }
+            int move = Protocol.parseMove(line);
+            if (move < 0 || !isLegal(move, count)) {
+                send("ERR illegal move: " + line.trim());
+                offer = false;
+                continue;
+            }
+            generator.apply(move, player);
+        }
+    }
+
+    private void sendBoard(int seat, boolean keyframe) {
+        DiffLog diffs = gameState.getDiffLog();
+        String ops = (diffs == null) ? null : diffs.drain(seat);
+        if (ops == null || keyframe) {
+            if (diffs != null) {
+                diffs.keyframe(seat);
+            }
+            send(Protocol.state(gameState, turnManager, seat));
+        } else {
+            send(Protocol.diff(turnManager, gameState, ops));
+        }
+    }
+
+    private boolean isLegal(int move, int count) {
+        int[] moves = generator.buffer();
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void send(String line) {
+        channel.print(line + "\n");
+    }
+
+    private String readLine() {
+        String line = channel.readLine();
+        if (line == null) {
+            throw new IllegalStateException("Input channel closed.");
+        }
+        return line;
+    }
+}
@@ -0,0 +1,313 @@
+package engine.server;
+
+import engine.simulation.RandomController;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves GameServer matches to remote clients over TCP, speaking the line
+ * Protocol.
+ *
+ * One platform thread runs a java.nio Selector over every connection, so
+ * the number of clients is bounded by sockets rather than threads; the
+ * matches themselves run on the GameServer's virtual threads. Input lines
+ * are handed to the seat's MatchChannel. Output flows the other way: when a
+ * match prints to a channel, the channel's listener queues the connection
+ * and wakes the selector, which drains the channel and writes without
+ * blocking.
+ *
+ * Lines longer than 1 KB, and clients that let more than 256 KB of output
+ * pile up unread, are disconnected. A client that disconnects abandons its
+ * match. A NEW HUMAN match stops being joinable once it is joined or ends
+ * for any reason, including an idle timeout.
+ */
+public final class SocketServer implements AutoCloseable {
+    private static final int MAX_LINE = 1024;
+    private static final int MAX_PENDING_OUTPUT = 256 * 1024;
+
+    private final GameServer games;
+    private final Selector selector;
+    private final ServerSocketChannel acceptor;
+    // Connections whose match printed since their last flush
+    private final Queue<Connection> flushes = new ConcurrentLinkedQueue<>();
+    // NEW HUMAN matches waiting for a second client; selector thread only
+    private final Map<Long, MatchSession> open = new HashMap<>();
+    private final List<Connection> connections = new ArrayList<>();
+    private final Thread loop;
+    private volatile boolean closed;
+
+    /**
+     * Binds the address and starts serving.
+     *
+     * @param games   Hosts the matches.
+     * @param address Where to listen; port 0 picks a free port (see getAddress()).
+     * @throws IOException if the address cannot be bound.
+     */
+    public SocketServer(GameServer games, InetSocketAddress address) throws IOException {
+        this.games = games;
+        this.selector = Selector.open();
+        this.acceptor = ServerSocketChannel.open();
+        acceptor.bind(address);
+        acceptor.configureBlocking(false);
+        acceptor.register(selector, SelectionKey.OP_ACCEPT);
+        this.loop = Thread.ofPlatform().name("socket-server").daemon().start(this::run);
+    }
+
+    public InetSocketAddress getAddress() throws IOException {
+        return (InetSocketAddress) acceptor.getLocalAddress();
+    }
+
+    /**
+     * Stops listening, disconnects every client and abandons their matches.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        selector.wakeup();
+        try {
+            loop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Selector loop
+    // -------------------------------------------------------------------------
+
+    private void run() {
+        try {
+            while (!closed) {
+                selector.select();
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            connection.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.write();
+                        }
+                    } catch (IOException e) {
+                        connection.disconnect();
+                    }
+                }
+                selector.selectedKeys().clear();
+                Connection connection;
+                while ((connection = flushes.poll()) != null) {
+                    connection.flush();
+                }
+            }
+        } catch (IOException e) {
+            // The selector itself failed; fall through and shut down
+        } finally {
+            for (Connection connection : new ArrayList<>(connections)) {
+                connection.disconnect();
+            }
+            try {
+                acceptor.close();
+                selector.close();
+            } catch (IOException ignored) {
+                // Nothing left to release
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel socket;
+        while ((socket = acceptor.accept()) != null) {
+            socket.configureBlocking(false);
+            Connection connection = new Connection(socket);
+            connection.key = socket.register(selector, SelectionKey.OP_READ, connection);
+            connections.add(connection);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Connections
+    // -------------------------------------------------------------------------
+
+    private final class Connection {
+        private final SocketChannel socket;
+        private SelectionKey key;
+        private final ByteBuffer in = ByteBuffer.allocate(4096);
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+        private int pendingBytes;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private MatchSession session;
+        private MatchChannel channel;
+
+        Connection(SocketChannel socket) {
+            this.socket = socket;
+        }
+
+        void read() throws IOException {
+            int n = socket.read(in);
+            if (n < 0) {
+                disconnect();
+                return;
+            }
+            in.flip();
+            while (in.hasRemaining() && key.isValid()) {
+                byte b = in.get();
+                if (b == '\n') {
+                    String text = line.toString(StandardCharsets.UTF_8);
+                    line.reset();
+                    handle(text.endsWith("\r") ? text.substring(0, text.length() - 1) : text);
+                } else if (line.size() >= MAX_LINE) {
+                    send("ERR line too long");
+                    disconnect();
+                } else {
+                    line.write(b);
+                }
+            }
+            in.clear();
+        }
+
+        private void handle(String text) {
+            if (channel != null && session.getStatus() == MatchSession.Status.RUNNING) {
+                if (!channel.send(text)) {
+                    send("ERR input not accepted");
+                }
+                return;
+            }
+            String[] words = text.trim().split("\\s+");
+            try {
+                switch (words[0].toUpperCase()) {
+                    case "NEW" -> {
+                        if (words.length == 2 && words[1].equalsIgnoreCase("BOT")) {
+                            attach(games.createMatch(MatchSession.Seat.remote(),
+                                    MatchSession.Seat.bot(RandomController.factory())), 0);
+                        } else if (words.length == 2 && words[1].equalsIgnoreCase("HUMAN")) {
+                            MatchSession created = games.createMatch(MatchSession.Seat.remote(),
+                                    MatchSession.Seat.remote());
+                            open.put(created.getId(), created);
+                            attach(created, 0);
+                        } else {
+                            send("ERR expected NEW BOT or NEW HUMAN");
+                        }
+                    }
+                    case "JOIN" -> {
+                        MatchSession joined = (words.length == 2) ? open.remove(Long.parseLong(words[1])) : null;
+                        if (joined == null || joined.getStatus() != MatchSession.Status.RUNNING) {
+                            send("ERR no open match " + (words.length == 2 ? words[1] : ""));
+                        } else {
+                            attach(joined, 1);
+                        }
+                    }
+                    case "QUIT" -> disconnect();
+                    default -> send("ERR not in a match");
+                }
+            } catch (NumberFormatException e) {
+                send("ERR bad match id");
+            } catch (IllegalStateException e) {
+                send("ERR " + e.getMessage());
+            }
+        }
+
+        private void attach(MatchSession match, int seat) {
+            session = match;
+            channel = match.channel(seat);
+            send("MATCH " + match.getId() + " " + seat);
+            channel.setOutputListener(this::schedule);
+            // The match may have printed before the listener was set
+            schedule();
+        }
+
+        // Called on the match thread after it prints
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                flushes.add(this);
+                selector.wakeup();
+            }
+        }
+
+        void flush() {
+            scheduled.set(false);
+            if (session != null && session.getStatus() != MatchSession.Status.RUNNING) {
+                // Ended (finished, timed out or failed) before anyone joined
+                open.remove(session.getId());
+            }
+            if (channel != null && key.isValid()) {
+                String text = channel.drainOutput();
+                if (!text.isEmpty()) {
+                    enqueue(text.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        private void send(String text) {
+            enqueue((text + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void enqueue(byte[] bytes) {
+            if (!key.isValid()) {
+                return;
+            }
+            out.add(ByteBuffer.wrap(bytes));
+            pendingBytes += bytes.length;
+            if (pendingBytes > MAX_PENDING_OUTPUT) {
+                disconnect();
+                return;
+            }
+            try {
+                write();
+            } catch (IOException e) {
+                disconnect();
+            }
+        }
+
+        void write() throws IOException {
+            while (!out.isEmpty()) {
+                ByteBuffer buffer = out.peek();
+                pendingBytes -= socket.write(buffer);
+                if (buffer.hasRemaining()) {
+                    break;
+                }
+                out.poll();
+            }
+            if (key.isValid()) {
+                key.interestOps(out.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        }
+
+        void disconnect() {
+            if (channel != null) {
+                channel.setOutputListener(null);
+                session.abandon();
+                open.remove(session.getId());
+            }
+            connections.remove(this);
+            key.cancel();
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Already gone
+            }
+        }
+    }
+}
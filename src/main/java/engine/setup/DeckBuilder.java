@@ -1,21 +1,31 @@
 package engine.setup;
 
 import java.util.List;
+import java.util.random.RandomGenerator;
 import engine.cards.Card;
 import engine.player.Player;
 
 public class DeckBuilder {
     /**
-     * Builds the main deck for a player by adding a list of cards to the player's deck and shuffling it.
+     * Builds the main deck and shuffles it with the given source, so the deck order is reproducible.
      * @param player The player for whom the main deck is being built.
      * @param cardList A list of cards to be added to the player's main deck.
+     * @param random The source used to shuffle, normally the game's GameState.getRandom().
      */
-    public static void buildDeck(Player player, List<Card> cardList) {
-        // Placeholder for deck building logic
+    public static void buildDeck(Player player, List<Card> cardList, RandomGenerator random) {
+        fillDeck(player, cardList);
+        player.getDeck().shuffle(random);
+    }
+    /**
+     * Adds the cards to the player's main deck without shuffling it, for games that shuffle later
+     * (see GameState.captureStartingPosition()).
+     * @param player The player for whom the main deck is being built.
+     * @param cardList A list of cards to be added to the player's main deck.
+     */
+    public static void fillDeck(Player player, List<Card> cardList) {
         for (Card card : cardList) {
             player.getDeck().add(card);
         }
-        player.getDeck().shuffle();
     }
     /**
      * Builds the Don deck for a player by adding a list of Don cards to the player's Don deck.
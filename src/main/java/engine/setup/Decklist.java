@@ -0,0 +1,104 @@
+package engine.setup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A deck as a list of card ids and copy counts, independent of any game.
+ *
+ * The text form has one entry per line, "4xOP01-006" or "4 OP01-006"; blank
+ * lines and lines starting with # are ignored. The first entry is the Leader
+ * and must have a count of 1, as in the usual simulator exports.
+ *
+ * @param name     Display name, used for the player and in reports.
+ * @param leaderId Card id of the Leader.
+ * @param cards    Main deck entries, in list order.
+ */
+public record Decklist(String name, String leaderId, List<Entry> cards) {
+
+    /**
+     * @param cardId Card id, e.g. "OP01-006".
+     * @param count  Number of copies.
+     */
+    public record Entry(String cardId, int count) {
+    }
+
+    public Decklist {
+        cards = List.copyOf(cards);
+    }
+
+    /**
+     * Returns the number of cards in the main deck (the Leader excluded).
+     */
+    public int mainDeckSize() {
+        int size = 0;
+        for (Entry entry : cards) {
+            size += entry.count();
+        }
+        return size;
+    }
+
+    /**
+     * Parses a decklist from its text form.
+     *
+     * @throws IllegalArgumentException if a line is malformed or the first
+     *                                  entry is not a single Leader.
+     */
+    public static Decklist parse(String name, String text) {
+        String leaderId = null;
+        List<Entry> cards = new ArrayList<>();
+        String[] lines = text.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            Entry entry = parseEntry(line, i + 1);
+            if (leaderId == null) {
+                if (entry.count() != 1) {
+                    throw new IllegalArgumentException("Line " + (i + 1) + ": the Leader entry must have a count of 1");
+                }
+                leaderId = entry.cardId();
+            } else {
+                cards.add(entry);
+            }
+        }
+        if (leaderId == null) {
+            throw new IllegalArgumentException("Decklist " + name + " is empty.");
+        }
+        return new Decklist(name, leaderId, cards);
+    }
+
+    /**
+     * Reads a decklist file; the deck is named after the file, without its
+     * extension.
+     */
+    public static Decklist load(Path file) throws IOException {
+        String fileName = file.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        return parse((dot > 0) ? fileName.substring(0, dot) : fileName, Files.readString(file));
+    }
+
+    private static Entry parseEntry(String line, int lineNumber) {
+        int split = 0;
+        while (split < line.length() && Character.isDigit(line.charAt(split))) {
+            split++;
+        }
+        if (split == 0 || split == line.length()) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": expected \"<count>x<card id>\", got " + line);
+        }
+        int count = Integer.parseInt(line.substring(0, split));
+        String cardId = line.substring(split);
+        if (cardId.charAt(0) == 'x' || cardId.charAt(0) == 'X') {
+            cardId = cardId.substring(1);
+        }
+        cardId = cardId.strip();
+        if (count < 1 || cardId.isEmpty()) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": expected \"<count>x<card id>\", got " + line);
+        }
+        return new Entry(cardId, count);
+    }
+}
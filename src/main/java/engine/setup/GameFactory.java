@@ -2,16 +2,20 @@ package engine.setup;
 
 import engine.cards.*;
 import engine.cards.types.*;
+import engine.core.GameRandom;
 import engine.core.GameState;
+import engine.data.CardDatabase;
 import engine.player.Player;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Builds a ready-to-play test GameState with two fully populated players.
- * Intended for local play-testing before real card data is wired up.
+ * Builds ready-to-play GameStates: from two decklists and the card database
+ * (createGame), or with two fully populated test players (createTestGame) for
+ * local play-testing without card data.
  *
+ * The test game seats:
  * Player 1 — "Monkey D. Luffy"  (Red,   5 life, 5000 power leader)
  * Player 2 — "Roronoa Zoro"     (Green, 5 life, 5000 power leader)
  * Each player gets a 50-card Character deck and a 10-card Don deck.
@@ -19,18 +23,71 @@ import java.util.List;
 public class GameFactory {
 
     public static GameState createTestGame() {
+        return createTestGame(GameRandom.randomSeed());
+    }
+
+    /**
+     * Builds the test game with a fixed seed. The seed decides the initial
+     * deck order and every later shuffle, so equal seeds give equal games.
+     * GameState.reset(seed) turns a built game into the one this returns.
+     */
+    public static GameState createTestGame(long seed) {
         Player p1 = new Player("p1", "Monkey D. Luffy", null);
         Player p2 = new Player("p2", "Roronoa Zoro", null);
 
         p1.setLeader(makeLeader("L-001", "Monkey D. Luffy", 5000, 5, Color.Red, p1));
         p2.setLeader(makeLeader("L-002", "Roronoa Zoro",    5000, 5, Color.Green, p2));
 
-        DeckBuilder.buildDeck(p1, buildMainDeck(p1));
-        DeckBuilder.buildDeck(p2, buildMainDeck(p2));
+        GameState gameState = new GameState(p1, p2, seed);
+        DeckBuilder.fillDeck(p1, buildMainDeck(p1));
+        DeckBuilder.fillDeck(p2, buildMainDeck(p2));
+        DeckBuilder.buildDonDeck(p1, buildDonCards(p1));
+        DeckBuilder.buildDonDeck(p2, buildDonCards(p2));
+        gameState.captureStartingPosition();
+
+        return gameState;
+    }
+
+    /**
+     * Builds a game between two decklists, looking every card up in the
+     * database. Player 1 plays deck1. Each player gets a 10-card Don deck.
+     * The seed decides the initial deck order and every later shuffle.
+     *
+     * @throws IllegalArgumentException if a card is missing from the database
+     *                                  or a Leader entry is not a Leader.
+     */
+    public static GameState createGame(CardDatabase database, Decklist deck1, Decklist deck2, long seed) {
+        Player p1 = new Player("p1", deck1.name(), null);
+        Player p2 = new Player("p2", deck2.name(), null);
+        p1.setLeader(leaderOf(database, deck1, p1));
+        p2.setLeader(leaderOf(database, deck2, p2));
+
+        GameState gameState = new GameState(p1, p2, seed);
+        DeckBuilder.fillDeck(p1, buildMainDeck(database, deck1, p1));
+        DeckBuilder.fillDeck(p2, buildMainDeck(database, deck2, p2));
         DeckBuilder.buildDonDeck(p1, buildDonCards(p1));
         DeckBuilder.buildDonDeck(p2, buildDonCards(p2));
+        gameState.captureStartingPosition();
 
-        return new GameState(p1, p2);
+        return gameState;
+    }
+
+    private static Leader leaderOf(CardDatabase database, Decklist deck, Player owner) {
+        if (!(CardFactory.createCard(database.getCardData(deck.leaderId()), owner) instanceof Leader leader)) {
+            throw new IllegalArgumentException(deck.leaderId() + " in " + deck.name() + " is not a Leader.");
+        }
+        return leader;
+    }
+
+    private static List<Card> buildMainDeck(CardDatabase database, Decklist deck, Player owner) {
+        List<Card> cards = new ArrayList<>(deck.mainDeckSize());
+        for (Decklist.Entry entry : deck.cards()) {
+            CardData data = database.getCardData(entry.cardId());
+            for (int i = 1; i <= entry.count(); i++) {
+                cards.add(CardFactory.createCard(owner.getPlayerId() + "-" + entry.cardId() + "-" + i, data, owner));
+            }
+        }
+        return cards;
     }
 
     // -------------------------------------------------------------------------
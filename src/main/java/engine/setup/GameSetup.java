@@ -1,9 +1,9 @@
 package engine.setup;
 
 import java.util.ArrayList;
-import java.util.List;
 import engine.cards.Card;
 import engine.core.GameState;
+import engine.history.ActionLog;
 import engine.player.Player;
 
 public class GameSetup {
@@ -22,18 +22,23 @@ public class GameSetup {
      * @param player The player who is taking a mulligan.
      */
     public void mulligan(Player player) {
-        // Implement mulligan logic (e.g., allow player to shuffle hand back into deck
-        // and redraw)
-        List<Card> handCards = new ArrayList<>(player.getHand().getCards());
-
-        player.getDeck().add(handCards);
-        player.getHand().clear();
+        if (gameState.getActionLog() != null) {
+            gameState.getActionLog().recordMulligan(gameState, player);
+        }
+        if (gameState.getMetrics() != null) {
+            gameState.getMetrics().action(ActionLog.Type.MULLIGAN);
+        }
+        // Return the hand to the deck through GameState, so listeners see
+        // every card move
+        for (Card card : new ArrayList<>(player.getHand().getCards())) {
+            gameState.moveCard(card, player.getDeck());
+        }
 
         // Shuffle the deck after returning cards
-        player.getDeck().shuffle();
+        gameState.shuffle(player);
 
         // Draw new hand (e.g., 5 cards)
-        player.getHand().add(player.getDeck().draw(5));
+        gameState.draw(player, 5);
     }
 
     /**
@@ -42,10 +47,17 @@ public class GameSetup {
      * @param player The player whose life zone is being set up.
      */
     public void setUpLife(Player player) {
-        // Set up life points based on leader card
+        if (gameState.getActionLog() != null) {
+            gameState.getActionLog().recordLife(gameState, player);
+        }
+        if (gameState.getMetrics() != null) {
+            gameState.getMetrics().action(ActionLog.Type.LIFE);
+        }
+        // Set up life points based on leader card, dealt from the top of the deck
         int lifePoints = player.getLeader().getLifePoints();
-        List<Card> lifeCards = player.getDeck().draw(lifePoints);
-        player.getLife().add(lifeCards);
+        for (int i = 0; i < lifePoints && !player.getDeck().isEmpty(); i++) {
+            gameState.addLife(player, player.getDeck().getCards().get(0));
+        }
     }
 
     /**
@@ -53,6 +65,12 @@ public class GameSetup {
      * both players.
      */
     public void initializeGame() {
+        if (gameState.getActionLog() != null) {
+            gameState.getActionLog().recordSetup();
+        }
+        if (gameState.getMetrics() != null) {
+            gameState.getMetrics().action(ActionLog.Type.SETUP);
+        }
         // Initialize decks, hands, and other game components
 
         // Shuffle decks
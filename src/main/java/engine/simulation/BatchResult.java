@@ -0,0 +1,34 @@
+package engine.simulation;
+
+/**
+ * Aggregated outcome of a batch of headless games.
+ *
+ * @param games        Number of games played.
+ * @param player1Wins  Games won by the player seated first.
+ * @param player2Wins  Games won by the player seated second.
+ * @param totalTurns   Sum of the final turn count over all games.
+ * @param elapsedNanos Wall-clock time the whole batch took.
+ */
+public record BatchResult(int games, int player1Wins, int player2Wins, long totalTurns, long elapsedNanos) {
+
+    public double gamesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : games / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    public double averageTurns() {
+        return games == 0 ? 0.0 : (double) totalTurns / games;
+    }
+
+    /** Merges two partial results. Elapsed time is taken as the longer of the two. */
+    BatchResult merge(BatchResult other) {
+        return new BatchResult(games + other.games, player1Wins + other.player1Wins,
+                player2Wins + other.player2Wins, totalTurns + other.totalTurns,
+                Math.max(elapsedNanos, other.elapsedNanos));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d games in %.2fs (%.1f games/s) | P1 wins: %d | P2 wins: %d | avg turns: %.1f",
+                games, elapsedNanos / 1_000_000_000.0, gamesPerSecond(), player1Wins, player2Wins, averageTurns());
+    }
+}
@@ -0,0 +1,169 @@
+package engine.simulation;
+
+import engine.core.EngineMetrics;
+import engine.core.GameEngine;
+import engine.core.GameMetrics;
+import engine.core.GameRandom;
+import engine.core.GameState;
+import engine.setup.GameFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays many headless games in parallel and reports throughput.
+ *
+ * One worker is started per thread; workers pull game indices from a shared
+ * counter until the batch is exhausted and keep their tallies locally, so the
+ * only shared state between games is that counter.
+ *
+ * Every game is seeded with GameRandom.seedFor(batch seed, game index) and
+ * takes all of its randomness from that seed, so results do not depend on
+ * which thread played which game, and any single game can be replayed with
+ * replay(batchSeed, index). Each worker resets and replays the same game
+ * objects through a GamePool rather than building a new game every time.
+ *
+ * When EngineMetrics are set, each worker measures its games with its own
+ * GameMetrics and adds them to the shared totals as they end.
+ *
+ * Usage: BatchRunner [games] [threads] [seed] [--metrics]
+ */
+public class BatchRunner {
+    private final int threads;
+    private final long seed;
+    private final GamePool gamePool = new GamePool(GameFactory::createTestGame);
+    private EngineMetrics metrics;
+
+    public BatchRunner(int threads, long seed) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1, got " + threads);
+        }
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    public BatchRunner(int threads) {
+        this(threads, GameRandom.randomSeed());
+    }
+
+    public BatchRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns the batch seed; with a game's index it identifies that game.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the totals that games played by run() are added to, or null to
+     * play without measuring.
+     */
+    public void setMetrics(EngineMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public EngineMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Plays the given number of games between two RandomControllers using
+     * GameFactory's test decks.
+     *
+     * @param games The number of games to play.
+     * @return The aggregated result of the batch.
+     */
+    public BatchResult run(int games) {
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<BatchResult>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> playUntilExhausted(next, games, start)));
+            }
+            BatchResult total = new BatchResult(0, 0, 0, 0, 0);
+            for (Future<BatchResult> worker : workers) {
+                total = total.merge(worker.get());
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Game failed during batch", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private BatchResult playUntilExhausted(AtomicInteger next, int total, long batchStart) {
+        int games = 0;
+        int player1Wins = 0;
+        int player2Wins = 0;
+        long turns = 0;
+        GameMetrics gameMetrics = (metrics == null) ? null : metrics.newGame();
+        int index;
+        while ((index = next.getAndIncrement()) < total) {
+            GameState gameState = gamePool.acquire(GameRandom.seedFor(seed, index));
+            if (gameMetrics != null) {
+                gameMetrics.reset();
+            }
+            gameState.setMetrics(gameMetrics);
+            GameEngine engine = play(gameState);
+
+            games++;
+            turns += engine.getTurnManager().getTurnCount();
+            if (gameState.getWinner() == gameState.getPlayer1()) {
+                player1Wins++;
+            } else if (gameState.getWinner() == gameState.getPlayer2()) {
+                player2Wins++;
+            }
+            gamePool.release(gameState);
+        }
+        return new BatchResult(games, player1Wins, player2Wins, turns, System.nanoTime() - batchStart);
+    }
+
+    /**
+     * Plays one game of a batch again, exactly as the batch played it.
+     *
+     * @param batchSeed The seed of the batch (see getSeed()).
+     * @param index     The game's index within the batch.
+     * @return The finished game.
+     */
+    public static GameEngine replay(long batchSeed, int index) {
+        return play(GameFactory.createTestGame(GameRandom.seedFor(batchSeed, index)));
+    }
+
+    private static GameEngine play(GameState gameState) {
+        GameEngine engine = GameEngine.headless(gameState, RandomController.factory(), RandomController.factory());
+        engine.run();
+        return engine;
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : GameRandom.randomSeed();
+        boolean withMetrics = args.length > 3 && args[3].equals("--metrics");
+
+        System.out.println("Running " + games + " headless games on " + threads + " threads (seed " + seed + ")...");
+        BatchRunner runner = new BatchRunner(threads, seed);
+        if (withMetrics) {
+            runner.setMetrics(new EngineMetrics());
+        }
+        BatchResult result = runner.run(games);
+        System.out.println(result);
+        if (withMetrics) {
+            System.out.println(runner.getMetrics().toJson());
+        }
+    }
+}
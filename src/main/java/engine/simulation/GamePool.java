@@ -0,0 +1,42 @@
+package engine.simulation;
+
+import engine.core.GameState;
+
+import java.util.ArrayDeque;
+import java.util.function.LongFunction;
+
+/**
+ * Per-thread free lists of finished games, so batch workers replay the same
+ * Player, Zone and Card objects game after game instead of building new ones.
+ *
+ * acquire() hands out a pooled game reset to the requested seed (see
+ * GameState.reset()), or builds one with the factory when the calling
+ * thread has none free; either way the game is the one the factory would
+ * build for that seed. Games should be released on the thread that acquired
+ * them, once nothing refers to them any more.
+ */
+public final class GamePool {
+    private final LongFunction<GameState> factory;
+    private final ThreadLocal<ArrayDeque<GameState>> free = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * @param factory Builds a game for a seed, e.g. GameFactory::createTestGame.
+     *                Games it builds must support reset().
+     */
+    public GamePool(LongFunction<GameState> factory) {
+        this.factory = factory;
+    }
+
+    public GameState acquire(long seed) {
+        GameState game = free.get().pollFirst();
+        if (game == null) {
+            return factory.apply(seed);
+        }
+        game.reset(seed);
+        return game;
+    }
+
+    public void release(GameState game) {
+        free.get().addFirst(game);
+    }
+}
@@ -0,0 +1,107 @@
+package engine.simulation;
+
+import engine.battle.BattleSystem;
+import engine.core.GameState;
+import engine.core.MoveGenerator;
+import engine.core.TurnManager;
+import engine.player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One decision a player can take during their MAIN phase: the object form of
+ * a MoveGenerator move, for search code that keys maps and tree nodes by
+ * action.
+ *
+ * Actions refer to cards by position (hand index, board index, target index)
+ * rather than by object, so the same action can be applied to any
+ * GameState.copy() of the position it was generated from. This is what lets
+ * search threads share action keys while each mutates its own copy.
+ *
+ * @param type   The kind of action.
+ * @param first  Hand index (PLAY) or board index (ATTACH_DON, ATTACK): 0 is
+ *               the Leader, then field order.
+ * @param second Target index for ATTACK (0 is the opponent's Leader, then
+ *               their field order), otherwise 0.
+ */
+public record MainPhaseAction(Type type, int first, int second) {
+
+    public enum Type {
+        PLAY,
+        ATTACH_DON,
+        ATTACK,
+        END
+    }
+
+    public static final MainPhaseAction END = new MainPhaseAction(Type.END, 0, 0);
+
+    /**
+     * Enumerates the legal actions for the active player (see
+     * MoveGenerator.generate()). END is always last.
+     *
+     * @return The legal actions; only END when the player is not in MAIN.
+     */
+    public static List<MainPhaseAction> legal(GameState state, TurnManager turnManager,
+                                              BattleSystem battleSystem, Player player) {
+        return legal(new MoveGenerator(state, turnManager, battleSystem), player);
+    }
+
+    /**
+     * As legal(GameState, TurnManager, BattleSystem, Player), reusing the
+     * generator's buffer.
+     */
+    public static List<MainPhaseAction> legal(MoveGenerator generator, Player player) {
+        int count = generator.generate(player);
+        int[] moves = generator.buffer();
+        List<MainPhaseAction> actions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            actions.add(fromMove(moves[i]));
+        }
+        return actions;
+    }
+
+    public static MainPhaseAction fromMove(int move) {
+        return switch (MoveGenerator.kind(move)) {
+            case MoveGenerator.PLAY -> new MainPhaseAction(Type.PLAY, MoveGenerator.source(move), 0);
+            case MoveGenerator.ATTACH_DON -> new MainPhaseAction(Type.ATTACH_DON, MoveGenerator.source(move), 0);
+            case MoveGenerator.ATTACK -> new MainPhaseAction(Type.ATTACK, MoveGenerator.source(move),
+                    MoveGenerator.target(move));
+            default -> END;
+        };
+    }
+
+    public int toMove() {
+        int kind = switch (type) {
+            case PLAY -> MoveGenerator.PLAY;
+            case ATTACH_DON -> MoveGenerator.ATTACH_DON;
+            case ATTACK -> MoveGenerator.ATTACK;
+            case END -> MoveGenerator.END;
+        };
+        return MoveGenerator.encode(kind, first, second);
+    }
+
+    /**
+     * Applies this action to the given game. END advances out of MAIN.
+     *
+     * @throws IllegalStateException if the action does not fit the position.
+     */
+    public void apply(GameState state, TurnManager turnManager, BattleSystem battleSystem, Player player) {
+        apply(new MoveGenerator(state, turnManager, battleSystem), player);
+    }
+
+    /**
+     * Applies this action through the generator bound to the target game.
+     */
+    public void apply(MoveGenerator generator, Player player) {
+        generator.apply(toMove(), player);
+    }
+
+    // -------------------------------------------------------------------------
+    // Helpers
+    // -------------------------------------------------------------------------
+
+    static Player opponentOf(GameState state, Player player) {
+        return (player == state.getPlayer1()) ? state.getPlayer2() : state.getPlayer1();
+    }
+}
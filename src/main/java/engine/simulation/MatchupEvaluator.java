@@ -0,0 +1,215 @@
+package engine.simulation;
+
+import engine.core.GameEngine;
+import engine.core.GameRandom;
+import engine.core.GameState;
+import engine.core.PlayerController;
+import engine.data.CardDatabase;
+import engine.setup.Decklist;
+import engine.setup.GameFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * Estimates deck A's win rate against deck B by playing headless games on a
+ * work-stealing ForkJoinPool.
+ *
+ * Games are played in batches; after each batch the running MatchupResult is
+ * passed to the caller, and evaluation stops early once its Wilson interval
+ * is narrower than the configured half-width. The decks swap seats every
+ * game so neither profits from always going first.
+ *
+ * Game i is seeded with GameRandom.seedFor(seed, i), and early stopping is
+ * only checked between batches, so the result depends on the seed alone and
+ * not on the pool size or scheduling.
+ *
+ * Usage: MatchupEvaluator deckA.txt deckB.txt [maxGames] [seed] [dataDir]
+ */
+public class MatchupEvaluator {
+
+    /**
+     * @param maxGames  Upper bound on games played.
+     * @param batchSize Games played between two early-stopping checks.
+     * @param halfWidth Stop once the interval's half-width is at most this.
+     * @param z         Standard score of the interval, e.g. 1.96 for 95%.
+     */
+    public record Config(int maxGames, int batchSize, double halfWidth, double z) {
+        public Config {
+            if (maxGames < 1 || batchSize < 1) {
+                throw new IllegalArgumentException("maxGames and batchSize must be at least 1");
+            }
+            if (z <= 0) {
+                throw new IllegalArgumentException("z must be positive, got " + z);
+            }
+        }
+
+        /** At most 10,000 games, stopping at ±2% with 95% confidence. */
+        public static Config defaults() {
+            return new Config(10_000, 200, 0.02, 1.96);
+        }
+    }
+
+    // Below this many games a range of games is played on one thread
+    private static final int SEQUENTIAL_GAMES = 4;
+
+    private final CardDatabase database;
+    private final ForkJoinPool pool;
+    private final PlayerController.Factory agentA;
+    private final PlayerController.Factory agentB;
+    private final long seed;
+
+    /**
+     * @param database Card lookups for building the decks.
+     * @param pool     Pool the games run on, e.g. ForkJoinPool.commonPool().
+     * @param agentA   Controller factory for the seat playing deck A.
+     * @param agentB   Controller factory for the seat playing deck B. Factories
+     *                 are called from pool threads and must be thread-safe.
+     * @param seed     Seed from which every game's seed is derived.
+     */
+    public MatchupEvaluator(CardDatabase database, ForkJoinPool pool, PlayerController.Factory agentA,
+                            PlayerController.Factory agentB, long seed) {
+        this.database = database;
+        this.pool = pool;
+        this.agentA = agentA;
+        this.agentB = agentB;
+        this.seed = seed;
+    }
+
+    /**
+     * Creates an evaluator pitting two RandomControllers against each other on
+     * the common pool.
+     */
+    public MatchupEvaluator(CardDatabase database, long seed) {
+        this(database, ForkJoinPool.commonPool(), RandomController.factory(), RandomController.factory(), seed);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Plays deck A against deck B until the interval is tight enough or
+     * config.maxGames() games have been played.
+     *
+     * @param progress Receives the running result after every batch; may be null.
+     * @return The final result.
+     */
+    public MatchupResult evaluate(Decklist deckA, Decklist deckB, Config config, Consumer<MatchupResult> progress) {
+        return evaluate(deckA, deckB, config, 0, progress);
+    }
+
+    /**
+     * As evaluate(Decklist, Decklist, Config, Consumer), using the game seeds
+     * from firstGame onwards; callers running several matchups under one seed
+     * give each its own range.
+     */
+    MatchupResult evaluate(Decklist deckA, Decklist deckB, Config config, long firstGame,
+                           Consumer<MatchupResult> progress) {
+        MatchupResult result = new MatchupResult(deckA.name(), deckB.name(), 0, 0, 0, config.z());
+        // Games are reused per worker thread, one pool per seating order
+        GamePool aFirst = new GamePool(gameSeed -> GameFactory.createGame(database, deckA, deckB, gameSeed));
+        GamePool bFirst = new GamePool(gameSeed -> GameFactory.createGame(database, deckB, deckA, gameSeed));
+        while (result.games() < config.maxGames()) {
+            int from = result.games();
+            int to = Math.min(config.maxGames(), from + config.batchSize());
+            int[] tally = pool.invoke(new Games(aFirst, bFirst, firstGame, from, to));
+            result = result.merge(to - from, tally[0], tally[1]);
+            if (progress != null) {
+                progress.accept(result);
+            }
+            if (result.halfWidth() <= config.halfWidth()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Plays one game of a matchup; deck A is player 1 in even-numbered games.
+     *
+     * @return The finished game.
+     */
+    public GameEngine play(Decklist deckA, Decklist deckB, long gameIndex) {
+        long gameSeed = GameRandom.seedFor(seed, gameIndex);
+        boolean aFirst = (gameIndex & 1) == 0;
+        GameState gameState = aFirst
+                ? GameFactory.createGame(database, deckA, deckB, gameSeed)
+                : GameFactory.createGame(database, deckB, deckA, gameSeed);
+        return play(gameState, aFirst);
+    }
+
+    private GameEngine play(GameState gameState, boolean aFirst) {
+        GameEngine engine = aFirst
+                ? GameEngine.headless(gameState, agentA, agentB)
+                : GameEngine.headless(gameState, agentB, agentA);
+        engine.run();
+        return engine;
+    }
+
+    // Plays games [from, to) of a matchup, splitting the range across the pool
+    private final class Games extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient GamePool aFirstGames;
+        private final transient GamePool bFirstGames;
+        private final long firstGame;
+        private final int from;
+        private final int to;
+
+        Games(GamePool aFirstGames, GamePool bFirstGames, long firstGame, int from, int to) {
+            this.aFirstGames = aFirstGames;
+            this.bFirstGames = bFirstGames;
+            this.firstGame = firstGame;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from > SEQUENTIAL_GAMES) {
+                int middle = (from + to) >>> 1;
+                Games left = new Games(aFirstGames, bFirstGames, firstGame, from, middle);
+                left.fork();
+                int[] right = new Games(aFirstGames, bFirstGames, firstGame, middle, to).compute();
+                int[] joined = left.join();
+                return new int[] { joined[0] + right[0], joined[1] + right[1] };
+            }
+            int[] tally = new int[2];
+            for (int i = from; i < to; i++) {
+                long gameIndex = firstGame + i;
+                boolean aFirst = (gameIndex & 1) == 0;
+                GamePool games = aFirst ? aFirstGames : bFirstGames;
+                GameState gameState = games.acquire(GameRandom.seedFor(seed, gameIndex));
+                play(gameState, aFirst);
+                if (gameState.getWinner() != null) {
+                    boolean player1Won = gameState.getWinner() == gameState.getPlayer1();
+                    tally[(player1Won == aFirst) ? 0 : 1]++;
+                }
+                games.release(gameState);
+            }
+            return tally;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: MatchupEvaluator deckA.txt deckB.txt [maxGames] [seed] [dataDir]");
+            return;
+        }
+        Decklist deckA = Decklist.load(Path.of(args[0]));
+        Decklist deckB = Decklist.load(Path.of(args[1]));
+        Config defaults = Config.defaults();
+        int maxGames = args.length > 2 ? Integer.parseInt(args[2]) : defaults.maxGames();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : GameRandom.randomSeed();
+        CardDatabase database = args.length > 4 ? new CardDatabase(args[4]) : new CardDatabase();
+
+        Config config = new Config(maxGames, defaults.batchSize(), defaults.halfWidth(), defaults.z());
+        System.out.println("Evaluating " + deckA.name() + " vs " + deckB.name() + " (seed " + seed + ")...");
+        MatchupResult result = new MatchupEvaluator(database, seed).evaluate(deckA, deckB, config, System.out::println);
+        System.out.println(result);
+    }
+}
@@ -0,0 +1,62 @@
+package engine.simulation;
+
+/**
+ * Running outcome of deck A against deck B, with a Wilson score interval
+ * around A's win rate. Games that end without a winner count as losses for
+ * both decks.
+ *
+ * @param deckA Name of deck A.
+ * @param deckB Name of deck B.
+ * @param games Number of games played.
+ * @param winsA Games won by deck A.
+ * @param winsB Games won by deck B.
+ * @param z     Standard score of the interval, e.g. 1.96 for 95%.
+ */
+public record MatchupResult(String deckA, String deckB, int games, int winsA, int winsB, double z) {
+
+    public double winRate() {
+        return games == 0 ? 0.0 : (double) winsA / games;
+    }
+
+    /** Lower bound of the Wilson interval around winRate(). */
+    public double lower() {
+        return wilsonCentre() - wilsonMargin();
+    }
+
+    /** Upper bound of the Wilson interval around winRate(). */
+    public double upper() {
+        return wilsonCentre() + wilsonMargin();
+    }
+
+    public double halfWidth() {
+        return wilsonMargin();
+    }
+
+    /** Merges two partial results of the same matchup. */
+    MatchupResult merge(int moreGames, int moreWinsA, int moreWinsB) {
+        return new MatchupResult(deckA, deckB, games + moreGames, winsA + moreWinsA, winsB + moreWinsB, z);
+    }
+
+    private double wilsonCentre() {
+        if (games == 0) {
+            return 0.5;
+        }
+        double z2 = z * z;
+        return (winRate() + z2 / (2.0 * games)) / (1.0 + z2 / games);
+    }
+
+    private double wilsonMargin() {
+        if (games == 0) {
+            return 0.5;
+        }
+        double p = winRate();
+        double z2 = z * z;
+        return z * Math.sqrt(p * (1 - p) / games + z2 / (4.0 * games * games)) / (1.0 + z2 / games);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s vs %s: %.1f%% [%.1f%%, %.1f%%] over %d games (%d-%d)",
+                deckA, deckB, winRate() * 100, lower() * 100, upper() * 100, games, winsA, winsB);
+    }
+}
@@ -0,0 +1,339 @@
+package engine.simulation;
+
+import engine.core.GameSnapshot;
+import engine.core.GameState;
+import engine.core.MoveGenerator;
+import engine.core.Phase;
+import engine.core.PlayerController;
+import engine.core.TurnManager;
+import engine.player.Player;
+import engine.setup.GameSetup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monte Carlo Tree Search agent for the MAIN phase.
+ *
+ * Each decision searches over the agent's own remaining MAIN-phase actions
+ * (play, attach DON!!, attack, end). Each tree works on one GameState.copy()
+ * of the root, rewound to a snapshot of the root before every iteration, and
+ * a node is reached by replaying its action path; once the path ends (END, or
+ * an unexpanded node) the rest of the game is played out by RandomControllers
+ * for a bounded number of turns and scored 1/0 for a win/loss, or by life
+ * difference if the game is still running.
+ *
+ * Search uses root parallelization: every thread grows an independent tree
+ * from its own copy of the position, sharing nothing while searching, and
+ * the root visit counts are summed at the end. With no shared state the
+ * number of rollouts scales with the thread count. The agent then applies the
+ * most visited action to the live game and searches again until it chooses
+ * to end the phase.
+ *
+ * The controllers of one factory share its worker pool, whose idle threads
+ * exit on their own, so running many games through a factory does not leave
+ * threads behind. A controller built directly owns its pool until close().
+ *
+ * The rollouts see the real deck and hand order, so this is a perfect-
+ * information search; it is a strong sparring partner, not a fair player.
+ */
+public class MctsController implements PlayerController, AutoCloseable {
+
+    /**
+     * Search settings.
+     *
+     * @param threads       Independent search trees run in parallel.
+     * @param budgetMillis  Wall-clock budget per decision.
+     * @param maxIterations Rollout cap per decision per thread (0 = budget only).
+     * @param exploration   UCT exploration constant.
+     * @param rolloutTurns  Turns a rollout plays before scoring the position.
+     */
+    public record Config(int threads, long budgetMillis, int maxIterations, double exploration, int rolloutTurns) {
+        public Config {
+            if (threads < 1) {
+                throw new IllegalArgumentException("threads must be at least 1");
+            }
+            if (budgetMillis <= 0 && maxIterations <= 0) {
+                throw new IllegalArgumentException("Need a time budget or an iteration cap");
+            }
+        }
+
+        public static Config defaults() {
+            return new Config(Runtime.getRuntime().availableProcessors(), 200, 0, Math.sqrt(2), 20);
+        }
+    }
+
+    private final GameState gameState;
+    private final TurnManager turnManager;
+    private final MoveGenerator moves;
+    private final Config config;
+    private final Random seeds;
+    private final ExecutorService pool;
+    private final boolean ownsPool;
+    private int lastIterations;
+
+    public MctsController(GameState gameState, TurnManager turnManager, Config config, long seed) {
+        this(gameState, turnManager, config, seed, newPool(config), true);
+    }
+
+    private MctsController(GameState gameState, TurnManager turnManager, Config config, long seed,
+                           ExecutorService pool, boolean ownsPool) {
+        this.gameState = gameState;
+        this.turnManager = turnManager;
+        this.moves = new MoveGenerator(gameState, turnManager);
+        this.config = config;
+        this.seeds = new Random(seed);
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+
+    /**
+     * Returns a factory producing MctsControllers with the given settings.
+     * All controllers of the factory search on one shared worker pool.
+     */
+    public static PlayerController.Factory factory(Config config, long seed) {
+        ExecutorService pool = newPool(config);
+        return (gameState, turnManager) -> new MctsController(gameState, turnManager, config, seed, pool, false);
+    }
+
+    // Worker pool for root parallelization, or null for a single thread. Idle
+    // workers time out, so a pool nobody closes does not pin its threads.
+    private static ExecutorService newPool(Config config) {
+        if (config.threads() == 1) {
+            return null;
+        }
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(config.threads(), config.threads(),
+                5, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "mcts-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    @Override
+    public void runStartPhase(Player player, GameSetup gameSetup) {
+        // Always keep the opening hand
+    }
+
+    @Override
+    public void runMainPhases(Player player) {
+        while (!gameState.isGameOver() && turnManager.getCurrentPhase() == Phase.MAIN) {
+            List<MainPhaseAction> legal = MainPhaseAction.legal(moves, player);
+            MainPhaseAction action = (legal.size() == 1) ? legal.get(0) : search(player);
+            action.apply(moves, player);
+            if (action.type() == MainPhaseAction.Type.END) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Searches the current position and returns the most visited root action.
+     */
+    public MainPhaseAction search(Player player) {
+        int seat = (player == gameState.getPlayer1()) ? 0 : 1;
+        long deadline = (config.budgetMillis() > 0) ? System.nanoTime() + config.budgetMillis() * 1_000_000 : Long.MAX_VALUE;
+
+        // Copies are taken here, on the game's own thread, before any worker starts
+        List<Tree> trees = new ArrayList<>(config.threads());
+        for (int i = 0; i < config.threads(); i++) {
+            GameState root = gameState.copy();
+            trees.add(new Tree(root, turnManager.copy(root), seat, new Random(seeds.nextLong())));
+        }
+
+        if (pool == null) {
+            trees.get(0).search(deadline);
+        } else {
+            List<Future<?>> running = new ArrayList<>();
+            for (Tree tree : trees) {
+                running.add(pool.submit(() -> tree.search(deadline)));
+            }
+            for (Future<?> future : running) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("MCTS worker failed", e.getCause());
+                }
+            }
+        }
+
+        Map<MainPhaseAction, Integer> visits = new HashMap<>();
+        int iterations = 0;
+        for (Tree tree : trees) {
+            iterations += tree.root.visits;
+            for (Node child : tree.root.children) {
+                visits.merge(child.action, child.visits, Integer::sum);
+            }
+        }
+        lastIterations = iterations;
+
+        MainPhaseAction best = MainPhaseAction.END;
+        int bestVisits = -1;
+        for (Map.Entry<MainPhaseAction, Integer> entry : visits.entrySet()) {
+            if (entry.getValue() > bestVisits) {
+                best = entry.getKey();
+                bestVisits = entry.getValue();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the total rollouts (across all threads) of the last search.
+     */
+    public int getLastIterations() {
+        return lastIterations;
+    }
+
+    /**
+     * Stops the worker pool of a directly built controller. Controllers from
+     * factory() share their pool, which this leaves running.
+     */
+    @Override
+    public void close() {
+        if (pool != null && ownsPool) {
+            pool.shutdownNow();
+            try {
+                pool.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Search tree (one per thread, never shared)
+    // -------------------------------------------------------------------------
+
+    private static final class Node {
+        final MainPhaseAction action;
+        final List<MainPhaseAction> untried;
+        final List<Node> children = new ArrayList<>();
+        int visits;
+        double reward;
+
+        Node(MainPhaseAction action, List<MainPhaseAction> untried) {
+            this.action = action;
+            this.untried = untried;
+        }
+    }
+
+    private final class Tree {
+        final GameState state;
+        final TurnManager turns;
+        final MoveGenerator moves;
+        final GameSnapshot rootSnapshot;
+        final TurnManager.State rootTurn;
+        final int seat;
+        final Random random;
+        final Node root;
+
+        Tree(GameState state, TurnManager turns, int seat, Random random) {
+            this.state = state;
+            this.turns = turns;
+            this.moves = new MoveGenerator(state, turns);
+            this.rootSnapshot = state.snapshot();
+            this.rootTurn = turns.saveState();
+            this.seat = seat;
+            this.random = random;
+            this.root = new Node(null, MainPhaseAction.legal(moves, player(state)));
+        }
+
+        Player player(GameState state) {
+            return (seat == 0) ? state.getPlayer1() : state.getPlayer2();
+        }
+
+        void search(long deadline) {
+            int cap = (config.maxIterations() > 0) ? config.maxIterations() : Integer.MAX_VALUE;
+            for (int i = 0; i < cap && System.nanoTime() < deadline; i++) {
+                iterate();
+            }
+        }
+
+        void iterate() {
+            // Rewind the tree's game to the root position
+            state.restore(rootSnapshot);
+            turns.restoreState(rootTurn);
+            Player me = player(state);
+
+            List<Node> path = new ArrayList<>();
+            path.add(root);
+            Node node = root;
+
+            // Selection: descend through fully expanded nodes
+            while (node.untried.isEmpty() && !node.children.isEmpty()) {
+                node = select(node);
+                node.action.apply(moves, me);
+                path.add(node);
+            }
+
+            // Expansion: try one new action from this node
+            if (!node.untried.isEmpty()) {
+                MainPhaseAction action = node.untried.remove(random.nextInt(node.untried.size()));
+                action.apply(moves, me);
+                boolean terminal = action.type() == MainPhaseAction.Type.END || state.isGameOver();
+                Node child = new Node(action, terminal ? new ArrayList<>()
+                        : MainPhaseAction.legal(moves, me));
+                node.children.add(child);
+                node = child;
+                path.add(node);
+            }
+
+            double reward = rollout(me);
+            for (Node visited : path) {
+                visited.visits++;
+                visited.reward += reward;
+            }
+        }
+
+        Node select(Node parent) {
+            double logParent = Math.log(parent.visits);
+            Node best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (Node child : parent.children) {
+                double score = child.reward / child.visits
+                        + config.exploration() * Math.sqrt(logParent / child.visits);
+                if (score > bestScore) {
+                    best = child;
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+
+        double rollout(Player me) {
+            RandomController controller = new RandomController(state, turns, random);
+            int turnLimit = turns.getTurnCount() + config.rolloutTurns();
+            while (!state.isGameOver() && turns.getTurnCount() < turnLimit) {
+                if (turns.getCurrentPhase().isInteractive()) {
+                    int turn = turns.getTurnCount();
+                    controller.runMainPhases(turns.getActivePlayer());
+                    if (turns.getCurrentPhase() == Phase.MAIN && turns.getTurnCount() == turn) {
+                        turns.advancePhase();
+                    }
+                } else {
+                    turns.advancePhase();
+                }
+            }
+            if (state.isGameOver()) {
+                return state.getWinner() == me ? 1.0 : 0.0;
+            }
+            int lifeDiff = me.getLife().size() - MainPhaseAction.opponentOf(state, me).getLife().size();
+            return Math.max(0.0, Math.min(1.0, 0.5 + lifeDiff * 0.1));
+        }
+    }
+}
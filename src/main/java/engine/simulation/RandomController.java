@@ -0,0 +1,117 @@
+package engine.simulation;
+
+import engine.battle.BattleSystem;
+import engine.cards.Card;
+import engine.cards.DonCard;
+import engine.core.GameState;
+import engine.core.MoveGenerator;
+import engine.core.PlayerController;
+import engine.core.TurnManager;
+import engine.player.Player;
+import engine.setup.GameSetup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Headless baseline agent that takes uniformly random legal actions. It never
+ * mulligans, plays random affordable cards until it runs out of DON or legal
+ * plays, attaches any leftover DON to random characters, then attacks with every
+ * available attacker at a random valid target before ending the MAIN phase.
+ *
+ * Intended as the default opponent for batch self-play; it performs no I/O.
+ */
+public class RandomController implements PlayerController {
+    private final GameState gameState;
+    private final TurnManager turnManager;
+    private final BattleSystem battleSystem;
+    private final RandomGenerator random;
+
+    public RandomController(GameState gameState, TurnManager turnManager, RandomGenerator random) {
+        this.gameState = gameState;
+        this.turnManager = turnManager;
+        this.battleSystem = new BattleSystem(gameState, turnManager);
+        this.random = random;
+    }
+
+    /**
+     * Returns a factory producing RandomControllers that share the given source.
+     * The source must only be used from one thread at a time.
+     */
+    public static PlayerController.Factory factory(RandomGenerator random) {
+        return (gameState, turnManager) -> new RandomController(gameState, turnManager, random);
+    }
+
+    /**
+     * Returns a factory producing RandomControllers seeded from the game's own
+     * random source (see GameRandom.derive()), so the whole game replays from
+     * GameState.getSeed().
+     */
+    public static PlayerController.Factory factory() {
+        return (gameState, turnManager) -> new RandomController(gameState, turnManager,
+                gameState.getRandom().derive());
+    }
+
+    @Override
+    public void runStartPhase(Player player, GameSetup gameSetup) {
+        // Always keep the opening hand
+    }
+
+    @Override
+    public void runMainPhases(Player player) {
+        playCards(player);
+        attachDons(player);
+        if (turnManager.getTurnCount() >= MoveGenerator.FIRST_ATTACK_TURN) {
+            attack(player);
+        }
+        turnManager.advancePhase();
+    }
+
+    // -------------------------------------------------------------------------
+    // Actions
+    // -------------------------------------------------------------------------
+
+    private void playCards(Player player) {
+        List<Card> playable = new ArrayList<>();
+        while (true) {
+            playable.clear();
+            int availableDon = MoveGenerator.countAvailableDon(player);
+            for (Card card : player.getHand().getCards()) {
+                if (MoveGenerator.canPlay(player, card, availableDon)) {
+                    playable.add(card);
+                }
+            }
+            if (playable.isEmpty()) {
+                return;
+            }
+            gameState.playCard(player, playable.get(random.nextInt(playable.size())));
+        }
+    }
+
+    private void attachDons(Player player) {
+        List<Card> targets = new ArrayList<>(player.getField().getCards());
+        if (player.getLeader() != null) {
+            targets.add(player.getLeader());
+        }
+        if (targets.isEmpty()) {
+            return;
+        }
+        for (Card card : player.getCost().getCards()) {
+            if (card instanceof DonCard don && !don.isRested() && !don.isAttached()) {
+                gameState.attachDon(targets.get(random.nextInt(targets.size())), don);
+            }
+        }
+    }
+
+    private void attack(Player player) {
+        Player opponent = (player == gameState.getPlayer1()) ? gameState.getPlayer2() : gameState.getPlayer1();
+        for (Card attacker : battleSystem.getValidAttackers(player)) {
+            if (gameState.isGameOver()) {
+                return;
+            }
+            List<Card> targets = battleSystem.getValidTargets(opponent);
+            battleSystem.resolve(attacker, targets.get(random.nextInt(targets.size())), 0);
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package engine.simulation;
+
+import engine.core.GameRandom;
+import engine.core.PlayerController;
+import engine.data.CardDatabase;
+import engine.setup.Decklist;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Plays a gauntlet of decks against each other and builds a win-rate matrix.
+ *
+ * In ROUND_ROBIN every pair of decks plays one matchup. In SWISS, each round
+ * pairs decks with equal or nearest standings that have not met yet; a deck
+ * scores 1 for winning a matchup (more than half its games), 0.5 for an
+ * even one, and 1 for a bye when the field is odd. Matchups are played by a
+ * MatchupEvaluator with the given per-matchup config, and the matchups of a
+ * round run concurrently on the same ForkJoinPool as their games.
+ *
+ * When a checkpoint file is given, each finished matchup is appended to it,
+ * and a later run with the same gauntlet and seed skips the matchups found
+ * there, so a long tournament can be stopped and resumed. Matchup (i, j)
+ * always uses the same range of game seeds, so a resumed run produces the
+ * same matrix as an uninterrupted one. That range depends on the seed,
+ * maxGames and the deck order, and when a matchup stops on the batch size,
+ * half-width and z, so the checkpoint header records all of them and a run
+ * that differs in any is refused.
+ */
+public class Tournament {
+
+    public enum Format {
+        ROUND_ROBIN,
+        SWISS
+    }
+
+    private static final String CHECKPOINT_HEADER = "# tournament ";
+
+    private final MatchupEvaluator evaluator;
+    private final ForkJoinPool pool;
+    private final MatchupEvaluator.Config matchupConfig;
+    private final long seed;
+
+    /**
+     * @param database      Card lookups for building the decks.
+     * @param pool          Pool the matchups and their games run on.
+     * @param agentA        Controller factory for the first deck of each matchup.
+     * @param agentB        Controller factory for the second deck of each matchup.
+     * @param matchupConfig Games and early stopping for each matchup.
+     * @param seed          Seed from which every game's seed is derived.
+     */
+    public Tournament(CardDatabase database, ForkJoinPool pool, PlayerController.Factory agentA,
+                      PlayerController.Factory agentB, MatchupEvaluator.Config matchupConfig, long seed) {
+        this.evaluator = new MatchupEvaluator(database, pool, agentA, agentB, seed);
+        this.pool = pool;
+        this.matchupConfig = matchupConfig;
+        this.seed = seed;
+    }
+
+    public Tournament(CardDatabase database, MatchupEvaluator.Config matchupConfig, long seed) {
+        this(database, ForkJoinPool.commonPool(), RandomController.factory(), RandomController.factory(),
+                matchupConfig, seed);
+    }
+
+    /**
+     * Plays every pairing of the gauntlet once.
+     *
+     * @param checkpoint File to resume from and append results to, or null.
+     */
+    public TournamentResult roundRobin(List<Decklist> gauntlet, Path checkpoint) throws IOException {
+        return run(gauntlet, Format.ROUND_ROBIN, 1, checkpoint);
+    }
+
+    /**
+     * Plays the given number of Swiss rounds.
+     *
+     * @param checkpoint File to resume from and append results to, or null.
+     */
+    public TournamentResult swiss(List<Decklist> gauntlet, int rounds, Path checkpoint) throws IOException {
+        return run(gauntlet, Format.SWISS, rounds, checkpoint);
+    }
+
+    private TournamentResult run(List<Decklist> gauntlet, Format format, int rounds, Path checkpoint)
+            throws IOException {
+        List<String> names = new ArrayList<>();
+        for (Decklist deck : gauntlet) {
+            if (names.contains(deck.name())) {
+                throw new IllegalArgumentException("Duplicate deck name in gauntlet: " + deck.name());
+            }
+            names.add(deck.name());
+        }
+        if (gauntlet.size() < 2) {
+            throw new IllegalArgumentException("A tournament needs at least 2 decks, got " + gauntlet.size());
+        }
+        if (rounds < 1) {
+            throw new IllegalArgumentException("rounds must be at least 1, got " + rounds);
+        }
+
+        TournamentResult result = new TournamentResult(names);
+        Map<Long, MatchupResult> done = (checkpoint != null) ? readCheckpoint(checkpoint, names) : new HashMap<>();
+        try (BufferedWriter out = (checkpoint != null) ? openCheckpoint(checkpoint, names) : null) {
+            if (format == Format.ROUND_ROBIN) {
+                List<int[]> pairings = new ArrayList<>();
+                for (int i = 0; i < gauntlet.size(); i++) {
+                    for (int j = i + 1; j < gauntlet.size(); j++) {
+                        pairings.add(new int[] { i, j });
+                    }
+                }
+                playRound(gauntlet, pairings, done, result, out);
+            } else {
+                double[] points = new double[gauntlet.size()];
+                Set<Long> met = new HashSet<>();
+                boolean[] hadBye = new boolean[gauntlet.size()];
+                for (int round = 0; round < rounds; round++) {
+                    List<int[]> pairings = swissPairings(points, met, hadBye);
+                    playRound(gauntlet, pairings, done, result, out);
+                    for (int[] pairing : pairings) {
+                        met.add(key(pairing[0], pairing[1], gauntlet.size()));
+                        double rate = result.winRate(pairing[0], pairing[1]);
+                        points[pairing[0]] += (rate > 0.5) ? 1.0 : (rate == 0.5) ? 0.5 : 0.0;
+                        points[pairing[1]] += (rate < 0.5) ? 1.0 : (rate == 0.5) ? 0.5 : 0.0;
+                    }
+                    for (int deck = 0; deck < points.length; deck++) {
+                        if (isUnpaired(deck, pairings)) {
+                            hadBye[deck] = true;
+                            points[deck] += 1.0;
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private void playRound(List<Decklist> gauntlet, List<int[]> pairings, Map<Long, MatchupResult> done,
+                           TournamentResult result, BufferedWriter out) {
+        int n = gauntlet.size();
+        List<ForkJoinTask<MatchupResult>> running = new ArrayList<>();
+        for (int[] pairing : pairings) {
+            long key = key(pairing[0], pairing[1], n);
+            if (done.containsKey(key)) {
+                running.add(null);
+                continue;
+            }
+            Decklist a = gauntlet.get(pairing[0]);
+            Decklist b = gauntlet.get(pairing[1]);
+            running.add(pool.submit(() -> {
+                MatchupResult matchup = evaluator.evaluate(a, b, matchupConfig, key * matchupConfig.maxGames(), null);
+                if (out != null) {
+                    appendCheckpoint(out, matchup);
+                }
+                return matchup;
+            }));
+        }
+        for (int i = 0; i < pairings.size(); i++) {
+            int[] pairing = pairings.get(i);
+            ForkJoinTask<MatchupResult> task = running.get(i);
+            MatchupResult matchup = (task != null) ? task.join() : done.get(key(pairing[0], pairing[1], n));
+            result.record(pairing[0], pairing[1], matchup);
+        }
+    }
+
+    // Pairs decks by standing, highest first, avoiding rematches where possible
+    private static List<int[]> swissPairings(double[] points, Set<Long> met, boolean[] hadBye) {
+        int n = points.length;
+        List<Integer> order = new ArrayList<>();
+        for (int deck = 0; deck < n; deck++) {
+            order.add(deck);
+        }
+        order.sort(Comparator.comparingDouble((Integer deck) -> -points[deck]).thenComparingInt(deck -> deck));
+        if ((n & 1) == 1) {
+            // The lowest-ranked deck that has not had a bye sits out
+            int bye = order.size() - 1;
+            while (bye > 0 && hadBye[order.get(bye)]) {
+                bye--;
+            }
+            order.remove(bye);
+        }
+
+        List<int[]> pairings = new ArrayList<>();
+        while (!order.isEmpty()) {
+            int first = order.remove(0);
+            int partner = 0;
+            for (int k = 0; k < order.size(); k++) {
+                if (!met.contains(key(Math.min(first, order.get(k)), Math.max(first, order.get(k)), n))) {
+                    partner = k;
+                    break;
+                }
+            }
+            int second = order.remove(partner);
+            pairings.add(new int[] { Math.min(first, second), Math.max(first, second) });
+        }
+        return pairings;
+    }
+
+    private static boolean isUnpaired(int deck, List<int[]> pairings) {
+        for (int[] pairing : pairings) {
+            if (pairing[0] == deck || pairing[1] == deck) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long key(int a, int b, int n) {
+        return (long) a * n + b;
+    }
+
+    // -------------------------------------------------------------------------
+    // Checkpoint
+    // -------------------------------------------------------------------------
+
+    // A header line naming every setting the seeds and results depend on,
+    // then one line per finished matchup: deckA \t deckB \t games \t winsA \t winsB
+    private String checkpointHeader(List<String> names) {
+        StringBuilder header = new StringBuilder(CHECKPOINT_HEADER)
+                .append("seed ").append(seed)
+                .append("\tgames ").append(matchupConfig.maxGames())
+                .append("\tbatch ").append(matchupConfig.batchSize())
+                .append("\thalfWidth ").append(matchupConfig.halfWidth())
+                .append("\tz ").append(matchupConfig.z());
+        for (String name : names) {
+            header.append("\tdeck ").append(name);
+        }
+        return header.toString();
+    }
+
+    private Map<Long, MatchupResult> readCheckpoint(Path checkpoint, List<String> names) throws IOException {
+        Map<Long, MatchupResult> done = new HashMap<>();
+        if (!Files.exists(checkpoint)) {
+            return done;
+        }
+        dropPartialLine(checkpoint);
+        String expected = checkpointHeader(names);
+        for (String line : Files.readAllLines(checkpoint, StandardCharsets.UTF_8)) {
+            if (line.startsWith("#")) {
+                if (!line.equals(expected)) {
+                    throw new IllegalStateException("Checkpoint " + checkpoint + " was written by a different run: "
+                            + firstDifference(line, expected));
+                }
+                continue;
+            }
+            String[] fields = line.split("\t");
+            if (fields.length != 5) {
+                throw new IllegalStateException("Malformed checkpoint line in " + checkpoint + ": " + line);
+            }
+            int a = names.indexOf(fields[0]);
+            int b = names.indexOf(fields[1]);
+            if (a < 0 || b < 0) {
+                throw new IllegalStateException("Checkpoint " + checkpoint + " names a deck not in the gauntlet: "
+                        + (a < 0 ? fields[0] : fields[1]));
+            }
+            done.put(key(a, b, names.size()), new MatchupResult(fields[0], fields[1], Integer.parseInt(fields[2]),
+                    Integer.parseInt(fields[3]), Integer.parseInt(fields[4]), matchupConfig.z()));
+        }
+        return done;
+    }
+
+    // Describes the first setting in which two checkpoint headers differ
+    private static String firstDifference(String found, String expected) {
+        String[] have = found.substring(found.startsWith(CHECKPOINT_HEADER) ? CHECKPOINT_HEADER.length() : 1)
+                .split("\t");
+        String[] want = expected.substring(CHECKPOINT_HEADER.length()).split("\t");
+        for (int i = 0; i < Math.max(have.length, want.length); i++) {
+            String a = (i < have.length) ? have[i] : "nothing";
+            String b = (i < want.length) ? want[i] : "nothing";
+            if (!a.equals(b)) {
+                return "it has " + a + " where this run has " + b;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Cuts the file back to its last complete line. A run interrupted while
+     * appending can leave a line without its newline; its last number may be
+     * cut short too, so the line is dropped rather than parsed, and the next
+     * result must not be appended onto it.
+     */
+    private static void dropPartialLine(Path checkpoint) throws IOException {
+        try (FileChannel file = FileChannel.open(checkpoint, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            long end = file.size();
+            while (end > 0) {
+                one.clear();
+                file.read(one, end - 1);
+                if (one.get(0) == '\n') {
+                    break;
+                }
+                end--;
+            }
+            if (end < file.size()) {
+                file.truncate(end);
+            }
+        }
+    }
+
+    private BufferedWriter openCheckpoint(Path checkpoint, List<String> names) throws IOException {
+        boolean fresh = !Files.exists(checkpoint) || Files.size(checkpoint) == 0;
+        BufferedWriter out = Files.newBufferedWriter(checkpoint, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (fresh) {
+            out.write(checkpointHeader(names));
+            out.newLine();
+            out.flush();
+        }
+        return out;
+    }
+
+    private static void appendCheckpoint(BufferedWriter out, MatchupResult matchup) {
+        synchronized (out) {
+            try {
+                out.write(matchup.deckA() + "\t" + matchup.deckB() + "\t" + matchup.games() + "\t"
+                        + matchup.winsA() + "\t" + matchup.winsB());
+                out.newLine();
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write checkpoint", e);
+            }
+        }
+    }
+
+    /**
+     * Usage: Tournament checkpoint.tsv deck1.txt deck2.txt ... [--swiss rounds]
+     * [--games n] [--seed s] [--data dir]
+     */
+    public static void main(String[] args) throws IOException {
+        List<Decklist> gauntlet = new ArrayList<>();
+        Path checkpoint = null;
+        int swissRounds = 0;
+        MatchupEvaluator.Config defaults = MatchupEvaluator.Config.defaults();
+        int games = 1_000;
+        long seed = GameRandom.randomSeed();
+        String dataDir = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--swiss" -> swissRounds = Integer.parseInt(args[++i]);
+                case "--games" -> games = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--data" -> dataDir = args[++i];
+                default -> {
+                    if (checkpoint == null) {
+                        checkpoint = Path.of(args[i]);
+                    } else {
+                        gauntlet.add(Decklist.load(Path.of(args[i])));
+                    }
+                }
+            }
+        }
+        if (checkpoint == null || gauntlet.size() < 2) {
+            System.out.println("Usage: Tournament checkpoint.tsv deck1.txt deck2.txt ... "
+                    + "[--swiss rounds] [--games n] [--seed s] [--data dir]");
+            return;
+        }
+        CardDatabase database = (dataDir != null) ? new CardDatabase(dataDir) : new CardDatabase();
+        MatchupEvaluator.Config config = new MatchupEvaluator.Config(games, defaults.batchSize(),
+                defaults.halfWidth(), defaults.z());
+        Tournament tournament = new Tournament(database, config, seed);
+        System.out.println("Running " + gauntlet.size() + " decks (seed " + seed + ")...");
+        TournamentResult result = (swissRounds > 0)
+                ? tournament.swiss(gauntlet, swissRounds, checkpoint)
+                : tournament.roundRobin(gauntlet, checkpoint);
+        System.out.print(result);
+    }
+}
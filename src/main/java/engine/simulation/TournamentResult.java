@@ -0,0 +1,79 @@
+package engine.simulation;
+
+import java.util.List;
+
+/**
+ * Win-rate matrix of a tournament. Cell (i, j) holds deck i's results
+ * against deck j; pairings that were not played have no games.
+ */
+public final class TournamentResult {
+    private final List<String> decks;
+    private final int[][] wins;
+    private final int[][] games;
+
+    TournamentResult(List<String> decks) {
+        this.decks = List.copyOf(decks);
+        this.wins = new int[decks.size()][decks.size()];
+        this.games = new int[decks.size()][decks.size()];
+    }
+
+    void record(int a, int b, MatchupResult result) {
+        wins[a][b] = result.winsA();
+        wins[b][a] = result.winsB();
+        games[a][b] = result.games();
+        games[b][a] = result.games();
+    }
+
+    public List<String> getDecks() {
+        return decks;
+    }
+
+    public int getWins(int deck, int opponent) {
+        return wins[deck][opponent];
+    }
+
+    public int getGames(int deck, int opponent) {
+        return games[deck][opponent];
+    }
+
+    /**
+     * Returns deck's win rate against opponent, or NaN if they did not play.
+     */
+    public double winRate(int deck, int opponent) {
+        return games[deck][opponent] == 0 ? Double.NaN : (double) wins[deck][opponent] / games[deck][opponent];
+    }
+
+    /**
+     * Returns deck's win rate over every game it played, or NaN if none.
+     */
+    public double overallWinRate(int deck) {
+        int won = 0;
+        int played = 0;
+        for (int opponent = 0; opponent < decks.size(); opponent++) {
+            won += wins[deck][opponent];
+            played += games[deck][opponent];
+        }
+        return played == 0 ? Double.NaN : (double) won / played;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-20s", ""));
+        for (int j = 0; j < decks.size(); j++) {
+            sb.append(String.format("%8s", "#" + (j + 1)));
+        }
+        sb.append(String.format("%9s%n", "overall"));
+        for (int i = 0; i < decks.size(); i++) {
+            String name = "#" + (i + 1) + " " + decks.get(i);
+            sb.append(String.format("%-20.20s", name));
+            for (int j = 0; j < decks.size(); j++) {
+                double rate = winRate(i, j);
+                sb.append(Double.isNaN(rate) ? String.format("%8s", "-") : String.format("%7.1f%%", rate * 100));
+            }
+            double overall = overallWinRate(i);
+            sb.append(Double.isNaN(overall) ? String.format("%9s%n", "-") : String.format("%8.1f%%%n", overall * 100));
+        }
+        return sb.toString();
+    }
+}
@@ -1,6 +1,8 @@
 package engine.ui.cli;
 
 import engine.core.GameState;
+import engine.core.MoveGenerator;
+import engine.core.PlayerController;
 import engine.core.TurnManager;
 import engine.player.Player;
 import engine.setup.GameSetup;
@@ -17,8 +19,9 @@ import engine.cards.types.CardType;
 import engine.cards.types.Color;
 import engine.battle.BattleSystem;
 
-public class CliController {
+public class CliController implements PlayerController {
     private final GameState gameState;
+    private final InputChannel channel;
     private final InputHandler inputHandler;
     private final BattleSystem battleSystem;
     private final TurnManager turnManager;
@@ -37,16 +40,44 @@ public class CliController {
     public static final String BOLD   = "\u001B[1m";
 
     public CliController(GameState gameState, TurnManager turnManager) {
+        this(gameState, turnManager, InputChannel.console());
+    }
+
+    /**
+     * Creates a controller that prompts, reads and prints on the given channel
+     * instead of the console.
+     */
+    public CliController(GameState gameState, TurnManager turnManager, InputChannel channel) {
         this.gameState = gameState;
-        this.inputHandler = new InputHandler();
+        this.channel = channel;
+        this.inputHandler = new InputHandler(channel);
         this.turnManager = turnManager;
         this.battleSystem = new BattleSystem(gameState, turnManager);
     }
 
+    /**
+     * Returns a factory for controllers that talk to a player over the channel.
+     */
+    public static PlayerController.Factory factory(InputChannel channel) {
+        return (gameState, turnManager) -> new CliController(gameState, turnManager, channel);
+    }
+
     // -------------------------------------------------------------------------
     // Private helpers
     // -------------------------------------------------------------------------
 
+    private void print(String text) {
+        channel.print(text);
+    }
+
+    private void println(String text) {
+        channel.print(text + "\n");
+    }
+
+    private void printf(String format, Object... args) {
+        channel.print(String.format(format, args));
+    }
+
     private Player getOpponent(Player player) {
         return (player == gameState.getPlayer1()) ? gameState.getPlayer2() : gameState.getPlayer1();
     }
@@ -115,9 +146,9 @@ public class CliController {
             } else {
                 name = "Unknown Card";
             }
-            System.out.printf("%d. %s%n", i + 1, name);
+            printf("%d. %s%n", i + 1, name);
         }
-        System.out.println("0. Cancel");
+        println("0. Cancel");
         int choice = inputHandler.readInt(prompt, 0, cards.size());
         return (choice == 0) ? null : cards.get(choice - 1);
     }
@@ -135,23 +166,18 @@ public class CliController {
     public void printStatus(Player active, Player opponent) {
         Color activeColor   = (active.getLeader()   != null) ? active.getLeader().getData().color()   : null;
         Color opponentColor = (opponent.getLeader()  != null) ? opponent.getLeader().getData().color() : null;
-        System.out.println("=== " + boldColorize(active.getName(), activeColor)
+        println("=== " + boldColorize(active.getName(), activeColor)
                 + " vs " + boldColorize(opponent.getName(), opponentColor) + " ===");
 
-        // Don counts derived from cost zone (activeDon/restedDon fields are not yet
-        // updated)
-        long yourActiveDon = active.getCost().getCards().stream()
-                .filter(c -> c instanceof DonCard d && !d.isRested() && !d.isAttached()).count();
+        // Active and rested counts are maintained by Player; attached Don are counted here
+        int yourActiveDon = active.getActiveDon();
         long yourAttachedDon = active.getCost().getCards().stream()
                 .filter(c -> c instanceof DonCard d && d.isAttached()).count();
-        long yourRestedDon = active.getCost().getCards().stream()
-                .filter(c -> c instanceof DonCard d && d.isRested()).count();
-        long oppActiveDon = opponent.getCost().getCards().stream()
-                .filter(c -> c instanceof DonCard d && !d.isRested() && !d.isAttached()).count();
+        int yourRestedDon = active.getRestedDon();
+        int oppActiveDon = opponent.getActiveDon();
         long oppAttachedDon = opponent.getCost().getCards().stream()
                 .filter(c -> c instanceof DonCard d && d.isAttached()).count();
-        long oppRestedDon = opponent.getCost().getCards().stream()
-                .filter(c -> c instanceof DonCard d && d.isRested()).count();
+        int oppRestedDon = opponent.getRestedDon();
 
         // Stage cards
         String yourStage = active.getStage().isEmpty() ? "None"
@@ -165,9 +191,9 @@ public class CliController {
         String oppTrashTop = opponent.getTrash().isEmpty() ? "Empty"
                 : opponent.getTrash().getCards().get(0).getData().name();
 
-        System.out.printf("Your  | Life: %d | Don: %d active, %d attached, %d rested | Stage: %s | Trash top: %s%n",
+        printf("Your  | Life: %d | Don: %d active, %d attached, %d rested | Stage: %s | Trash top: %s%n",
                 active.getLife().size(), yourActiveDon, yourAttachedDon, yourRestedDon, yourStage, yourTrashTop);
-        System.out.printf("Opp   | Life: %d | Don: %d active, %d attached, %d rested | Stage: %s | Trash top: %s%n",
+        printf("Opp   | Life: %d | Don: %d active, %d attached, %d rested | Stage: %s | Trash top: %s%n",
                 opponent.getLife().size(), oppActiveDon, oppAttachedDon, oppRestedDon, oppStage, oppTrashTop);
     }
 
@@ -178,20 +204,20 @@ public class CliController {
      */
     public void printHand(Player owner) {
         List<Card> cards = owner.getHand().getCards();
-        System.out.println("--- " + owner.getName() + "'s Hand (" + cards.size() + " cards) ---");
+        println("--- " + owner.getName() + "'s Hand (" + cards.size() + " cards) ---");
         if (cards.isEmpty()) {
-            System.out.println("  (empty)");
+            println("  (empty)");
             return;
         }
         for (int i = 0; i < cards.size(); i++) {
             Card card = cards.get(i);
             if (card.getData() == null) {
-                System.out.printf("%d. Unknown Card%n", i + 1);
+                printf("%d. Unknown Card%n", i + 1);
                 continue;
             }
             String name = boldColorize(card.getData().name(), card.getData().color());
             String type = (card.getData().cardType() != null) ? " [" + card.getData().cardType() + "]" : "";
-            System.out.printf("%d. %s%s  |  Cost: %d, Power: %d%n",
+            printf("%d. %s%s  |  Cost: %d, Power: %d%n",
                     i + 1, name, type, card.getData().cost(), card.getData().power());
         }
     }
@@ -205,9 +231,9 @@ public class CliController {
      */
     public void printZone(Player owner, Zone zone) {
         List<Card> cards = zone.getCards();
-        System.out.println(owner.getName() + "'s Zone: " + zone.getType());
+        println(owner.getName() + "'s Zone: " + zone.getType());
         for (int i = 0; i < cards.size(); i++) {
-            System.out.printf("- %s%n", cards.get(i));
+            printf("- %s%n", cards.get(i));
         }
     }
 
@@ -218,7 +244,7 @@ public class CliController {
      * @param deck  The deck to describe.
      */
     public void printDeck(String title, Deck deck) {
-        System.out.println(title + ": " + deck.size() + " cards remaining");
+        println(title + ": " + deck.size() + " cards remaining");
     }
 
     /**
@@ -228,7 +254,7 @@ public class CliController {
      * @param player The player whose field is being printed.
      */
     public void printField(Player player) {
-        System.out.println("--- " + player.getName() + "'s Field ---");
+        println("--- " + player.getName() + "'s Field ---");
 
         // Leader
         Leader leader = player.getLeader();
@@ -237,60 +263,60 @@ public class CliController {
             String rested = leader.isRested() ? "Rested" : "Active";
             String dons   = leader.countDon() > 0 ? " | Dons: " + leader.countDon() : "";
             int power = (turnManager.getActivePlayer() == player) ? leader.getTotalPower() : leader.getBasePower();
-            System.out.printf("  %s [Leader]  |  Power: %d | Life: %d | %s%s%n",
+            printf("  %s [Leader]  |  Power: %d | Life: %d | %s%s%n",
                     name, power, leader.getLifePoints(), rested, dons);
         }
 
         // Characters
         List<Card> fieldCards = player.getField().getCards();
-        System.out.println("  Characters (" + fieldCards.size() + "/5):");
+        println("  Characters (" + fieldCards.size() + "/5):");
         if (fieldCards.isEmpty()) {
-            System.out.println("    (none)");
+            println("    (none)");
         } else {
             for (Card card : fieldCards) {
-                if (card.getData() == null) { System.out.println("    - Unknown Card"); continue; }
+                if (card.getData() == null) { println("    - Unknown Card"); continue; }
                 String name   = boldColorize(card.getData().name(), card.getData().color());
                 String type   = (card.getData().cardType() != null) ? " [" + card.getData().cardType() + "]" : "";
                 int power = (turnManager.getActivePlayer() == player) ? card.getTotalPower() : card.getBasePower();
                 String rested = card.isRested() ? "Rested" : "Active";
                 String dons   = card.countDon() > 0 ? " | Dons: " + card.countDon() : "";
-                System.out.printf("    - %s%s  |  Power: %d | %s%s%n",
+                printf("    - %s%s  |  Power: %d | %s%s%n",
                         name, type, power, rested, dons);
             }
         }
         // Stage 
         List<Card> stageCards = player.getStage().getCards();
-        System.out.println("  Stage (" + stageCards.size() + "/1):");
+        println("  Stage (" + stageCards.size() + "/1):");
         if (stageCards.isEmpty()) {
-            System.out.println("    (none)");
+            println("    (none)");
         } else {
             for (Card card : stageCards) {
-                if (card.getData() == null) { System.out.println("    - Unknown Card"); continue; }
+                if (card.getData() == null) { println("    - Unknown Card"); continue; }
                 String name   = boldColorize(card.getData().name(), card.getData().color());
                 String type   = (card.getData().cardType() != null) ? " [" + card.getData().cardType() + "]" : "";
                 int power = (turnManager.getActivePlayer() == player) ? card.getTotalPower() : card.getBasePower();
                 String rested = card.isRested() ? "Rested" : "Active";
                 String dons   = card.countDon() > 0 ? " | Dons: " + card.countDon() : "";
-                System.out.printf("    - %s%s  |  Power: %d | %s%s%n",
+                printf("    - %s%s  |  Power: %d | %s%s%n",
                         name, type, power, rested, dons);
             }
         }
         // Trash (top card only)
         List<Card> trashCards = player.getTrash().getCards();
-        System.out.println("  Trash (" + trashCards.size() + " cards, top):");
+        println("  Trash (" + trashCards.size() + " cards, top):");
         if (trashCards.isEmpty()) {
-            System.out.println("    (none)");
+            println("    (none)");
         } else {
             Card topCard = trashCards.get(0); // Zone.add() uses addFirst → index 0 is top
             if (topCard.getData() == null) {
-                System.out.println("    - Unknown Card");
+                println("    - Unknown Card");
             } else {
                 String name   = boldColorize(topCard.getData().name(), topCard.getData().color());
                 String type   = (topCard.getData().cardType() != null) ? " [" + topCard.getData().cardType() + "]" : "";
                 int power = (turnManager.getActivePlayer() == player) ? topCard.getTotalPower() : topCard.getBasePower();
                 String rested = topCard.isRested() ? "Rested" : "Active";
                 String dons   = topCard.countDon() > 0 ? " | Dons: " + topCard.countDon() : "";
-                System.out.printf("    - %s%s  |  Power: %d | %s%s%n",
+                printf("    - %s%s  |  Power: %d | %s%s%n",
                         name, type, power, rested, dons);
             }
         }
@@ -307,14 +333,15 @@ public class CliController {
      * @param currentPlayer The player whose start phase is being executed.
      * @param gameSetup     The GameSetup instance to handle mulligan logic.
      */
+    @Override
     public void runStartPhase(Player currentPlayer, GameSetup gameSetup) {
-        System.out.println("Here is your starting hand, " + currentPlayer.getName() + ":");
+        println("Here is your starting hand, " + currentPlayer.getName() + ":");
         printHand(currentPlayer);
 
         boolean mulligan = inputHandler.confirm("Do you want to take a mulligan?");
         if (mulligan) {
             gameSetup.mulligan(currentPlayer);
-            System.out.println("Here is your new hand after mulligan, " + currentPlayer.getName() + ":");
+            println("Here is your new hand after mulligan, " + currentPlayer.getName() + ":");
             printHand(currentPlayer);
         }
     }
@@ -325,22 +352,23 @@ public class CliController {
      *
      * @param currentPlayer The player whose main phases are being executed.
      */
+    @Override
     public void runMainPhases(Player currentPlayer) {
         Player opponent = getOpponent(currentPlayer);
         boolean finished = false;
         while (!finished) {
             printStatus(currentPlayer, opponent);
-            System.out.println("\nCurrent Phase: " + turnManager.getCurrentPhase().getName());
+            println("\nCurrent Phase: " + turnManager.getCurrentPhase().getName());
             int mod = (turnManager.getTurnCount() < 3) ? 0 : 1; // Restrict certain actions on the first turn
             if (turnManager.getTurnCount() >= 3) {
-                System.out.printf("%d. Attack\n", mod);
+                printf("%d. Attack\n", mod);
             }
-            System.out.printf("%d. Reveal Hand\n", mod + 1);
-            System.out.printf("%d. Reveal Your Field\n", mod + 2);
-            System.out.printf("%d. Reveal Opponent's Field\n", mod + 3);
-            System.out.printf("%d. Play Card\n", mod + 4);
-            System.out.printf("%d. Attach Don\n", mod + 5);
-            System.out.printf("%d. End Phase\n", mod + 6);
+            printf("%d. Reveal Hand\n", mod + 1);
+            printf("%d. Reveal Your Field\n", mod + 2);
+            printf("%d. Reveal Opponent's Field\n", mod + 3);
+            printf("%d. Play Card\n", mod + 4);
+            printf("%d. Attach Don\n", mod + 5);
+            printf("%d. End Phase\n", mod + 6);
             int choice = inputHandler.readInt("Choose an action: ", 1, 7 - (mod == 0 ? 1 : 0));
             switch (choice + (mod == 0 ? 1 : 0)) {
                 case 1:
@@ -366,7 +394,7 @@ public class CliController {
                     turnManager.advancePhase();
                     break;
                 default:
-                    System.out.println("Invalid choice. Please try again.");
+                    println("Invalid choice. Please try again.");
             }
         }
     }
@@ -380,34 +408,34 @@ public class CliController {
      */
     public void battle(Player currentPlayer) {
         if (turnManager.getTurnCount() < 3) {
-            System.out.println("Attacking is not allowed on the first turn.");
+            println("Attacking is not allowed on the first turn.");
             return;
         }
         Player opponent = getOpponent(currentPlayer);
 
         List<Card> attackers = battleSystem.getValidAttackers(currentPlayer);
         if (attackers.isEmpty()) {
-            System.out.println("No available attackers.");
+            println("No available attackers.");
             return;
         }
 
-        System.out.println("Select an attacker:");
+        println("Select an attacker:");
         Card attacker = selectCard(attackers, "Attacker: ");
         if (attacker == null)
             return;
 
         List<Card> targets = battleSystem.getValidTargets(opponent);
         if (targets.isEmpty()) {
-            System.out.println("No valid targets.");
+            println("No valid targets.");
             return;
         }
 
-        System.out.println("Select a target:");
+        println("Select a target:");
         Card target = selectCard(targets, "Target: ");
         if (target == null)
             return;
 
-        System.out.println(attacker.getData().name() + " attacks " + target.getData().name() + "!");
+        println(attacker.getData().name() + " attacks " + target.getData().name() + "!");
 
         // Counter window for the defending player
         int counterBoost = 0;
@@ -415,9 +443,9 @@ public class CliController {
         if (playCounter) {
             List<Card> handCards = new ArrayList<>(opponent.getHand().getCards());
             if (handCards.isEmpty()) {
-                System.out.println("No cards in hand to counter with.");
+                println("No cards in hand to counter with.");
             } else {
-                System.out.println("Select a counter card:");
+                println("Select a counter card:");
                 Card counterCard = selectCard(handCards, "Counter card: ");
                 if (counterCard != null) {
                     counterBoost = battleSystem.applyCounter(opponent, counterCard, target);
@@ -426,7 +454,7 @@ public class CliController {
         }
 
         battleSystem.resolve(attacker, target, counterBoost);
-        System.out.println("Battle resolved.");
+        println("Battle resolved.");
     }
 
     /**
@@ -445,14 +473,13 @@ public class CliController {
         }
 
         if (playable.isEmpty()) {
-            System.out.println("No playable cards in hand.");
+            println("No playable cards in hand.");
             return;
         }
 
-        long availableDon = currentPlayer.getCost().getCards().stream()
-                .filter(c -> c instanceof DonCard && !c.isRested()).count();
+        int availableDon = MoveGenerator.countAvailableDon(currentPlayer);
 
-        System.out.println("Select a card to play:");
+        println("Select a card to play:");
         for (int i = 0; i < playable.size(); i++) {
             Card card = playable.get(i);
             String name = colorize(card.getData().name(), card.getData().color());
@@ -461,9 +488,9 @@ public class CliController {
             String stats = (availableDon >= cost)
                     ? GREEN + "(Type: " + card.getData().cardType() + ", Cost: " + cost + ", Power: " + power + ")" + RESET
                     : RED   + "(Type: " + card.getData().cardType() + ", Cost: " + cost + ", Power: " + power + ")" + RESET;
-            System.out.printf("%d. %s %s%n", i + 1, name, stats);
+            printf("%d. %s %s%n", i + 1, name, stats);
         }
-        System.out.println("0. Cancel");
+        println("0. Cancel");
         int choice = inputHandler.readInt("Card: ", 0, playable.size());
         if (choice == 0) return;
 
@@ -472,29 +499,29 @@ public class CliController {
 
         // Handle zone capacity: prompt for replacement before playing
         if (selectedType == CardType.Character && currentPlayer.getField().getCards().size() >= 5) {
-            System.out.println("Your field is full (5/5). Choose a character to send to trash, or 0 to cancel:");
+            println("Your field is full (5/5). Choose a character to send to trash, or 0 to cancel:");
             List<Card> fieldCards = new ArrayList<>(currentPlayer.getField().getCards());
             Card toTrash = selectCard(fieldCards, "Replace: ");
             if (toTrash == null) {
-                System.out.println("Play cancelled.");
+                println("Play cancelled.");
                 return;
             }
             gameState.trash(currentPlayer, toTrash);
-            System.out.println(colorize(toTrash.getData().name(), toTrash.getData().color()) + " sent to trash.");
+            println(colorize(toTrash.getData().name(), toTrash.getData().color()) + " sent to trash.");
         } else if (selectedType == CardType.Stage && !currentPlayer.getStage().isEmpty()) {
             Card existing = currentPlayer.getStage().getCards().get(0);
             boolean confirm = inputHandler.confirm(
                     colorize(existing.getData().name(), existing.getData().color()) + " will be sent to trash. Replace?");
             if (!confirm) {
-                System.out.println("Play cancelled.");
+                println("Play cancelled.");
                 return;
             }
             gameState.trash(currentPlayer, existing);
-            System.out.println(colorize(existing.getData().name(), existing.getData().color()) + " sent to trash.");
+            println(colorize(existing.getData().name(), existing.getData().color()) + " sent to trash.");
         }
 
         gameState.playCard(currentPlayer, selected);
-        System.out.println("Played: " + colorize(selected.getData().name(), selected.getData().color()));
+        println("Played: " + colorize(selected.getData().name(), selected.getData().color()));
     }
 
     /**
@@ -513,7 +540,7 @@ public class CliController {
         }
 
         if (availableDons.isEmpty()) {
-            System.out.println("No available Don cards to attach.");
+            println("No available Don cards to attach.");
             return;
         }
         // For simplicity, auto-select the first available Don
@@ -528,17 +555,17 @@ public class CliController {
             fieldCards.add(currentPlayer.getLeader());
         }
         if (fieldCards.isEmpty()) {
-            System.out.println("No characters to attach to.");
+            println("No characters to attach to.");
             return;
         }
 
-        System.out.println("Select a character to attach the Don to:");
+        println("Select a character to attach the Don to:");
         Card target = selectCard(fieldCards, "Character: ");
         if (target == null)
             return;
 
         gameState.attachDon(target, selectedDon);
-        System.out.println("Don attached to " + target.getData().name()
+        println("Don attached to " + target.getData().name()
                 + " (total power: " + target.getTotalPower() + ")");
     }
 }
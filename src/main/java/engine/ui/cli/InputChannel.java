@@ -0,0 +1,57 @@
+package engine.ui.cli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+
+/**
+ * Where a human seat reads its input lines and writes its prompts and board
+ * views. The console is one channel; the game server gives every seat of
+ * every match its own (see engine.server.MatchChannel), so matches never
+ * share a stream.
+ */
+public interface InputChannel {
+
+    /**
+     * Blocks until the player sends a line and returns it without the line
+     * terminator, or returns null once the channel is closed.
+     */
+    String readLine();
+
+    /**
+     * Writes text to the player as is; callers add their own line breaks.
+     */
+    void print(String text);
+
+    /**
+     * Returns the channel on System.in and System.out.
+     */
+    static InputChannel console() {
+        return Console.INSTANCE;
+    }
+
+    // System.in can only be read through one buffered reader, so every
+    // console channel is this one
+    final class Console implements InputChannel {
+        private static final Console INSTANCE = new Console();
+        private final BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+
+        private Console() {
+        }
+
+        @Override
+        public String readLine() {
+            try {
+                return in.readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void print(String text) {
+            System.out.print(text);
+        }
+    }
+}
@@ -1,7 +1,25 @@
 package engine.ui.cli;
-import java.util.Scanner;
 public class InputHandler {
-    private static final Scanner scanner = new Scanner(System.in);
+    private final InputChannel channel;
+
+    /**
+     * Creates a handler on the console.
+     */
+    public InputHandler() {
+        this(InputChannel.console());
+    }
+
+    /**
+     * Creates a handler that prompts and reads on the given channel.
+     */
+    public InputHandler(InputChannel channel) {
+        this.channel = channel;
+    }
+
+    public InputChannel getChannel() {
+        return channel;
+    }
+
     /**
      * Reads an integer input from the user, prompting them with the provided message.
      * @param prompt The message to display to the user when asking for input.
@@ -9,19 +27,20 @@ public class InputHandler {
      * @param max The maximum acceptable integer value (inclusive).
      * @return The integer value entered by the user. If the input is not a valid integer, 
      * it will prompt the user again until a valid integer is entered.
+     * @throws IllegalStateException if the channel closes before a valid answer.
      */
     public int readInt(String prompt, int min, int max) {
         while (true) {
-            System.out.print(prompt);
+            channel.print(prompt);
             try {
-               int input = Integer.parseInt(scanner.nextLine());
+               int input = Integer.parseInt(nextLine().trim());
                if (input >= min && input <= max) {
                    return input;
                } else {
-                   System.out.println("Input must be between " + min + " and " + max + ".");
+                   channel.print("Input must be between " + min + " and " + max + ".\n");
                }
             } catch (NumberFormatException e) {
-                System.out.println("Invalid input. Please enter a valid integer.");
+                channel.print("Invalid input. Please enter a valid integer.\n");
             }
         }
     }
@@ -29,27 +48,37 @@ public class InputHandler {
      * Reads a string input from the user, prompting them with the provided message.
      * @param prompt The message to display to the user when asking for input.
      * @return The string entered by the user.
+     * @throws IllegalStateException if the channel is closed.
      */
     public String readString(String prompt) {
-        System.out.print(prompt);
-        return scanner.nextLine();
+        channel.print(prompt);
+        return nextLine();
     }
     /**
      * Prompts the user for a yes/no confirmation.
      * @param prompt The message to display to the user when asking for confirmation.
      * @return true if the user confirms with 'y' or 'yes', false if the user responds with 'n' or 'no'.
+     * @throws IllegalStateException if the channel closes before a valid answer.
      */
     public boolean confirm(String prompt) {
         while (true) {
-            System.out.print(prompt + " (y/n): ");
-            String input = scanner.nextLine().trim().toLowerCase();
+            channel.print(prompt + " (y/n): ");
+            String input = nextLine().trim().toLowerCase();
             if (input.equals("y") || input.equals("yes")) {
                 return true;
             } else if (input.equals("n") || input.equals("no")) {
                 return false;
             } else {
-                System.out.println("Invalid input. Please enter 'y' or 'n'.");
+                channel.print("Invalid input. Please enter 'y' or 'n'.\n");
             }
         }
     }
+
+    private String nextLine() {
+        String line = channel.readLine();
+        if (line == null) {
+            throw new IllegalStateException("Input channel closed.");
+        }
+        return line;
+    }
 }
@@ -0,0 +1,293 @@
+package engine.zones;
+
+import engine.cards.Card;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.random.RandomGenerator;
+
+/**
+ * Array-backed ring buffer of cards used as the storage for every Zone.
+ *
+ * Index 0 is the top of the zone (the end add() and draw() work on) and
+ * size() - 1 is the bottom. Adding or removing at either end is O(1), index
+ * access is O(1), and removing from the middle shifts whichever side is
+ * shorter. The backing array doubles when full and never shrinks, so a zone
+ * that has reached its working size stops allocating.
+ *
+ * view() exposes a live, read-only List over the deque that is created once
+ * and reused, so handing the zone's cards to callers costs nothing. Its
+ * iterators are fail-fast: every change to the deque bumps the view's
+ * modCount, so iterating while the deque changes throws
+ * ConcurrentModificationException instead of skipping or repeating cards.
+ */
+public final class CardDeque {
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private Card[] elements;
+    private int head;
+    private int size;
+    private final View view = new View();
+
+    public CardDeque() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CardDeque(int initialCapacity) {
+        this.elements = new Card[powerOfTwoAtLeast(initialCapacity)];
+    }
+
+    // -------------------------------------------------------------------------
+    // End operations
+    // -------------------------------------------------------------------------
+
+    public void addFirst(Card card) {
+        ensureCapacity(size + 1);
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = card;
+        size++;
+        view.modified();
+    }
+
+    public void addLast(Card card) {
+        ensureCapacity(size + 1);
+        elements[physical(size)] = card;
+        size++;
+        view.modified();
+    }
+
+    /**
+     * Removes and returns the top card.
+     *
+     * @throws NoSuchElementException if the deque is empty.
+     */
+    public Card removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("Deque is empty");
+        }
+        Card card = elements[head];
+        elements[head] = null;
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        view.modified();
+        return card;
+    }
+
+    /**
+     * Removes and returns the bottom card.
+     *
+     * @throws NoSuchElementException if the deque is empty.
+     */
+    public Card removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("Deque is empty");
+        }
+        int last = physical(size - 1);
+        Card card = elements[last];
+        elements[last] = null;
+        size--;
+        view.modified();
+        return card;
+    }
+
+    /** Returns the top card, or null if empty. */
+    public Card peekFirst() {
+        return size == 0 ? null : elements[head];
+    }
+
+    /** Returns the bottom card, or null if empty. */
+    public Card peekLast() {
+        return size == 0 ? null : elements[physical(size - 1)];
+    }
+
+    // -------------------------------------------------------------------------
+    // Indexed operations
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns the card at the given position, 0 being the top.
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public Card get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return elements[physical(index)];
+    }
+
+    /**
+     * Returns the position of the given card (by identity), or -1.
+     */
+    public int indexOf(Card card) {
+        int mask = elements.length - 1;
+        for (int i = 0; i < size; i++) {
+            if (elements[(head + i) & mask] == card) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(Card card) {
+        return indexOf(card) >= 0;
+    }
+
+    /**
+     * Removes the given card (by identity), shifting whichever side of it is
+     * shorter.
+     *
+     * @return true if the card was present.
+     */
+    public boolean remove(Card card) {
+        int index = indexOf(card);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Removes and returns the card at the given position, 0 being the top.
+     */
+    public Card removeAt(int index) {
+        Card card = get(index);
+        int mask = elements.length - 1;
+        if (index < size / 2) {
+            // Shift the cards above it down by one, then drop the old head
+            for (int i = index; i > 0; i--) {
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+            elements[head] = null;
+            head = (head + 1) & mask;
+        } else {
+            // Shift the cards below it up by one, then drop the old tail
+            for (int i = index; i < size - 1; i++) {
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+            elements[(head + size - 1) & mask] = null;
+        }
+        size--;
+        view.modified();
+        return card;
+    }
+
+    // -------------------------------------------------------------------------
+    // Bulk operations
+    // -------------------------------------------------------------------------
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        int mask = elements.length - 1;
+        for (int i = 0; i < size; i++) {
+            elements[(head + i) & mask] = null;
+        }
+        head = 0;
+        size = 0;
+        view.modified();
+    }
+
+    /**
+     * Shuffles the cards in place with a Fisher-Yates pass.
+     *
+     * @param random The source of randomness.
+     */
+    public void shuffle(RandomGenerator random) {
+        int mask = elements.length - 1;
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int a = (head + i) & mask;
+            int b = (head + j) & mask;
+            Card tmp = elements[a];
+            elements[a] = elements[b];
+            elements[b] = tmp;
+        }
+        view.modified();
+    }
+
+    /**
+     * Copies the cards, top first, into a new array.
+     */
+    public Card[] toArray() {
+        Card[] result = new Card[size];
+        copyInto(result);
+        return result;
+    }
+
+    /**
+     * Returns a live, read-only List over this deque. The same instance is
+     * returned on every call; it reflects later changes to the deque, and its
+     * iterators throw ConcurrentModificationException once the deque changes
+     * under them.
+     */
+    public List<Card> view() {
+        return view;
+    }
+
+    // -------------------------------------------------------------------------
+    // Internals
+    // -------------------------------------------------------------------------
+
+    private int physical(int index) {
+        return (head + index) & (elements.length - 1);
+    }
+
+    /** Grows to the next power of two that fits, unrolling the ring to index 0. */
+    private void ensureCapacity(int required) {
+        if (required <= elements.length) {
+            return;
+        }
+        Card[] grown = new Card[powerOfTwoAtLeast(required)];
+        copyInto(grown);
+        elements = grown;
+        head = 0;
+    }
+
+    /** Copies the cards, top first, to the start of the given array. */
+    private void copyInto(Card[] target) {
+        int firstChunk = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, target, 0, firstChunk);
+        System.arraycopy(elements, 0, target, firstChunk, size - firstChunk);
+    }
+
+    private static int powerOfTwoAtLeast(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    private final class View extends AbstractList<Card> implements RandomAccess {
+        // Called on every change to the deque, for AbstractList's fail-fast iterators
+        void modified() {
+            modCount++;
+        }
+
+        @Override
+        public Card get(int index) {
+            return CardDeque.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return (o instanceof Card card) ? CardDeque.this.indexOf(card) : -1;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+    }
+}
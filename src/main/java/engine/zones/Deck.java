@@ -42,7 +42,7 @@ public class Deck extends Zone {
         List<Card> drawnCards = new ArrayList<>();
         for (int i = 0; i < count; i++) {
             if (cards.isEmpty()) {
-                System.out.println("No more cards to draw from " + type);
+                messages().message("No more cards to draw from " + type);
                 break;
             }
             Card drawnCard = this.remove();
@@ -74,12 +74,11 @@ public class Deck extends Zone {
      * @return The top card of the deck, or null if the deck is empty.
      */
     public Card peek() {
-        List<Card> deck = getCards();
-        if (deck.isEmpty()) {
-            System.out.println("No cards to peek in " + type);
+        if (cards.isEmpty()) {
+            messages().message("No cards to peek in " + type);
             return null;
         }
-        return deck.get(deck.size() - 1);
+        return cards.peekLast();
     }
 
     /**
@@ -90,15 +89,14 @@ public class Deck extends Zone {
      *         has less than 'count' cards.
      */
     public List<Card> peek(int count) {
-        List<Card> deck = getCards();
-        int actualCount = Math.min(count, deck.size());
-        List<Card> result = new ArrayList<>();
+        int actualCount = Math.min(count, cards.size());
+        List<Card> result = new ArrayList<>(actualCount);
 
-        for (int i = deck.size() - 1; i >= deck.size() - actualCount; i--) {
-            result.add(deck.get(i));
+        for (int i = cards.size() - 1; i >= cards.size() - actualCount; i--) {
+            result.add(cards.get(i));
         }
         if (result.size() < count) {
-            System.out.println("Only " + result.size() + " cards available to peek in " + type);
+            messages().message("Only " + result.size() + " cards available to peek in " + type);
         }
         return result;
     }
@@ -1,30 +1,48 @@
 package engine.zones;
 import engine.player.Player;
 import engine.cards.Card;
-import java.util.Deque;
-import java.util.LinkedList;
+import engine.core.MessageSink;
+import engine.core.ZobristHash;
 import java.util.List;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.random.RandomGenerator;
 
 public class Zone {
     protected ZoneType type;
     protected Player owner;
     protected int maxSize;
-    protected Deque<Card> cards;   
+    protected CardDeque cards;
+
+    // Copy-on-write support for GameSnapshot: every mutation bumps version, and
+    // snapshotContents() only builds a new array when the zone changed since the
+    // last capture or restore.
+    private int version;
+    private Card[] capturedContents;
+    private int capturedVersion = -1;
+
     public Zone(ZoneType type, Player owner) {
         this.type = type;
         this.owner = owner;
-        this.cards = new LinkedList<>();
+        this.cards = new CardDeque();
     }
     public Zone(ZoneType type, Player owner, List<Card> initialCards) {
         this.type = type;
         this.owner = owner;
-        this.cards = new LinkedList<>(initialCards);
+        this.cards = new CardDeque(initialCards.size());
+        for (Card card : initialCards) {
+            cards.addLast(card);
+        }
     }
     // Accessor methods
+    /**
+     * Returns a read-only view of the cards in this zone, top card first. The
+     * view is live and allocation-free: it reflects later changes to the zone,
+     * and iterating it across a change throws ConcurrentModificationException.
+     * Copy it (e.g. new ArrayList&lt;&gt;(zone.getCards())) before moving cards
+     * in or out of the zone while walking its cards, or when the list must
+     * stay as it was.
+     */
     public List<Card> getCards() {
-        return Collections.unmodifiableList(new ArrayList<>(cards));
+        return cards.view();
     }
     public ZoneType getType() {
         return type;
@@ -34,12 +52,16 @@ public class Zone {
     }
     // Utility methods
     public void add(Card card) {
+        version++;
         cards.addFirst(card);
         card.setZone(this);
+        hashChanged(card);
     }
     public void addBottom(Card card) {
+        version++;
         cards.addLast(card);
         card.setZone(this);
+        hashChanged(card);
     }
     public void add(List<Card> newCards) {
         for (Card card : newCards) {
@@ -53,30 +75,49 @@ public class Zone {
     }
     public Card remove(){
         if (!cards.isEmpty()) {
-            Card removedCard = cards.remove();
+            version++;
+            Card removedCard = cards.removeFirst();
             removedCard.setZone(null);
+            hashChanged(removedCard);
             return removedCard;
         }
         return null;
     }
     public Card remove(Card card) {
-        if (!cards.contains(card)) {
-            System.out.println("Card not found in " + type);
-            return null;
+        return (removeIndexed(card) < 0) ? null : card;
+    }
+    /**
+     * Removes the card and returns the index it had, 0 being the top, or -1
+     * if it is not in this zone.
+     */
+    public int removeIndexed(Card card) {
+        int index = cards.indexOf(card);
+        if (index < 0) {
+            MessageSink messages = messages();
+            if (messages.isEnabled()) {
+                messages.message("Card not found in " + type);
+            }
+            return -1;
         }
-        cards.remove(card);
+        cards.removeAt(index);
+        version++;
         card.setZone(null);
-        return card;
+        hashChanged(card);
+        return index;
     }
-    public void shuffle() {
-        List<Card> tempList = new ArrayList<>(cards);
-        java.util.Collections.shuffle(tempList);
-        cards.clear();
-        cards.addAll(tempList);
+    /**
+     * Shuffles with the given source. Games pass their GameState.getRandom()
+     * (GameState.shuffle() does) so the result can be replayed.
+     */
+    public void shuffle(RandomGenerator random) {
+        version++;
+        cards.shuffle(random);
     }
     public void clear() {
-        for (Card card : cards) {
-            card.setZone(null);
+        version++;
+        for (int i = 0; i < cards.size(); i++) {
+            cards.get(i).setZone(null);
+            hashChanged(cards.get(i));
         }
         cards.clear();
     }
@@ -89,4 +130,57 @@ public class Zone {
     public boolean isEmpty() {
         return cards.isEmpty();
     }
+
+    /**
+     * Returns the zone's contents, top card first, as an array that callers must
+     * treat as immutable. The same array is returned for as long as the zone is
+     * not modified, so repeated snapshots of an untouched zone share storage.
+     *
+     * @return The cards in this zone, top first.
+     */
+    public Card[] snapshotContents() {
+        if (capturedVersion != version) {
+            capturedContents = cards.toArray();
+            capturedVersion = version;
+        }
+        return capturedContents;
+    }
+
+    /**
+     * Replaces the zone's contents with a previously captured array and points
+     * every card back at this zone. The array is retained (not copied) as the
+     * zone's current capture, so it must not be modified afterwards. Does not
+     * update the position hash; the caller recomputes it (see
+     * GameState.restore()).
+     *
+     * @param contents The cards to restore, top first.
+     */
+    public void restoreContents(Card[] contents) {
+        if (capturedVersion == version && capturedContents == contents) {
+            return; // Untouched since this array was captured
+        }
+        cards.clear();
+        for (Card card : contents) {
+            cards.addLast(card);
+            card.setZone(this);
+        }
+        version++;
+        capturedContents = contents;
+        capturedVersion = version;
+    }
+
+    /**
+     * Returns the sink of this zone's owner, or NONE for an unowned zone.
+     */
+    protected MessageSink messages() {
+        return (owner != null) ? owner.getMessageSink() : MessageSink.NONE;
+    }
+
+    // Reports a card entering or leaving this zone to the game's position hash
+    private void hashChanged(Card card) {
+        ZobristHash hash = (owner != null) ? owner.getZobrist() : null;
+        if (hash != null) {
+            hash.toggleZone(this, card);
+        }
+    }
 }
@@ -5,6 +5,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import engine.cards.abilities.ParsedAbility;
+import engine.cards.abilities.Parser;
+import engine.data.BinaryCardPool;
+import engine.data.CardDatabase;
+import engine.data.CardPoolWriter;
+
 import java.io.File;
 import java.nio.file.Path;
 import java.util.*;
@@ -21,6 +27,10 @@ import java.util.*;
  *   - Deduplicates by card_set_id, keeping the entry with the lowest market_price
  *     (base version, not the SP/Parallel)
  *
+ * After the JSON pass it also writes compiled/data/cards.bin, a single binary
+ * card pool (see CardPoolWriter) that CardDatabase.fromBinary() memory-maps so
+ * simulation workers can start without parsing any JSON.
+ *
  * Usage: run main() once after CardScraper to populate compiled/data/.
  */
 public class CardCompiler {
@@ -95,6 +105,20 @@ public class CardCompiler {
 
         System.out.printf("%nDone. %d files, %d total cards written to %s%n",
                 totalFiles, totalCards, COMPILED_DIR);
+
+        writeBinaryPool();
+    }
+
+    /**
+     * Loads the freshly compiled JSON through CardDatabase (so the binary pool
+     * holds exactly what the engine would deserialize) and writes cards.bin.
+     */
+    static void writeBinaryPool() throws Exception {
+        CardDatabase compiled = new CardDatabase(COMPILED_DIR);
+        System.out.println(compiled.getLoadReport());
+        Path binary = Path.of(COMPILED_DIR, BinaryCardPool.DEFAULT_FILE);
+        CardPoolWriter.write(compiled.getAllCards(), binary);
+        System.out.printf("Binary card pool: %d cards written to %s%n", compiled.size(), binary);
     }
 
     /**
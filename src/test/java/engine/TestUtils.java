@@ -2,7 +2,13 @@ package engine;
 
 import engine.cards.Card;
 import engine.cards.CardData;
+import engine.core.GameState;
+import engine.core.TurnManager;
 import engine.player.Player;
+import engine.setup.GameSetup;
+import engine.simulation.RandomController;
+
+import java.util.Random;
 
 /** Shared factory helpers for unit tests across all packages. */
 public final class TestUtils {
@@ -18,4 +24,24 @@ public final class TestUtils {
     public static Card makeCard(Player owner, int power) {
         return new Card("c-" + power, makeCardData(power), owner);
     }
+
+    /**
+     * Sets up a game and plays both seats with RandomControllers until the
+     * given turn, for tests that need a realistic board (cards on field, Don
+     * attached, trash).
+     */
+    public static void playUntilTurn(GameState gameState, TurnManager turnManager, int turn) {
+        GameSetup gameSetup = new GameSetup(gameState);
+        gameSetup.initializeGame();
+        gameSetup.setUpLife(gameState.getPlayer1());
+        gameSetup.setUpLife(gameState.getPlayer2());
+        RandomController controller = new RandomController(gameState, turnManager, new Random(7));
+        while (turnManager.getTurnCount() < turn && !gameState.isGameOver()) {
+            if (turnManager.getCurrentPhase().isInteractive()) {
+                controller.runMainPhases(turnManager.getActivePlayer());
+            } else {
+                turnManager.advancePhase();
+            }
+        }
+    }
 }
@@ -3,7 +3,9 @@ package engine.battle;
 import engine.TestUtils;
 import engine.cards.Card;
 import engine.cards.CardData;
+import engine.cards.DonCard;
 import engine.cards.Leader;
+import engine.cards.abilities.Cost;
 import engine.core.GameState;
 import engine.player.Player;
 import engine.core.TurnManager;
@@ -164,6 +166,34 @@ public class BattleHandlerTest {
         assertFalse(p2.getField().contains(target));
     }
 
+    @Test
+    void resolve_koReturnsAttachedDonToTheCostArea() {
+        for (int i = 0; i < 3; i++) {
+            p2.getDonDeck().add(new DonCard(p2));
+        }
+        gameState.drawDon(p2, 3);
+        Card target = TestUtils.makeCard(p2, 5000);
+        p2.getField().add(target);
+        target.rest();
+        for (int i = 0; i < 2; i++) {
+            DonCard don = (DonCard) p2.getCost().getCards().stream()
+                    .filter(c -> !c.isRested() && !((DonCard) c).isAttached()).findFirst().orElseThrow();
+            gameState.attachDon(target, don);
+        }
+        assertEquals(1, p2.getActiveDon());
+
+        battleSystem.resolve(TestUtils.makeCard(p1, 8000), target, 0);
+        assertTrue(p2.getTrash().contains(target));
+        assertTrue(target.getAttachedDons().isEmpty());
+        assertEquals(1, p2.getActiveDon());
+        assertEquals(2, p2.getRestedDon());
+
+        // The returned DON!! are spendable again once refreshed
+        gameState.refreshDon(p2);
+        assertEquals(3, p2.getActiveDon());
+        assertTrue(gameState.payCost(p2, new Cost(Cost.CostType.DON, 3)));
+    }
+
     @Test
     void resolve_attackerLoses_targetStaysOnField() {
         Card attacker = TestUtils.makeCard(p1, 4000);
@@ -0,0 +1,129 @@
+package engine.cards.abilities;
+
+import engine.TestUtils;
+import engine.cards.Card;
+import engine.cards.effects.EffectData;
+import engine.cards.effects.EffectType;
+import engine.cards.effects.Target;
+import engine.cards.keywords.Keyword;
+import engine.cards.types.CardType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AbilityFactoryTest {
+
+    @Test
+    void compilesOnPlayTargetedRest() {
+        List<AbilityData> abilities = AbilityFactory.compile(
+                "[On Play] Rest up to 1 of your opponent's Characters with a cost of 4 or less.");
+
+        assertEquals(1, abilities.size());
+        AbilityData ability = abilities.get(0);
+        assertEquals(Trigger.ON_PLAY, ability.triggerType());
+        assertNull(ability.cost());
+        assertEquals(1, ability.effects().size());
+
+        EffectData effect = ability.effects().get(0);
+        assertEquals(EffectType.REST, effect.type());
+        Target target = effect.target();
+        assertEquals(Target.TargetPlayer.OPPONENT, target.player());
+        assertEquals(CardType.Character, target.cardType());
+        assertEquals(1, target.max());
+        assertEquals(4, target.maxCost());
+        assertEquals(Target.NO_LIMIT, target.maxPower());
+    }
+
+    @Test
+    void compilesDonRequirementAndTimingCondition() {
+        AbilityData ability = AbilityFactory.compile(
+                "[DON!! x1] [Your Turn] All of your Characters gain +1000 power.").get(0);
+
+        assertEquals(Trigger.PASSIVE, ability.triggerType());
+        assertEquals(1, ability.donRequired());
+        assertEquals(Condition.YOUR_TURN, ability.condition());
+        EffectData boost = ability.effects().get(0);
+        assertEquals(EffectType.POWER_BOOST, boost.type());
+        assertEquals(1000, boost.value());
+        assertEquals(Integer.MAX_VALUE, boost.target().max());
+        assertEquals(EffectData.PERMANENT, boost.duration());
+    }
+
+    @Test
+    void compilesActivationCostAndOncePerTurn() {
+        List<AbilityData> abilities = AbilityFactory.compile(
+                "[DON!! x2] This Character cannot be K.O.'d in battle by \"Strike\" attribute Characters.   "
+                        + "[Activate:Main] [Once Per Turn] Give this Character up to 2 rested DON!! cards.");
+
+        assertEquals(2, abilities.size());
+        assertTrue(abilities.get(0).effects().isEmpty(), "K.O.'d is not a K.O. effect");
+        AbilityData activate = abilities.get(1);
+        assertEquals(Trigger.ACTIVATED_MAIN, activate.triggerType());
+        assertTrue(activate.isOncePerTurn());
+        assertEquals(EffectType.ATTACH_DON, activate.effects().get(0).type());
+        assertEquals(2, activate.effects().get(0).value());
+
+        Cost cost = AbilityFactory.compile("[Activate:Main] (1) (You may rest the specified number of DON!! "
+                + "cards in your cost area) You may rest this Character: Draw 1 card.").get(0).cost();
+        assertEquals(Cost.CostType.DON, cost.type());
+        assertEquals(1, cost.amount());
+    }
+
+    @Test
+    void compilesCounterEventWithBattleDuration() {
+        EffectData effect = AbilityFactory.compile(
+                "[Counter] Up to 1 of your Leader or Character cards gains +2000 power during this battle.")
+                .get(0).effects().get(0);
+
+        assertEquals(EffectType.POWER_BOOST, effect.type());
+        assertEquals(2000, effect.value());
+        assertEquals(EffectData.THIS_BATTLE, effect.duration());
+        assertEquals(Target.TargetPlayer.SELF, effect.target().player());
+        assertNull(effect.target().cardType());
+    }
+
+    @Test
+    void compilesSeveralEffectsInTextOrder() {
+        List<EffectData> effects = AbilityFactory.compile(
+                "[Main] Look at 5 cards from the top of your deck; reveal up to 1 \"Straw Hat Crew\" type "
+                        + "Character card and add it to your hand. Then, place the rest at the bottom of your deck "
+                        + "in any order.").get(0).effects();
+
+        assertEquals(List.of(EffectType.SEARCH_DECK, EffectType.ADD_TO_HAND, EffectType.MOVE_TO_BOTTOM_DECK),
+                effects.stream().map(EffectData::type).toList());
+        assertEquals(5, effects.get(0).value());
+    }
+
+    @Test
+    void extractsKeywords() {
+        AbilityData keywords = AbilityFactory.compile(
+                "[Double Attack] (This card deals 2 damage.) [Banish] (When this card deals damage, the target "
+                        + "card is trashed without activating its Trigger.)").get(0);
+        assertEquals(Trigger.KEYWORD, keywords.triggerType());
+        assertEquals(Set.of(Keyword.DOUBLE_ATTACK, Keyword.BANE), keywords.keywords());
+        assertTrue(keywords.effects().isEmpty());
+
+        AbilityData ko = AbilityFactory.compile(
+                "[On K.O.] K.O. up to 1 of your opponent's Characters with 4000 power or less.").get(0);
+        assertTrue(ko.keywords().isEmpty());
+        assertEquals(EffectType.KO, ko.effects().get(0).type());
+        assertEquals(4000, ko.effects().get(0).target().maxPower());
+    }
+
+    @Test
+    void cardsShareCachedAbilities() {
+        String text = "[On Play] Draw 2 cards and trash 1 card from your hand.";
+        List<AbilityData> first = AbilityFactory.abilitiesOf(text);
+        assertSame(first, AbilityFactory.abilitiesOf(new String(text)));
+        assertEquals(List.of(EffectType.DRAW, EffectType.TRASH),
+                first.get(0).effects().stream().map(EffectData::type).toList());
+
+        Card vanilla = TestUtils.makeCard(null, 3000);
+        assertTrue(vanilla.getAbilities().isEmpty());
+        assertSame(vanilla.getAbilities(), vanilla.copy(null).getAbilities());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(null));
+    }
+}
@@ -1,4 +1,4 @@
-package tools;
+package engine.cards.abilities;
 
 import org.junit.jupiter.api.Test;
 
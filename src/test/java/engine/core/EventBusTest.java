@@ -0,0 +1,127 @@
+package engine.core;
+
+import engine.battle.BattleSystem;
+import engine.cards.Card;
+import engine.cards.CardData;
+import engine.cards.abilities.Trigger;
+import engine.cards.types.CardType;
+import engine.player.Player;
+import engine.setup.GameFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventBusTest {
+
+    private GameState gameState;
+    private Player p1;
+    private Player p2;
+    private final List<String> fired = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        gameState = GameFactory.createTestGame();
+        p1 = gameState.getPlayer1();
+        p2 = gameState.getPlayer2();
+        gameState.getEventBus().setHandler((state, event, card, ability) ->
+                fired.add(event.trigger() + ":" + card.getData().name()));
+    }
+
+    private static Card makeCard(Player owner, String name, CardType type, String text) {
+        CardData data = new CardData("EV-" + name, "EV", name, text, "Events", null, type, null, null,
+                0, 3000, 0, 1000, 0.0);
+        return new Card(data.id(), data, owner);
+    }
+
+    @Test
+    void onPlayFiresOnlyForThePlayedCard() {
+        Card quiet = makeCard(p1, "Quiet", CardType.Character, "[On Play] Draw 1 card.");
+        Card played = makeCard(p1, "Played", CardType.Character, "[On Play] Draw 1 card.");
+        gameState.moveCard(quiet, p1.getField());
+        gameState.moveCard(played, p1.getHand());
+
+        gameState.playCard(p1, played);
+
+        assertEquals(List.of("ON_PLAY:Played"), fired);
+    }
+
+    @Test
+    void koFiresWhenACharacterIsTrashedFromTheField() {
+        Card character = makeCard(p2, "Victim", CardType.Character, "[On K.O.] Draw 1 card.");
+        gameState.moveCard(character, p2.getField());
+        gameState.trash(p2, character);
+        assertEquals(List.of("ON_KO:Victim"), fired);
+
+        fired.clear();
+        Card fromHand = makeCard(p2, "Discarded", CardType.Character, "[On K.O.] Draw 1 card.");
+        gameState.moveCard(fromHand, p2.getHand());
+        gameState.trash(p2, fromHand);
+        assertTrue(fired.isEmpty());
+    }
+
+    @Test
+    void endOfTurnVisitsOnlySubscribedCardsInPlay() {
+        Card onField = makeCard(p1, "Mine", CardType.Character, "[End of Your Turn] Draw 1 card.");
+        Card inHand = makeCard(p1, "Waiting", CardType.Character, "[End of Your Turn] Draw 1 card.");
+        Card theirs = makeCard(p2, "Theirs", CardType.Character, "[End of Your Opponent's Turn] Draw 1 card.");
+        gameState.moveCard(onField, p1.getField());
+        gameState.moveCard(inHand, p1.getHand());
+        gameState.moveCard(theirs, p2.getField());
+
+        TurnManager turnManager = new TurnManager(gameState);
+        for (Phase phase : new Phase[] { Phase.DON, Phase.MAIN, Phase.END }) {
+            assertEquals(phase, turnManager.getCurrentPhase());
+            turnManager.advancePhase();
+        }
+
+        assertEquals(List.of("END_OF_YOUR_TURN:Mine", "END_OF_OPPONENTS_TURN:Theirs"), fired);
+        assertEquals(1, gameState.getEventBus().subscriberCount(p1, Trigger.END_OF_YOUR_TURN));
+    }
+
+    @Test
+    void subscriptionsFollowCardsInAndOutOfPlay() {
+        EventBus bus = gameState.getEventBus();
+        Card card = makeCard(p1, "Mover", CardType.Character, "[End of Your Turn] Draw 1 card.");
+        gameState.moveCard(card, p1.getHand());
+        assertEquals(0, bus.subscriberCount(p1, Trigger.END_OF_YOUR_TURN));
+
+        gameState.moveCard(card, p1.getField());
+        assertEquals(1, bus.subscriberCount(p1, Trigger.END_OF_YOUR_TURN));
+
+        GameSnapshot snapshot = gameState.snapshot();
+        gameState.moveCard(card, p1.getTrash());
+        assertEquals(0, bus.subscriberCount(p1, Trigger.END_OF_YOUR_TURN));
+
+        gameState.restore(snapshot);
+        assertEquals(1, bus.subscriberCount(p1, Trigger.END_OF_YOUR_TURN));
+        GameState copy = gameState.copy();
+        assertEquals(1, copy.getEventBus().subscriberCount(copy.getPlayer1(), Trigger.END_OF_YOUR_TURN));
+    }
+
+    @Test
+    void battleFiresAttackTriggersForBothSides() {
+        Card attacker = makeCard(p1, "Attacker", CardType.Character, "[When Attacking] Draw 1 card.");
+        Card defender = makeCard(p2, "Defender", CardType.Character,
+                "[On Your Opponent's Attack] Draw 1 card.");
+        gameState.moveCard(attacker, p1.getField());
+        gameState.moveCard(defender, p2.getField());
+
+        new BattleSystem(gameState, new TurnManager(gameState)).resolve(attacker, p2.getLeader(), 0);
+
+        assertEquals(List.of("WHEN_ATTACKING:Attacker", "OPPONENTS_ATTACK:Defender"), fired);
+    }
+
+    @Test
+    void noHandlerMeansNoDispatch() {
+        gameState.getEventBus().setHandler(null);
+        Card card = makeCard(p1, "Silent", CardType.Character, "[On Play] Draw 1 card.");
+        gameState.moveCard(card, p1.getHand());
+        gameState.playCard(p1, card);
+        assertEquals(0, gameState.getEventBus().fire(Trigger.ON_PLAY, p1, card, null));
+        assertTrue(fired.isEmpty());
+    }
+}
@@ -0,0 +1,115 @@
+package engine.core;
+
+import engine.cards.Card;
+import engine.cards.CardData;
+import engine.cards.types.CardType;
+import engine.history.ActionLog;
+import engine.player.Player;
+import engine.setup.GameFactory;
+import engine.simulation.RandomController;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameMetricsTest {
+
+    private static GameEngine play(GameState gameState) {
+        Random random = new Random(7);
+        GameEngine engine = GameEngine.headless(gameState,
+                RandomController.factory(random), RandomController.factory(random));
+        engine.run();
+        return engine;
+    }
+
+    @Test
+    void histogramBucketsByPowerOfTwo() {
+        Histogram histogram = new Histogram();
+        histogram.add(0);
+        histogram.add(1);
+        histogram.add(5);
+        histogram.add(7);
+        assertEquals(1, histogram.bucketCount(0));
+        assertEquals(1, histogram.bucketCount(1));
+        assertEquals(2, histogram.bucketCount(Histogram.bucketOf(4)));
+        assertEquals(4, Histogram.lowerBound(Histogram.bucketOf(7)));
+        assertEquals(0, histogram.min());
+        assertEquals(7, histogram.max());
+        assertEquals(13, histogram.sum());
+        assertEquals("{\"count\":4,\"sum\":13,\"min\":0,\"max\":7,\"mean\":3.25,\"buckets\":[[0,1],[1,1],[4,2]]}",
+                histogram.toJson());
+    }
+
+    @Test
+    void countsAGameAndAddsItToTheTotals() {
+        EngineMetrics totals = new EngineMetrics();
+        GameMetrics metrics = totals.newGame();
+        GameState gameState = GameFactory.createTestGame(11);
+        gameState.setMetrics(metrics);
+        GameEngine engine = play(gameState);
+
+        assertEquals(engine.getActionLog().size(), metrics.totalActions());
+        assertEquals(1, metrics.get(ActionLog.Type.SETUP));
+        assertEquals(2, metrics.get(ActionLog.Type.LIFE));
+        assertEquals(engine.getTurnManager().getTurnCount(), metrics.getTurns());
+        assertEquals(metrics.get(ActionLog.Type.ATTACK), metrics.get(GameMetrics.Counter.BATTLES));
+        assertTrue(metrics.get(GameMetrics.Counter.DRAWS) > 0);
+        assertTrue(metrics.get(GameMetrics.Counter.DON_DRAWN) > 0);
+        long phases = 0;
+        for (Phase phase : Phase.values()) {
+            phases += metrics.phaseNanos(phase).count();
+        }
+        assertEquals(metrics.get(ActionLog.Type.ADVANCE), phases);
+
+        assertEquals(1, totals.games());
+        assertEquals(metrics.get(GameMetrics.Counter.DRAWS), totals.get(GameMetrics.Counter.DRAWS));
+        assertEquals(metrics.getTurns(), totals.gameTurns().max());
+        assertTrue(totals.toJson().startsWith("{\"games\":1,\"actions\":{\"SETUP\":1,"));
+    }
+
+    @Test
+    void refusedPlaysAreNotCounted() {
+        Player p1 = new Player();
+        GameState gameState = new GameState(p1, new Player());
+        GameMetrics metrics = new GameMetrics();
+        gameState.setMetrics(metrics);
+        CardData free = new CardData("C", "SET", "Char", "", "Set",
+                null, CardType.Character, null, null, 0, 1000, null, null, 0.0);
+        CardData costly = new CardData("K", "SET", "Costly", "", "Set",
+                null, CardType.Character, null, null, 3, 1000, null, null, 0.0);
+
+        Card unaffordable = new Card("k", costly, p1);
+        p1.getHand().add(unaffordable);
+        gameState.playCard(p1, unaffordable);
+        assertEquals(0, metrics.get(ActionLog.Type.PLAY));
+
+        for (int i = 0; i < 6; i++) {
+            Card card = new Card("c" + i, free, p1);
+            p1.getHand().add(card);
+            gameState.playCard(p1, card);
+        }
+        // The sixth is refused because the field is full
+        assertEquals(5, metrics.get(ActionLog.Type.PLAY));
+    }
+
+    @Test
+    void copiesAreNotMeasured() {
+        GameState gameState = GameFactory.createTestGame(11);
+        gameState.setMetrics(new GameMetrics());
+        assertNull(gameState.copy().getMetrics());
+    }
+
+    @Test
+    void resetClearsEveryFigure() {
+        GameMetrics metrics = new GameMetrics();
+        GameState gameState = GameFactory.createTestGame(11);
+        gameState.setMetrics(metrics);
+        play(gameState);
+        metrics.reset();
+        assertEquals(0, metrics.totalActions());
+        assertEquals(0, metrics.get(GameMetrics.Counter.DRAWS));
+        assertEquals(0, metrics.phaseNanos(Phase.MAIN).count());
+        assertEquals(0, metrics.getTurns());
+    }
+}
@@ -0,0 +1,101 @@
+package engine.core;
+
+import engine.cards.Card;
+import engine.player.Player;
+import engine.setup.GameFactory;
+import engine.setup.GameSetup;
+import engine.simulation.BatchRunner;
+import engine.simulation.RandomController;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameRandomTest {
+
+    private static List<String> ids(List<Card> cards) {
+        return cards.stream().map(Card::getCardId).toList();
+    }
+
+    @Test
+    void sameSeedGivesSameSequence() {
+        GameRandom a = new GameRandom(99);
+        GameRandom b = new GameRandom(99);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(a.nextLong(), b.nextLong());
+        }
+        assertNotEquals(new GameRandom(1).nextLong(), new GameRandom(2).nextLong());
+        assertNotEquals(GameRandom.seedFor(5, 0), GameRandom.seedFor(5, 1));
+    }
+
+    @Test
+    void seededTestGamesDealIdenticalDecks() {
+        GameState first = GameFactory.createTestGame(1234);
+        GameState second = GameFactory.createTestGame(1234);
+        assertEquals(1234, first.getSeed());
+        assertEquals(ids(first.getPlayer1().getDeck().getCards()), ids(second.getPlayer1().getDeck().getCards()));
+        assertEquals(ids(first.getPlayer2().getDeck().getCards()), ids(second.getPlayer2().getDeck().getCards()));
+
+        new GameSetup(first).initializeGame();
+        new GameSetup(second).initializeGame();
+        assertEquals(ids(first.getPlayer1().getHand().getCards()), ids(second.getPlayer1().getHand().getCards()));
+    }
+
+    @Test
+    void restoreRewindsTheRandomSource() {
+        GameState gameState = GameFactory.createTestGame(7);
+        Player p1 = gameState.getPlayer1();
+        GameSnapshot snapshot = gameState.snapshot();
+
+        gameState.shuffle(p1);
+        List<String> afterFirstShuffle = ids(p1.getDeck().getCards());
+        gameState.restore(snapshot);
+        gameState.shuffle(p1);
+
+        assertEquals(afterFirstShuffle, ids(p1.getDeck().getCards()));
+    }
+
+    @Test
+    void copyContinuesTheSameSequence() {
+        GameState gameState = GameFactory.createTestGame(7);
+        GameState copy = gameState.copy();
+        gameState.shuffle(gameState.getPlayer2());
+        copy.shuffle(copy.getPlayer2());
+        assertEquals(ids(gameState.getPlayer2().getDeck().getCards()), ids(copy.getPlayer2().getDeck().getCards()));
+
+        // Controllers built on the copy get the seeds the original would hand out next
+        long handedOut = gameState.getRandom().derive().nextLong();
+        GameState later = gameState.copy();
+        long next = gameState.getRandom().derive().nextLong();
+        long fromCopy = later.getRandom().derive().nextLong();
+        assertEquals(next, fromCopy);
+        assertNotEquals(handedOut, fromCopy);
+    }
+
+    @Test
+    void seededGamesReplayBitForBit() {
+        GameEngine first = GameEngine.headless(GameFactory.createTestGame(42),
+                RandomController.factory(), RandomController.factory());
+        first.run();
+        GameEngine second = GameEngine.headless(GameFactory.createTestGame(42),
+                RandomController.factory(), RandomController.factory());
+        second.run();
+
+        assertEquals(first.getTurnManager().getTurnCount(), second.getTurnManager().getTurnCount());
+        assertEquals(first.getGameState().getWinner().getPlayerId(), second.getGameState().getWinner().getPlayerId());
+        assertEquals(ids(first.getGameState().getPlayer1().getTrash().getCards()),
+                ids(second.getGameState().getPlayer1().getTrash().getCards()));
+        assertEquals(ids(first.getGameState().getPlayer2().getField().getCards()),
+                ids(second.getGameState().getPlayer2().getField().getCards()));
+    }
+
+    @Test
+    void batchGamesCanBeReplayedByIndex() {
+        GameEngine replayed = BatchRunner.replay(2024, 3);
+        GameEngine again = BatchRunner.replay(2024, 3);
+        assertEquals(replayed.getTurnManager().getTurnCount(), again.getTurnManager().getTurnCount());
+        assertEquals(ids(replayed.getGameState().getPlayer1().getHand().getCards()),
+                ids(again.getGameState().getPlayer1().getHand().getCards()));
+    }
+}
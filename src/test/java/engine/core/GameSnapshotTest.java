@@ -0,0 +1,137 @@
+package engine.core;
+
+import engine.cards.Card;
+import engine.cards.DonCard;
+import engine.player.Player;
+import engine.setup.GameFactory;
+import engine.setup.GameSetup;
+import engine.zones.Zone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameSnapshotTest {
+
+    private GameState gameState;
+    private Player p1;
+
+    @BeforeEach
+    void setUp() {
+        gameState = GameFactory.createTestGame();
+        GameSetup setup = new GameSetup(gameState);
+        setup.initializeGame();
+        setup.setUpLife(gameState.getPlayer1());
+        setup.setUpLife(gameState.getPlayer2());
+        p1 = gameState.getPlayer1();
+        gameState.drawDon(p1, 3);
+    }
+
+    @Test
+    void restoreUndoesZoneMovesAndFlags() {
+        GameSnapshot snapshot = gameState.snapshot();
+        List<Card> handBefore = List.copyOf(p1.getHand().getCards());
+        int deckBefore = p1.getDeck().size();
+
+        Card played = p1.getHand().getCards().get(0);
+        gameState.moveCard(played, p1.getField());
+        played.setSummonSick(true);
+        played.rest();
+        gameState.draw(p1);
+        p1.getLeader().rest();
+
+        gameState.restore(snapshot);
+
+        assertEquals(handBefore, p1.getHand().getCards());
+        assertEquals(deckBefore, p1.getDeck().size());
+        assertTrue(p1.getField().isEmpty());
+        assertEquals(p1.getHand(), played.getZone());
+        assertFalse(played.isRested());
+        assertFalse(played.isSummonSick());
+        assertFalse(p1.getLeader().isRested());
+    }
+
+    @Test
+    void restoreUndoesDonAttachmentAndLife() {
+        GameSnapshot snapshot = gameState.snapshot();
+        DonCard don = (DonCard) p1.getCost().getCards().get(0);
+        gameState.attachDon(p1.getLeader(), don);
+        gameState.removeLife(p1);
+
+        gameState.restore(snapshot);
+
+        assertFalse(don.isAttached());
+        assertEquals(0, p1.getLeader().countDon());
+        assertEquals(5, p1.getLeader().getLifePoints());
+        assertEquals(5, p1.getLife().size());
+    }
+
+    @Test
+    void restoreUndoesGameOver() {
+        GameSnapshot snapshot = gameState.snapshot();
+        while (!gameState.isGameOver()) {
+            gameState.draw(p1);
+        }
+        gameState.restore(snapshot);
+        assertFalse(gameState.isGameOver());
+        assertNull(gameState.getWinner());
+    }
+
+    @Test
+    void unchangedZonesShareContents() {
+        Zone trash = p1.getTrash();
+        Card[] first = trash.snapshotContents();
+        gameState.snapshot();
+        assertSame(first, trash.snapshotContents());
+
+        Card[] handBefore = p1.getHand().snapshotContents();
+        gameState.draw(p1);
+        Card[] handAfter = p1.getHand().snapshotContents();
+        assertNotSame(handBefore, handAfter);
+        assertEquals(handBefore.length + 1, handAfter.length);
+        assertSame(handAfter, p1.getHand().snapshotContents());
+    }
+
+    @Test
+    void snapshotFromAnotherGameIsRejected() {
+        GameState other = GameFactory.createTestGame();
+        assertThrows(IllegalArgumentException.class, () -> gameState.restore(other.snapshot()));
+    }
+
+    @Test
+    void copyIsIndependentAndEqual() {
+        DonCard don = (DonCard) p1.getCost().getCards().get(0);
+        gameState.attachDon(p1.getLeader(), don);
+
+        GameState copy = gameState.copy();
+        Player c1 = copy.getPlayer1();
+
+        assertEquals(p1.getHand().size(), c1.getHand().size());
+        assertEquals(p1.getDeck().size(), c1.getDeck().size());
+        assertEquals(1, c1.getLeader().countDon());
+        assertSame(p1.getHand().getCards().get(0).getData(), c1.getHand().getCards().get(0).getData());
+        assertNotSame(p1.getHand().getCards().get(0), c1.getHand().getCards().get(0));
+        assertSame(c1, c1.getHand().getCards().get(0).getOwner());
+        assertTrue(c1.getCost().contains(c1.getLeader().getAttachedDons().get(0)));
+
+        copy.draw(c1);
+        assertNotEquals(p1.getHand().size(), c1.getHand().size());
+    }
+
+    @Test
+    void turnStateRoundTrips() {
+        TurnManager turnManager = new TurnManager(gameState);
+        TurnManager.State saved = turnManager.saveState();
+        turnManager.advancePhase();
+        turnManager.advancePhase();
+        turnManager.restoreState(saved);
+        assertEquals(saved, turnManager.saveState());
+
+        GameState copy = gameState.copy();
+        TurnManager copied = turnManager.copy(copy);
+        assertSame(copy.getPlayer1(), copied.getActivePlayer());
+        assertEquals(turnManager.getCurrentPhase(), copied.getCurrentPhase());
+    }
+}
@@ -0,0 +1,107 @@
+package engine.core;
+
+import engine.setup.GameFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MessageSinkTest {
+
+    @Test
+    void gamesStartSilent() {
+        GameState gameState = GameFactory.createTestGame(3);
+        assertSame(MessageSink.NONE, gameState.getMessageSink());
+        assertSame(MessageSink.NONE, gameState.getPlayer1().getMessageSink());
+        assertFalse(MessageSink.NONE.isEnabled());
+    }
+
+    @Test
+    void gameZoneAndCardMessagesReachTheInstalledSink() {
+        GameState gameState = GameFactory.createTestGame(3);
+        BufferedMessageSink sink = new BufferedMessageSink();
+        gameState.setMessageSink(sink);
+        assertSame(sink, gameState.getPlayer2().getMessageSink());
+
+        gameState.getPlayer1().getLeader().detachDonCards();
+        gameState.getPlayer1().getHand().remove(gameState.getPlayer2().getLeader());
+        while (!gameState.getPlayer1().getDeck().isEmpty()) {
+            gameState.draw(gameState.getPlayer1());
+        }
+        gameState.draw(gameState.getPlayer1());
+
+        List<String> messages = sink.getMessages();
+        assertEquals(4, messages.size());
+        assertTrue(messages.get(0).startsWith("No Don cards to detach from "));
+        assertEquals("Card not found in HAND", messages.get(1));
+        assertTrue(messages.get(2).endsWith("has no more cards to draw."));
+        assertTrue(messages.get(3).endsWith("wins the game!"));
+    }
+
+    @Test
+    void copiesDoNotShareTheSink() {
+        GameState gameState = GameFactory.createTestGame(3);
+        gameState.setMessageSink(new BufferedMessageSink());
+        assertSame(MessageSink.NONE, gameState.copy().getMessageSink());
+    }
+
+    @Test
+    void bufferedMessagesDrainInOrder() {
+        BufferedMessageSink buffer = new BufferedMessageSink();
+        buffer.message("a");
+        buffer.message("b");
+        BufferedMessageSink target = new BufferedMessageSink();
+        buffer.drainTo(target);
+        assertEquals(List.of("a", "b"), target.getMessages());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void asyncSinkWritesEverythingBeforeClosing() {
+        List<String> written = new CopyOnWriteArrayList<>();
+        AsyncMessageSink sink = new AsyncMessageSink(written::add, 1024);
+        for (int i = 0; i < 100; i++) {
+            sink.message("m" + i);
+        }
+        sink.close();
+        assertEquals(100, written.size());
+        assertEquals("m0", written.get(0));
+        assertEquals("m99", written.get(99));
+        assertEquals(0, sink.getDropped());
+
+        sink.message("late");
+        assertEquals(1, sink.getDropped());
+        assertThrows(IllegalArgumentException.class, () -> new AsyncMessageSink(written::add, 0));
+    }
+
+    @Test
+    void asyncSinkKeepsEachThreadsMessagesInOrder() throws InterruptedException {
+        // Written on the sink's one writer thread only
+        List<String> written = new ArrayList<>();
+        AsyncMessageSink sink = new AsyncMessageSink(written::add, 1 << 16);
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String name = "t" + t + ":";
+            producers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    sink.message(name + i);
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        sink.close();
+
+        assertEquals(0, sink.getDropped());
+        assertEquals(40_000, written.size());
+        int[] next = new int[4];
+        for (String text : written) {
+            int t = text.charAt(1) - '0';
+            assertEquals(next[t]++, Integer.parseInt(text.substring(3)), text);
+        }
+    }
+}
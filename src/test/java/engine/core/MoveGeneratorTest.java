@@ -0,0 +1,165 @@
+package engine.core;
+
+import engine.TestUtils;
+import engine.cards.Card;
+import engine.cards.CardData;
+import engine.cards.types.CardType;
+import engine.player.Player;
+import engine.setup.GameFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveGeneratorTest {
+
+    private static GameState mainPhase(TurnManager[] turns) {
+        GameState gameState = GameFactory.createTestGame(5);
+        TurnManager turnManager = new TurnManager(gameState);
+        TestUtils.playUntilTurn(gameState, turnManager, 4);
+        while (turnManager.getCurrentPhase() != Phase.MAIN) {
+            turnManager.advancePhase();
+        }
+        turns[0] = turnManager;
+        return gameState;
+    }
+
+    private static Card character(Player owner, String name, int cost) {
+        return new Card("char-" + name, new CardData("TEST-" + name, "TEST-SET", name, "", "TestSet",
+                null, CardType.Character, null, null, cost, 1000, 0, 0, 0.0), owner);
+    }
+
+    private static Player opponentOf(GameState gameState, Player player) {
+        return (player == gameState.getPlayer1()) ? gameState.getPlayer2() : gameState.getPlayer1();
+    }
+
+    @Test
+    void encodingRoundTrips() {
+        int move = MoveGenerator.encode(MoveGenerator.ATTACK, 5, 3);
+        assertEquals(MoveGenerator.ATTACK, MoveGenerator.kind(move));
+        assertEquals(5, MoveGenerator.source(move));
+        assertEquals(3, MoveGenerator.target(move));
+    }
+
+    @Test
+    void onlyEndIsLegalOutsideMain() {
+        GameState gameState = GameFactory.createTestGame();
+        MoveGenerator generator = new MoveGenerator(gameState, new TurnManager(gameState));
+        assertEquals(1, generator.generate(gameState.getPlayer1()));
+        assertEquals(MoveGenerator.END, MoveGenerator.kind(generator.get(0)));
+    }
+
+    @Test
+    void everyMoveAppliesToACopy() {
+        TurnManager[] turns = new TurnManager[1];
+        GameState gameState = mainPhase(turns);
+        Player player = turns[0].getActivePlayer();
+        MoveGenerator generator = new MoveGenerator(gameState, turns[0]);
+        int count = generator.generate(player);
+        assertTrue(count > 1);
+        assertEquals(MoveGenerator.END, MoveGenerator.kind(generator.get(count - 1)));
+
+        for (int i = 0; i < count; i++) {
+            GameState copy = gameState.copy();
+            TurnManager copyTurns = turns[0].copy(copy);
+            Player copyPlayer = (player == gameState.getPlayer1()) ? copy.getPlayer1() : copy.getPlayer2();
+            new MoveGenerator(copy, copyTurns).apply(generator.get(i), copyPlayer);
+        }
+    }
+
+    @Test
+    void playsAreAffordableAndRespectTheFieldLimit() {
+        TurnManager[] turns = new TurnManager[1];
+        GameState gameState = mainPhase(turns);
+        Player player = turns[0].getActivePlayer();
+        player.getHand().add(character(player, "Cheap", 0));
+        player.getHand().add(character(player, "Pricey", 99));
+        MoveGenerator generator = new MoveGenerator(gameState, turns[0]);
+
+        int count = generator.generate(player);
+        int available = MoveGenerator.countAvailableDon(player);
+        boolean cheapPlayable = false;
+        for (int i = 0; i < count; i++) {
+            int move = generator.get(i);
+            if (MoveGenerator.kind(move) == MoveGenerator.PLAY) {
+                Card card = player.getHand().getCards().get(MoveGenerator.source(move));
+                assertTrue(card.getData().cost() <= available);
+                cheapPlayable |= card.getData().name().equals("Cheap");
+            }
+        }
+        assertTrue(cheapPlayable);
+
+        while (player.getField().size() < MoveGenerator.FIELD_LIMIT) {
+            player.getField().add(character(player, "Filler" + player.getField().size(), 0));
+        }
+        count = generator.generate(player);
+        for (int i = 0; i < count; i++) {
+            int move = generator.get(i);
+            if (MoveGenerator.kind(move) == MoveGenerator.PLAY) {
+                Card card = player.getHand().getCards().get(MoveGenerator.source(move));
+                assertNotEquals(CardType.Character, card.getData().cardType());
+            }
+        }
+    }
+
+    @Test
+    void copiesInHandYieldOnePlay() {
+        TurnManager[] turns = new TurnManager[1];
+        GameState gameState = mainPhase(turns);
+        Player player = turns[0].getActivePlayer();
+        // Separate CardData instances, and a power past the Integer cache
+        for (int i = 0; i < 3; i++) {
+            player.getHand().add(new Card("copy-" + i, new CardData("DUP-001", "TEST-SET", "Twin", "", "TestSet",
+                    null, CardType.Character, null, null, 0, 6000, 0, 0, 0.0), player));
+        }
+        // Another printing with the same name, cost and power but its own id
+        player.getHand().add(new Card("reprint", new CardData("DUP-002", "TEST-SET", "Twin", "", "TestSet",
+                null, CardType.Character, null, null, 0, 6000, 0, 0, 0.0), player));
+        MoveGenerator generator = new MoveGenerator(gameState, turns[0]);
+
+        int count = generator.generate(player);
+        int dup1 = 0;
+        int dup2 = 0;
+        for (int i = 0; i < count; i++) {
+            int move = generator.get(i);
+            if (MoveGenerator.kind(move) == MoveGenerator.PLAY) {
+                String id = player.getHand().getCards().get(MoveGenerator.source(move)).getData().id();
+                dup1 += id.equals("DUP-001") ? 1 : 0;
+                dup2 += id.equals("DUP-002") ? 1 : 0;
+            }
+        }
+        assertEquals(1, dup1);
+        assertEquals(1, dup2);
+    }
+
+    @Test
+    void summonSickCharactersDoNotAttackAndOnlyRestedCharactersAreTargets() {
+        TurnManager[] turns = new TurnManager[1];
+        GameState gameState = mainPhase(turns);
+        Player player = turns[0].getActivePlayer();
+        Player opponent = opponentOf(gameState, player);
+        Card sick = character(player, "Sick", 0);
+        player.getField().add(sick);
+        sick.setSummonSick(true);
+        Card rested = character(opponent, "Rested", 0);
+        Card active = character(opponent, "Active", 0);
+        opponent.getField().add(rested);
+        opponent.getField().add(active);
+        rested.rest();
+
+        MoveGenerator generator = new MoveGenerator(gameState, turns[0]);
+        int count = generator.generate(player);
+        int sickIndex = player.getField().getCards().indexOf(sick) + 1;
+        int restedIndex = opponent.getField().getCards().indexOf(rested) + 1;
+        int activeIndex = opponent.getField().getCards().indexOf(active) + 1;
+        boolean restedTargeted = false;
+        for (int i = 0; i < count; i++) {
+            int move = generator.get(i);
+            if (MoveGenerator.kind(move) == MoveGenerator.ATTACK) {
+                assertNotEquals(sickIndex, MoveGenerator.source(move));
+                assertNotEquals(activeIndex, MoveGenerator.target(move));
+                restedTargeted |= MoveGenerator.target(move) == restedIndex;
+            }
+        }
+        assertTrue(restedTargeted || player.getLeader().isRested());
+    }
+}
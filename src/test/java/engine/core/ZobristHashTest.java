@@ -0,0 +1,160 @@
+package engine.core;
+
+import engine.TestUtils;
+import engine.cards.Card;
+import engine.cards.DonCard;
+import engine.player.Player;
+import engine.setup.GameFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ZobristHashTest {
+
+    private static GameState midGame(TurnManager[] turns) {
+        GameState gameState = GameFactory.createTestGame(11);
+        TurnManager turnManager = new TurnManager(gameState);
+        TestUtils.playUntilTurn(gameState, turnManager, 6);
+        turns[0] = turnManager;
+        return gameState;
+    }
+
+    @Test
+    void incrementalHashMatchesRecompute() {
+        GameState gameState = midGame(new TurnManager[1]);
+        long incremental = gameState.positionHash();
+        gameState.getZobrist().recompute();
+        assertEquals(incremental, gameState.positionHash());
+    }
+
+    @Test
+    void copyHashesLikeTheOriginal() {
+        TurnManager[] turns = new TurnManager[1];
+        GameState gameState = midGame(turns);
+        GameState copy = gameState.copy();
+        turns[0].copy(copy);
+        assertEquals(gameState.positionHash(), copy.positionHash());
+
+        copy.draw(copy.getPlayer1());
+        assertNotEquals(gameState.positionHash(), copy.positionHash());
+    }
+
+    @Test
+    void restoreRestoresTheHash() {
+        GameState gameState = midGame(new TurnManager[1]);
+        Player p1 = gameState.getPlayer1();
+        long before = gameState.positionHash();
+        GameSnapshot snapshot = gameState.snapshot();
+
+        gameState.draw(p1);
+        p1.getLeader().rest();
+        p1.getLeader().takeLife();
+        assertNotEquals(before, gameState.positionHash());
+
+        gameState.restore(snapshot);
+        assertEquals(before, gameState.positionHash());
+    }
+
+    @Test
+    void transposedMovesReachTheSameHash() {
+        GameState gameState = midGame(new TurnManager[1]);
+        Player p1 = gameState.getPlayer1();
+        assertTrue(p1.getHand().size() >= 2);
+
+        GameState ab = gameState.copy();
+        Player abPlayer = ab.getPlayer1();
+        Card a = abPlayer.getHand().getCards().get(0);
+        Card b = abPlayer.getHand().getCards().get(1);
+        ab.moveCard(a, abPlayer.getField());
+        ab.moveCard(b, abPlayer.getField());
+
+        GameState ba = gameState.copy();
+        Player baPlayer = ba.getPlayer1();
+        Card b2 = baPlayer.getHand().getCards().get(1);
+        Card a2 = baPlayer.getHand().getCards().get(0);
+        ba.moveCard(b2, baPlayer.getField());
+        ba.moveCard(a2, baPlayer.getField());
+
+        assertEquals(ab.positionHash(), ba.positionHash());
+        assertNotEquals(gameState.positionHash(), ab.positionHash());
+    }
+
+    @Test
+    void flagAndDonChangesUndoCleanly() {
+        GameState gameState = midGame(new TurnManager[1]);
+        Player p1 = gameState.getPlayer1();
+        p1.getLeader().activate();
+        long before = gameState.positionHash();
+
+        p1.getLeader().rest();
+        p1.getLeader().rest();
+        assertNotEquals(before, gameState.positionHash());
+        p1.getLeader().activate();
+        assertEquals(before, gameState.positionHash());
+
+        gameState.drawDon(p1, 1);
+        long withDon = gameState.positionHash();
+        DonCard don = (DonCard) p1.getCost().getCards().get(0);
+        gameState.attachDon(p1.getLeader(), don);
+        assertNotEquals(withDon, gameState.positionHash());
+
+        long attached = gameState.positionHash();
+        gameState.getZobrist().recompute();
+        assertEquals(attached, gameState.positionHash());
+    }
+
+    @Test
+    void turnChangesTheHash() {
+        TurnManager[] turns = new TurnManager[1];
+        GameState gameState = midGame(turns);
+        long before = gameState.positionHash();
+        turns[0].advancePhase();
+        assertNotEquals(before, gameState.positionHash());
+    }
+
+    @Test
+    void transpositionTableStoresAndVerifies() {
+        TranspositionTable table = new TranspositionTable(1000);
+        assertEquals(1024, table.capacity());
+        table.put(42L, 7L);
+        assertTrue(table.contains(42L));
+        assertEquals(7L, table.get(42L, -1L));
+        // Same slot, different position
+        assertEquals(-1L, table.get(42L + 1024L * 2, -1L));
+        table.put(42L + 1024L * 2, 9L);
+        assertEquals(-1L, table.get(42L, -1L));
+        table.clear();
+        assertFalse(table.contains(42L + 1024L * 2));
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+
+    @Test
+    void transpositionTableNeverReturnsTornEntries() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(64);
+        AtomicInteger bad = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long salt = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (long i = 1; i < 200_000; i++) {
+                    long hash = i * 0x9e3779b97f4a7c15L + salt;
+                    // Data is a function of the hash, so any accepted mismatch is a torn read
+                    table.put(hash, hash * 31);
+                    long other = (i + 7) * 0x9e3779b97f4a7c15L + ((salt + 1) & 3);
+                    long data = table.get(other, Long.MIN_VALUE);
+                    if (data != Long.MIN_VALUE && data != other * 31) {
+                        bad.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, bad.get());
+    }
+}
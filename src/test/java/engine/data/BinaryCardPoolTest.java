@@ -0,0 +1,78 @@
+package engine.data;
+
+import engine.cards.CardData;
+import engine.cards.types.Attribute;
+import engine.cards.types.CardType;
+import engine.cards.types.Color;
+import engine.cards.types.Rarity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryCardPoolTest {
+
+    private static final CardData LEADER = new CardData("OP01-001", "OP-01", "Roronoa Zoro",
+            "[DON!! x1] [Your Turn] All of your Characters gain +1000 power.", "Romance Dawn",
+            Rarity.L, CardType.Leader, Attribute.Slash, Color.Red, 0, 5000, 5, 0, 0.25);
+    private static final CardData CHARACTER = new CardData("OP01-004", "OP-01", "Usopp",
+            "", "Romance Dawn", Rarity.R, CardType.Character, Attribute.Ranged, Color.Red,
+            2, 3000, 0, 1000, 1.5);
+    private static final CardData DIRTY = new CardData("P-001", null, "Promo Café", null, null,
+            null, null, null, null, null, null, null, null, null);
+
+    @TempDir
+    Path tempDir;
+
+    private Path writePool() throws IOException {
+        Path file = tempDir.resolve(BinaryCardPool.DEFAULT_FILE);
+        CardPoolWriter.write(List.of(CHARACTER, DIRTY, LEADER), file);
+        return file;
+    }
+
+    @Test
+    void roundTripsEveryField() throws IOException {
+        BinaryCardPool pool = BinaryCardPool.open(writePool());
+        assertEquals(3, pool.size());
+        assertEquals(LEADER, pool.getCardData("OP01-001"));
+        assertEquals(CHARACTER, pool.getCardData("OP01-004"));
+        assertEquals(DIRTY, pool.getCardData("P-001"));
+    }
+
+    @Test
+    void unknownIdReturnsNull() throws IOException {
+        BinaryCardPool pool = BinaryCardPool.open(writePool());
+        assertNull(pool.getCardData("OP01-000"));
+        assertNull(pool.getCardData("ZZZ"));
+        assertNull(pool.getCardData(""));
+    }
+
+    @Test
+    void decodedCardsAreCachedAndSortedById() throws IOException {
+        BinaryCardPool pool = BinaryCardPool.open(writePool());
+        assertSame(pool.getCardData("OP01-004"), pool.getCardData("OP01-004"));
+        List<CardData> all = pool.getAllCards();
+        assertEquals(List.of("OP01-001", "OP01-004", "P-001"), all.stream().map(CardData::id).toList());
+    }
+
+    @Test
+    void databaseServesLookupsFromBinaryPool() throws IOException {
+        CardDatabase db = CardDatabase.fromBinary(writePool());
+        assertEquals(3, db.size());
+        assertEquals(CardType.Leader, db.getCardData("OP01-001").cardType());
+        assertThrows(IllegalArgumentException.class, () -> db.getCardData("FAKE-999"));
+    }
+
+    @Test
+    void rejectsFilesThatAreNotCardPools() throws IOException {
+        byte[] bytes = Files.readAllBytes(writePool());
+        bytes[0] = 0;
+        assertThrows(IllegalArgumentException.class, () -> BinaryCardPool.wrap(ByteBuffer.wrap(bytes)));
+    }
+}
@@ -0,0 +1,113 @@
+package engine.data;
+
+import engine.cards.CardData;
+import engine.cards.types.CardType;
+import engine.cards.types.Color;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CardIndexTest {
+
+    private static final String CSV = """
+            card_name,card_type,sub_types
+            Luffy,Character,Straw Hat Crew
+            Zoro,Character,Straw Hat Crew
+            Smoker,Character,Navy
+            Koby,Character,Navy
+            Koby,Character,Former Navy
+            Garp,Character,Former Navy East Blue
+            Buggy,Leader,East Blue
+            "Capone""Gang""Bege",Character,Firetank Pirates
+            """;
+
+    private static CardData card(String id, String name, Color color, CardType type, int cost, int power, int counter) {
+        return new CardData(id, id.substring(0, 4), name, "", "", null, type, null, color,
+                cost, power, 0, counter, 0.0);
+    }
+
+    private static final List<CardData> CARDS = List.of(
+            card("OP01-001", "Luffy", Color.Red, CardType.Character, 5, 6000, 0),
+            card("OP01-002", "Zoro", Color.Red, CardType.Character, 3, 5000, 1000),
+            card("OP02-001", "Smoker", Color.Black, CardType.Character, 4, 5000, 1000),
+            card("OP02-002", "Koby", Color.Black, CardType.Character, 1, 2000, 2000),
+            card("OP02-003", "Garp", Color.Black, CardType.Character, 7, 8000, 0),
+            card("OP03-001", "Buggy", Color.Red, CardType.Leader, 0, 5000, 0),
+            card("OP03-002", "Capone\"Gang\"Bege", Color.Red, CardType.Character, 2, 3000, 2000));
+
+    private static CardSubtypes subtypes() throws IOException {
+        return CardSubtypes.parse(new BufferedReader(new StringReader(CSV)));
+    }
+
+    private static List<String> ids(CardQuery query) {
+        return query.list().stream().map(CardData::id).toList();
+    }
+
+    @Test
+    void splitsSpaceJoinedSubtypesIntoKnownPhrases() throws IOException {
+        CardSubtypes subtypes = subtypes();
+        assertEquals(Set.of("Former Navy", "East Blue"), subtypes.subtypesOf("Garp"));
+        assertEquals(Set.of("Navy", "Former Navy"), subtypes.subtypesOf("Koby"));
+        assertEquals(Set.of("Firetank Pirates"), subtypes.subtypesOf("Capone\"Gang\"Bege"));
+        assertTrue(subtypes.subtypesOf("Nobody").isEmpty());
+    }
+
+    @Test
+    void intersectsCategoricalAndRangeClauses() throws IOException {
+        CardIndex index = new CardIndex(CARDS, subtypes());
+        assertEquals(List.of("OP01-002", "OP03-002"),
+                ids(index.query().color(Color.Red).type(CardType.Character).costAtMost(4)));
+        assertEquals(List.of("OP02-002", "OP03-002"), ids(index.query().counter(2000)));
+        assertEquals(List.of("OP01-001", "OP02-003"), ids(index.query().powerAtLeast(6000)));
+        assertEquals(List.of("OP02-001", "OP02-002"), ids(index.query().set("OP02").costBetween(1, 4)));
+    }
+
+    @Test
+    void queriesBySubtype() throws IOException {
+        CardIndex index = new CardIndex(CARDS, subtypes());
+        assertEquals(List.of("OP01-001", "OP01-002"), ids(index.query().subtype("Straw Hat Crew")));
+        assertEquals(List.of("OP02-003", "OP03-001"), ids(index.query().subtype("East Blue")));
+        assertEquals(List.of("OP02-002"), ids(index.query().subtype("Navy").counterAtLeast(2000)));
+        assertTrue(index.getSubtypes().contains("Former Navy"));
+    }
+
+    @Test
+    void unknownValuesMatchNothing() throws IOException {
+        CardIndex index = new CardIndex(CARDS, subtypes());
+        assertTrue(index.query().subtype("Whitebeard Pirates").isEmpty());
+        assertTrue(index.query().set("ST01").isEmpty());
+        assertEquals(0, index.query().costBetween(4, 1).count());
+        assertEquals(CARDS.size(), index.query().count());
+    }
+
+    @Test
+    void splitsTheRealSubtypeFile() throws IOException {
+        CardSubtypes subtypes = CardSubtypes.load(Path.of(CardSubtypes.DEFAULT_CSV));
+        // Distinct card names per subtype, counted from card_names_subtypes.csv
+        assertEquals(66, namesWith(subtypes, "The Four Emperors"));
+        assertEquals(110, namesWith(subtypes, "Supernovas"));
+        assertEquals(222, namesWith(subtypes, "Straw Hat Crew"));
+        assertEquals(3, namesWith(subtypes, "Neo Navy"));
+        assertEquals(Set.of("FILM", "Neo Navy"), subtypes.subtypesOf("Ain"));
+        assertEquals(Set.of("Fake Straw Hat Crew"), subtypes.subtypesOf("Fake Straw Hat Crew"));
+        assertTrue(subtypes.subtypesOf("Birdcage").isEmpty());
+        assertTrue(subtypes.subtypesOf("Imu").isEmpty());
+        for (String name : subtypes.cardNames()) {
+            for (String subtype : subtypes.subtypesOf(name)) {
+                assertFalse(Set.of("NULL", "?", "Film", "Smile").contains(subtype), name + ": " + subtype);
+                assertFalse(subtype.contains(" FILM") || subtype.startsWith("FILM "), name + ": " + subtype);
+            }
+        }
+    }
+
+    private static long namesWith(CardSubtypes subtypes, String subtype) {
+        return subtypes.cardNames().stream().filter(name -> subtypes.subtypesOf(name).contains(subtype)).count();
+    }
+}
@@ -0,0 +1,86 @@
+package engine.data;
+
+import engine.cards.types.CardType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CardLoadReportTest {
+
+    @TempDir
+    Path dataDir;
+
+    private void writeJson(String dir, String name, String json) throws IOException {
+        Path file = dataDir.resolve(dir).resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, json);
+    }
+
+    @Test
+    void streamsFilesAndCountsMalformedEntries() throws IOException {
+        writeJson("sets", "OP-01.json", """
+                [
+                  {"card_set_id": "OP01-001", "card_name": "Zoro", "card_type": "Leader",
+                   "card_color": "Red", "card_power": "5000", "life": "5"},
+                  {"card_set_id": {"bad": ["nested", {"deep": 1}]}, "card_name": "Broken"},
+                  {"card_set_id": "OP01-004", "card_name": "Usopp", "card_type": "Character",
+                   "card_cost": 2, "card_power": {"not": "a number"}, "counter_amount": "1000"},
+                  42
+                ]
+                """);
+        writeJson("decks", "ST-01.json", """
+                [{"card_set_id": "ST01-001", "card_name": "Luffy", "card_type": "Leader"}]
+                """);
+
+        CardDatabase db = new CardDatabase(dataDir.toString());
+        CardLoadReport report = db.getLoadReport();
+
+        assertEquals(3, db.size());
+        assertEquals(3, report.cardCount());
+        assertEquals(2, report.totalMalformed());
+        assertEquals(List.of(dataDir.resolve("promos")), report.missingDirectories());
+
+        CardLoadReport.FileReport sets = report.files().get(0);
+        assertEquals(dataDir.resolve("sets").resolve("OP-01.json"), sets.file());
+        assertEquals(2, sets.loaded());
+        assertFalse(sets.failed());
+
+        assertEquals(5000, db.getCardData("OP01-001").power());
+        assertEquals(0, db.getCardData("OP01-004").power());
+        assertEquals(1000, db.getCardData("OP01-004").counter());
+    }
+
+    @Test
+    void laterCategoriesOverrideEarlierOnes() throws IOException {
+        writeJson("sets", "OP-01.json", """
+                [{"card_set_id": "OP01-001", "card_name": "Zoro", "card_type": "Character"}]
+                """);
+        writeJson("promos", "P.json", """
+                [{"card_set_id": "OP01-001", "card_name": "Zoro", "card_type": "Leader"}]
+                """);
+
+        CardDatabase db = new CardDatabase(dataDir.toString());
+        assertEquals(1, db.size());
+        assertEquals(CardType.Leader, db.getCardData("OP01-001").cardType());
+    }
+
+    @Test
+    void unreadableFileIsReportedWithoutAbortingTheLoad() throws IOException {
+        writeJson("sets", "A.json", "[{\"card_set_id\": \"OP01-001\"");
+        writeJson("sets", "B.json", "[{\"card_set_id\": \"OP01-002\"}]");
+
+        CardDatabase db = new CardDatabase(dataDir.toString());
+        CardLoadReport report = db.getLoadReport();
+
+        assertEquals(1, report.failedFiles());
+        assertTrue(report.files().get(0).failed());
+        assertEquals(1, db.size());
+        assertNotNull(db.getCardData("OP01-002"));
+    }
+}
@@ -0,0 +1,112 @@
+package engine.history;
+
+import engine.cards.Card;
+import engine.core.GameEngine;
+import engine.core.GameState;
+import engine.player.Player;
+import engine.setup.GameFactory;
+import engine.simulation.RandomController;
+import engine.zones.Zone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ActionLogTest {
+
+    private GameEngine engine;
+
+    @BeforeEach
+    void playGame() {
+        engine = GameEngine.headless(GameFactory.createTestGame(31),
+                RandomController.factory(), RandomController.factory());
+        engine.run();
+    }
+
+    /**
+     * Describes every zone's contents and each card's state, for comparing
+     * positions across different GameState instances.
+     */
+    private static String fingerprint(GameState gameState) {
+        StringBuilder out = new StringBuilder();
+        for (Player player : new Player[] { gameState.getPlayer1(), gameState.getPlayer2() }) {
+            out.append(player.getLeader().getLifePoints()).append(player.getLeader().isRested()).append('|');
+            for (Zone zone : player.getZones()) {
+                for (Card card : zone.getCards()) {
+                    out.append(card.getCardId()).append(card.isRested() ? 'r' : 'a')
+                            .append(card.getAttachedDons().size()).append(',');
+                }
+                out.append('|');
+            }
+        }
+        return out.append(gameState.isGameOver()).toString();
+    }
+
+    @Test
+    void replayReachesTheRecordedFinalPosition() {
+        ActionLog log = engine.getActionLog();
+        assertEquals(ActionLog.Type.SETUP, log.get(0).type());
+
+        ActionLog decoded = ActionLog.fromByteArray(log.toByteArray());
+        assertEquals(log.size(), decoded.size());
+        assertEquals(31, decoded.getSeed());
+
+        Replay.Position end = new Replay(decoded, GameFactory::createTestGame).end();
+        assertEquals(fingerprint(engine.getGameState()), fingerprint(end.gameState()));
+        assertEquals(engine.getTurnManager().getTurnCount(), end.turnManager().getTurnCount());
+        assertEquals(engine.getGameState().getWinner().getPlayerId(), end.gameState().getWinner().getPlayerId());
+    }
+
+    @Test
+    void keyframesDoNotChangeSeekResults() {
+        ActionLog log = engine.getActionLog();
+        Replay dense = new Replay(log, GameFactory::createTestGame, 8);
+        Replay none = new Replay(log, GameFactory::createTestGame, Integer.MAX_VALUE);
+
+        dense.end(); // Take every keyframe first so later seeks start from them
+        assertTrue(dense.keyframeCount() > 1);
+        for (int index : new int[] { 0, 1, 9, log.size() / 2, log.size() - 3 }) {
+            assertEquals(fingerprint(none.seek(index).gameState()), fingerprint(dense.seek(index).gameState()),
+                    "position after " + index + " actions");
+        }
+    }
+
+    @Test
+    void historyNodesPointIntoTheLog() {
+        GameHistory last = engine.getHistoryManager().getCurrent();
+        assertEquals(engine.getActionLog().size(), last.getActionIndex());
+        GameHistory first = engine.getHistoryManager().getHead();
+        Replay.Position start = new Replay(engine.getActionLog(), GameFactory::createTestGame).seek(first.getActionIndex());
+        assertEquals(5, start.gameState().getPlayer1().getLife().size());
+    }
+
+    @Test
+    void actionsTakeAFewBytesEach() {
+        ActionLog log = engine.getActionLog();
+        assertTrue(log.size() > 50);
+        assertTrue(log.byteSize() < log.size() * 3, log.byteSize() + " bytes for " + log.size() + " actions");
+    }
+
+    @Test
+    void rejectedActionsLeaveTheLogUnchanged() {
+        ActionLog log = engine.getActionLog();
+        GameState gameState = engine.getGameState();
+        Player player = gameState.getPlayer1();
+        int size = log.size();
+        int bytes = log.byteSize();
+
+        // The leader is not in the hand, so its operand is rejected
+        Card card = player.getLeader();
+        assertThrows(IllegalStateException.class, () -> log.recordPlay(gameState, player, card));
+        assertEquals(size, log.size());
+        assertEquals(bytes, log.byteSize());
+
+        log.recordAdvance();
+        assertEquals(size + 1, log.size());
+    }
+
+    @Test
+    void rejectsBytesThatAreNotALog() {
+        assertThrows(IllegalArgumentException.class, () -> ActionLog.fromByteArray(new byte[20]));
+    }
+}
@@ -0,0 +1,270 @@
+package engine.history;
+
+import engine.core.GameEngine;
+import engine.core.GameState;
+import engine.core.PlayerController;
+import engine.core.TurnManager;
+import engine.player.Player;
+import engine.server.Protocol;
+import engine.setup.GameFactory;
+import engine.setup.GameSetup;
+import engine.simulation.RandomController;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DiffLogTest {
+
+    /**
+     * A client's copy of the board, built from a STATE line and kept current
+     * with DIFF ops.
+     */
+    private static final class Board {
+        final int viewer;
+        final Side[] sides = new Side[2];
+
+        Board(int viewer, String state) {
+            this.viewer = viewer;
+            String[] parts = state.split(" \\| ");
+            for (int seat = 0; seat < 2; seat++) {
+                sides[seat] = new Side(parts[seat + 1]);
+            }
+        }
+
+        void apply(String ops) {
+            if (ops.isEmpty()) {
+                return;
+            }
+            for (String op : ops.split(";")) {
+                String[] w = op.split(" ");
+                Side side = sides[Integer.parseInt(w[1])];
+                boolean own = Integer.parseInt(w[1]) == viewer;
+                switch (w[0]) {
+                    case "M" -> {
+                        side.take(w[2], own);
+                        side.put(w[3].charAt(0), (w.length > 4) ? w[4] : "?", own);
+                    }
+                    case "C" -> side.set(w[2], w[3]);
+                    case "N" -> side.don = w[2];
+                    case "W" -> { }
+                    default -> fail("unknown op " + op);
+                }
+            }
+        }
+
+        String render() {
+            return sides[0].render(viewer == 0) + " | " + sides[1].render(viewer == 1);
+        }
+    }
+
+    private static final class Side {
+        int life;
+        int deck;
+        String don;
+        final List<String> hand = new ArrayList<>();
+        int handCount;
+        String leader;
+        final List<String> field = new ArrayList<>();
+        final List<String> stage = new ArrayList<>();
+        int trash;
+
+        Side(String text) {
+            for (String pair : text.trim().split(" ")) {
+                String key = pair.substring(0, pair.indexOf('='));
+                String value = pair.substring(pair.indexOf('=') + 1);
+                switch (key) {
+                    case "life" -> life = Integer.parseInt(value);
+                    case "deck" -> deck = Integer.parseInt(value);
+                    case "don" -> don = value;
+                    case "hand" -> {
+                        if (value.matches("\\d+")) {
+                            handCount = Integer.parseInt(value);
+                        } else if (!value.equals("-")) {
+                            hand.addAll(Arrays.asList(value.split(",")));
+                        }
+                    }
+                    case "leader" -> leader = value;
+                    case "field" -> list(field, value);
+                    case "stage" -> list(stage, value);
+                    case "trash" -> trash = Integer.parseInt(value);
+                    default -> fail("unknown key " + key);
+                }
+            }
+        }
+
+        private static void list(List<String> into, String value) {
+            if (!value.equals("-")) {
+                into.addAll(Arrays.asList(value.split(",")));
+            }
+        }
+
+        void take(String from, boolean own) {
+            int index = (from.length() > 1) ? Integer.parseInt(from.substring(1)) : -1;
+            switch (from.charAt(0)) {
+                case 'H' -> {
+                    if (own) {
+                        hand.remove(index);
+                    } else {
+                        handCount--;
+                    }
+                }
+                case 'D' -> deck--;
+                case 'L' -> life--;
+                case 'C' -> field.remove(index);
+                case 'S' -> stage.remove(index);
+                case 'T' -> trash--;
+                case '-' -> { }
+                default -> fail("unknown zone " + from);
+            }
+        }
+
+        void put(char to, String card, boolean own) {
+            switch (to) {
+                case 'H' -> {
+                    if (own) {
+                        hand.add(0, card);
+                    } else {
+                        handCount++;
+                    }
+                }
+                case 'D' -> deck++;
+                case 'L' -> life++;
+                case 'C' -> field.add(0, card);
+                case 'S' -> stage.add(0, card);
+                case 'T' -> trash++;
+                default -> fail("unknown zone " + to);
+            }
+        }
+
+        void set(String position, String card) {
+            switch (position.charAt(0)) {
+                case 'X' -> leader = card;
+                case 'C' -> field.set(Integer.parseInt(position.substring(1)), card);
+                case 'S' -> stage.set(Integer.parseInt(position.substring(1)), card);
+                default -> fail("unknown position " + position);
+            }
+        }
+
+        String render(boolean own) {
+            return "life=" + life + " deck=" + deck + " don=" + don
+                    + " hand=" + (own ? (hand.isEmpty() ? "-" : String.join(",", hand)) : String.valueOf(handCount))
+                    + " leader=" + leader
+                    + " field=" + (field.isEmpty() ? "-" : String.join(",", field))
+                    + " stage=" + (stage.isEmpty() ? "-" : String.join(",", stage))
+                    + " trash=" + trash;
+        }
+    }
+
+    private static String board(String state) {
+        return state.substring(state.indexOf(" | ") + 3);
+    }
+
+    /**
+     * A random bot that, before each MAIN phase, brings its seat's Board up
+     * to date from the DiffLog and checks it against a fresh STATE.
+     */
+    private static final class Checked implements PlayerController {
+        private final PlayerController bot;
+        private final GameState gameState;
+        private final TurnManager turnManager;
+        private final int seat;
+        private Board board;
+        int diffs;
+        int keyframes;
+
+        Checked(GameState gameState, TurnManager turnManager, int seat) {
+            this.bot = RandomController.factory().create(gameState, turnManager);
+            this.gameState = gameState;
+            this.turnManager = turnManager;
+            this.seat = seat;
+        }
+
+        @Override
+        public void runStartPhase(Player player, GameSetup gameSetup) {
+            bot.runStartPhase(player, gameSetup);
+        }
+
+        @Override
+        public void runMainPhases(Player player) {
+            String state = Protocol.state(gameState, turnManager, seat);
+            String ops = gameState.getDiffLog().drain(seat);
+            if (ops == null) {
+                board = new Board(seat, state);
+                keyframes++;
+            } else {
+                board.apply(ops);
+                diffs++;
+            }
+            assertEquals(board(state), board.render(), "after ops " + ops);
+            bot.runMainPhases(player);
+        }
+    }
+
+    private static Checked[] play(long seed, DiffLog diffs) {
+        GameState gameState = GameFactory.createTestGame(seed);
+        gameState.setDiffLog(diffs);
+        Checked[] seats = new Checked[2];
+        GameEngine engine = GameEngine.headless(gameState,
+                (state, turns) -> seats[0] = new Checked(state, turns, 0),
+                (state, turns) -> seats[1] = new Checked(state, turns, 1));
+        engine.run();
+        assertTrue(gameState.isGameOver());
+        return seats;
+    }
+
+    @Test
+    void diffsRebuildTheBoardEveryTurn() {
+        for (long seed = 1; seed <= 20; seed++) {
+            Checked[] seats = play(seed, new DiffLog(1_000, 1 << 20));
+            for (Checked seat : seats) {
+                assertEquals(1, seat.keyframes, "seed " + seed);
+                assertTrue(seat.diffs > 0, "seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void keyframesArriveOnSchedule() {
+        Checked[] seats = play(7, new DiffLog(3, 1 << 20));
+        for (Checked seat : seats) {
+            int decisions = seat.keyframes + seat.diffs;
+            assertEquals((decisions + 2) / 3, seat.keyframes);
+        }
+    }
+
+    @Test
+    void oversizedDiffsBecomeKeyframes() {
+        Checked[] seats = play(7, new DiffLog(1_000, 16));
+        for (Checked seat : seats) {
+            assertTrue(seat.keyframes > 1);
+        }
+    }
+
+    @Test
+    void hidesTheOpponentsDraws() {
+        GameState gameState = GameFactory.createTestGame(3);
+        DiffLog diffs = new DiffLog();
+        gameState.setDiffLog(diffs);
+        assertNull(diffs.drain(0));
+        assertNull(diffs.drain(1));
+
+        gameState.draw(gameState.getPlayer1());
+        String id = gameState.getPlayer1().getHand().getCards().get(0).getCardId();
+        assertEquals("M 0 D H " + id, diffs.drain(0));
+        assertEquals("M 0 D H", diffs.drain(1));
+        assertEquals("", diffs.drain(0));
+
+        gameState.reset(4);
+        assertNull(diffs.drain(0));
+    }
+
+    @Test
+    void rejectsBadSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new DiffLog(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new DiffLog(10, 0));
+    }
+}
@@ -0,0 +1,171 @@
+package engine.history;
+
+import engine.core.GameEngine;
+import engine.core.GameMetrics;
+import engine.cards.Card;
+import engine.core.GameState;
+import engine.player.Player;
+import engine.setup.GameFactory;
+import engine.setup.GameSetup;
+import engine.simulation.RandomController;
+import engine.zones.ZoneType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private static List<EventJournal.Event> readAll(EventJournal journal) throws IOException {
+        List<EventJournal.Event> events = new ArrayList<>();
+        for (Path segment : journal.segments()) {
+            events.addAll(EventJournal.read(segment));
+        }
+        return events;
+    }
+
+    @Test
+    void journalsAWholeGame() throws IOException {
+        GameState gameState = GameFactory.createTestGame(23);
+        GameMetrics metrics = new GameMetrics();
+        gameState.setMetrics(metrics);
+        EventJournal journal = new EventJournal(dir, "game", 1 << 16, 50);
+        gameState.setJournal(journal);
+        GameEngine.headless(gameState, RandomController.factory(), RandomController.factory()).run();
+        journal.close();
+
+        assertTrue(journal.segments().size() > 1);
+        List<EventJournal.Event> events = readAll(journal);
+        assertEquals(journal.getPublished(), events.size());
+        assertEquals(0, journal.getDropped());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i, events.get(i).sequence());
+        }
+
+        EventJournal.Event first = events.get(0);
+        assertEquals(EventJournal.Type.GAME_START, first.type());
+        assertEquals(23, first.value());
+        EventJournal.Event last = events.get(events.size() - 1);
+        assertEquals(EventJournal.Type.GAME_OVER, last.type());
+        assertEquals(ActionLog.seat(gameState, gameState.getWinner()), last.seat());
+
+        long draws = events.stream().filter(e -> e.type() == EventJournal.Type.MOVE
+                && e.a() == ZoneType.DECK.ordinal() + 1 && e.b() == ZoneType.HAND.ordinal() + 1).count();
+        long attached = events.stream().filter(e -> e.type() == EventJournal.Type.ATTACH_DON).count();
+        assertEquals(metrics.get(GameMetrics.Counter.DRAWS), draws);
+        assertEquals(metrics.get(GameMetrics.Counter.DON_ATTACHED), attached);
+    }
+
+    @Test
+    void resetStartsANewGameInTheSameJournal() throws IOException {
+        GameState gameState = GameFactory.createTestGame(4);
+        EventJournal journal = new EventJournal(dir);
+        gameState.setJournal(journal);
+        gameState.reset(9);
+        journal.close();
+
+        List<EventJournal.Event> starts = readAll(journal).stream()
+                .filter(e -> e.type() == EventJournal.Type.GAME_START).toList();
+        assertEquals(2, starts.size());
+        assertEquals(9, starts.get(1).value());
+    }
+
+    // Card keys in one of seat 0's zones, with how many copies of each
+    private static Map<Long, Integer> rebuild(List<EventJournal.Event> events, ZoneType zone) {
+        int code = zone.ordinal() + 1;
+        Map<Long, Integer> cards = new HashMap<>();
+        for (EventJournal.Event e : events) {
+            if (e.type() != EventJournal.Type.MOVE || e.seat() != 0) {
+                continue;
+            }
+            if (e.a() == code) {
+                cards.merge(e.value(), -1, Integer::sum);
+                cards.remove(e.value(), 0);
+            }
+            if (e.b() == code) {
+                cards.merge(e.value(), 1, Integer::sum);
+            }
+        }
+        return cards;
+    }
+
+    private static Map<Long, Integer> keys(List<Card> zone) {
+        Map<Long, Integer> cards = new HashMap<>();
+        for (Card card : zone) {
+            cards.merge(card.getHashKey(), 1, Integer::sum);
+        }
+        return cards;
+    }
+
+    @Test
+    void handAndLifeCanBeRebuiltAcrossAMulligan() throws IOException {
+        GameState gameState = GameFactory.createTestGame(8);
+        EventJournal journal = new EventJournal(dir);
+        gameState.setJournal(journal);
+        GameSetup setup = new GameSetup(gameState);
+        setup.initializeGame();
+        Player player = gameState.getPlayer1();
+        setup.mulligan(player);
+        setup.setUpLife(player);
+        journal.close();
+
+        List<EventJournal.Event> events = readAll(journal);
+        assertEquals(5, player.getHand().size());
+        assertEquals(keys(player.getHand().getCards()), rebuild(events, ZoneType.HAND));
+        assertFalse(player.getLife().isEmpty());
+        assertEquals(keys(player.getLife().getCards()), rebuild(events, ZoneType.LIFE));
+        long returned = events.stream().filter(e -> e.type() == EventJournal.Type.MOVE
+                && e.a() == ZoneType.HAND.ordinal() + 1 && e.b() == ZoneType.DECK.ordinal() + 1).count();
+        assertEquals(5, returned);
+    }
+
+    @Test
+    void eventsAfterCloseAreDropped() throws IOException {
+        EventJournal journal = new EventJournal(dir, "closed", 4, 10);
+        journal.recordGameStart(1);
+        journal.close();
+        journal.recordGameStart(2);
+        assertEquals(1, journal.getPublished());
+        assertEquals(1, journal.getDropped());
+        assertEquals(1, readAll(journal).size());
+    }
+
+    @Test
+    void dropsAreMarkedInTheStream() throws IOException {
+        EventJournal journal = new EventJournal(dir, "full", 2, 1_000);
+        int attempts = 20_000;
+        for (int i = 0; i < attempts; i++) {
+            journal.recordGameStart(i);
+        }
+        journal.close();
+
+        List<EventJournal.Event> events = readAll(journal);
+        long kept = events.stream().filter(e -> e.type() == EventJournal.Type.GAME_START).count();
+        long marked = events.stream().filter(e -> e.type() == EventJournal.Type.DROPPED)
+                .mapToLong(EventJournal.Event::value).sum();
+        assertEquals(attempts, kept + marked);
+        assertEquals(journal.getDropped(), marked);
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i, events.get(i).sequence());
+        }
+    }
+
+    @Test
+    void copiesAreNotJournaled() throws IOException {
+        GameState gameState = GameFactory.createTestGame(4);
+        try (EventJournal journal = new EventJournal(dir)) {
+            gameState.setJournal(journal);
+            assertNull(gameState.copy().getJournal());
+        }
+    }
+}
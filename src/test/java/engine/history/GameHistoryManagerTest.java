@@ -0,0 +1,84 @@
+package engine.history;
+
+import engine.core.GameEngine;
+import engine.core.Phase;
+import engine.setup.GameFactory;
+import engine.simulation.RandomController;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameHistoryManagerTest {
+
+    private static void recordTurns(GameHistoryManager history, int from, int to) {
+        for (int turn = from; turn <= to; turn++) {
+            history.record("p1", Phase.MAIN, turn, turn * 10);
+        }
+    }
+
+    @Test
+    void keepsOnlyTheNewestNodesUpToCapacity() {
+        GameHistoryManager history = new GameHistoryManager(4);
+        recordTurns(history, 1, 10);
+
+        assertEquals(4, history.size());
+        assertEquals(6, history.getDiscarded());
+        assertEquals(7, history.getHead().getTurnCount());
+        assertEquals(10, history.getCurrent().getTurnCount());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(7 + i, history.get(i).getTurnCount());
+        }
+    }
+
+    @Test
+    void recordingAfterStepBackDiscardsForwardNodes() {
+        GameHistoryManager history = new GameHistoryManager(8);
+        recordTurns(history, 1, 5);
+        assertEquals(4, history.stepBack().getTurnCount());
+        assertEquals(3, history.stepBack().getTurnCount());
+
+        history.record("p2", Phase.END, 99, 0);
+
+        assertEquals(4, history.size());
+        assertEquals(99, history.getCurrent().getTurnCount());
+        assertNull(history.stepForward());
+        assertEquals(3, history.stepBack().getTurnCount());
+    }
+
+    @Test
+    void stepBackStopsAtOldestRetainedNode() {
+        GameHistoryManager history = new GameHistoryManager(3);
+        recordTurns(history, 1, 5);
+        assertNotNull(history.stepBack());
+        assertNotNull(history.stepBack());
+        assertNull(history.stepBack());
+        assertEquals(3, history.getCurrent().getTurnCount());
+    }
+
+    @Test
+    void memoryStaysBoundedOverLongGames() {
+        GameHistoryManager history = new GameHistoryManager(64);
+        long empty = history.estimatedBytes();
+        recordTurns(history, 1, 64);
+        long full = history.estimatedBytes();
+        recordTurns(history, 65, 10_000);
+
+        assertTrue(full > empty);
+        assertEquals(full, history.estimatedBytes());
+        assertEquals(64, history.size());
+    }
+
+    @Test
+    void engineReportsHistoryBytes() {
+        GameEngine engine = new GameEngine(GameFactory.createTestGame(5),
+                RandomController.factory(), RandomController.factory(), true, 16);
+        engine.run();
+        assertEquals(16, engine.getHistoryManager().size());
+        assertTrue(engine.getHistoryBytes() > engine.getHistoryManager().estimatedBytes());
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new GameHistoryManager(0));
+    }
+}
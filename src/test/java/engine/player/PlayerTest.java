@@ -1,7 +1,13 @@
 package engine.player;
 
+import engine.TestUtils;
+import engine.cards.Card;
+import engine.cards.DonCard;
 import engine.cards.Leader;
 import engine.cards.CardData;
+import engine.cards.abilities.Cost;
+import engine.core.GameSnapshot;
+import engine.core.GameState;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -48,4 +54,56 @@ public class PlayerTest {
         player = new Player("player1", leader);
         assertEquals(leader, player.getLeader());
     }
+
+    @Test
+    void donCountersFollowDonState() {
+        Player player = new Player();
+        GameState gameState = new GameState(player, new Player());
+        for (int i = 0; i < 4; i++) {
+            player.getDonDeck().add(new DonCard(player));
+        }
+        gameState.drawDon(player, 3);
+        assertEquals(3, player.getActiveDon());
+        assertEquals(0, player.getRestedDon());
+
+        assertTrue(gameState.payCost(player, new Cost(Cost.CostType.DON, 2)));
+        assertEquals(1, player.getActiveDon());
+        assertEquals(2, player.getRestedDon());
+        assertFalse(gameState.payCost(player, new Cost(Cost.CostType.DON, 2)));
+
+        Card target = new Card("c1", TestUtils.makeCardData(1000), player);
+        DonCard don = (DonCard) player.getCost().getCards().stream()
+                .filter(c -> !c.isRested()).findFirst().orElseThrow();
+        gameState.attachDon(target, don);
+        assertEquals(0, player.getActiveDon());
+        assertEquals(2, player.getRestedDon());
+
+        // Detaching rests the Don back into the cost area
+        gameState.detachDon(target);
+        assertEquals(0, player.getActiveDon());
+        assertEquals(3, player.getRestedDon());
+
+        gameState.refreshDon(player);
+        assertEquals(3, player.getActiveDon());
+        assertEquals(0, player.getRestedDon());
+    }
+
+    @Test
+    void donCountersSurviveRestore() {
+        Player player = new Player();
+        GameState gameState = new GameState(player, new Player());
+        for (int i = 0; i < 3; i++) {
+            player.getDonDeck().add(new DonCard(player));
+        }
+        gameState.drawDon(player, 2);
+        GameSnapshot snapshot = gameState.snapshot();
+
+        gameState.drawDon(player, 1);
+        gameState.payCost(player, new Cost(Cost.CostType.DON, 3));
+        assertEquals(3, player.getRestedDon());
+
+        gameState.restore(snapshot);
+        assertEquals(2, player.getActiveDon());
+        assertEquals(0, player.getRestedDon());
+    }
 }
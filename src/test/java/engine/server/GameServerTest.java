@@ -0,0 +1,112 @@
+package engine.server;
+
+import engine.setup.GameFactory;
+import engine.simulation.RandomController;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameServerTest {
+
+    private static GameServer server(int maxMatches, Duration idleTimeout) {
+        return new GameServer(new GameServer.Config(maxMatches, idleTimeout, 8, 4, 4096),
+                GameFactory::createTestGame, 12);
+    }
+
+    @Test
+    void botMatchRunsToTheEnd() throws InterruptedException {
+        try (GameServer server = server(4, Duration.ofSeconds(5))) {
+            MatchSession match = server.createMatch(MatchSession.Seat.bot(RandomController.factory()),
+                    MatchSession.Seat.bot(RandomController.factory()));
+            assertTrue(match.awaitEnd(Duration.ofSeconds(30)));
+            assertEquals(MatchSession.Status.FINISHED, match.getStatus());
+            assertTrue(match.getWinnerSeat() >= 0);
+            assertEquals(0, server.activeMatches());
+            assertThrows(IllegalArgumentException.class, () -> match.channel(0));
+        }
+    }
+
+    @Test
+    void humanSeatPlaysThroughItsChannel() throws InterruptedException {
+        try (GameServer server = server(4, Duration.ofSeconds(5))) {
+            MatchSession match = server.createMatch(MatchSession.Seat.human(),
+                    MatchSession.Seat.bot(RandomController.factory()));
+            MatchChannel channel = match.channel(0);
+            assertTrue(channel.send("n"));
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            StringBuilder seen = new StringBuilder();
+            while (!seen.toString().contains("Choose an action") && System.nanoTime() < deadline) {
+                seen.append(channel.drainOutput());
+                Thread.sleep(5);
+            }
+            assertTrue(seen.toString().contains("Here is your starting hand"));
+            assertTrue(seen.toString().contains("Choose an action"));
+            assertSame(match, server.get(match.getId()));
+
+            match.abandon();
+            assertTrue(match.awaitEnd(Duration.ofSeconds(10)));
+            assertEquals(MatchSession.Status.ABANDONED, match.getStatus());
+            assertNull(server.get(match.getId()));
+        }
+    }
+
+    @Test
+    void truncatesOutputAtLineBoundaries() {
+        MatchChannel channel = new MatchChannel(4, 10, Duration.ofSeconds(1).toNanos());
+        channel.print("first\nsecond\n");
+        assertEquals("...\nsecond\n", channel.drainOutput());
+        channel.print("a line much longer than ten\n");
+        assertEquals("...\n", channel.drainOutput());
+
+        int[] truncations = new int[1];
+        channel.setTruncationListener(() -> truncations[0]++);
+        channel.print("abc\n");
+        assertEquals(0, truncations[0]);
+        channel.print("defg\nhi\n");
+        assertEquals(1, truncations[0]);
+        assertEquals("defg\nhi\n", channel.drainOutput());
+    }
+
+    @Test
+    void silentPlayersTimeOut() throws InterruptedException {
+        try (GameServer server = server(4, Duration.ofMillis(50))) {
+            MatchSession match = server.createMatch(MatchSession.Seat.human(), MatchSession.Seat.human());
+            assertTrue(match.awaitEnd(Duration.ofSeconds(10)));
+            assertEquals(MatchSession.Status.ABANDONED, match.getStatus());
+            assertTrue(match.channel(0).isTimedOut());
+        }
+    }
+
+    @Test
+    void refusesMatchesBeyondTheCap() throws InterruptedException {
+        try (GameServer server = server(1, Duration.ofSeconds(5))) {
+            MatchSession first = server.createMatch(MatchSession.Seat.human(), MatchSession.Seat.human());
+            assertThrows(IllegalStateException.class,
+                    () -> server.createMatch(MatchSession.Seat.human(), MatchSession.Seat.human()));
+            first.abandon();
+            assertTrue(first.awaitEnd(Duration.ofSeconds(10)));
+            server.createMatch(MatchSession.Seat.human(), MatchSession.Seat.human()).abandon();
+        }
+    }
+
+    @Test
+    void parksManyIdleMatchesAtOnce() throws InterruptedException {
+        List<MatchSession> matches = new ArrayList<>();
+        GameServer server = server(2_000, Duration.ofMinutes(1));
+        for (int i = 0; i < 1_000; i++) {
+            matches.add(server.createMatch(MatchSession.Seat.human(), MatchSession.Seat.human()));
+        }
+        assertEquals(1_000, server.activeMatches());
+        server.close();
+        for (MatchSession match : matches) {
+            assertTrue(match.awaitEnd(Duration.ofSeconds(30)));
+        }
+        assertEquals(0, server.activeMatches());
+        assertThrows(IllegalStateException.class,
+                () -> server.createMatch(MatchSession.Seat.human(), MatchSession.Seat.human()));
+    }
+}
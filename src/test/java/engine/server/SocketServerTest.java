@@ -0,0 +1,172 @@
+package engine.server;
+
+import engine.setup.GameFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SocketServerTest {
+
+    private static GameServer games() {
+        return new GameServer(new GameServer.Config(8, Duration.ofSeconds(10), 8, 16, 64 * 1024),
+                GameFactory::createTestGame, 12);
+    }
+
+    private static SocketServer listen(GameServer games) throws IOException {
+        return new SocketServer(games, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    private static final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        Client(SocketServer server) throws IOException {
+            socket = new Socket(server.getAddress().getAddress(), server.getAddress().getPort());
+            socket.setSoTimeout(10_000);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        }
+
+        void send(String line) {
+            out.println(line);
+        }
+
+        // Skips MSG lines
+        String read() throws IOException {
+            String line;
+            do {
+                line = in.readLine();
+            } while (line != null && line.startsWith("MSG "));
+            return line;
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Test
+    void playsABotMatchToTheEnd() throws IOException {
+        try (GameServer games = games(); SocketServer server = listen(games); Client client = new Client(server)) {
+            client.send("NEW BOT");
+            String match = client.read();
+            assertTrue(match.matches("MATCH \\d+ 0"), match);
+            assertTrue(client.read().startsWith("HAND "));
+            assertEquals("MULLIGAN?", client.read());
+            client.send("MULLIGAN n");
+
+            String line;
+            int decisions = 0;
+            while ((line = client.read()) != null && !line.startsWith("OVER ")) {
+                if (line.startsWith("STATE ")) {
+                    assertTrue(line.contains(" | life="), line);
+                } else if (line.startsWith("DIFF ")) {
+                    assertTrue(line.matches("DIFF \\d+ MAIN 0 \\|.*"), line);
+                } else if (line.startsWith("MOVES ")) {
+                    assertTrue(line.contains("END"), line);
+                    client.send("END");
+                    decisions++;
+                } else {
+                    fail("unexpected line: " + line);
+                }
+            }
+            assertNotNull(line, "connection closed before OVER");
+            assertTrue(line.matches("OVER [01]"), line);
+            assertTrue(decisions > 0);
+
+            // Back in the lobby once the match is over
+            client.send("END");
+            assertEquals("ERR not in a match", client.read());
+        }
+    }
+
+    @Test
+    void refusesIllegalMovesAndUnknownCommands() throws IOException {
+        try (GameServer games = games(); SocketServer server = listen(games); Client client = new Client(server)) {
+            client.send("HELLO");
+            assertEquals("ERR not in a match", client.read());
+            client.send("JOIN 999");
+            assertTrue(client.read().startsWith("ERR no open match"));
+
+            client.send("NEW BOT");
+            assertTrue(client.read().startsWith("MATCH "));
+            assertTrue(client.read().startsWith("HAND "));
+            assertEquals("MULLIGAN?", client.read());
+            client.send("MULLIGAN maybe");
+            assertTrue(client.read().startsWith("ERR "));
+            assertEquals("MULLIGAN?", client.read());
+            client.send("MULLIGAN n");
+
+            String line;
+            while (!(line = client.read()).startsWith("MOVES ")) {
+                assertTrue(line.startsWith("STATE "), line);
+            }
+            client.send("ATTACK 9 9");
+            assertEquals("ERR illegal move: ATTACK 9 9", client.read());
+            client.send("END");
+            while (!(line = client.read()).startsWith("MOVES ")) {
+                assertTrue(line.startsWith("DIFF ") || line.startsWith("STATE "), line);
+            }
+            client.send("STATE");
+            assertTrue(client.read().startsWith("STATE "));
+            assertTrue(client.read().startsWith("MOVES "));
+        }
+    }
+
+    @Test
+    void twoClientsShareAHumanMatch() throws IOException, InterruptedException {
+        try (GameServer games = games(); SocketServer server = listen(games); Client first = new Client(server)) {
+            // Closed by the test itself, so not a resource of the try
+            Client second = new Client(server);
+            first.send("NEW HUMAN");
+            String[] match = first.read().split(" ");
+            assertEquals("0", match[2]);
+            second.send("JOIN " + match[1]);
+            assertEquals("MATCH " + match[1] + " 1", second.read());
+
+            assertTrue(first.read().startsWith("HAND "));
+            assertEquals("MULLIGAN?", first.read());
+            first.send("MULLIGAN n");
+            assertTrue(second.read().startsWith("HAND "));
+            assertEquals("MULLIGAN?", second.read());
+            second.send("MULLIGAN n");
+
+            // The second seat leaving abandons the match
+            MatchSession session = games.get(Long.parseLong(match[1]));
+            assertNotNull(session);
+            second.close();
+            assertTrue(session.awaitEnd(Duration.ofSeconds(10)));
+            assertEquals(MatchSession.Status.ABANDONED, session.getStatus());
+        }
+    }
+
+    @Test
+    void aTimedOutHumanMatchCannotBeJoined() throws IOException, InterruptedException {
+        GameServer games = new GameServer(new GameServer.Config(8, Duration.ofMillis(100), 8, 16, 64 * 1024),
+                GameFactory::createTestGame, 12);
+        try (games; SocketServer server = listen(games);
+             Client first = new Client(server); Client second = new Client(server)) {
+            first.send("NEW HUMAN");
+            String[] match = first.read().split(" ");
+            MatchSession session = games.get(Long.parseLong(match[1]));
+            assertNotNull(session);
+            assertTrue(session.awaitEnd(Duration.ofSeconds(10)));
+            assertEquals(MatchSession.Status.ABANDONED, session.getStatus());
+
+            second.send("JOIN " + match[1]);
+            assertEquals("ERR no open match " + match[1], second.read());
+        }
+    }
+}
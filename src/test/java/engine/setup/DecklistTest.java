@@ -0,0 +1,32 @@
+package engine.setup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecklistTest {
+
+    @Test
+    void parsesLeaderAndEntries() {
+        Decklist deck = Decklist.parse("Red Luffy", """
+                # Leader first
+                1xOP01-001
+                4xOP01-006
+
+                4 OP01-013
+                """);
+        assertEquals("Red Luffy", deck.name());
+        assertEquals("OP01-001", deck.leaderId());
+        assertEquals(List.of(new Decklist.Entry("OP01-006", 4), new Decklist.Entry("OP01-013", 4)), deck.cards());
+        assertEquals(8, deck.mainDeckSize());
+    }
+
+    @Test
+    void rejectsMalformedLists() {
+        assertThrows(IllegalArgumentException.class, () -> Decklist.parse("empty", "# nothing\n"));
+        assertThrows(IllegalArgumentException.class, () -> Decklist.parse("two leaders", "2xOP01-001\n"));
+        assertThrows(IllegalArgumentException.class, () -> Decklist.parse("no count", "1xOP01-001\nOP01-006\n"));
+    }
+}
@@ -2,8 +2,10 @@ package engine.setup;
 
 import engine.cards.Card;
 import engine.cards.types.CardType;
+import engine.core.GameEngine;
 import engine.core.GameState;
 import engine.player.Player;
+import engine.simulation.RandomController;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -108,4 +110,29 @@ public class GameFactoryTest {
             assertFalse(p2Cards.contains(card), "p1 and p2 should not share card instances");
         }
     }
+
+    @Test
+    void testResetAfterAGameMatchesAFreshGame() {
+        GameState played = GameFactory.createTestGame(3);
+        GameEngine.headless(played, RandomController.factory(), RandomController.factory()).run();
+        assertTrue(played.isGameOver());
+
+        played.reset(8);
+        GameState fresh = GameFactory.createTestGame(8);
+        assertFalse(played.isGameOver());
+        assertEquals(8, played.getSeed());
+        assertEquals(fresh.positionHash(), played.positionHash());
+        for (int z = 0; z < fresh.getPlayer1().getZones().size(); z++) {
+            assertEquals(cardIds(fresh.getPlayer1().getZones().get(z).getCards()),
+                    cardIds(played.getPlayer1().getZones().get(z).getCards()));
+            assertEquals(cardIds(fresh.getPlayer2().getZones().get(z).getCards()),
+                    cardIds(played.getPlayer2().getZones().get(z).getCards()));
+        }
+        assertEquals(5, played.getPlayer1().getLeader().getLifePoints());
+        assertEquals(0, played.getPlayer1().getActiveDon());
+    }
+
+    private static List<String> cardIds(List<Card> cards) {
+        return cards.stream().map(Card::getCardId).toList();
+    }
 }
@@ -0,0 +1,62 @@
+package engine.simulation;
+
+import engine.core.EngineMetrics;
+import engine.core.GameEngine;
+import engine.core.GameState;
+import engine.setup.GameFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchRunnerTest {
+
+    @Test
+    void headlessGameRunsToCompletion() {
+        GameState gameState = GameFactory.createTestGame();
+        Random random = new Random(42);
+        GameEngine engine = GameEngine.headless(gameState,
+                RandomController.factory(random), RandomController.factory(random));
+        engine.run();
+        assertTrue(gameState.isGameOver());
+        assertNotNull(gameState.getWinner());
+    }
+
+    @Test
+    void batchPlaysEveryRequestedGame() {
+        BatchResult result = new BatchRunner(2).run(20);
+        assertEquals(20, result.games());
+        assertEquals(20, result.player1Wins() + result.player2Wins());
+        assertTrue(result.averageTurns() > 0);
+    }
+
+    @Test
+    void pooledGamesMatchFreshReplays() {
+        BatchRunner runner = new BatchRunner(1, 17);
+        BatchResult result = runner.run(6);
+        int player1Wins = 0;
+        for (int i = 0; i < 6; i++) {
+            GameState replayed = BatchRunner.replay(17, i).getGameState();
+            if (replayed.getWinner() == replayed.getPlayer1()) {
+                player1Wins++;
+            }
+        }
+        assertEquals(player1Wins, result.player1Wins());
+    }
+
+    @Test
+    void metricsCountEveryGame() {
+        BatchRunner runner = new BatchRunner(2, 5);
+        EngineMetrics metrics = new EngineMetrics();
+        runner.setMetrics(metrics);
+        BatchResult result = runner.run(10);
+        assertEquals(10, metrics.games());
+        assertEquals(result.totalTurns(), metrics.gameTurns().sum());
+    }
+
+    @Test
+    void rejectsNonPositiveThreadCount() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchRunner(0));
+    }
+}
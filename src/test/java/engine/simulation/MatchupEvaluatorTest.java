@@ -0,0 +1,89 @@
+package engine.simulation;
+
+import engine.data.CardDatabase;
+import engine.setup.Decklist;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatchupEvaluatorTest {
+
+    @TempDir
+    Path dataDir;
+
+    private CardDatabase database() throws IOException {
+        Path file = dataDir.resolve("sets").resolve("TST.json");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, """
+                [
+                  {"card_set_id": "TST-001", "card_name": "Big Leader", "card_type": "Leader", "card_power": 6000, "life": 5},
+                  {"card_set_id": "TST-002", "card_name": "Small Leader", "card_type": "Leader", "card_power": 4000, "life": 4},
+                  {"card_set_id": "TST-010", "card_name": "Grunt", "card_type": "Character", "card_cost": 1, "card_power": 2000},
+                  {"card_set_id": "TST-011", "card_name": "Brute", "card_type": "Character", "card_cost": 3, "card_power": 5000},
+                  {"card_set_id": "TST-012", "card_name": "Weakling", "card_type": "Character", "card_cost": 2, "card_power": 1000}
+                ]
+                """);
+        return new CardDatabase(dataDir.toString());
+    }
+
+    private static final Decklist STRONG = Decklist.parse("Strong", "1xTST-001\n25xTST-010\n25xTST-011\n");
+    private static final Decklist WEAK = Decklist.parse("Weak", "1xTST-002\n50xTST-012\n");
+
+    @Test
+    void wilsonIntervalMatchesTheFormula() {
+        MatchupResult result = new MatchupResult("A", "B", 100, 50, 50, 1.96);
+        assertEquals(0.5, result.winRate(), 1e-9);
+        assertEquals(0.4038, result.lower(), 1e-4);
+        assertEquals(0.5962, result.upper(), 1e-4);
+    }
+
+    @Test
+    void playsEveryGameWithoutEarlyStopping() throws IOException {
+        MatchupEvaluator evaluator = new MatchupEvaluator(database(), 3);
+        List<MatchupResult> progress = new ArrayList<>();
+        MatchupResult result = evaluator.evaluate(STRONG, WEAK,
+                new MatchupEvaluator.Config(30, 10, 0.0, 1.96), progress::add);
+        assertEquals(30, result.games());
+        assertEquals(30, result.winsA() + result.winsB());
+        assertEquals(3, progress.size());
+        assertTrue(result.lower() <= result.winRate() && result.winRate() <= result.upper());
+        assertTrue(result.winRate() > 0.5);
+    }
+
+    @Test
+    void stopsOnceTheIntervalIsTight() throws IOException {
+        MatchupEvaluator evaluator = new MatchupEvaluator(database(), 3);
+        MatchupResult result = evaluator.evaluate(STRONG, WEAK,
+                new MatchupEvaluator.Config(1000, 8, 0.5, 1.96), null);
+        assertEquals(8, result.games());
+    }
+
+    @Test
+    void resultDependsOnlyOnTheSeed() throws IOException {
+        CardDatabase database = database();
+        MatchupEvaluator.Config config = new MatchupEvaluator.Config(24, 12, 0.0, 1.96);
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            MatchupResult one = new MatchupEvaluator(database, single, RandomController.factory(),
+                    RandomController.factory(), 9).evaluate(STRONG, WEAK, config, null);
+            MatchupResult many = new MatchupEvaluator(database, 9).evaluate(STRONG, WEAK, config, null);
+            assertEquals(one, many);
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsInvalidConfig() {
+        assertThrows(IllegalArgumentException.class, () -> new MatchupEvaluator.Config(0, 10, 0.02, 1.96));
+        assertThrows(IllegalArgumentException.class, () -> new MatchupEvaluator.Config(10, 10, 0.02, 0));
+    }
+}
@@ -0,0 +1,110 @@
+package engine.simulation;
+
+import engine.TestUtils;
+import engine.battle.BattleSystem;
+import engine.core.GameEngine;
+import engine.core.GameState;
+import engine.core.Phase;
+import engine.core.PlayerController;
+import engine.core.TurnManager;
+import engine.player.Player;
+import engine.setup.GameFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MctsControllerTest {
+
+    private static final MctsController.Config FAST = new MctsController.Config(2, 0, 40, Math.sqrt(2), 10);
+
+    @Test
+    void legalActionsEndWithEndAndApplyToCopies() {
+        GameState gameState = GameFactory.createTestGame();
+        TurnManager turnManager = new TurnManager(gameState);
+        TestUtils.playUntilTurn(gameState, turnManager, 4);
+        while (turnManager.getCurrentPhase() != Phase.MAIN) {
+            turnManager.advancePhase();
+        }
+        Player player = turnManager.getActivePlayer();
+        BattleSystem battleSystem = new BattleSystem(gameState, turnManager);
+
+        List<MainPhaseAction> actions = MainPhaseAction.legal(gameState, turnManager, battleSystem, player);
+        assertEquals(MainPhaseAction.END, actions.get(actions.size() - 1));
+        assertTrue(actions.size() > 1);
+
+        // Every action must apply cleanly to an independent copy of the position
+        for (MainPhaseAction action : actions) {
+            GameState copy = gameState.copy();
+            TurnManager copyTurns = turnManager.copy(copy);
+            Player copyPlayer = (player == gameState.getPlayer1()) ? copy.getPlayer1() : copy.getPlayer2();
+            action.apply(copy, copyTurns, new BattleSystem(copy, copyTurns), copyPlayer);
+        }
+    }
+
+    @Test
+    void onlyEndIsLegalOutsideMain() {
+        GameState gameState = GameFactory.createTestGame();
+        TurnManager turnManager = new TurnManager(gameState);
+        assertEquals(Phase.DON, turnManager.getCurrentPhase());
+        assertEquals(List.of(MainPhaseAction.END), MainPhaseAction.legal(gameState, turnManager,
+                new BattleSystem(gameState, turnManager), gameState.getPlayer1()));
+    }
+
+    @Test
+    void searchLeavesTheLiveGameUntouched() {
+        GameState gameState = GameFactory.createTestGame();
+        TurnManager turnManager = new TurnManager(gameState);
+        TestUtils.playUntilTurn(gameState, turnManager, 5);
+        while (turnManager.getCurrentPhase() != Phase.MAIN) {
+            turnManager.advancePhase();
+        }
+        Player player = turnManager.getActivePlayer();
+        int handBefore = player.getHand().size();
+        int fieldBefore = player.getField().size();
+
+        try (MctsController controller = new MctsController(gameState, turnManager, FAST, 1)) {
+            assertNotNull(controller.search(player));
+            assertEquals(FAST.threads() * FAST.maxIterations(), controller.getLastIterations());
+        }
+        assertEquals(handBefore, player.getHand().size());
+        assertEquals(fieldBefore, player.getField().size());
+        assertEquals(Phase.MAIN, turnManager.getCurrentPhase());
+    }
+
+    @Test
+    void playsFullGameAgainstRandomController() {
+        GameEngine engine = GameEngine.headless(GameFactory.createTestGame(),
+                MctsController.factory(FAST, 7), RandomController.factory(new Random(7)));
+        engine.run();
+        assertTrue(engine.getGameState().isGameOver());
+        assertNotNull(engine.getGameState().getWinner());
+    }
+
+    @Test
+    void factoryGamesShareOneWorkerPool() {
+        PlayerController.Factory mcts = MctsController.factory(FAST, 3);
+        GameEngine.headless(GameFactory.createTestGame(1), mcts, RandomController.factory(new Random(1))).run();
+        long workers = mctsWorkers();
+        assertTrue(workers <= FAST.threads(), workers + " workers");
+
+        for (long seed = 2; seed < 7; seed++) {
+            GameEngine.headless(GameFactory.createTestGame(seed), mcts, mcts).run();
+        }
+        assertTrue(mctsWorkers() <= workers, mctsWorkers() + " workers after five more games");
+    }
+
+    private static long mctsWorkers() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.isAlive() && thread.getName().equals("mcts-worker"))
+                .count();
+    }
+
+    @Test
+    void rejectsInvalidConfig() {
+        assertThrows(IllegalArgumentException.class, () -> new MctsController.Config(0, 100, 0, 1.0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new MctsController.Config(1, 0, 0, 1.0, 10));
+    }
+}
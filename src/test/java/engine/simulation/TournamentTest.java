@@ -0,0 +1,132 @@
+package engine.simulation;
+
+import engine.data.CardDatabase;
+import engine.setup.Decklist;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentTest {
+
+    private static final MatchupEvaluator.Config FEW_GAMES = new MatchupEvaluator.Config(6, 6, 0.0, 1.96);
+
+    @TempDir
+    Path dataDir;
+
+    private CardDatabase database() throws IOException {
+        Path file = dataDir.resolve("sets").resolve("TST.json");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, """
+                [
+                  {"card_set_id": "TST-001", "card_name": "Leader", "card_type": "Leader", "card_power": 5000, "life": 5},
+                  {"card_set_id": "TST-010", "card_name": "One", "card_type": "Character", "card_cost": 1, "card_power": 2000},
+                  {"card_set_id": "TST-011", "card_name": "Two", "card_type": "Character", "card_cost": 2, "card_power": 3000},
+                  {"card_set_id": "TST-012", "card_name": "Three", "card_type": "Character", "card_cost": 3, "card_power": 4000}
+                ]
+                """);
+        return new CardDatabase(dataDir.toString());
+    }
+
+    private static List<Decklist> gauntlet(int size) {
+        String[] lists = {
+                "1xTST-001\n50xTST-010\n",
+                "1xTST-001\n50xTST-011\n",
+                "1xTST-001\n50xTST-012\n",
+                "1xTST-001\n25xTST-010\n25xTST-012\n"
+        };
+        return IntStream.range(0, size)
+                .mapToObj(i -> Decklist.parse("deck" + i, lists[i]))
+                .toList();
+    }
+
+    @Test
+    void roundRobinFillsTheMatrix() throws IOException {
+        TournamentResult result = new Tournament(database(), FEW_GAMES, 5).roundRobin(gauntlet(3), null);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, result.getGames(i, i));
+            for (int j = 0; j < 3; j++) {
+                if (i != j) {
+                    assertEquals(6, result.getGames(i, j));
+                    assertEquals(6, result.getWins(i, j) + result.getWins(j, i));
+                }
+            }
+        }
+        assertTrue(result.toString().contains("deck2"));
+    }
+
+    @Test
+    void resumesFromCheckpoint() throws IOException {
+        CardDatabase database = database();
+        Path checkpoint = dataDir.resolve("run.tsv");
+        TournamentResult full = new Tournament(database, FEW_GAMES, 5).roundRobin(gauntlet(3), checkpoint);
+        List<String> lines = Files.readAllLines(checkpoint);
+        assertEquals(1 + 3, lines.size());
+
+        // Drop the last matchup as if the run had been interrupted
+        Files.write(checkpoint, lines.subList(0, lines.size() - 1));
+        TournamentResult resumed = new Tournament(database, FEW_GAMES, 5).roundRobin(gauntlet(3), checkpoint);
+        assertEquals(full.toString(), resumed.toString());
+        assertEquals(lines.size(), Files.readAllLines(checkpoint).size());
+
+        // Cut the last matchup off inside its last number, without a newline
+        String text = String.join("\n", lines.subList(0, lines.size() - 1)) + "\n"
+                + lines.get(lines.size() - 1).substring(0, lines.get(lines.size() - 1).length() - 1);
+        Files.writeString(checkpoint, text);
+        resumed = new Tournament(database, FEW_GAMES, 5).roundRobin(gauntlet(3), checkpoint);
+        assertEquals(full.toString(), resumed.toString());
+        assertEquals(lines, Files.readAllLines(checkpoint));
+
+        assertThrows(IllegalStateException.class,
+                () -> new Tournament(database, FEW_GAMES, 6).roundRobin(gauntlet(3), checkpoint));
+    }
+
+    @Test
+    void refusesToResumeADifferentRun() throws IOException {
+        CardDatabase database = database();
+        Path checkpoint = dataDir.resolve("run.tsv");
+        new Tournament(database, FEW_GAMES, 5).roundRobin(gauntlet(3), checkpoint);
+        List<String> lines = Files.readAllLines(checkpoint);
+
+        for (MatchupEvaluator.Config other : List.of(new MatchupEvaluator.Config(8, 6, 0.0, 1.96),
+                new MatchupEvaluator.Config(6, 3, 0.0, 1.96), new MatchupEvaluator.Config(6, 6, 0.1, 1.96))) {
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> new Tournament(database, other, 5).roundRobin(gauntlet(3), checkpoint));
+            assertTrue(e.getMessage().contains("different run"), e.getMessage());
+        }
+        List<Decklist> reordered = new ArrayList<>(gauntlet(3));
+        Collections.swap(reordered, 0, 1);
+        assertThrows(IllegalStateException.class,
+                () -> new Tournament(database, FEW_GAMES, 5).roundRobin(reordered, checkpoint));
+        assertThrows(IllegalStateException.class,
+                () -> new Tournament(database, FEW_GAMES, 5).roundRobin(gauntlet(4), checkpoint));
+        // Nothing was appended by the refused runs
+        assertEquals(lines, Files.readAllLines(checkpoint));
+    }
+
+    @Test
+    void swissAvoidsRematches() throws IOException {
+        TournamentResult result = new Tournament(database(), FEW_GAMES, 5).swiss(gauntlet(4), 3, null);
+        // Three rounds of four decks without rematches is a full round robin
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                assertEquals(i == j ? 0 : 6, result.getGames(i, j));
+            }
+        }
+    }
+
+    @Test
+    void rejectsDuplicateDeckNames() throws IOException {
+        Decklist deck = gauntlet(1).get(0);
+        assertThrows(IllegalArgumentException.class,
+                () -> new Tournament(database(), FEW_GAMES, 5).roundRobin(List.of(deck, deck), null));
+    }
+}
@@ -0,0 +1,127 @@
+package engine.zones;
+
+import engine.TestUtils;
+import engine.cards.Card;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CardDequeTest {
+
+    private static List<Card> makeCards(int count) {
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            cards.add(TestUtils.makeCard(null, i * 1000));
+        }
+        return cards;
+    }
+
+    @Test
+    void addFirstAndLastKeepTopAtIndexZero() {
+        List<Card> cards = makeCards(3);
+        CardDeque deque = new CardDeque(2);
+        deque.addFirst(cards.get(1));
+        deque.addFirst(cards.get(0));
+        deque.addLast(cards.get(2));
+        assertEquals(cards, deque.view());
+        assertSame(cards.get(0), deque.peekFirst());
+        assertSame(cards.get(2), deque.peekLast());
+    }
+
+    @Test
+    void growsAcrossWrapAround() {
+        List<Card> cards = makeCards(40);
+        CardDeque deque = new CardDeque(4);
+        List<Card> expected = new ArrayList<>();
+        for (int i = 0; i < cards.size(); i++) {
+            if (i % 2 == 0) {
+                deque.addFirst(cards.get(i));
+                expected.add(0, cards.get(i));
+            } else {
+                deque.addLast(cards.get(i));
+                expected.add(cards.get(i));
+            }
+        }
+        assertEquals(expected, deque.view());
+        assertEquals(expected, List.of(deque.toArray()));
+    }
+
+    @Test
+    void removeFromMiddlePreservesOrder() {
+        List<Card> cards = makeCards(9);
+        CardDeque deque = new CardDeque();
+        for (Card card : cards) {
+            deque.addFirst(card); // Force head to wrap before removals
+        }
+        List<Card> expected = new ArrayList<>(deque.view());
+        for (int index : new int[] { 1, 6, 3, 0, 4 }) {
+            Card removed = expected.remove(index);
+            assertTrue(deque.remove(removed));
+            assertEquals(expected, deque.view());
+        }
+        assertFalse(deque.remove(TestUtils.makeCard(null, 0)));
+        assertEquals(expected.size(), deque.size());
+    }
+
+    @Test
+    void removeFromEmptyThrows() {
+        CardDeque deque = new CardDeque();
+        assertNull(deque.peekFirst());
+        assertThrows(java.util.NoSuchElementException.class, deque::removeFirst);
+        assertThrows(java.util.NoSuchElementException.class, deque::removeLast);
+    }
+
+    @Test
+    void shuffleKeepsEveryCard() {
+        List<Card> cards = makeCards(50);
+        CardDeque deque = new CardDeque();
+        cards.forEach(deque::addLast);
+        deque.shuffle(new Random(3));
+        assertEquals(50, deque.size());
+        assertEquals(new HashSet<>(cards), new HashSet<>(deque.view()));
+    }
+
+    @Test
+    void viewIsLiveReadOnlyAndShared() {
+        CardDeque deque = new CardDeque();
+        List<Card> view = deque.view();
+        Card card = TestUtils.makeCard(null, 1000);
+        deque.addFirst(card);
+        assertSame(view, deque.view());
+        assertEquals(1, view.size());
+        assertTrue(view.contains(card));
+        assertThrows(UnsupportedOperationException.class, () -> view.add(card));
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+    }
+
+    @Test
+    void viewIteratorsFailFastWhenTheDequeChanges() {
+        List<Card> cards = makeCards(4);
+        CardDeque deque = new CardDeque();
+        cards.forEach(deque::addLast);
+
+        Iterator<Card> iterator = deque.view().iterator();
+        iterator.next();
+        deque.removeFirst();
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+
+        // Every kind of change counts, even ones that keep the size
+        iterator = deque.view().iterator();
+        iterator.next();
+        deque.shuffle(new Random(1));
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+
+        // A copy can be walked while the deque changes
+        for (Card card : new ArrayList<>(deque.view())) {
+            deque.remove(card);
+        }
+        assertTrue(deque.isEmpty());
+    }
+}
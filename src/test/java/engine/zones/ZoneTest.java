@@ -3,6 +3,7 @@ package engine.zones;
 import engine.cards.Card;
 import engine.player.Player;
 import engine.cards.CardData;
+import engine.core.GameRandom;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -140,7 +141,7 @@ public class ZoneTest {
         deck.add(card1);
         deck.add(card2);
         deck.add(card3);
-        deck.shuffle();
+        deck.shuffle(new GameRandom(1));
         assertTrue(deck.getCards().contains(card1));
         assertTrue(deck.getCards().contains(card2));
         assertTrue(deck.getCards().contains(card3));